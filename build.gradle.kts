@@ -23,13 +23,17 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.spring.boot.starter.webflux)
+    implementation(libs.spring.boot.starter.actuator)
+    implementation(libs.redisson)
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     testImplementation("com.jayway.jsonpath:json-path:2.8.0")
-    testImplementation(libs.h2)
+    runtimeOnly(libs.h2)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
     testImplementation(libs.spring.boot.starter.test)
+    testImplementation(libs.reactor.test)
 }
 
 // about source and compilation
@@ -51,5 +55,87 @@ tasks.getByName("jar") {
 // test tasks
 tasks.test {
     ignoreFailures = true
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("benchmark", "allocation")
+    }
+}
+// allocation budget tasks (./gradlew allocationBudget, also part of check)
+// - runs in its own JVM so other tests don't skew the per-operation numbers, and fails the build on a blown budget
+val allocationBudget = tasks.register<Test>("allocationBudget") {
+    description = "Runs @Tag(\"allocation\") tests that fail when bytes allocated per operation exceed the budget."
+    group = "verification"
+    testClassesDirs = sourceSets["test"].output.classesDirs
+    classpath = sourceSets["test"].runtimeClasspath
+    useJUnitPlatform {
+        includeTags("allocation")
+    }
+    testLogging.showStandardStreams = true
+}
+tasks.named("check") {
+    dependsOn(allocationBudget)
+}
+// benchmark tasks (./gradlew benchmark)
+tasks.register<Test>("benchmark") {
+    description = "Runs @Tag(\"benchmark\") measurements and prints the results."
+    group = "verification"
+    testClassesDirs = sourceSets["test"].output.classesDirs
+    classpath = sourceSets["test"].runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    testLogging.showStandardStreams = true
+    outputs.upToDateWhen { false }
+    systemProperty("fastStartup.dir", layout.buildDirectory.dir("fast-startup").get().asFile.path)
+}
+// fast startup tasks (./gradlew -PfastStartup fastStartup)
+// - processAot generates bean definitions at build time with the fast-startup profile; bootJar then ships them.
+// - build/fast-startup holds app.jar + lib/ (AppCDS only archives classes loaded from plain jars)
+//   and app.jsa, trained by starting the app once until the context is refreshed.
+// - run: cd build/fast-startup && java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -jar app.jar --spring.profiles.active=fast-startup
+//   (use the same JDK that trained the archive)
+if (project.hasProperty("fastStartup")) {
+    apply(plugin = "org.springframework.boot.aot")
+
+    tasks.named<org.springframework.boot.gradle.tasks.aot.ProcessAot>("processAot") {
+        args("--spring.profiles.active=fast-startup")
+    }
+
+    val fastStartupDir = layout.buildDirectory.dir("fast-startup")
+    val fastStartupLibs = tasks.register<Sync>("fastStartupLibs") {
+        from(configurations.runtimeClasspath)
+        into(fastStartupDir.map { it.dir("lib") })
+    }
+    val fastStartupJar = tasks.register<Jar>("fastStartupJar") {
+        dependsOn(fastStartupLibs)
+        archiveFileName.set("app.jar")
+        destinationDirectory.set(fastStartupDir)
+        from(sourceSets["main"].output, sourceSets["aot"].output)
+        manifest {
+            attributes(
+                "Main-Class" to "io.hhplus.tdd.TddApplication",
+                "Class-Path" to configurations.runtimeClasspath.get().joinToString(" ") { "lib/${it.name}" }
+            )
+        }
+    }
+    val appCdsArchive = tasks.register<Exec>("appCdsArchive") {
+        description = "Trains an AppCDS archive by starting the AOT-processed app until the context is refreshed."
+        group = "build"
+        dependsOn(fastStartupJar)
+        workingDir(fastStartupDir)
+        commandLine(
+            "${System.getProperty("java.home")}/bin/java",
+            "-XX:ArchiveClassesAtExit=app.jsa",
+            "-Dspring.aot.enabled=true",
+            "-Dspring.context.exit=onRefresh",
+            "-jar", "app.jar",
+            "--spring.profiles.active=fast-startup",
+            "--server.port=0"
+        )
+        outputs.file(fastStartupDir.map { it.file("app.jsa") })
+    }
+    tasks.register("fastStartup") {
+        description = "Builds the AOT-processed boot jar and the AppCDS archive."
+        group = "build"
+        dependsOn(tasks.named("bootJar"), appCdsArchive)
+    }
 }
@@ -1,45 +1,25 @@
 package io.hhplus.tdd;
 
-import io.hhplus.tdd.exception.MaxChargeAmountException;
-import io.hhplus.tdd.exception.MinChargeAmountException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+/**
+ * 예외별 상태/에러 코드는 ErrorMapper 에서 정한다.
+ * - 503(벌크헤드 포화, 종료 중)은 Retry-After 를 함께 준다.
+ */
 @RestControllerAdvice
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
 
-    @ExceptionHandler(MinChargeAmountException.class)
-    public ResponseEntity<ErrorResponse> handleMinCharge(MinChargeAmountException ex) {
-        return ResponseEntity
-                .badRequest()
-                .body(new ErrorResponse("MIN_CHARGE_ERROR", "최소 충전 금액은 100원입니다"));
-    }
-
-    @ExceptionHandler(MaxChargeAmountException.class)
-    public ResponseEntity<ErrorResponse> handleMaxCharge(MaxChargeAmountException ex) {
-        return ResponseEntity
-                .badRequest()
-                .body(new ErrorResponse("MAX_CHARGE_ERROR", "최대 충전 금액은 100만원입니다"));
-    }
-
-    @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
-        return ResponseEntity
-                .badRequest()
-                .body(new ErrorResponse("ILLEGAL_ARGUMENT", ex.getMessage()));
-    }
-
-    @ExceptionHandler(IllegalStateException.class)
-    public ResponseEntity<ErrorResponse> handleIllegalState(IllegalStateException ex) {
-        return ResponseEntity
-                .status(409)  // Conflict
-                .body(new ErrorResponse("INSUFFICIENT_BALANCE", ex.getMessage()));
-    }
-
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
-        return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
+        ErrorMapper.MappedError error = ErrorMapper.map(e);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(error.status());
+        if (error.status() == 503) {
+            response.header(HttpHeaders.RETRY_AFTER, "1");
+        }
+        return response.body(error.toResponse());
     }
 }
@@ -0,0 +1,71 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.exception.AlreadyCancelledException;
+import io.hhplus.tdd.exception.ConcurrentBalanceUpdateException;
+import io.hhplus.tdd.exception.InsufficientBalanceException;
+import io.hhplus.tdd.exception.MaxBalanceExceededException;
+import io.hhplus.tdd.exception.MaxChargeAmountException;
+import io.hhplus.tdd.exception.MinChargeAmountException;
+import io.hhplus.tdd.exception.ShuttingDownException;
+import io.hhplus.tdd.point.bulkhead.BulkheadFullException;
+
+import java.util.NoSuchElementException;
+
+/**
+ * 예외를 HTTP 상태와 에러 코드로 바꾼다.
+ * - REST 응답(ApiControllerAdvice), 비동기 작업 결과(PointOperationService), 정산 결과 파일(SettlementBatchService)이 같은 코드를 쓰도록 한 곳에 둔다.
+ * - 하위 예외를 먼저 검사한다. (InsufficientBalanceException, AlreadyCancelledException 은 IllegalStateException 이다)
+ * - 최대 잔고 초과(MaxBalanceExceededException)는 ILLEGAL_ARGUMENT 가 아니라 MAX_BALANCE_ERROR 로 응답한다. (상태는 그대로 400)
+ */
+public final class ErrorMapper {
+
+    private ErrorMapper() {
+    }
+
+    public static MappedError map(Throwable e) {
+        if (e instanceof MinChargeAmountException) {
+            return new MappedError(400, "MIN_CHARGE_ERROR", "최소 충전 금액은 100원입니다");
+        }
+        if (e instanceof MaxChargeAmountException) {
+            return new MappedError(400, "MAX_CHARGE_ERROR", "최대 충전 금액은 100만원입니다");
+        }
+        if (e instanceof MaxBalanceExceededException) {
+            return new MappedError(400, "MAX_BALANCE_ERROR", e.getMessage());
+        }
+        if (e instanceof InsufficientBalanceException) {
+            return new MappedError(409, "INSUFFICIENT_BALANCE", "잔액이 부족합니다.");
+        }
+        if (e instanceof AlreadyCancelledException) {
+            return new MappedError(409, "ALREADY_CANCELLED", e.getMessage());
+        }
+        if (e instanceof ConcurrentBalanceUpdateException) {
+            return new MappedError(409, "CONCURRENT_UPDATE", e.getMessage());
+        }
+        if (e instanceof IllegalArgumentException) {
+            return new MappedError(400, "ILLEGAL_ARGUMENT", e.getMessage());
+        }
+        if (e instanceof IllegalStateException) {
+            return new MappedError(409, "INSUFFICIENT_BALANCE", e.getMessage());
+        }
+        if (e instanceof BulkheadFullException) {
+            return new MappedError(503, "BULKHEAD_FULL", e.getMessage());
+        }
+        if (e instanceof ShuttingDownException) {
+            return new MappedError(503, "SHUTTING_DOWN", e.getMessage());
+        }
+        if (e instanceof NoSuchElementException) {
+            return new MappedError(404, "NOT_FOUND", e.getMessage());
+        }
+        return new MappedError(500, "500", "에러가 발생했습니다.");
+    }
+
+    public record MappedError(
+            int status,
+            String code,
+            String message
+    ) {
+        public ErrorResponse toResponse() {
+            return new ErrorResponse(code, message);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.exception;
+
+public class AlreadyCancelledException extends IllegalStateException {
+    public AlreadyCancelledException(long historyId) {
+        super("이미 취소된 거래입니다: " + historyId);
+    }
+
+    // 거절 응답은 에러 코드로만 구분하므로 스택 트레이스를 만들지 않는다.
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
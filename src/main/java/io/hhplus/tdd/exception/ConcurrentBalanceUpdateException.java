@@ -0,0 +1,18 @@
+package io.hhplus.tdd.exception;
+
+/**
+ * 다른 인스턴스가 먼저 잔고를 바꿔 조건부 갱신이 적용되지 않았다.
+ * - 업무 거절(IllegalStateException)이 아니라 다시 시도하면 되는 충돌이므로 RuntimeException 을 바로 상속한다.
+ *   (업무 거절만 잡는 배치/예약 충전이 이 예외를 실패로 삼키지 않는다)
+ */
+public class ConcurrentBalanceUpdateException extends RuntimeException {
+    public ConcurrentBalanceUpdateException(long userId) {
+        super("다른 요청이 먼저 잔고를 변경했습니다. 다시 시도해 주세요: " + userId);
+    }
+
+    // 거절 응답은 에러 코드로만 구분하므로 스택 트레이스를 만들지 않는다.
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.exception;
+
+public class InsufficientBalanceException extends IllegalStateException {
+    public InsufficientBalanceException() {
+        super("잔액이 부족합니다.");
+    }
+
+    // 거절 응답은 에러 코드로만 구분하므로 스택 트레이스를 만들지 않는다.
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
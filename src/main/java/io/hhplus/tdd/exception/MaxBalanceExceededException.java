@@ -0,0 +1,13 @@
+package io.hhplus.tdd.exception;
+
+public class MaxBalanceExceededException extends IllegalArgumentException {
+    public MaxBalanceExceededException() {
+        super("최대 잔고는 10,000,000 포인트 입니다.");
+    }
+
+    // 거절 응답은 에러 코드로만 구분하므로 스택 트레이스를 만들지 않는다.
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
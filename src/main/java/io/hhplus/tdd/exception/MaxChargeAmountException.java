@@ -4,4 +4,10 @@ public class MaxChargeAmountException extends IllegalArgumentException{
     public MaxChargeAmountException() {
         super("최대 충전 금액은 100만원입니다.");
     }
+
+    // 거절 응답은 에러 코드로만 구분하므로 스택 트레이스를 만들지 않는다.
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
@@ -0,0 +1,7 @@
+package io.hhplus.tdd.exception;
+
+public class ShuttingDownException extends RuntimeException {
+    public ShuttingDownException() {
+        super("서버가 종료 중이라 요청을 받을 수 없습니다. 잠시 후 다시 시도해 주세요.");
+    }
+}
@@ -0,0 +1,173 @@
+package io.hhplus.tdd.point.binary;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 응답용 바이너리 포맷 (application/x-point-binary)
+ * - 필드를 손으로 나열해 인코딩하므로 리플렉션을 쓰지 않는다.
+ * - 정수는 varint (LEB128) 로, 부호가 있을 수 있는 값은 zigzag 로 쓴다.
+ * - UserPoint : 'U' id point updateMillis
+ * - List&lt;PointHistory&gt; : 'L' count 뒤에 건마다 Δid Δuserid amount type ΔupdateMillis
+ *   (바로 앞 건과의 차이를 쓰므로, 한 사용자의 히스토리는 건당 5~8 byte 로 줄어든다)
+ */
+public final class PointBinaryCodec {
+
+    public static final String MEDIA_TYPE = "application/x-point-binary";
+
+    static final byte USER_POINT = 'U';
+    static final byte HISTORIES = 'L';
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private PointBinaryCodec() {
+    }
+
+    public static byte[] encode(UserPoint userPoint) {
+        Output out = new Output(1 + 10 * 3);
+        out.writeByte(USER_POINT);
+        out.writeSigned(userPoint.id());
+        out.writeSigned(userPoint.point());
+        out.writeSigned(userPoint.updateMillis());
+        return out.toByteArray();
+    }
+
+    public static byte[] encode(List<PointHistory> histories) {
+        Output out = new Output(1 + 5 + histories.size() * 12);
+        out.writeByte(HISTORIES);
+        out.writeUnsigned(histories.size());
+        long id = 0;
+        long userId = 0;
+        long updateMillis = 0;
+        for (PointHistory history : histories) {
+            out.writeSigned(history.id() - id);
+            out.writeSigned(history.userId() - userId);
+            out.writeUnsigned(history.amount());
+            out.writeByte((byte) history.type().ordinal());
+            out.writeSigned(history.updateMillis() - updateMillis);
+            id = history.id();
+            userId = history.userId();
+            updateMillis = history.updateMillis();
+        }
+        return out.toByteArray();
+    }
+
+    public static UserPoint decodeUserPoint(byte[] bytes) {
+        Input in = new Input(bytes);
+        in.expect(USER_POINT);
+        return new UserPoint(in.readSigned(), in.readSigned(), in.readSigned());
+    }
+
+    public static List<PointHistory> decodeHistories(byte[] bytes) {
+        Input in = new Input(bytes);
+        in.expect(HISTORIES);
+        long count = in.readUnsigned();
+        if (count > bytes.length) {
+            throw new IllegalArgumentException("히스토리 건수가 올바르지 않습니다: " + count);
+        }
+        List<PointHistory> histories = new ArrayList<>((int) count);
+        long id = 0;
+        long userId = 0;
+        long updateMillis = 0;
+        for (long i = 0; i < count; i++) {
+            id += in.readSigned();
+            userId += in.readSigned();
+            long amount = in.readUnsigned();
+            TransactionType type = in.readType();
+            updateMillis += in.readSigned();
+            histories.add(new PointHistory(id, userId, amount, type, updateMillis));
+        }
+        return histories;
+    }
+
+    private static final class Output {
+
+        private byte[] buffer;
+        private int size;
+
+        private Output(int initialCapacity) {
+            this.buffer = new byte[initialCapacity];
+        }
+
+        private void writeByte(byte value) {
+            ensureCapacity(1);
+            buffer[size++] = value;
+        }
+
+        private void writeSigned(long value) {
+            writeUnsigned((value << 1) ^ (value >> 63));
+        }
+
+        private void writeUnsigned(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return size == buffer.length ? buffer : Arrays.copyOf(buffer, size);
+        }
+    }
+
+    private static final class Input {
+
+        private final byte[] bytes;
+        private int position;
+
+        private Input(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private void expect(byte tag) {
+            if (position >= bytes.length || bytes[position++] != tag) {
+                throw new IllegalArgumentException("바이너리 응답 형식이 아닙니다.");
+            }
+        }
+
+        private TransactionType readType() {
+            int ordinal = readByte();
+            if (ordinal >= TYPES.length) {
+                throw new IllegalArgumentException("알 수 없는 거래 타입입니다: " + ordinal);
+            }
+            return TYPES[ordinal];
+        }
+
+        private long readSigned() {
+            long raw = readUnsigned();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        private long readUnsigned() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("varint 가 너무 깁니다.");
+        }
+
+        private int readByte() {
+            if (position >= bytes.length) {
+                throw new IllegalArgumentException("응답이 중간에 끊겼습니다.");
+            }
+            return bytes[position++] & 0xFF;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point.binary;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.UserPoint;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * UserPoint 와 List&lt;PointHistory&gt; 를 PointBinaryCodec 으로 쓰는 응답 전용 컨버터
+ * - 그 밖의 타입(에러 응답 등)은 다루지 않으므로, 클라이언트는 JSON 을 낮은 q 로 함께 보내는 것이 좋다.
+ *   (Accept: application/x-point-binary, application/json;q=0.5)
+ */
+class PointBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    static final MediaType MEDIA_TYPE = MediaType.parseMediaType(PointBinaryCodec.MEDIA_TYPE);
+
+    PointBinaryHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return UserPoint.class == clazz || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (UserPoint.class == clazz) {
+            return true;
+        }
+        // 원소 타입은 지워지므로 선언된 반환 타입으로 List<PointHistory> 인지 확인한다.
+        return type != null && isHistoryList(ResolvableType.forType(type));
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return UserPoint.class == clazz && canWrite(mediaType);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        byte[] bytes = value instanceof UserPoint userPoint
+                ? PointBinaryCodec.encode(userPoint)
+                : PointBinaryCodec.encode((List<PointHistory>) value);
+        outputMessage.getHeaders().setContentLength(bytes.length);
+        outputMessage.getBody().write(bytes);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("바이너리 포맷은 응답 전용입니다.", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("바이너리 포맷은 응답 전용입니다.", inputMessage);
+    }
+
+    private static boolean isHistoryList(ResolvableType type) {
+        return List.class.isAssignableFrom(type.toClass())
+                && type.getGeneric(0).toClass() == PointHistory.class;
+    }
+}
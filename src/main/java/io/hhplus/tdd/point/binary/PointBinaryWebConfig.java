@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point.binary;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Accept: application/x-point-binary 로 포인트/히스토리 응답을 바이너리로 받을 수 있게 한다.
+ * - 컨버터를 빈으로 올리면 기본 컨버터들 앞에 놓여 Accept 가 와일드카드인 요청까지 바이너리로 응답하므로,
+ *   기존 컨버터 뒤에 덧붙여 JSON 을 기본값으로 유지한다.
+ */
+@Configuration
+public class PointBinaryWebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new PointBinaryHttpMessageConverter());
+    }
+}
@@ -0,0 +1,105 @@
+package io.hhplus.tdd.point.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 레인 하나의 동시 실행 한도
+ * - concurrency 개까지 바로 실행하고, 넘치면 queueLimit 개까지만 maxWait 동안 기다린다.
+ * - 대기열도 차 있거나 maxWait 안에 자리가 나지 않으면 BulkheadFullException 으로 바로 거절한다.
+ *   그래서 한 레인이 붙잡을 수 있는 요청 스레드는 concurrency + queueLimit 개를 넘지 않는다.
+ */
+public class Bulkhead {
+
+    private final PointLane lane;
+    private final int concurrency;
+    private final int queueLimit;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Counter rejected;
+    private final Timer waitTime;
+
+    public Bulkhead(PointLane lane, int concurrency, int queueLimit, Duration maxWait, MeterRegistry meterRegistry) {
+        if (concurrency < 1 || queueLimit < 0) {
+            throw new IllegalArgumentException("레인 동시 실행 수는 1 이상, 대기열 한도는 0 이상이어야 합니다.");
+        }
+        this.lane = lane;
+        this.concurrency = concurrency;
+        this.queueLimit = queueLimit;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.permits = new Semaphore(concurrency, true);
+
+        Tags tags = Tags.of("lane", lane.name().toLowerCase());
+        meterRegistry.gauge("point.bulkhead.active", tags, this, Bulkhead::active);
+        meterRegistry.gauge("point.bulkhead.queued", tags, queued, AtomicInteger::get);
+        meterRegistry.gauge("point.bulkhead.capacity", tags, this, Bulkhead::capacity);
+        this.rejected = meterRegistry.counter("point.bulkhead.rejected", tags);
+        this.waitTime = meterRegistry.timer("point.bulkhead.wait", tags);
+    }
+
+    public void acquire() {
+        if (permits.tryAcquire()) {
+            waitTime.record(0, TimeUnit.NANOSECONDS);
+            return;
+        }
+        if (queued.incrementAndGet() > queueLimit) {
+            queued.decrementAndGet();
+            throw reject();
+        }
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            queued.decrementAndGet();
+        }
+        waitTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            throw reject();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public PointLane lane() {
+        return lane;
+    }
+
+    public int active() {
+        return concurrency - permits.availablePermits();
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+
+    public long rejectedCount() {
+        return (long) rejected.count();
+    }
+
+    /**
+     * 이 레인이 동시에 붙잡을 수 있는 최대 요청 스레드 수
+     */
+    public int capacity() {
+        return concurrency + queueLimit;
+    }
+
+    private BulkheadFullException reject() {
+        rejected.increment();
+        return new BulkheadFullException(lane);
+    }
+}
@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point.bulkhead;
+
+import lombok.Getter;
+
+@Getter
+public class BulkheadFullException extends RuntimeException {
+
+    private final PointLane lane;
+
+    public BulkheadFullException(PointLane lane) {
+        super(lane.name().toLowerCase() + " 요청이 몰려 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+        this.lane = lane;
+    }
+
+    // 포화 시 대량으로 발생하므로 스택 트레이스를 만들지 않는다.
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,55 @@
+package io.hhplus.tdd.point.bulkhead;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * {@link Bulkheaded} 가 붙은 핸들러를 해당 레인의 한도 안에서만 실행한다.
+ * - 자리를 얻지 못하면 preHandle 에서 BulkheadFullException 을 던져 503 으로 응답한다.
+ * - 비동기 처리(DeferredResult 등)로 넘어가면 서블릿 스레드를 반납하는 시점에 자리도 반납하고,
+ *   결과를 쓰는 async dispatch 에서는 다시 잡지 않는다.
+ */
+@RequiredArgsConstructor
+class BulkheadInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ACQUIRED = BulkheadInterceptor.class.getName() + ".acquired";
+
+    private final PointBulkheads bulkheads;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        Bulkheaded bulkheaded = method.getMethodAnnotation(Bulkheaded.class);
+        if (bulkheaded == null) {
+            return true;
+        }
+        Bulkhead bulkhead = bulkheads.get(bulkheaded.value());
+        bulkhead.acquire();
+        request.setAttribute(ACQUIRED, bulkhead);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    private static void release(HttpServletRequest request) {
+        Object acquired = request.getAttribute(ACQUIRED);
+        if (acquired instanceof Bulkhead bulkhead) {
+            request.removeAttribute(ACQUIRED);
+            bulkhead.release();
+        }
+    }
+}
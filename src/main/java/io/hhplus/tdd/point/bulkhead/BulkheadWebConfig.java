@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point.bulkhead;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * BulkheadInterceptor 등록
+ * - 컨트롤러 슬라이스 테스트처럼 PointBulkheads 빈이 없는 컨텍스트에서는 레인 없이 동작한다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class BulkheadWebConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<PointBulkheads> bulkheads;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        bulkheads.ifAvailable(available -> registry.addInterceptor(new BulkheadInterceptor(available)));
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point.bulkhead;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 메서드를 실행할 레인을 지정한다. (BulkheadInterceptor)
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkheaded {
+
+    PointLane value();
+}
@@ -0,0 +1,48 @@
+package io.hhplus.tdd.point.bulkhead;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 레인별 Bulkhead
+ * - 레인은 별도 스레드 풀이 아니라 요청 스레드(Tomcat) 위의 동시 실행 한도다.
+ *   모든 레인의 capacity 합이 server.tomcat.threads.max 이하이면, 한 레인이 포화돼도 다른 레인이 쓸 요청 스레드가 남는다.
+ * - 합이 넘치면 기동 시 경고만 남긴다.
+ */
+@Slf4j
+@Component
+public class PointBulkheads {
+
+    private final Map<PointLane, Bulkhead> bulkheads = new EnumMap<>(PointLane.class);
+
+    public PointBulkheads(MeterRegistry meterRegistry,
+                          @Value("${server.tomcat.threads.max:200}") int requestThreads,
+                          @Value("${point.bulkhead.read.concurrency:64}") int readConcurrency,
+                          @Value("${point.bulkhead.read.queue:32}") int readQueue,
+                          @Value("${point.bulkhead.read.max-wait:500ms}") Duration readMaxWait,
+                          @Value("${point.bulkhead.write.concurrency:48}") int writeConcurrency,
+                          @Value("${point.bulkhead.write.queue:24}") int writeQueue,
+                          @Value("${point.bulkhead.write.max-wait:2s}") Duration writeMaxWait,
+                          @Value("${point.bulkhead.history.concurrency:8}") int historyConcurrency,
+                          @Value("${point.bulkhead.history.queue:16}") int historyQueue,
+                          @Value("${point.bulkhead.history.max-wait:1s}") Duration historyMaxWait) {
+        bulkheads.put(PointLane.READ, new Bulkhead(PointLane.READ, readConcurrency, readQueue, readMaxWait, meterRegistry));
+        bulkheads.put(PointLane.WRITE, new Bulkhead(PointLane.WRITE, writeConcurrency, writeQueue, writeMaxWait, meterRegistry));
+        bulkheads.put(PointLane.HISTORY, new Bulkhead(PointLane.HISTORY, historyConcurrency, historyQueue, historyMaxWait, meterRegistry));
+
+        int totalCapacity = bulkheads.values().stream().mapToInt(Bulkhead::capacity).sum();
+        if (totalCapacity > requestThreads) {
+            log.warn("레인 capacity 합({})이 요청 스레드 수({})보다 커서 레인 간 격리가 보장되지 않습니다.", totalCapacity, requestThreads);
+        }
+    }
+
+    public Bulkhead get(PointLane lane) {
+        return bulkheads.get(lane);
+    }
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point.bulkhead;
+
+/**
+ * 요청 실행 레인
+ * - READ : 잔고 조회처럼 짧은 읽기
+ * - WRITE : 사용자 락을 쥐고 Table 쓰기를 기다리는 충전/사용
+ * - HISTORY : 히스토리 전체 조회
+ */
+public enum PointLane {
+    READ,
+    WRITE,
+    HISTORY
+}
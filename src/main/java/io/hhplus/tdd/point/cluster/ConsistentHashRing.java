@@ -0,0 +1,64 @@
+package io.hhplus.tdd.point.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 가상 노드 기반 consistent hash ring (불변 객체)
+ * - 노드마다 virtualNodes 개의 지점을 링 위에 배치해 사용자 분포를 고르게 만든다.
+ * - 노드가 추가/제거되면 해당 노드의 지점과 인접한 구간의 사용자만 소유자가 바뀐다.
+ */
+public final class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    private final Set<String> nodeIds;
+
+    public ConsistentHashRing(Collection<String> nodeIds, int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("가상 노드 수는 1 이상이어야 합니다.");
+        }
+        this.nodeIds = new TreeSet<>(nodeIds);
+        for (String nodeId : this.nodeIds) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.putIfAbsent(hash(nodeId + "#" + i), nodeId);
+            }
+        }
+    }
+
+    public String ownerOf(long userId) {
+        if (ring.isEmpty()) {
+            throw new IllegalStateException("등록된 노드가 없습니다.");
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(mix(userId));
+        return (entry != null ? entry : ring.firstEntry()).getValue();
+    }
+
+    public Set<String> nodeIds() {
+        return nodeIds;
+    }
+
+    // FNV-1a 로 바이트를 접은 뒤 비트를 섞는다.
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    // MurmurHash3 fmix64
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
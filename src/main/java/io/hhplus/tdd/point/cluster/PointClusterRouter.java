@@ -0,0 +1,208 @@
+package io.hhplus.tdd.point.cluster;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.exception.MaxBalanceExceededException;
+import io.hhplus.tdd.exception.MaxChargeAmountException;
+import io.hhplus.tdd.exception.MinChargeAmountException;
+import io.hhplus.tdd.point.dto.PointRequest;
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.UserPoint;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * 사용자 요청을 소유 노드로 전달하는 라우터
+ * - 소유 노드는 ConsistentHashRing 으로 결정한다.
+ * - 노드가 추가/제거되면 소유자가 바뀌는 사용자의 잔고와 히스토리를 새 노드로 옮긴 뒤 링을 교체한다.
+ *   리밸런싱 동안에는 write lock 으로 요청을 잠시 멈춰, 옮기는 중인 사용자가 양쪽에서 변경되지 않게 한다.
+ */
+public class PointClusterRouter {
+
+    private static final TypeReference<List<PointHistory>> HISTORIES = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final int virtualNodes;
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ReadWriteLock rebalanceLock = new ReentrantReadWriteLock();
+    private final Map<String, URI> nodes = new HashMap<>();
+    private ConsistentHashRing ring;
+
+    public PointClusterRouter(ObjectMapper objectMapper, int virtualNodes) {
+        this.objectMapper = objectMapper;
+        this.virtualNodes = virtualNodes;
+        this.ring = new ConsistentHashRing(List.of(), virtualNodes);
+    }
+
+    public UserPoint getPoint(long userId) {
+        return route(userId, uri -> call(get(uri, "/point/" + userId), UserPoint.class));
+    }
+
+    public List<PointHistory> getHistories(long userId) {
+        return route(userId, uri -> call(get(uri, "/point/" + userId + "/histories"), HISTORIES));
+    }
+
+    public UserPoint charge(long userId, long amount) {
+        return route(userId, uri -> call(patch(uri, "/point/" + userId + "/charge", new PointRequest(amount)), UserPoint.class));
+    }
+
+    public UserPoint use(long userId, long amount) {
+        return route(userId, uri -> call(patch(uri, "/point/" + userId + "/use", new PointRequest(amount)), UserPoint.class));
+    }
+
+    public String ownerOf(long userId) {
+        rebalanceLock.readLock().lock();
+        try {
+            return ring.ownerOf(userId);
+        } finally {
+            rebalanceLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 노드를 추가하고, 새 노드가 소유하게 된 사용자를 기존 노드에서 옮겨 온다.
+     * @return 옮긴 사용자 수
+     */
+    public int addNode(String nodeId, URI uri) {
+        rebalanceLock.writeLock().lock();
+        try {
+            Map<String, URI> next = new HashMap<>(nodes);
+            if (next.putIfAbsent(nodeId, uri) != null) {
+                throw new IllegalArgumentException("이미 등록된 노드입니다: " + nodeId);
+            }
+            return rebalance(next);
+        } finally {
+            rebalanceLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 노드가 소유한 사용자를 남은 노드로 옮긴 뒤 노드를 제거한다.
+     * @return 옮긴 사용자 수
+     */
+    public int removeNode(String nodeId) {
+        rebalanceLock.writeLock().lock();
+        try {
+            Map<String, URI> next = new HashMap<>(nodes);
+            if (next.remove(nodeId) == null) {
+                throw new IllegalArgumentException("등록되지 않은 노드입니다: " + nodeId);
+            }
+            if (next.isEmpty() && !nodes.isEmpty()) {
+                throw new IllegalStateException("마지막 노드는 제거할 수 없습니다.");
+            }
+            return rebalance(next);
+        } finally {
+            rebalanceLock.writeLock().unlock();
+        }
+    }
+
+    // write lock 을 쥔 상태에서 호출된다.
+    private int rebalance(Map<String, URI> nextNodes) {
+        ConsistentHashRing nextRing = new ConsistentHashRing(nextNodes.keySet(), virtualNodes);
+        int moved = 0;
+
+        for (Map.Entry<String, URI> node : nodes.entrySet()) {
+            long[] userIds = call(get(node.getValue(), "/internal/users"), long[].class);
+            for (long userId : userIds) {
+                // 예전에 떠나보낸 사용자의 잔여 데이터는 현재 소유자가 아니므로 건너뛴다.
+                if (!ring.ownerOf(userId).equals(node.getKey())) {
+                    continue;
+                }
+                String nextOwner = nextRing.ownerOf(userId);
+                if (nextOwner.equals(node.getKey())) {
+                    continue;
+                }
+                UserState state = call(get(node.getValue(), "/internal/users/" + userId), UserState.class);
+                call(put(nextNodes.get(nextOwner), "/internal/users/" + userId, state), UserState.class);
+                moved++;
+            }
+        }
+
+        nodes.clear();
+        nodes.putAll(nextNodes);
+        ring = nextRing;
+        return moved;
+    }
+
+    private <T> T route(long userId, Function<URI, T> call) {
+        rebalanceLock.readLock().lock();
+        try {
+            return call.apply(nodes.get(ring.ownerOf(userId)));
+        } finally {
+            rebalanceLock.readLock().unlock();
+        }
+    }
+
+    private HttpRequest get(URI node, String path) {
+        return HttpRequest.newBuilder(node.resolve(path)).GET().build();
+    }
+
+    private HttpRequest patch(URI node, String path, Object body) {
+        return HttpRequest.newBuilder(node.resolve(path))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofByteArray(write(body)))
+                .build();
+    }
+
+    private HttpRequest put(URI node, String path, Object body) {
+        return HttpRequest.newBuilder(node.resolve(path))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(write(body)))
+                .build();
+    }
+
+    private <T> T call(HttpRequest request, Class<T> type) {
+        return objectMapper.convertValue(send(request), type);
+    }
+
+    private <T> T call(HttpRequest request, TypeReference<T> type) {
+        return objectMapper.convertValue(send(request), type);
+    }
+
+    // 노드의 에러 응답(ErrorMapper 의 상태/코드)은 PointService 와 같은 예외 타입으로 되돌린다. (REST 응답의 코드가 그대로 나간다)
+    private Object send(HttpRequest request) {
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == 200) {
+                return objectMapper.readTree(response.body());
+            }
+            ErrorResponse error = objectMapper.readValue(response.body(), ErrorResponse.class);
+            throw switch (error.code()) {
+                case "MIN_CHARGE_ERROR" -> new MinChargeAmountException();
+                case "MAX_CHARGE_ERROR" -> new MaxChargeAmountException();
+                case "MAX_BALANCE_ERROR" -> new MaxBalanceExceededException();
+                default -> switch (response.statusCode()) {
+                    case 400 -> new IllegalArgumentException(error.message());
+                    case 409 -> new IllegalStateException(error.message());
+                    default -> new UncheckedIOException(new IOException(request.uri() + " 응답 오류: " + error.code()));
+                };
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new IOException("노드 호출이 중단되었습니다.", e));
+        }
+    }
+
+    private byte[] write(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
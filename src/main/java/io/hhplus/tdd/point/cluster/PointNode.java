@@ -0,0 +1,145 @@
+package io.hhplus.tdd.point.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.hhplus.tdd.ErrorMapper;
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.dto.PointRequest;
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.history.TablePointHistoryStore;
+import io.hhplus.tdd.point.lock.LocalLockProvider;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.service.UserPointRegistry;
+import io.hhplus.tdd.point.wal.PointWriteAheadLog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 독립된 Table/PointService 를 가진 샤드 노드
+ * - loopback 포트에 HTTP 로 노출되며, PointClusterRouter 가 소유 사용자의 요청만 전달한다.
+ * - /internal/users 는 리밸런싱 시 사용자 상태를 내보내고 받아들이는 용도다.
+ * - 거절/오류는 ErrorMapper 로 REST 와 같은 상태/코드로 응답해, 라우터가 그대로 전달한다.
+ */
+public class PointNode implements Closeable {
+
+    private static final int WORKER_THREADS = 64;
+
+    private final String id;
+    private final ObjectMapper objectMapper;
+    private final UserPointRegistry userPointRegistry = new UserPointRegistry();
+    private final PointService pointService;
+    private final ExecutorService executor = Executors.newFixedThreadPool(WORKER_THREADS);
+    private final HttpServer server;
+
+    private PointNode(String id, ObjectMapper objectMapper) throws IOException {
+        this.id = id;
+        this.objectMapper = objectMapper;
+        this.pointService = new PointService(new UserPointTable(), new TablePointHistoryStore(new PointHistoryTable()), new LocalLockProvider(), List.of(userPointRegistry), PointWriteAheadLog.inMemory());
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    public static PointNode start(String id, ObjectMapper objectMapper) throws IOException {
+        PointNode node = new PointNode(id, objectMapper);
+        node.server.start();
+        return node;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public URI uri() {
+        InetSocketAddress address = server.getAddress();
+        return URI.create("http://" + address.getHostString() + ":" + address.getPort());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                Object body = dispatch(exchange.getRequestMethod(), exchange.getRequestURI().getPath().split("/"), exchange.getRequestBody());
+                respond(exchange, body == null ? 404 : 200, body == null ? new ErrorResponse("NOT_FOUND", "지원하지 않는 경로입니다.") : body);
+            } catch (RuntimeException e) {
+                ErrorMapper.MappedError error = ErrorMapper.map(e);
+                respond(exchange, error.status(), error.toResponse());
+            }
+        }
+    }
+
+    // 경로: ["", "point", "{id}", ...] 또는 ["", "internal", "users", ...]
+    private Object dispatch(String method, String[] path, InputStream body) throws IOException {
+        if (path.length >= 3 && path[1].equals("point")) {
+            long userId = Long.parseLong(path[2]);
+            String action = path.length == 4 ? path[3] : "";
+            return switch (method + " " + action) {
+                case "GET " -> pointService.getPoint(userId);
+                case "GET histories" -> pointService.getHistories(userId);
+                case "PATCH charge" -> pointService.charge(userId, read(body, PointRequest.class).getAmount());
+                case "PATCH use" -> pointService.use(userId, read(body, PointRequest.class).getAmount());
+                default -> null;
+            };
+        }
+        if (path.length >= 3 && path[1].equals("internal") && path[2].equals("users")) {
+            if (path.length == 3 && method.equals("GET")) {
+                return userPointRegistry.snapshot().stream()
+                        .mapToLong(entry -> entry.userPoint().id())
+                        .toArray();
+            }
+            if (path.length == 4) {
+                long userId = Long.parseLong(path[3]);
+                return switch (method) {
+                    case "GET" -> new UserState(pointService.getPoint(userId), pointService.getHistories(userId));
+                    case "PUT" -> accept(read(body, UserState.class));
+                    default -> null;
+                };
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 이동해 온 사용자 상태를 적용한다.
+     * 예전에 이 노드가 소유했던 사용자라면 떠날 당시의 히스토리가 그대로 남아 있고,
+     * 히스토리는 append-only 이므로 그 이후 분량만 이어 붙인다.
+     */
+    private UserState accept(UserState state) {
+        long userId = state.userPoint().id();
+        int retained = pointService.getHistories(userId).size();
+        List<PointHistory> histories = state.histories();
+        List<PointHistory> appended = histories.subList(Math.min(retained, histories.size()), histories.size());
+        pointService.restore(state.userPoint(), appended);
+        return state;
+    }
+
+    private <T> T read(InputStream body, Class<T> type) throws IOException {
+        return objectMapper.readValue(body, type);
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
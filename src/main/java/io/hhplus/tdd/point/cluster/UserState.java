@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point.cluster;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.UserPoint;
+
+import java.util.List;
+
+/**
+ * 노드 간 이동 시 함께 옮기는 사용자 상태
+ */
+public record UserState(
+        UserPoint userPoint,
+        List<PointHistory> histories
+) {
+}
@@ -0,0 +1,38 @@
+package io.hhplus.tdd.point.controller;
+
+import io.hhplus.tdd.point.dto.LeaderboardEntry;
+import io.hhplus.tdd.point.service.PointLeaderboard;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+@RestController
+@RequestMapping("/point")
+@RequiredArgsConstructor
+public class LeaderboardController {
+
+    private final PointLeaderboard pointLeaderboard;
+
+    /**
+     * 포인트 잔고 상위 N명 조회
+     */
+    @GetMapping("leaderboard")
+    public List<LeaderboardEntry> leaderboard(
+            @RequestParam(value = "n", defaultValue = "100") int n
+    ) {
+        return pointLeaderboard.top(n);
+    }
+
+    /**
+     * 특정 유저의 잔고 순위 조회
+     */
+    @GetMapping("{id}/rank")
+    public LeaderboardEntry rank(
+            @PathVariable("id") long id
+    ) {
+        return pointLeaderboard.rankOf(id)
+                .orElseThrow(() -> new NoSuchElementException("랭킹 정보가 없는 사용자입니다."));
+    }
+}
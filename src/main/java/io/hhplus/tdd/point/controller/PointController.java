@@ -1,13 +1,23 @@
 package io.hhplus.tdd.point.controller;
 
+import io.hhplus.tdd.point.bulkhead.Bulkheaded;
+import io.hhplus.tdd.point.bulkhead.PointLane;
+import io.hhplus.tdd.point.dto.PointCancellation;
 import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.replica.ReplicaReadRouter;
+import io.hhplus.tdd.point.replica.ReplicaStatus;
 import io.hhplus.tdd.point.service.PointService;
 import io.hhplus.tdd.point.entity.UserPoint;
 import io.hhplus.tdd.point.dto.PointRequest;
+import io.hhplus.tdd.point.sync.PointSyncCache;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -19,26 +29,94 @@ public class PointController {
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
 
     private final PointService pointService;
+    private final ReplicaReadRouter replicaReadRouter;
+    private final PointSyncCache pointSyncCache;
 
 
     /**
      * 특정 유저의 포인트를 조회
+     * - maxStalenessMs 를 주면 그 이내로 뒤처진 복제본에서 조회한다.
+     * - 그 외에는 사용자 버전으로 ETag 를 달고, If-None-Match 가 맞으면 테이블을 읽지 않고 304 로 응답한다.
+     *   (point.sync.enabled=false 면 ETag 없이 테이블을 읽는다)
      */
     @GetMapping("{id}")
-    public UserPoint point(
-            @PathVariable("id") long id
+    @Bulkheaded(PointLane.READ)
+    public ResponseEntity<UserPoint> point(
+            @PathVariable("id") long id,
+            @RequestParam(value = "maxStalenessMs", required = false) Long maxStalenessMs,
+            ServletWebRequest webRequest
     ) {
-        return pointService.getPoint(id);
+        if (maxStalenessMs != null) {
+            return ResponseEntity.ok(replicaReadRouter.getPoint(id, maxStalenessMs));
+        }
+        if (!pointSyncCache.enabled()) {
+            return ResponseEntity.ok(pointService.getPoint(id));
+        }
+        PointSyncCache.UserVersion current = pointSyncCache.current(id);
+        String etag = PointSyncCache.etag(current.version());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        UserPoint userPoint = current.userPoint() != null ? current.userPoint() : pointService.getPoint(id);
+        return versioned(etag).body(userPoint);
     }
 
     /**
      * 특정 유저의 포인트 충전/이용 내역을 조회
+     * - 히스토리는 복제본에 두지 않으므로 항상 primary 에서 조회한다. (maxStalenessMs 는 받지 않는다)
+     * - 사용자 버전으로 ETag 를 달고, If-None-Match 가 맞으면 테이블을 읽지 않고 304 로 응답한다.
      */
     @GetMapping("{id}/histories")
-    public List<PointHistory> history(
-            @PathVariable("id") long id
+    @Bulkheaded(PointLane.HISTORY)
+    public ResponseEntity<List<PointHistory>> history(
+            @PathVariable("id") long id,
+            ServletWebRequest webRequest
+    ) {
+        if (!pointSyncCache.enabled()) {
+            return ResponseEntity.ok(pointService.getHistories(id));
+        }
+        String etag = PointSyncCache.etag(pointSyncCache.current(id).version());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return versioned(etag).body(pointService.getHistories(id));
+    }
+
+    /**
+     * sinceVersion 이후에 쌓인 히스토리만 조회 (HistoryDelta)
+     * - 응답의 version 을 다음 요청의 sinceVersion 으로 쓴다.
+     * - 서버가 기억하지 못하는 버전이면 full=true 로 전체 히스토리를 준다. (point.sync.enabled=false 면 항상 전체)
+     * - 같은 (버전, sinceVersion) 응답은 직렬화한 바이트를 캐시해 다시 쓴다.
+     */
+    @GetMapping(value = "{id}/histories", params = "sinceVersion", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Bulkheaded(PointLane.HISTORY)
+    public ResponseEntity<byte[]> historyDelta(
+            @PathVariable("id") long id,
+            @RequestParam("sinceVersion") long sinceVersion,
+            ServletWebRequest webRequest
     ) {
-        return pointService.getHistories(id);
+        if (!pointSyncCache.enabled()) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(pointSyncCache.historiesSince(id, sinceVersion, pointService::getHistories).body());
+        }
+        String etag = PointSyncCache.etag(pointSyncCache.current(id).version());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        PointSyncCache.Delta delta = pointSyncCache.historiesSince(id, sinceVersion, pointService::getHistories);
+        return versioned(PointSyncCache.etag(delta.version()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(delta.body());
+    }
+
+    /**
+     * 복제본별 적용 위치와 지연 조회
+     */
+    @GetMapping("replicas")
+    @Bulkheaded(PointLane.READ)
+    public List<ReplicaStatus> replicas() {
+        return replicaReadRouter.status();
     }
 
     /**
@@ -46,6 +124,7 @@ public class PointController {
      */
 
     @PatchMapping("{id}/charge")
+    @Bulkheaded(PointLane.WRITE)
     public UserPoint charge(
             @PathVariable("id") long id,
             @RequestBody PointRequest request
@@ -57,10 +136,29 @@ public class PointController {
      * 특정 유저의 포인트를 사용
      */
     @PatchMapping("{id}/use")
+    @Bulkheaded(PointLane.WRITE)
     public UserPoint use(
             @PathVariable("id") long id,
             @RequestBody PointRequest request
     ) {
         return pointService.use(id, request.getAmount());
     }
+
+    /**
+     * 특정 충전/사용 거래를 취소
+     */
+    @PostMapping("histories/{historyId}/cancel")
+    @Bulkheaded(PointLane.WRITE)
+    public PointCancellation cancel(
+            @PathVariable("historyId") long historyId
+    ) {
+        return pointService.cancel(historyId);
+    }
+
+    // JSON/바이너리 표현이 같은 ETag 를 쓰므로 약한 ETag 와 Vary: Accept 를 함께 단다.
+    private static ResponseEntity.BodyBuilder versioned(String etag) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
 }
@@ -0,0 +1,81 @@
+package io.hhplus.tdd.point.controller;
+
+import io.hhplus.tdd.point.bulkhead.Bulkheaded;
+import io.hhplus.tdd.point.bulkhead.PointLane;
+import io.hhplus.tdd.point.dto.PointRequest;
+import io.hhplus.tdd.point.operation.PointOperation;
+import io.hhplus.tdd.point.operation.PointOperationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.net.URI;
+
+/**
+ * 비동기 충전/사용 API
+ * - Prefer: respond-async 헤더가 있는 충전/사용 요청만 여기로 온다. 없으면 기존 PointController 가 동기로 처리한다.
+ * - 접수 즉시 202 와 작업 위치(Location)를 돌려주고, 결과는 operations/{opId} 로 조회한다.
+ */
+@RestController
+@RequestMapping("/point")
+@RequiredArgsConstructor
+public class PointOperationController {
+
+    private static final String RESPOND_ASYNC = "Prefer=respond-async";
+    private static final long MAX_WAIT_MILLIS = 30_000;
+
+    private final PointOperationService pointOperationService;
+
+    /**
+     * 특정 유저의 포인트를 비동기로 충전
+     */
+    @PatchMapping(value = "{id}/charge", headers = RESPOND_ASYNC)
+    public ResponseEntity<PointOperation> chargeAsync(
+            @PathVariable("id") long id,
+            @RequestBody PointRequest request
+    ) {
+        return accepted(pointOperationService.charge(id, request.getAmount()));
+    }
+
+    /**
+     * 특정 유저의 포인트를 비동기로 사용
+     */
+    @PatchMapping(value = "{id}/use", headers = RESPOND_ASYNC)
+    public ResponseEntity<PointOperation> useAsync(
+            @PathVariable("id") long id,
+            @RequestBody PointRequest request
+    ) {
+        return accepted(pointOperationService.use(id, request.getAmount()));
+    }
+
+    /**
+     * 비동기 작업 상태 조회
+     * - waitMs 를 주면 작업이 끝날 때까지 최대 그만큼 기다렸다가 응답한다. (기다리는 동안 서블릿 스레드는 반납된다)
+     * - 시간 안에 끝나지 않으면 PENDING 상태를 그대로 돌려준다.
+     */
+    @GetMapping("operations/{opId}")
+    @Bulkheaded(PointLane.READ)
+    public DeferredResult<PointOperation> operation(
+            @PathVariable("opId") String opId,
+            @RequestParam(value = "waitMs", defaultValue = "0") long waitMs
+    ) {
+        PointOperation current = pointOperationService.get(opId);
+        if (current.isDone() || waitMs <= 0) {
+            DeferredResult<PointOperation> result = new DeferredResult<>();
+            result.setResult(current);
+            return result;
+        }
+
+        DeferredResult<PointOperation> result = new DeferredResult<>(
+                Math.min(waitMs, MAX_WAIT_MILLIS), () -> pointOperationService.get(opId));
+        pointOperationService.completion(opId).thenAccept(result::setResult);
+        return result;
+    }
+
+    private static ResponseEntity<PointOperation> accepted(PointOperation operation) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/point/operations/" + operation.opId()))
+                .body(operation);
+    }
+}
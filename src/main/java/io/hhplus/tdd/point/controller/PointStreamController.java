@@ -0,0 +1,45 @@
+package io.hhplus.tdd.point.controller;
+
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.service.ReactivePointService;
+import io.hhplus.tdd.point.stream.PointBalanceBroadcaster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+/**
+ * 잔고 변경 구독 (Server-Sent Events)
+ * - 폴링 대신 연결을 유지하고, charge/use 가 커밋될 때마다 새 잔고를 balance 이벤트로 보낸다.
+ * - 끊긴 연결을 빨리 정리하도록 주기적으로 keep-alive 주석을 보낸다.
+ */
+@RestController
+@RequestMapping("/point")
+@RequiredArgsConstructor
+public class PointStreamController {
+
+    private static final Duration KEEP_ALIVE_INTERVAL = Duration.ofSeconds(15);
+
+    private final PointBalanceBroadcaster pointBalanceBroadcaster;
+    private final ReactivePointService reactivePointService;
+
+    /**
+     * 특정 유저의 잔고 변경을 구독
+     */
+    @GetMapping(value = "{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<UserPoint>> stream(
+            @PathVariable("id") long id
+    ) {
+        Flux<ServerSentEvent<UserPoint>> balances = pointBalanceBroadcaster.subscribe(id, reactivePointService.getPoint(id))
+                .map(userPoint -> ServerSentEvent.builder(userPoint).event("balance").build());
+        Flux<ServerSentEvent<UserPoint>> keepAlive = Flux.interval(KEEP_ALIVE_INTERVAL)
+                .map(tick -> ServerSentEvent.<UserPoint>builder().comment("keep-alive").build());
+        return Flux.merge(balances, keepAlive);
+    }
+}
@@ -0,0 +1,64 @@
+package io.hhplus.tdd.point.controller;
+
+import io.hhplus.tdd.point.dto.PointRequest;
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.service.ReactivePointService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * PointController 와 같은 API 를 Mono/Flux 로 응답한다.
+ * 서블릿 스레드는 요청을 넘긴 즉시 반환되고, 응답은 비동기로 기록된다.
+ */
+@RestController
+@RequestMapping("/reactive/point")
+@RequiredArgsConstructor
+public class ReactivePointController {
+
+    private final ReactivePointService reactivePointService;
+
+    /**
+     * 특정 유저의 포인트를 조회
+     */
+    @GetMapping("{id}")
+    public Mono<UserPoint> point(
+            @PathVariable("id") long id
+    ) {
+        return reactivePointService.getPoint(id);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 조회
+     */
+    @GetMapping("{id}/histories")
+    public Flux<PointHistory> history(
+            @PathVariable("id") long id
+    ) {
+        return reactivePointService.getHistories(id);
+    }
+
+    /**
+     * 특정 유저의 포인트를 충전
+     */
+    @PatchMapping("{id}/charge")
+    public Mono<UserPoint> charge(
+            @PathVariable("id") long id,
+            @RequestBody PointRequest request
+    ) {
+        return reactivePointService.charge(id, request.getAmount());
+    }
+
+    /**
+     * 특정 유저의 포인트를 사용
+     */
+    @PatchMapping("{id}/use")
+    public Mono<UserPoint> use(
+            @PathVariable("id") long id,
+            @RequestBody PointRequest request
+    ) {
+        return reactivePointService.use(id, request.getAmount());
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point.dto;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+
+import java.util.List;
+
+/**
+ * sinceVersion 이후에 추가된 히스토리
+ * - version : 응답 시점의 사용자 버전. 다음 요청의 sinceVersion 으로 쓴다.
+ * - full : sinceVersion 을 더 이상 알 수 없어(오래됐거나 재기동 전 버전) 전체 히스토리를 담았다.
+ *   클라이언트는 가진 목록을 이 응답으로 교체한다.
+ */
+public record HistoryDelta(
+        long version,
+        boolean full,
+        List<PointHistory> histories
+) {
+}
@@ -0,0 +1,8 @@
+package io.hhplus.tdd.point.dto;
+
+public record LeaderboardEntry(
+        long rank,
+        long userId,
+        long point
+) {
+}
@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point.dto;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.UserPoint;
+
+/**
+ * 거래 취소 결과
+ * - historyId : 취소한 원거래 히스토리 id
+ * - reversal : 원거래와 연결된 취소 히스토리 (CHARGE_CANCEL / USE_CANCEL)
+ * - userPoint : 취소 후 잔고
+ */
+public record PointCancellation(
+        long historyId,
+        PointHistory reversal,
+        UserPoint userPoint
+) {
+}
@@ -5,7 +5,11 @@ package io.hhplus.tdd.point.entity;
  * 포인트 트랜잭션 종류
  * - CHARGE : 충전
  * - USE : 사용
+ * - EXPIRE : 유효기간 만료로 인한 차감
+ * - CHARGE_CANCEL : 충전 취소로 인한 차감
+ * - USE_CANCEL : 사용 취소로 인한 환불
+ * 저장 포맷이 ordinal 을 쓰므로 새 타입은 끝에만 추가한다.
  */
 public enum TransactionType {
-    CHARGE, USE
+    CHARGE, USE, EXPIRE, CHARGE_CANCEL, USE_CANCEL
 }
\ No newline at end of file
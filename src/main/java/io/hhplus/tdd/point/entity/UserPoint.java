@@ -1,5 +1,8 @@
 package io.hhplus.tdd.point.entity;
 
+import io.hhplus.tdd.exception.InsufficientBalanceException;
+import io.hhplus.tdd.exception.MaxBalanceExceededException;
+
 public record UserPoint(
         long id,
         long point,
@@ -28,7 +31,7 @@ public record UserPoint(
             throw new IllegalArgumentException("사용 금액은 음수일 수 없습니다.");
         }
         if (amount > this.point) {
-            throw new IllegalStateException("잔액이 부족합니다.");
+            throw new InsufficientBalanceException();
         }
 
         long newPoint = this.point - amount;
@@ -40,7 +43,7 @@ public record UserPoint(
             throw new IllegalArgumentException("포인트는 음수일 수 없습니다.");
         }
         if (point > MAX_BALANCE) {
-            throw new IllegalArgumentException("최대 잔고는 10,000,000 포인트 입니다.");
+            throw new MaxBalanceExceededException();
         }
     }
 
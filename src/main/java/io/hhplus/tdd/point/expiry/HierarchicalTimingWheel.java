@@ -0,0 +1,124 @@
+package io.hhplus.tdd.point.expiry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 계층형 타이밍 휠
+ * - 0단은 tickMillis 간격의 wheelSize 칸, n단은 한 칸이 (n-1)단 한 바퀴에 해당한다.
+ * - 먼 미래의 타이머는 윗단에 들어가 있다가, 해당 칸 차례가 되면 아랫단으로 내려온다.
+ * - 등록/만료 모두 전체 타이머 수와 무관하게 처리되며, 만료 시각의 정밀도는 tickMillis 다.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<List<Timer<T>>[]> levels = new ArrayList<>();
+    // 다음에 처리할 tick 번호 (epoch 기준 tickMillis 단위)
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis < 1 || wheelSize < 2) {
+            throw new IllegalArgumentException("tick 은 1ms 이상, 칸 수는 2 이상이어야 합니다.");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTick = startMillis / tickMillis;
+        addLevel();
+    }
+
+    /**
+     * deadlineMillis 이후의 advance 에서 item 을 돌려준다. 이미 지난 시각이면 다음 advance 에서 돌려준다.
+     */
+    public synchronized void schedule(long deadlineMillis, T item) {
+        long tick = Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick);
+        place(new Timer<>(tick, item));
+        size++;
+    }
+
+    /**
+     * nowMillis 까지 휠을 돌리고 만료된 항목을 만료 시각 순서로 돌려준다.
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick <= targetTick) {
+            // 윗단부터 이번 tick 에 해당하는 칸을 아랫단으로 내린다.
+            for (int level = levels.size() - 1; level > 0; level--) {
+                long levelTicks = levelTicks(level);
+                if (currentTick % levelTicks == 0) {
+                    for (Timer<T> timer : drain(level, currentTick / levelTicks)) {
+                        place(timer);
+                    }
+                }
+            }
+            for (Timer<T> timer : drain(0, currentTick)) {
+                expired.add(timer.item());
+            }
+            currentTick++;
+        }
+        size -= expired.size();
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public long tickMillis() {
+        return tickMillis;
+    }
+
+    private void place(Timer<T> timer) {
+        long delta = timer.tick() - currentTick;
+        int level = 0;
+        while (delta >= levelTicks(level + 1)) {
+            level++;
+        }
+        while (levels.size() <= level) {
+            addLevel();
+        }
+        int index = (int) ((timer.tick() / levelTicks(level)) % wheelSize);
+        levels.get(level)[index].add(timer);
+    }
+
+    private List<Timer<T>> drain(int level, long slot) {
+        List<Timer<T>>[] buckets = levels.get(level);
+        int index = (int) (slot % wheelSize);
+        List<Timer<T>> drained = buckets[index];
+        if (drained.isEmpty()) {
+            return drained;
+        }
+        buckets[index] = new ArrayList<>();
+        return drained;
+    }
+
+    // level 단의 한 칸이 차지하는 tick 수 (wheelSize^level)
+    private long levelTicks(int level) {
+        long ticks = 1;
+        for (int i = 0; i < level; i++) {
+            ticks = Math.multiplyExact(ticks, wheelSize);
+        }
+        return ticks;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addLevel() {
+        List<Timer<T>>[] buckets = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        levels.add(buckets);
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    private record Timer<T>(
+            long tick,
+            T item
+    ) {
+    }
+}
@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point.expiry;
+
+import io.hhplus.tdd.point.service.PointService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 만료 lot 차감 스케줄러
+ * - tick 마다 타이밍 휠에서 만료 시각이 도래한 사용자만 꺼내 PointService.expire 를 실행한다.
+ * - 차감은 별도 작업 스레드에서 사용자 락 단위로 실행되므로, 다른 사용자의 charge/use 를 막지 않는다.
+ */
+@Slf4j
+@Component
+public class PointExpiryScheduler {
+
+    private final PointService pointService;
+    private final PointLotLedger pointLotLedger;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(daemon("point-expiry-tick"));
+    private final ExecutorService workers;
+
+    public PointExpiryScheduler(PointService pointService,
+                                PointLotLedger pointLotLedger,
+                                @Value("${point.expiry.workers:4}") int workerCount) {
+        this.pointService = pointService;
+        this.pointLotLedger = pointLotLedger;
+        this.workers = Executors.newFixedThreadPool(workerCount, daemon("point-expiry"));
+        long tickMillis = pointLotLedger.tickMillis();
+        ticker.scheduleAtFixedRate(this::sweep, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void sweep() {
+        try {
+            // 같은 tick 에 여러 lot 이 만료된 사용자는 한 번만 차감한다.
+            for (long userId : new LinkedHashSet<>(pointLotLedger.pollDue(System.currentTimeMillis()))) {
+                workers.execute(() -> expire(userId));
+            }
+        } catch (RuntimeException e) {
+            log.error("만료 대상 조회에 실패했습니다.", e);
+        }
+    }
+
+    private void expire(long userId) {
+        try {
+            pointService.expire(userId, () -> pointLotLedger.expiredAmount(userId, System.currentTimeMillis()));
+        } catch (RuntimeException e) {
+            // 만료된 lot 이 남지 않도록 다음 tick 에 다시 시도한다.
+            log.error("사용자 {} 의 포인트 만료 처리에 실패했습니다.", userId, e);
+            pointLotLedger.reschedule(userId, System.currentTimeMillis() + pointLotLedger.tickMillis());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        ticker.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point.expiry;
+
+/**
+ * 충전 단위 포인트 묶음(lot)의 스냅샷
+ * - 사용/만료 시 가장 오래된 lot 부터 차감된다.
+ */
+public record PointLot(
+        long chargedMillis,
+        long expiresAtMillis,
+        long remaining
+) {
+}
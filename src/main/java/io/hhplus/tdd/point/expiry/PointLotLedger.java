@@ -0,0 +1,305 @@
+package io.hhplus.tdd.point.expiry;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.service.PointChangeListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 포인트 lot 장부
+ * - 충전은 그 충전 히스토리 id 의 새 lot, 사용/만료는 가장 오래된 lot 부터 FIFO 차감이다.
+ * - 취소는 원거래 id 로 처리한다.
+ *   충전 취소는 그 충전의 lot 에서 먼저 빼고, 이미 쓰여 모자란 만큼만 FIFO 로 뺀다.
+ *   사용 취소는 그 사용이 차감했던 lot 에 원래 만료 시각 그대로 되돌린다. (lot 이 이미 비어 빠졌으면 같은 만료 시각으로 다시 넣는다)
+ * - 사용이 어느 lot 에서 얼마를 뺐는지는 사용 히스토리 id 별로 남기고, 차감한 lot 이 모두 만료되면 버린다.
+ *   버린 사용을 취소하면 되돌린 포인트도 이미 만료된 것이므로 바로 만료되는 lot 으로 넣는다.
+ * - 거래 금액이 잔고와 lot 합계의 차이와 맞을 때만 거래로 처리한다.
+ *   이관 복원, 장부가 모르는 거래(재기동 전 거래 등)처럼 맞지 않으면 차이만큼 보정한다.
+ *   (모자라면 새 유효기간의 lot 추가, 남으면 FIFO 차감)
+ * - lot 은 메모리에만 있으므로, 재기동 후 남는 저장소(jpa)에서는 기동 시 rebuild 로 히스토리에서 다시 만든다. (JpaPointLotLoader)
+ * - lot 의 만료 시각은 타이밍 휠에 등록되어, 만료 처리 시 전체 사용자를 훑지 않는다.
+ * - onCommitted/onCancelled 는 사용자 락 안에서 호출되므로 한 사용자의 lot 은 잔고와 같은 순서로 변경된다.
+ */
+@Component
+public class PointLotLedger implements PointChangeListener {
+
+    private static final int WHEEL_SIZE = 64;
+
+    private final long lifetimeMillis;
+    private final HierarchicalTimingWheel<Long> expiryWheel;
+    private final Map<Long, UserLots> lots = new ConcurrentHashMap<>();
+
+    public PointLotLedger(@Value("${point.expiry.lifetime:365d}") Duration lifetime,
+                          @Value("${point.expiry.tick-millis:1000}") long tickMillis) {
+        if (lifetime.isNegative() || lifetime.isZero()) {
+            throw new IllegalArgumentException("유효기간은 0보다 커야 합니다.");
+        }
+        this.lifetimeMillis = lifetime.toMillis();
+        this.expiryWheel = new HierarchicalTimingWheel<>(tickMillis, WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    @Override
+    public void onCommitted(UserPoint userPoint, PointHistory history) {
+        long committedMillis = history == null ? userPoint.updateMillis() : history.updateMillis();
+        UserLots userLots = lots.computeIfAbsent(userPoint.id(), id -> new UserLots());
+        List<Long> added = new ArrayList<>(1);
+        userLots.apply(history, userPoint.point(), committedMillis, lifetimeMillis, added);
+        schedule(userPoint.id(), added);
+    }
+
+    @Override
+    public void onCancelled(UserPoint userPoint, PointHistory reversal, long originalId) {
+        UserLots userLots = lots.computeIfAbsent(userPoint.id(), id -> new UserLots());
+        List<Long> added = new ArrayList<>(1);
+        userLots.cancel(reversal, originalId, userPoint.point(), lifetimeMillis, added);
+        schedule(userPoint.id(), added);
+    }
+
+    /**
+     * 사용자의 lot 을 히스토리로 다시 만들어 바꾼다. (사용자 락 안에서 호출한다)
+     * - 히스토리를 id 순서대로 재생하며 잔고를 다시 계산하고, 각 거래의 시각을 충전/차감 시각으로 쓴다.
+     * - reversals 는 취소 히스토리 id -> 되돌린 원거래 id 다.
+     * - 마지막에 현재 잔고와 맞추고, 이미 지난 만료 시각은 다음 tick 에 만료 처리된다.
+     */
+    public void rebuild(UserPoint userPoint, List<PointHistory> histories, Map<Long, Long> reversals) {
+        UserLots userLots = new UserLots();
+        List<Long> added = new ArrayList<>();
+        long balance = 0;
+        for (PointHistory history : histories) {
+            balance += switch (history.type()) {
+                case CHARGE, USE_CANCEL -> history.amount();
+                case USE, EXPIRE, CHARGE_CANCEL -> -history.amount();
+            };
+            Long originalId = reversals.get(history.id());
+            if (originalId != null) {
+                userLots.cancel(history, originalId, balance, lifetimeMillis, added);
+            } else {
+                userLots.apply(history, balance, history.updateMillis(), lifetimeMillis, added);
+            }
+        }
+        userLots.apply(null, userPoint.point(), userPoint.updateMillis(), lifetimeMillis, added);
+        lots.put(userPoint.id(), userLots);
+        schedule(userPoint.id(), added);
+    }
+
+    /**
+     * nowMillis 시점에 만료된 잔여 포인트 합계
+     * - 사용자 락 안에서 호출해야 이후 차감과 같은 상태를 본다.
+     */
+    public long expiredAmount(long userId, long nowMillis) {
+        UserLots userLots = lots.get(userId);
+        return userLots == null ? 0 : userLots.expiredAmount(nowMillis);
+    }
+
+    /**
+     * nowMillis 까지 만료 시각이 도래한 lot 을 가진 사용자 목록 (중복 포함)
+     */
+    public List<Long> pollDue(long nowMillis) {
+        return expiryWheel.advance(nowMillis);
+    }
+
+    public void reschedule(long userId, long atMillis) {
+        expiryWheel.schedule(atMillis, userId);
+    }
+
+    public List<PointLot> lotsOf(long userId) {
+        UserLots userLots = lots.get(userId);
+        return userLots == null ? List.of() : userLots.snapshot();
+    }
+
+    public long tickMillis() {
+        return expiryWheel.tickMillis();
+    }
+
+    private void schedule(long userId, List<Long> expiresAtMillis) {
+        for (long at : expiresAtMillis) {
+            expiryWheel.schedule(at, userId);
+        }
+    }
+
+    private static final class Lot {
+
+        // 충전 히스토리 id (잔고 차이 보정으로 생긴 lot 은 0)
+        private final long historyId;
+        private final long chargedMillis;
+        private final long expiresAtMillis;
+        private long remaining;
+
+        private Lot(long historyId, long chargedMillis, long expiresAtMillis, long remaining) {
+            this.historyId = historyId;
+            this.chargedMillis = chargedMillis;
+            this.expiresAtMillis = expiresAtMillis;
+            this.remaining = remaining;
+        }
+    }
+
+    /**
+     * 사용 한 건이 lot 하나에서 뺀 양
+     */
+    private record Consumption(
+            long historyId,
+            long chargedMillis,
+            long expiresAtMillis,
+            long amount
+    ) {
+    }
+
+    // 조회 API 가 락 밖에서 읽을 수 있도록 변경/조회 모두 인스턴스 모니터로 감싼다.
+    private static final class UserLots {
+
+        // 만료 시각 순 (유효기간이 일정해 충전 순서와 같고, 되돌린 lot 도 만료 시각 자리에 넣는다)
+        private final LinkedList<Lot> queue = new LinkedList<>();
+        // 사용 히스토리 id -> 그 사용이 뺀 lot 들 (사용 순)
+        private final LinkedHashMap<Long, List<Consumption>> consumptions = new LinkedHashMap<>();
+        // 만료돼 버린 사용 기록 중 가장 큰 히스토리 id
+        private long prunedUseId;
+        private long total;
+
+        private synchronized void apply(PointHistory history, long balance, long committedMillis,
+                                        long lifetimeMillis, List<Long> added) {
+            pruneExpiredConsumptions(committedMillis);
+            TransactionType type = history == null ? null : history.type();
+            long diff = balance - total;
+            if (type == TransactionType.CHARGE && diff == history.amount()) {
+                addLot(new Lot(history.id(), committedMillis, committedMillis + lifetimeMillis, history.amount()), added);
+            } else if (type == TransactionType.USE && -diff == history.amount()) {
+                consumptions.put(history.id(), consume(history.amount()));
+            } else if (type == TransactionType.EXPIRE && -diff == history.amount()) {
+                consume(history.amount());
+            }
+            reconcile(balance, committedMillis, lifetimeMillis, added);
+        }
+
+        private synchronized void cancel(PointHistory reversal, long originalId, long balance,
+                                         long lifetimeMillis, List<Long> added) {
+            long committedMillis = reversal.updateMillis();
+            pruneExpiredConsumptions(committedMillis);
+            long diff = balance - total;
+            if (reversal.type() == TransactionType.CHARGE_CANCEL && -diff == reversal.amount()) {
+                long toTake = reversal.amount();
+                for (Iterator<Lot> it = queue.iterator(); it.hasNext() && toTake > 0; ) {
+                    Lot lot = it.next();
+                    if (lot.historyId == originalId) {
+                        long taken = Math.min(lot.remaining, toTake);
+                        lot.remaining -= taken;
+                        total -= taken;
+                        toTake -= taken;
+                        if (lot.remaining == 0) {
+                            it.remove();
+                        }
+                    }
+                }
+                // 취소한 충전이 이미 쓰인 만큼은 다른 lot 에서 뺀다.
+                consume(toTake);
+            } else if (reversal.type() == TransactionType.USE_CANCEL && diff == reversal.amount()) {
+                List<Consumption> consumed = consumptions.remove(originalId);
+                if (consumed != null) {
+                    for (Consumption consumption : consumed) {
+                        restore(consumption, added);
+                    }
+                } else if (originalId <= prunedUseId) {
+                    addLot(new Lot(0, committedMillis, committedMillis, reversal.amount()), added);
+                }
+            }
+            reconcile(balance, committedMillis, lifetimeMillis, added);
+        }
+
+        // 잔고와 lot 합계가 어긋나면(이관 복원, 장부가 모르는 거래) 차이만큼 보정한다.
+        private void reconcile(long balance, long committedMillis, long lifetimeMillis, List<Long> added) {
+            long diff = balance - total;
+            if (diff > 0) {
+                addLot(new Lot(0, committedMillis, committedMillis + lifetimeMillis, diff), added);
+            } else if (diff < 0) {
+                consume(-diff);
+            }
+        }
+
+        // 가장 오래된 lot 부터 amount 만큼 빼고, lot 별로 뺀 양을 돌려준다.
+        private List<Consumption> consume(long amount) {
+            List<Consumption> consumed = new ArrayList<>(1);
+            long toConsume = amount;
+            while (toConsume > 0 && !queue.isEmpty()) {
+                Lot oldest = queue.peekFirst();
+                long taken = Math.min(oldest.remaining, toConsume);
+                oldest.remaining -= taken;
+                toConsume -= taken;
+                total -= taken;
+                consumed.add(new Consumption(oldest.historyId, oldest.chargedMillis, oldest.expiresAtMillis, taken));
+                if (oldest.remaining == 0) {
+                    queue.pollFirst();
+                }
+            }
+            return consumed;
+        }
+
+        // 사용이 뺐던 lot 에 되돌린다. 그 lot 이 비어 빠졌으면 같은 충전 시각/만료 시각으로 다시 넣는다.
+        private void restore(Consumption consumption, List<Long> added) {
+            for (Lot lot : queue) {
+                if (lot.historyId == consumption.historyId() && lot.expiresAtMillis == consumption.expiresAtMillis()) {
+                    lot.remaining += consumption.amount();
+                    total += consumption.amount();
+                    return;
+                }
+            }
+            addLot(new Lot(consumption.historyId(), consumption.chargedMillis(), consumption.expiresAtMillis(), consumption.amount()), added);
+        }
+
+        // 만료 시각 자리에 넣는다. (대개 맨 뒤)
+        private void addLot(Lot lot, List<Long> added) {
+            ListIterator<Lot> it = queue.listIterator(queue.size());
+            while (it.hasPrevious()) {
+                if (it.previous().expiresAtMillis <= lot.expiresAtMillis) {
+                    it.next();
+                    break;
+                }
+            }
+            it.add(lot);
+            total += lot.remaining;
+            added.add(lot.expiresAtMillis);
+        }
+
+        // 오래된 사용부터, 뺀 lot 이 모두 만료된 기록을 버린다. (아직 만료 전인 기록을 만나면 멈춘다)
+        private void pruneExpiredConsumptions(long nowMillis) {
+            Iterator<Map.Entry<Long, List<Consumption>>> it = consumptions.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Long, List<Consumption>> entry = it.next();
+                for (Consumption consumption : entry.getValue()) {
+                    if (consumption.expiresAtMillis() > nowMillis) {
+                        return;
+                    }
+                }
+                prunedUseId = Math.max(prunedUseId, entry.getKey());
+                it.remove();
+            }
+        }
+
+        private synchronized long expiredAmount(long nowMillis) {
+            long expired = 0;
+            for (Lot lot : queue) {
+                if (lot.expiresAtMillis > nowMillis) {
+                    break;
+                }
+                expired += lot.remaining;
+            }
+            return expired;
+        }
+
+        private synchronized List<PointLot> snapshot() {
+            return queue.stream()
+                    .map(lot -> new PointLot(lot.chargedMillis, lot.expiresAtMillis, lot.remaining))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.hhplus.tdd.point.history;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 히스토리 id -> 값(PointHistory, HistoryRef 등) 인덱스
+ * - id 가 1 부터 거의 연속으로 발급되는 점을 이용해, 해시 대신 고정 크기 청크 배열에 id 위치로 바로 넣는다.
+ *   조회는 청크 번호/오프셋 계산 두 번으로 끝나고, 건당 추가 메모리는 참조 하나다.
+ * - 디렉터리는 청크가 모자랄 때만 두 배로 늘린다. 읽기는 락 없이 volatile 디렉터리를 본다.
+ */
+final class HistoryIdIndex<T> {
+
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private volatile AtomicReferenceArray<AtomicReferenceArray<T>> directory = new AtomicReferenceArray<>(16);
+
+    void put(long id, T value) {
+        if (id < 0) {
+            throw new IllegalArgumentException("히스토리 id 는 음수일 수 없습니다: " + id);
+        }
+        chunk((int) (id >>> CHUNK_BITS)).set((int) (id & CHUNK_MASK), value);
+    }
+
+    T get(long id) {
+        if (id < 0) {
+            return null;
+        }
+        AtomicReferenceArray<AtomicReferenceArray<T>> current = directory;
+        long chunkIndex = id >>> CHUNK_BITS;
+        if (chunkIndex >= current.length()) {
+            return null;
+        }
+        AtomicReferenceArray<T> chunk = current.get((int) chunkIndex);
+        return chunk == null ? null : chunk.get((int) (id & CHUNK_MASK));
+    }
+
+    private AtomicReferenceArray<T> chunk(int chunkIndex) {
+        AtomicReferenceArray<AtomicReferenceArray<T>> current = directory;
+        if (chunkIndex < current.length()) {
+            AtomicReferenceArray<T> chunk = current.get(chunkIndex);
+            if (chunk != null) {
+                return chunk;
+            }
+        }
+        synchronized (this) {
+            current = directory;
+            if (chunkIndex >= current.length()) {
+                int length = current.length();
+                while (length <= chunkIndex) {
+                    length <<= 1;
+                }
+                AtomicReferenceArray<AtomicReferenceArray<T>> grown = new AtomicReferenceArray<>(length);
+                for (int i = 0; i < current.length(); i++) {
+                    grown.set(i, current.get(i));
+                }
+                directory = grown;
+                current = grown;
+            }
+            AtomicReferenceArray<T> chunk = current.get(chunkIndex);
+            if (chunk == null) {
+                chunk = new AtomicReferenceArray<>(CHUNK_SIZE);
+                current.set(chunkIndex, chunk);
+            }
+            return chunk;
+        }
+    }
+}
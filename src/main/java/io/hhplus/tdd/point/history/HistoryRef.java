@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point.history;
+
+/**
+ * 히스토리 행에 함께 남기는 연결 정보
+ * - txId : 이 행을 쓴 잔고/히스토리 짝 쓰기의 WAL txId (없으면 0)
+ *   미완료 짝을 정리할 때 히스토리가 쓰였는지를 (금액, 유형, 시각)이 아니라 이 값으로 찾는다.
+ * - originalId : 취소(CHARGE_CANCEL/USE_CANCEL) 행이 되돌린 원거래 히스토리 id (없으면 0)
+ *   저장소가 원거래 id 로 취소 행을 찾을 수 있게 해, 중복 취소를 저장된 상태로 막는다.
+ */
+public record HistoryRef(
+        long txId,
+        long originalId
+) {
+
+    public static final HistoryRef NONE = new HistoryRef(0, 0);
+
+    public static HistoryRef ofTx(long txId) {
+        return txId == 0 ? NONE : new HistoryRef(txId, 0);
+    }
+}
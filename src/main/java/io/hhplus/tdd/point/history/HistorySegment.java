@@ -0,0 +1,311 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * 불변 히스토리 세그먼트 파일
+ * - [헤더][사용자 인덱스][레코드][id 인덱스][취소 인덱스] 순서로, 인덱스는 userId 오름차순이고 레코드는 사용자별로 모여 있다.
+ *   헤더 : magic(4) userCount(4) entryCount(4) maxId(8) minId(8) reversalCount(4)
+ *   인덱스 : userId(8) firstEntry(4) entryCount(4)
+ *   레코드 : id(8) amount(8) updateMillis(8) type(1) txId(8) originalId(8)
+ *   id 인덱스 : minId ~ maxId 의 id 마다 userSlot(4) entry(4), 없는 id 는 userSlot -1
+ *   취소 인덱스 : originalId 가 있는 행마다 originalId(8) userSlot(4) entry(4), originalId 오름차순
+ * - 세그먼트의 id 는 연속 구간이라 id 인덱스는 (id - minId) 로 바로 찾는다.
+ *   원거래 id 로 취소 행을 찾을 때는 취소 인덱스를 이진 탐색한다.
+ * - 파일 전체를 읽기 전용으로 mmap 하고, 인덱스 탐색과 레코드 조회 모두 매핑된 영역을 직접 읽는다.
+ *   세그먼트가 늘어나도 힙에는 매핑 객체만 남는다.
+ */
+final class HistorySegment {
+
+    static final String TEMP_SUFFIX = ".tmp";
+
+    private static final int MAGIC = 0x50485331;
+    private static final int HEADER_SIZE = 4 + 4 + 4 + 8 + 8 + 4;
+    private static final int INDEX_ENTRY_SIZE = 8 + 4 + 4;
+    private static final int ID_INDEX_ENTRY_SIZE = 4 + 4;
+    private static final int REVERSAL_ENTRY_SIZE = 8 + 4 + 4;
+    private static final int ENTRY_SIZE = 8 + 8 + 8 + 1 + 8 + 8;
+    // 레코드 안 txId 위치 : id(8) amount(8) updateMillis(8) type(1) 다음
+    private static final int TX_ID_OFFSET = 8 + 8 + 8 + 1;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int userCount;
+    private final int entryCount;
+    private final long maxId;
+    private final long minId;
+    private final int reversalCount;
+    private final int entriesOffset;
+    private final int idIndexOffset;
+    private final int reversalIndexOffset;
+
+    private HistorySegment(Path path, MappedByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("히스토리 세그먼트 파일이 아닙니다: " + path);
+        }
+        this.path = path;
+        this.buffer = buffer;
+        this.userCount = buffer.getInt(4);
+        this.entryCount = buffer.getInt(8);
+        this.maxId = buffer.getLong(12);
+        this.minId = buffer.getLong(20);
+        this.reversalCount = buffer.getInt(28);
+        this.entriesOffset = HEADER_SIZE + userCount * INDEX_ENTRY_SIZE;
+        this.idIndexOffset = entriesOffset + entryCount * ENTRY_SIZE;
+        this.reversalIndexOffset = idIndexOffset + (int) (maxId - minId + 1) * ID_INDEX_ENTRY_SIZE;
+    }
+
+    /**
+     * 사용자별 히스토리를 세그먼트 파일로 쓰고 매핑해 돌려준다.
+     * - 임시 파일(.tmp)에 모두 쓰고 디스크로 내린 뒤 path 로 원자적으로 옮긴다. 중간에 멈춰도 path 에 쓰다 만 파일이 남지 않는다.
+     * @param refs 히스토리마다 함께 남길 연결 정보
+     */
+    static HistorySegment write(Path path, Map<Long, List<PointHistory>> byUser,
+                                Function<PointHistory, HistoryRef> refs) throws IOException {
+        Map<Long, List<PointHistory>> sorted = new TreeMap<>(byUser);
+        int entryCount = 0;
+        long maxId = 0;
+        long minId = Long.MAX_VALUE;
+        for (List<PointHistory> histories : sorted.values()) {
+            entryCount += histories.size();
+            maxId = Math.max(maxId, histories.get(histories.size() - 1).id());
+            minId = Math.min(minId, histories.get(0).id());
+        }
+
+        // id -> (userSlot, entry), originalId -> (userSlot, entry)
+        int span = (int) (maxId - minId + 1);
+        int[] slots = new int[span];
+        int[] entries = new int[span];
+        Arrays.fill(slots, -1);
+        TreeMap<Long, long[]> reversals = new TreeMap<>();
+        int slot = 0;
+        int entry = 0;
+        for (List<PointHistory> histories : sorted.values()) {
+            for (PointHistory history : histories) {
+                int idOffset = (int) (history.id() - minId);
+                long originalId = refs.apply(history).originalId();
+                if (originalId != 0) {
+                    reversals.put(originalId, new long[]{slot, entry});
+                }
+                slots[idOffset] = slot;
+                entries[idOffset] = entry++;
+            }
+            slot++;
+        }
+
+        Path temp = path.resolveSibling(path.getFileName() + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, CREATE, TRUNCATE_EXISTING, WRITE)) {
+            ByteBuffer out = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+            out.putInt(MAGIC).putInt(sorted.size()).putInt(entryCount).putLong(maxId).putLong(minId).putInt(reversals.size());
+
+            int first = 0;
+            for (Map.Entry<Long, List<PointHistory>> user : sorted.entrySet()) {
+                ensureRemaining(channel, out, INDEX_ENTRY_SIZE);
+                out.putLong(user.getKey()).putInt(first).putInt(user.getValue().size());
+                first += user.getValue().size();
+            }
+            for (List<PointHistory> histories : sorted.values()) {
+                for (PointHistory history : histories) {
+                    HistoryRef ref = refs.apply(history);
+                    ensureRemaining(channel, out, ENTRY_SIZE);
+                    out.putLong(history.id())
+                            .putLong(history.amount())
+                            .putLong(history.updateMillis())
+                            .put((byte) history.type().ordinal())
+                            .putLong(ref.txId())
+                            .putLong(ref.originalId());
+                }
+            }
+            for (int i = 0; i < span; i++) {
+                ensureRemaining(channel, out, ID_INDEX_ENTRY_SIZE);
+                out.putInt(slots[i]).putInt(entries[i]);
+            }
+            for (Map.Entry<Long, long[]> reversal : reversals.entrySet()) {
+                ensureRemaining(channel, out, REVERSAL_ENTRY_SIZE);
+                out.putLong(reversal.getKey()).putInt((int) reversal.getValue()[0]).putInt((int) reversal.getValue()[1]);
+            }
+            drain(channel, out);
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+        return open(path);
+    }
+
+    static HistorySegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            // 매핑은 채널을 닫아도 유지된다.
+            return new HistorySegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * 사용자의 히스토리를 매핑 영역 위의 읽기 전용 뷰로 돌려준다. (요소는 조회 시점에 디코딩)
+     */
+    List<PointHistory> find(long userId) {
+        int slot = slotOf(userId);
+        if (slot < 0) {
+            return List.of();
+        }
+        int offset = HEADER_SIZE + slot * INDEX_ENTRY_SIZE;
+        return new EntryView(userId, buffer.getInt(offset + 8), buffer.getInt(offset + 12));
+    }
+
+    /**
+     * id 로 히스토리 하나를 찾는다. 이 세그먼트에 없으면 null
+     */
+    PointHistory findById(long id) {
+        if (id > maxId || id < minId) {
+            return null;
+        }
+        int offset = idIndexOffset + (int) (id - minId) * ID_INDEX_ENTRY_SIZE;
+        int slot = buffer.getInt(offset);
+        if (slot < 0) {
+            return null;
+        }
+        return entry(buffer.getLong(HEADER_SIZE + slot * INDEX_ENTRY_SIZE), buffer.getInt(offset + 4));
+    }
+
+    /**
+     * 사용자의 히스토리 중 txId 로 쓰인 행을 최신 행부터 찾는다. 없으면 null
+     */
+    PointHistory findByTxId(long userId, long txId) {
+        int slot = slotOf(userId);
+        if (slot < 0) {
+            return null;
+        }
+        int offset = HEADER_SIZE + slot * INDEX_ENTRY_SIZE;
+        int first = buffer.getInt(offset + 8);
+        for (int entry = first + buffer.getInt(offset + 12) - 1; entry >= first; entry--) {
+            if (buffer.getLong(entriesOffset + entry * ENTRY_SIZE + TX_ID_OFFSET) == txId) {
+                return entry(userId, entry);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * originalId 를 취소한 행을 찾는다. 없으면 null
+     */
+    PointHistory findReversalOf(long originalId) {
+        int low = 0;
+        int high = reversalCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int offset = reversalIndexOffset + mid * REVERSAL_ENTRY_SIZE;
+            long midOriginalId = buffer.getLong(offset);
+            if (midOriginalId < originalId) {
+                low = mid + 1;
+            } else if (midOriginalId > originalId) {
+                high = mid - 1;
+            } else {
+                int slot = buffer.getInt(offset + 8);
+                return entry(buffer.getLong(HEADER_SIZE + slot * INDEX_ENTRY_SIZE), buffer.getInt(offset + 12));
+            }
+        }
+        return null;
+    }
+
+    // 사용자 인덱스를 이진 탐색한다. 없으면 -1
+    private int slotOf(long userId) {
+        int low = 0;
+        int high = userCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midUserId = buffer.getLong(HEADER_SIZE + mid * INDEX_ENTRY_SIZE);
+            if (midUserId < userId) {
+                low = mid + 1;
+            } else if (midUserId > userId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private PointHistory entry(long userId, int entry) {
+        int offset = entriesOffset + entry * ENTRY_SIZE;
+        return new PointHistory(
+                buffer.getLong(offset),
+                userId,
+                buffer.getLong(offset + 8),
+                TYPES[buffer.get(offset + 24)],
+                buffer.getLong(offset + 16)
+        );
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int entryCount() {
+        return entryCount;
+    }
+
+    long maxId() {
+        return maxId;
+    }
+
+    private static void ensureRemaining(FileChannel channel, ByteBuffer out, int size) throws IOException {
+        if (out.remaining() < size) {
+            drain(channel, out);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    private final class EntryView extends AbstractList<PointHistory> implements RandomAccess {
+
+        private final long userId;
+        private final int first;
+        private final int size;
+
+        private EntryView(long userId, int first, int size) {
+            this.userId = userId;
+            this.first = first;
+            this.size = size;
+        }
+
+        @Override
+        public PointHistory get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return entry(userId, first + index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * point.history.store 로 PointHistoryStore 구현체를 고른다.
+ * - table (기본값) : PointHistoryTable
+ * - tiered : 최근 히스토리는 메모리, 오래된 히스토리는 mmap 세그먼트 파일
+ * - jpa : point_history 테이블 (jpa 프로필에서만 등록된다, JpaStoreConfig)
+ */
+@Configuration
+public class HistoryStoreConfig {
+
+    private static final String STORE = "point.history.store";
+
+    @Bean
+    @ConditionalOnProperty(name = STORE, havingValue = "table", matchIfMissing = true)
+    public PointHistoryStore tablePointHistoryStore(PointHistoryTable pointHistoryTable) {
+        return new TablePointHistoryStore(pointHistoryTable);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = STORE, havingValue = "tiered")
+    public PointHistoryStore tieredPointHistoryStore(
+            @Value("${point.history.tiered.directory:}") String directory,
+            @Value("${point.history.tiered.hot-capacity:65536}") int hotCapacity
+    ) {
+        return new TieredPointHistoryStore(directory.isBlank() ? null : Path.of(directory), hotCapacity);
+    }
+}
@@ -0,0 +1,100 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 지연 없이 메모리에만 두는 히스토리 저장소 (단위 테스트, 워밍업용)
+ * - retainedPerUser 를 주면 사용자별로 최근 그만큼만 남긴다. (0 이면 모두 남긴다)
+ * - id 는 사용자 리스트의 모니터 안에서 발급해, 사용자 안에서 id 순서와 삽입 순서가 같다.
+ */
+public class InMemoryPointHistoryStore implements PointHistoryStore {
+
+    private final int retainedPerUser;
+    private final AtomicLong cursor = new AtomicLong(1);
+    private final Map<Long, List<Row>> rows = new ConcurrentHashMap<>();
+    private final Map<Long, Row> byId = new ConcurrentHashMap<>();
+    // 원거래 id -> 취소 행
+    private final Map<Long, Row> reversals = new ConcurrentHashMap<>();
+
+    public InMemoryPointHistoryStore() {
+        this(0);
+    }
+
+    public InMemoryPointHistoryStore(int retainedPerUser) {
+        if (retainedPerUser < 0) {
+            throw new IllegalArgumentException("보관 건수는 음수일 수 없습니다.");
+        }
+        this.retainedPerUser = retainedPerUser;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis, HistoryRef ref) {
+        List<Row> list = rows.computeIfAbsent(userId, id -> new ArrayList<>());
+        synchronized (list) {
+            Row row = new Row(new PointHistory(cursor.getAndIncrement(), userId, amount, type, updateMillis), ref);
+            if (retainedPerUser > 0 && list.size() == retainedPerUser) {
+                Row evicted = list.remove(0);
+                byId.remove(evicted.history().id());
+                reversals.remove(evicted.ref().originalId());
+            }
+            list.add(row);
+            byId.put(row.history().id(), row);
+            if (ref.originalId() != 0) {
+                reversals.put(ref.originalId(), row);
+            }
+            return row.history();
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        List<Row> list = rows.get(userId);
+        if (list == null) {
+            return List.of();
+        }
+        synchronized (list) {
+            return list.stream().map(Row::history).toList();
+        }
+    }
+
+    @Override
+    public Optional<PointHistory> selectById(long historyId) {
+        return Optional.ofNullable(byId.get(historyId)).map(Row::history);
+    }
+
+    // 미완료 짝은 대개 가장 최근 행이므로 최신 행부터 훑는다.
+    @Override
+    public Optional<PointHistory> selectByTxId(long userId, long txId) {
+        List<Row> list = rows.get(userId);
+        if (list == null) {
+            return Optional.empty();
+        }
+        synchronized (list) {
+            for (int i = list.size() - 1; i >= 0; i--) {
+                if (list.get(i).ref().txId() == txId) {
+                    return Optional.of(list.get(i).history());
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<PointHistory> selectReversalOf(long originalId) {
+        return Optional.ofNullable(reversals.get(originalId)).map(Row::history);
+    }
+
+    private record Row(
+            PointHistory history,
+            HistoryRef ref
+    ) {
+    }
+}
@@ -0,0 +1,33 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 포인트 히스토리 저장소
+ * - PointHistoryTable 과 같은 API 로, 구현체는 point.history.store 로 선택한다. (HistoryStoreConfig)
+ * - insert 는 행과 함께 HistoryRef(WAL txId)를 남긴다. 4 인자 insert 는 연결 정보 없이(NONE) 넣는다.
+ * - selectAllByUserId 는 한 사용자의 히스토리를 id 오름차순으로 돌려준다.
+ * - selectById 는 전체 건수와 관계없이 상수 시간에 찾아야 한다.
+ * - selectByTxId 는 그 txId 로 쓰인 사용자의 히스토리를 찾는다. (WAL 복구용)
+ * - selectReversalOf 는 원거래 id 를 originalId 로 남긴 취소 히스토리를 찾는다. (중복 취소 확인용)
+ */
+public interface PointHistoryStore {
+
+    PointHistory insert(long userId, long amount, TransactionType type, long updateMillis, HistoryRef ref);
+
+    default PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        return insert(userId, amount, type, updateMillis, HistoryRef.NONE);
+    }
+
+    List<PointHistory> selectAllByUserId(long userId);
+
+    Optional<PointHistory> selectById(long historyId);
+
+    Optional<PointHistory> selectByTxId(long userId, long txId);
+
+    Optional<PointHistory> selectReversalOf(long originalId);
+}
@@ -0,0 +1,83 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * PointHistoryTable 에 그대로 위임하는 기본 저장소
+ * - 테이블에는 id 조회가 없으므로, 이 저장소로 넣은 히스토리를 HistoryIdIndex 에 함께 색인한다.
+ * - 테이블에 넣을 수 없는 HistoryRef 는 같은 id 로 별도 인덱스에 둔다. (연결 정보가 없는 행은 넣지 않는다)
+ *   취소 행은 원거래 id 로도 색인해 중복 취소를 상수 시간에 확인한다.
+ * - PointHistoryTable 은 스레드 안전하지 않으므로(ArrayList, cursor++) 삽입은 쓰기 락, 테이블 조회는 읽기 락으로 감싼다.
+ *   테이블의 삽입 지연 동안 다른 사용자의 삽입/조회도 기다린다. 처리량이 필요하면 tiered/jpa 저장소를 쓴다.
+ */
+@RequiredArgsConstructor
+public class TablePointHistoryStore implements PointHistoryStore {
+
+    private final PointHistoryTable pointHistoryTable;
+    private final HistoryIdIndex<PointHistory> idIndex = new HistoryIdIndex<>();
+    private final HistoryIdIndex<HistoryRef> refIndex = new HistoryIdIndex<>();
+    private final HistoryIdIndex<PointHistory> reversalIndex = new HistoryIdIndex<>();
+    private final ReadWriteLock tableLock = new ReentrantReadWriteLock();
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis, HistoryRef ref) {
+        PointHistory history;
+        tableLock.writeLock().lock();
+        try {
+            history = pointHistoryTable.insert(userId, amount, type, updateMillis);
+        } finally {
+            tableLock.writeLock().unlock();
+        }
+        if (history != null) {
+            idIndex.put(history.id(), history);
+            if (!HistoryRef.NONE.equals(ref)) {
+                refIndex.put(history.id(), ref);
+            }
+            if (ref.originalId() != 0) {
+                reversalIndex.put(ref.originalId(), history);
+            }
+        }
+        return history;
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        tableLock.readLock().lock();
+        try {
+            return pointHistoryTable.selectAllByUserId(userId);
+        } finally {
+            tableLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<PointHistory> selectById(long historyId) {
+        return Optional.ofNullable(idIndex.get(historyId));
+    }
+
+    // 미완료 짝은 대개 가장 최근 행이므로 최신 행부터 훑는다.
+    @Override
+    public Optional<PointHistory> selectByTxId(long userId, long txId) {
+        List<PointHistory> histories = selectAllByUserId(userId);
+        for (int i = histories.size() - 1; i >= 0; i--) {
+            HistoryRef ref = refIndex.get(histories.get(i).id());
+            if (ref != null && ref.txId() == txId) {
+                return Optional.of(histories.get(i));
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<PointHistory> selectReversalOf(long originalId) {
+        return Optional.ofNullable(reversalIndex.get(originalId));
+    }
+}
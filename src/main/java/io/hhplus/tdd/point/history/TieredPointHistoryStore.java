@@ -0,0 +1,471 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * 메모리/세그먼트 2단 히스토리 저장소
+ * - 최근 히스토리는 사용자별 리스트로 메모리(hot)에 둔다.
+ * - hot 이 hotCapacity 건을 채우면 통째로 얼려(frozen) 백그라운드에서 불변 세그먼트 파일로 쓰고,
+ *   매핑이 끝나면 frozen 을 버린다. 힙에는 최대 hot + frozen 만큼만 남는다.
+ * - 조회는 세그먼트(오래된 순) → frozen → hot 순서로 이어 붙인 뷰를 돌려준다.
+ * - id 는 삽입 순서대로 연속 발급되므로 hot/frozen 은 삽입 순서 리스트에서 (id - 첫 id) 로,
+ *   세그먼트는 maxId 이진 탐색 후 세그먼트의 id 인덱스로 찾는다.
+ * - HistoryRef 는 hot/frozen 에서는 삽입 순서 리스트와 같은 위치의 리스트에, 세그먼트에서는 레코드에 함께 둔다.
+ *   취소 행은 hot/frozen 에서는 원거래 id 맵으로, 세그먼트에서는 취소 인덱스로 찾는다.
+ * - directory 가 주어지면 기존 세그먼트를 이어서 사용하고, 없으면 임시 디렉터리를 만들어 종료 시 지운다.
+ *   hot/frozen 은 메모리에만 있으므로 정상 종료(close) 없이 멈추면 잃는다.
+ *   그래도 id 가 다시 발급되지 않도록 ID_BLOCK 개씩 미리 예약한 id 상한을 디렉터리에 남기고, 재기동하면 그 상한부터 발급한다.
+ */
+@Slf4j
+public class TieredPointHistoryStore implements PointHistoryStore, Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".phs";
+    private static final String ID_MARK_FILE = "next-id";
+    private static final long ID_BLOCK = 1 << 16;
+
+    private final Path directory;
+    private final boolean temporary;
+    private final int hotCapacity;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "point-history-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 아래 필드는 모두 this 모니터로 보호한다.
+    private Map<Long, List<PointHistory>> hot = new HashMap<>();
+    private List<PointHistory> hotOrder = new ArrayList<>();
+    private List<HistoryRef> hotRefs = new ArrayList<>();
+    private Map<Long, PointHistory> hotReversals = new HashMap<>();
+    private int hotCount;
+    private Map<Long, List<PointHistory>> frozen;
+    private List<PointHistory> frozenOrder;
+    private List<HistoryRef> frozenRefs;
+    private Map<Long, PointHistory> frozenReversals;
+    private List<HistorySegment> segments = List.of();
+    private long cursor = 1;
+    // 이 값 미만의 id 는 디렉터리에 예약해 두었다. (임시 디렉터리면 쓰지 않는다)
+    private long reservedUntil;
+    private int nextSegmentNumber;
+
+    public TieredPointHistoryStore(Path directory, int hotCapacity) {
+        if (hotCapacity < 1) {
+            throw new IllegalArgumentException("hot 용량은 1 이상이어야 합니다.");
+        }
+        this.hotCapacity = hotCapacity;
+        try {
+            this.temporary = directory == null;
+            this.directory = temporary ? Files.createTempDirectory("point-history") : Files.createDirectories(directory);
+            loadSegments();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized PointHistory insert(long userId, long amount, TransactionType type, long updateMillis, HistoryRef ref) {
+        if (!temporary && cursor >= reservedUntil) {
+            reserveIds(cursor + ID_BLOCK);
+        }
+        PointHistory history = new PointHistory(cursor++, userId, amount, type, updateMillis);
+        hot.computeIfAbsent(userId, id -> new ArrayList<>()).add(history);
+        hotOrder.add(history);
+        hotRefs.add(ref);
+        if (ref.originalId() != 0) {
+            hotReversals.put(ref.originalId(), history);
+        }
+        if (++hotCount >= hotCapacity && frozen == null && !compactor.isShutdown()) {
+            freeze();
+        }
+        return history;
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        List<HistorySegment> segmentsSnapshot;
+        List<PointHistory> frozenPart;
+        List<PointHistory> hotPart;
+        synchronized (this) {
+            segmentsSnapshot = segments;
+            // frozen 의 리스트는 얼린 뒤로 변경되지 않으므로 그대로 넘긴다.
+            frozenPart = frozen == null ? List.of() : frozen.getOrDefault(userId, List.of());
+            List<PointHistory> current = hot.get(userId);
+            hotPart = current == null ? List.of() : List.copyOf(current);
+        }
+
+        List<List<PointHistory>> parts = new ArrayList<>();
+        for (HistorySegment segment : segmentsSnapshot) {
+            List<PointHistory> part = segment.find(userId);
+            if (!part.isEmpty()) {
+                parts.add(part);
+            }
+        }
+        if (!frozenPart.isEmpty()) {
+            parts.add(frozenPart);
+        }
+        if (!hotPart.isEmpty()) {
+            parts.add(hotPart);
+        }
+        return switch (parts.size()) {
+            case 0 -> List.of();
+            case 1 -> parts.get(0);
+            default -> new ConcatenatedList(parts);
+        };
+    }
+
+    @Override
+    public Optional<PointHistory> selectById(long historyId) {
+        List<HistorySegment> segmentsSnapshot;
+        synchronized (this) {
+            PointHistory found = findInOrder(hotOrder, historyId);
+            if (found == null && frozenOrder != null) {
+                found = findInOrder(frozenOrder, historyId);
+            }
+            if (found != null) {
+                return Optional.of(found);
+            }
+            segmentsSnapshot = segments;
+        }
+
+        if (segmentsSnapshot.isEmpty()) {
+            return Optional.empty();
+        }
+        // 세그먼트는 id 순서로 쌓이므로 maxId >= historyId 인 첫 세그먼트에만 있을 수 있다.
+        int low = 0;
+        int high = segmentsSnapshot.size() - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (segmentsSnapshot.get(mid).maxId() < historyId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return Optional.ofNullable(segmentsSnapshot.get(low).findById(historyId));
+    }
+
+    @Override
+    public Optional<PointHistory> selectByTxId(long userId, long txId) {
+        List<HistorySegment> segmentsSnapshot;
+        synchronized (this) {
+            PointHistory found = findByTxId(hot.get(userId), hotOrder, hotRefs, txId);
+            if (found == null && frozen != null) {
+                found = findByTxId(frozen.get(userId), frozenOrder, frozenRefs, txId);
+            }
+            if (found != null) {
+                return Optional.of(found);
+            }
+            segmentsSnapshot = segments;
+        }
+
+        // 미완료 짝은 대개 가장 최근 행이므로 최신 세그먼트부터 훑는다.
+        for (int i = segmentsSnapshot.size() - 1; i >= 0; i--) {
+            PointHistory found = segmentsSnapshot.get(i).findByTxId(userId, txId);
+            if (found != null) {
+                return Optional.of(found);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<PointHistory> selectReversalOf(long originalId) {
+        List<HistorySegment> segmentsSnapshot;
+        synchronized (this) {
+            PointHistory found = hotReversals.get(originalId);
+            if (found == null && frozenReversals != null) {
+                found = frozenReversals.get(originalId);
+            }
+            if (found != null) {
+                return Optional.of(found);
+            }
+            segmentsSnapshot = segments;
+        }
+
+        // 취소 행은 원거래보다 id 가 크므로 maxId 가 원거래 id 보다 큰 세그먼트에만 있을 수 있다.
+        for (int i = segmentsSnapshot.size() - 1; i >= 0 && segmentsSnapshot.get(i).maxId() > originalId; i--) {
+            PointHistory found = segmentsSnapshot.get(i).findReversalOf(originalId);
+            if (found != null) {
+                return Optional.of(found);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    public synchronized int hotCount() {
+        return hotCount + (frozen == null ? 0 : frozen.values().stream().mapToInt(List::size).sum());
+    }
+
+    /**
+     * 진행 중인 세그먼트 쓰기를 기다린다.
+     * 지정된 디렉터리를 쓰는 경우 남은 hot 도 세그먼트로 내려 재기동 후 이어 쓸 수 있게 한다.
+     * 모두 내렸으면 id 상한도 실제 발급한 다음 id 로 돌려놓는다.
+     */
+    @Override
+    public void close() {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!temporary) {
+            Map<Long, List<PointHistory>> toWrite;
+            List<PointHistory> toWriteOrder;
+            List<HistoryRef> toWriteRefs;
+            Path path;
+            synchronized (this) {
+                if (frozen != null) {
+                    return;
+                }
+                if (hotCount == 0) {
+                    // 모든 히스토리가 세그먼트에 있으므로 예약해 둔 id 를 돌려놓고 다음 기동 때 이어서 발급한다.
+                    reserveIds(cursor);
+                    return;
+                }
+                toWrite = hot;
+                toWriteOrder = hotOrder;
+                toWriteRefs = hotRefs;
+                path = nextSegmentPath();
+                frozen = toWrite;
+                frozenOrder = toWriteOrder;
+                frozenRefs = toWriteRefs;
+                frozenReversals = hotReversals;
+                hot = new HashMap<>();
+                hotOrder = new ArrayList<>();
+                hotRefs = new ArrayList<>();
+                hotReversals = new HashMap<>();
+                hotCount = 0;
+            }
+            writeSegment(toWrite, toWriteOrder, toWriteRefs, path);
+            synchronized (this) {
+                if (frozen == null && hotCount == 0) {
+                    reserveIds(cursor);
+                }
+            }
+            return;
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(TieredPointHistoryStore::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("임시 히스토리 디렉터리를 비우지 못했습니다: {}", directory, e);
+        }
+        deleteQuietly(directory);
+    }
+
+    // this 모니터를 쥔 상태에서 호출된다.
+    private void freeze() {
+        Map<Long, List<PointHistory>> toWrite = hot;
+        List<PointHistory> toWriteOrder = hotOrder;
+        List<HistoryRef> toWriteRefs = hotRefs;
+        Path path = nextSegmentPath();
+        frozen = toWrite;
+        frozenOrder = toWriteOrder;
+        frozenRefs = toWriteRefs;
+        frozenReversals = hotReversals;
+        hot = new HashMap<>();
+        hotOrder = new ArrayList<>();
+        hotRefs = new ArrayList<>();
+        hotReversals = new HashMap<>();
+        hotCount = 0;
+        compactor.execute(() -> writeSegment(toWrite, toWriteOrder, toWriteRefs, path));
+    }
+
+    private Path nextSegmentPath() {
+        return directory.resolve(String.format("segment-%08d%s", nextSegmentNumber++, SEGMENT_SUFFIX));
+    }
+
+    private void writeSegment(Map<Long, List<PointHistory>> toWrite, List<PointHistory> toWriteOrder,
+                              List<HistoryRef> toWriteRefs, Path path) {
+        HistorySegment segment;
+        try {
+            long firstId = toWriteOrder.get(0).id();
+            segment = HistorySegment.write(path, toWrite, history -> toWriteRefs.get((int) (history.id() - firstId)));
+        } catch (IOException | RuntimeException e) {
+            log.error("히스토리 세그먼트를 쓰지 못했습니다: {}", path, e);
+            deleteQuietly(path);
+            synchronized (this) {
+                // 얼렸던 히스토리를 hot 앞쪽으로 되돌려 다음 기회에 다시 쓴다.
+                Map<Long, List<PointHistory>> restored = new HashMap<>();
+                toWrite.forEach((userId, histories) -> restored.put(userId, new ArrayList<>(histories)));
+                hot.forEach((userId, histories) -> restored.computeIfAbsent(userId, id -> new ArrayList<>()).addAll(histories));
+                hotCount += toWrite.values().stream().mapToInt(List::size).sum();
+                hot = restored;
+                List<PointHistory> restoredOrder = new ArrayList<>(toWriteOrder);
+                restoredOrder.addAll(hotOrder);
+                hotOrder = restoredOrder;
+                List<HistoryRef> restoredRefs = new ArrayList<>(toWriteRefs);
+                restoredRefs.addAll(hotRefs);
+                hotRefs = restoredRefs;
+                frozenReversals.putAll(hotReversals);
+                hotReversals = frozenReversals;
+                frozen = null;
+                frozenOrder = null;
+                frozenRefs = null;
+                frozenReversals = null;
+            }
+            return;
+        }
+
+        synchronized (this) {
+            List<HistorySegment> next = new ArrayList<>(segments);
+            next.add(segment);
+            segments = List.copyOf(next);
+            frozen = null;
+            frozenOrder = null;
+            frozenRefs = null;
+            frozenReversals = null;
+            if (hotCount >= hotCapacity && !compactor.isShutdown()) {
+                freeze();
+            }
+        }
+    }
+
+    // 삽입 순서 리스트는 id 가 연속이므로 첫 id 와의 차이가 곧 위치다.
+    private static PointHistory findInOrder(List<PointHistory> order, long historyId) {
+        if (order.isEmpty()) {
+            return null;
+        }
+        long index = historyId - order.get(0).id();
+        if (index < 0 || index >= order.size()) {
+            return null;
+        }
+        PointHistory history = order.get((int) index);
+        return history.id() == historyId ? history : null;
+    }
+
+    // 사용자 리스트를 최신 행부터 훑어 txId 가 같은 행을 찾는다. (refs 는 order 와 같은 위치)
+    private static PointHistory findByTxId(List<PointHistory> histories, List<PointHistory> order, List<HistoryRef> refs, long txId) {
+        if (histories == null) {
+            return null;
+        }
+        long firstId = order.get(0).id();
+        for (int i = histories.size() - 1; i >= 0; i--) {
+            PointHistory history = histories.get(i);
+            if (refs.get((int) (history.id() - firstId)).txId() == txId) {
+                return history;
+            }
+        }
+        return null;
+    }
+
+    private void loadSegments() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        // 옮기기 전에 멈춘 세그먼트 임시 파일은 버린다. (그 히스토리는 frozen 과 함께 사라졌다)
+        try (Stream<Path> list = Files.list(directory)) {
+            list.filter(path -> path.getFileName().toString().endsWith(HistorySegment.TEMP_SUFFIX))
+                    .forEach(TieredPointHistoryStore::deleteQuietly);
+        }
+        List<HistorySegment> loaded = new ArrayList<>();
+        for (Path file : files) {
+            HistorySegment segment = HistorySegment.open(file);
+            loaded.add(segment);
+            cursor = Math.max(cursor, segment.maxId() + 1);
+        }
+        segments = List.copyOf(loaded);
+        nextSegmentNumber = files.isEmpty() ? 0 : segmentNumber(files.get(files.size() - 1)) + 1;
+
+        // 세그먼트로 내리지 못하고 멈췄어도 예약해 둔 id 는 이미 발급됐을 수 있으므로 그 뒤부터 발급한다.
+        Path idMark = directory.resolve(ID_MARK_FILE);
+        if (Files.exists(idMark)) {
+            cursor = Math.max(cursor, ByteBuffer.wrap(Files.readAllBytes(idMark)).getLong());
+        }
+        reservedUntil = cursor;
+    }
+
+    // id 상한을 임시 파일에 쓰고 원자적으로 옮긴다. this 모니터를 쥔 상태에서 호출된다.
+    private void reserveIds(long until) {
+        Path idMark = directory.resolve(ID_MARK_FILE);
+        Path temp = directory.resolve(ID_MARK_FILE + HistorySegment.TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, CREATE, TRUNCATE_EXISTING, WRITE)) {
+            channel.write(ByteBuffer.allocate(8).putLong(0, until));
+            channel.force(true);
+            Files.move(temp, idMark, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        reservedUntil = until;
+    }
+
+    // segment-00000012.phs -> 12
+    private static int segmentNumber(Path path) {
+        String name = path.getFileName().toString();
+        return Integer.parseInt(name.substring("segment-".length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("파일을 지우지 못했습니다: {}", path, e);
+        }
+    }
+
+    private static final class ConcatenatedList extends AbstractList<PointHistory> implements RandomAccess {
+
+        private final List<List<PointHistory>> parts;
+        private final int[] ends;
+
+        private ConcatenatedList(List<List<PointHistory>> parts) {
+            this.parts = parts;
+            this.ends = new int[parts.size()];
+            int end = 0;
+            for (int i = 0; i < parts.size(); i++) {
+                end += parts.get(i).size();
+                ends[i] = end;
+            }
+        }
+
+        @Override
+        public PointHistory get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            int part = 0;
+            while (index >= ends[part]) {
+                part++;
+            }
+            int start = part == 0 ? 0 : ends[part - 1];
+            return parts.get(part).get(index - start);
+        }
+
+        @Override
+        public int size() {
+            return ends.length == 0 ? 0 : ends[ends.length - 1];
+        }
+    }
+}
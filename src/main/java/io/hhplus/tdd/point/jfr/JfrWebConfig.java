@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point.jfr;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * PointRequestEventInterceptor 등록 (/point 하위 요청만)
+ */
+@Configuration
+public class JfrWebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new PointRequestEventInterceptor()).addPathPatterns("/point/**");
+    }
+}
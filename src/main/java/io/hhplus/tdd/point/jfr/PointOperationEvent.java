@@ -0,0 +1,102 @@
+package io.hhplus.tdd.point.jfr;
+
+import io.hhplus.tdd.point.entity.TransactionType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 잔고 변경(충전/사용/만료/취소) 한 건의 JFR 이벤트
+ * - 이벤트 구간은 락 대기부터 잔고/히스토리 쓰기가 끝날 때까지이고, 구간별 소요 시간을 함께 남긴다.
+ * - 녹화 중이 아니면 commit 이 바로 돌아오므로 운영에서 켜 둔 채로 쓴다.
+ *   (-XX:StartFlightRecording 또는 jcmd JFR.start 로 녹화)
+ * - historyInsert 는 WAL 작업 스레드에서 기록되고, 쓰기 완료를 기다린(join) 뒤에 읽힌다.
+ */
+@Name("io.hhplus.tdd.PointOperation")
+@Label("Point Operation")
+@Category({"hhplus", "Point"})
+@Description("Balance change through PointService")
+@StackTrace(false)
+public class PointOperationEvent extends Event {
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Type")
+    String type;
+
+    @Label("Amount")
+    long amount;
+
+    @Label("Lock Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    long lockWait;
+
+    @Label("Balance Read")
+    @Timespan(Timespan.NANOSECONDS)
+    long balanceRead;
+
+    @Label("Balance Write")
+    @Timespan(Timespan.NANOSECONDS)
+    long balanceWrite;
+
+    @Label("History Insert")
+    @Timespan(Timespan.NANOSECONDS)
+    long historyInsert;
+
+    @Label("Failure")
+    String failure;
+
+    private transient long phaseStartNanos;
+
+    public PointOperationEvent(long userId, TransactionType type, long amount) {
+        this.userId = userId;
+        this.type = type.name();
+        this.amount = amount;
+        begin();
+        phaseStartNanos = System.nanoTime();
+    }
+
+    /**
+     * 사용자 락을 얻은 직후 호출한다.
+     */
+    public void lockAcquired() {
+        lockWait = lap();
+    }
+
+    /**
+     * 잔고를 읽은 직후 호출한다.
+     */
+    public void balanceRead() {
+        balanceRead = lap();
+    }
+
+    public void balanceWritten(long startNanos) {
+        balanceWrite = System.nanoTime() - startNanos;
+    }
+
+    public void historyInserted(long startNanos) {
+        historyInsert = System.nanoTime() - startNanos;
+    }
+
+    /**
+     * 작업이 끝나면(성공/실패 모두) 호출한다.
+     */
+    public void end(RuntimeException e) {
+        if (e != null) {
+            failure = e.getClass().getSimpleName();
+        }
+        commit();
+    }
+
+    private long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - phaseStartNanos;
+        phaseStartNanos = now;
+        return elapsed;
+    }
+}
@@ -0,0 +1,49 @@
+package io.hhplus.tdd.point.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * /point 요청 한 건의 JFR 이벤트
+ * - 이벤트 구간은 핸들러 진입 전(preHandle)부터 응답 완료(afterCompletion)까지다.
+ *   비동기 처리로 넘어간 요청은 서블릿 스레드를 반납하는 시점까지만 잰다.
+ */
+@Name("io.hhplus.tdd.PointRequest")
+@Label("Point Request")
+@Category({"hhplus", "Point"})
+@Description("HTTP request handled by the point controllers")
+@StackTrace(false)
+public class PointRequestEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Handler")
+    String handler;
+
+    @Label("URI")
+    String uri;
+
+    @Label("Status")
+    int status;
+
+    @Label("Async")
+    boolean async;
+
+    PointRequestEvent(String method, String handler, String uri) {
+        this.method = method;
+        this.handler = handler;
+        this.uri = uri;
+        begin();
+    }
+
+    void end(int status, boolean async) {
+        this.status = status;
+        this.async = async;
+        commit();
+    }
+}
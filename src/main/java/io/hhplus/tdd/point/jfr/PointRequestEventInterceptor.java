@@ -0,0 +1,47 @@
+package io.hhplus.tdd.point.jfr;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jdk.jfr.EventType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * 컨트롤러 요청마다 PointRequestEvent 를 남긴다.
+ * - 녹화 중이 아니면 이벤트 객체도 만들지 않는다.
+ * - 결과를 쓰는 async dispatch 에서는 새로 시작하지 않는다.
+ */
+class PointRequestEventInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String EVENT = PointRequestEventInterceptor.class.getName() + ".event";
+    private static final EventType EVENT_TYPE = EventType.getEventType(PointRequestEvent.class);
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod method) || !EVENT_TYPE.isEnabled()) {
+            return true;
+        }
+        String handlerName = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        request.setAttribute(EVENT, new PointRequestEvent(request.getMethod(), handlerName, request.getRequestURI()));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        end(request, response, true);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        end(request, response, false);
+    }
+
+    private static void end(HttpServletRequest request, HttpServletResponse response, boolean async) {
+        Object started = request.getAttribute(EVENT);
+        if (started instanceof PointRequestEvent event) {
+            request.removeAttribute(EVENT);
+            event.end(async ? 0 : response.getStatus(), async);
+        }
+    }
+}
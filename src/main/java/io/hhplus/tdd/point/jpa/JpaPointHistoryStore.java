@@ -0,0 +1,182 @@
+package io.hhplus.tdd.point.jpa;
+
+import io.hhplus.tdd.exception.AlreadyCancelledException;
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.history.HistoryRef;
+import io.hhplus.tdd.point.history.PointHistoryStore;
+import io.hhplus.tdd.point.wal.DurableStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Collectors;
+
+/**
+ * point_history 테이블 히스토리 저장소 (jpa 프로필)
+ * - insert 는 큐에 넣고 기다린다. 쓰기 스레드 하나가 그동안 쌓인 요청을 최대 batchSize 건씩
+ *   한 트랜잭션으로 저장하고(hibernate.jdbc.batch_size 로 JDBC 배치), 각 호출자에게 발급된 id 를 돌려준다.
+ *   동시 삽입이 많을수록 트랜잭션/왕복 횟수가 줄어든다.
+ * - 배치가 실패하면 그 배치의 행을 한 건씩 다시 저장해, 문제가 된 행의 호출자만 예외를 받는다.
+ *   같은 거래의 중복 취소로 original_id 유니크 제약을 어긴 행은 AlreadyCancelledException 으로 바꿔 던진다.
+ * - id 는 시퀀스를 블록 단위로 받아 발급하므로 인스턴스 안에서만 증가 순서가 보장된다.
+ */
+@Slf4j
+public class JpaPointHistoryStore implements PointHistoryStore, DurableStore, Closeable {
+
+    private final PointHistoryJpaRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final BlockingQueue<PendingInsert> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    public JpaPointHistoryStore(PointHistoryJpaRepository repository, TransactionTemplate transactionTemplate, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("배치 크기는 1 이상이어야 합니다.");
+        }
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.writer = new Thread(this::writeLoop, "point-history-jpa-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis, HistoryRef ref) {
+        PendingInsert pending = new PendingInsert(userId, amount, type, updateMillis, ref);
+        queue.add(pending);
+        // 닫히면서 큐를 비운 뒤에 들어간 요청은 아무도 처리하지 않으므로 직접 거둔다.
+        if (closed && queue.remove(pending)) {
+            throw new IllegalStateException("히스토리 저장소가 닫혔습니다.");
+        }
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return repository.findAllByUserIdOrderByIdAsc(userId).stream()
+                .map(PointHistoryEntity::toPointHistory)
+                .toList();
+    }
+
+    @Override
+    public Optional<PointHistory> selectById(long historyId) {
+        return repository.findById(historyId).map(PointHistoryEntity::toPointHistory);
+    }
+
+    @Override
+    public Optional<PointHistory> selectByTxId(long userId, long txId) {
+        return repository.findFirstByUserIdAndTxId(userId, txId).map(PointHistoryEntity::toPointHistory);
+    }
+
+    @Override
+    public Optional<PointHistory> selectReversalOf(long originalId) {
+        return repository.findByOriginalId(originalId).map(PointHistoryEntity::toPointHistory);
+    }
+
+    /**
+     * 사용자의 취소 히스토리 id -> 되돌린 원거래 id (lot 재구성용)
+     */
+    public Map<Long, Long> selectReversalsByUserId(long userId) {
+        return repository.findAllByUserIdAndOriginalIdNotNull(userId).stream()
+                .collect(Collectors.toMap(PointHistoryEntity::getId, PointHistoryEntity::getOriginalId));
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        writer.interrupt();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingInsert> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        rest.forEach(pending -> pending.completeExceptionally(new IllegalStateException("히스토리 저장소가 닫혔습니다.")));
+    }
+
+    private void writeLoop() {
+        List<PendingInsert> batch = new ArrayList<>(batchSize);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(List<PendingInsert> batch) {
+        try {
+            List<PointHistoryEntity> saved = transactionTemplate.execute(status ->
+                    repository.saveAll(batch.stream().map(PendingInsert::entity).toList()));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).complete(saved.get(i).toPointHistory());
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+                return;
+            }
+            log.warn("히스토리 {} 건 배치를 저장하지 못해 한 건씩 다시 저장합니다.", batch.size(), e);
+            for (PendingInsert pending : batch) {
+                try {
+                    // 실패한 트랜잭션에서 id 가 채워졌을 수 있으므로 행을 새로 만든다.
+                    pending.complete(transactionTemplate.execute(status -> repository.save(pending.entity())).toPointHistory());
+                } catch (RuntimeException rowFailure) {
+                    fail(pending, rowFailure);
+                }
+            }
+        }
+    }
+
+    private void fail(PendingInsert pending, RuntimeException e) {
+        if (e instanceof DataIntegrityViolationException && pending.ref.originalId() != 0
+                && repository.findByOriginalId(pending.ref.originalId()).isPresent()) {
+            pending.completeExceptionally(new AlreadyCancelledException(pending.ref.originalId()));
+            return;
+        }
+        log.warn("히스토리를 저장하지 못했습니다. (사용자 {})", pending.userId, e);
+        pending.completeExceptionally(e);
+    }
+
+    private static final class PendingInsert extends CompletableFuture<PointHistory> {
+
+        private final long userId;
+        private final long amount;
+        private final TransactionType type;
+        private final long updateMillis;
+        private final HistoryRef ref;
+
+        private PendingInsert(long userId, long amount, TransactionType type, long updateMillis, HistoryRef ref) {
+            this.userId = userId;
+            this.amount = amount;
+            this.type = type;
+            this.updateMillis = updateMillis;
+            this.ref = ref;
+        }
+
+        private PointHistoryEntity entity() {
+            return new PointHistoryEntity(userId, amount, type, updateMillis, ref);
+        }
+    }
+}
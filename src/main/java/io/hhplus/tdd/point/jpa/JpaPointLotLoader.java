@@ -0,0 +1,50 @@
+package io.hhplus.tdd.point.jpa;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.expiry.PointLotLedger;
+import io.hhplus.tdd.point.history.PointHistoryStore;
+import io.hhplus.tdd.point.lock.LockProvider;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 기동 시 저장된 잔고/히스토리로 포인트 lot 장부를 다시 만든다. (jpa 프로필)
+ * - lot 은 메모리에만 있어, 그대로 두면 재기동 후 첫 거래에서 전체 잔고가 새 유효기간의 lot 하나로 보정되고
+ *   거래가 없는 사용자의 포인트는 만료되지 않는다.
+ * - WAL 의 미완료 쓰기를 먼저 복구한 뒤 읽도록 PointService 다음에 초기화한다.
+ * - 사용자별로 락 안에서 잔고와 히스토리를 읽어, 그 사이 들어온 거래와 섞이지 않게 한다.
+ */
+@Slf4j
+@Component
+@Profile("jpa")
+@DependsOn("pointService")
+@RequiredArgsConstructor
+public class JpaPointLotLoader {
+
+    private final UserPointTable userPointTable;
+    private final PointHistoryStore pointHistoryStore;
+    private final LockProvider lockProvider;
+    private final PointLotLedger ledger;
+
+    @PostConstruct
+    public void load() {
+        if (!(userPointTable instanceof JpaUserPointTable table)
+                || !(pointHistoryStore instanceof JpaPointHistoryStore historyStore)) {
+            return;
+        }
+        AtomicInteger users = new AtomicInteger();
+        table.forEach(stored -> lockProvider.withLock(stored.id(), () -> {
+            ledger.rebuild(table.selectById(stored.id()),
+                    historyStore.selectAllByUserId(stored.id()),
+                    historyStore.selectReversalsByUserId(stored.id()));
+            return users.incrementAndGet();
+        }));
+        log.info("포인트 lot 장부를 사용자 {} 명의 히스토리로 다시 만들었습니다.", users.get());
+    }
+}
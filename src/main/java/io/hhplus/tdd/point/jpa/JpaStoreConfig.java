@@ -0,0 +1,37 @@
+package io.hhplus.tdd.point.jpa;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.history.PointHistoryStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * jpa 프로필에서 잔고/히스토리를 JPA 저장소로 바꾼다. (application-jpa.yml)
+ * - 잔고 : UserPointTable 자리에 JpaUserPointTable 을 우선 주입한다.
+ * - 히스토리 : point.history.store=jpa 일 때 JpaPointHistoryStore (프로필 기본값)
+ */
+@Configuration
+@Profile("jpa")
+public class JpaStoreConfig {
+
+    @Bean
+    @Primary
+    public UserPointTable jpaUserPointTable(UserPointJpaRepository repository, TransactionTemplate transactionTemplate) {
+        return new JpaUserPointTable(repository, transactionTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "point.history.store", havingValue = "jpa")
+    public PointHistoryStore jpaPointHistoryStore(
+            PointHistoryJpaRepository repository,
+            TransactionTemplate transactionTemplate,
+            @Value("${point.history.jpa.batch-size:500}") int batchSize
+    ) {
+        return new JpaPointHistoryStore(repository, transactionTemplate, batchSize);
+    }
+}
@@ -0,0 +1,81 @@
+package io.hhplus.tdd.point.jpa;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.wal.ConditionalBalanceTable;
+import io.hhplus.tdd.point.wal.DurableStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
+
+/**
+ * UserPointTable 과 같은 API 로 user_point 테이블에 잔고를 저장한다. (jpa 프로필)
+ * - PointService 가 UserPointTable 을 직접 받으므로 상속해서 두 메서드를 모두 바꾼다. (부모의 지연/메모리 맵은 쓰지 않는다)
+ * - PointService 의 쓰기는 compareAndSet 으로 한다. UPDATE ... WHERE point = 읽어 둔 잔고 로 갱신하므로,
+ *   PointService 가 잔고를 읽은 뒤 다른 인스턴스/도구가 같은 행을 바꿨으면 0 건이 갱신되어 false 를 돌려준다.
+ *   행이 없으면(잔고 0) 삽입하고, 그 사이 다른 인스턴스가 먼저 삽입해 기본 키 위반이 나면 역시 false 를 돌려준다.
+ * - forEach 는 전체 잔고 행을 id 순서로 PAGE_SIZE 건씩 나눠 읽는다. (기동 시 lot 재구성용)
+ * - insertOrUpdate 는 조건 없이 덮어쓴다. (이관 복원용) 한 트랜잭션에서 행을 읽고 고쳐 version 조건으로 갱신한다.
+ */
+@RequiredArgsConstructor
+public class JpaUserPointTable extends UserPointTable implements DurableStore, ConditionalBalanceTable {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final UserPointJpaRepository repository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public UserPoint selectById(Long id) {
+        return repository.findById(id)
+                .map(UserPointEntity::toUserPoint)
+                .orElseGet(() -> UserPoint.empty(id));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        return transactionTemplate.execute(status -> {
+            UserPointEntity entity = repository.findById(id).orElseGet(() -> new UserPointEntity(id));
+            entity.update(amount, System.currentTimeMillis());
+            return repository.saveAndFlush(entity).toUserPoint();
+        });
+    }
+
+    @Override
+    public boolean compareAndSet(long userId, long expectedPoint, long newPoint) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                long updateMillis = System.currentTimeMillis();
+                if (repository.updatePointIf(userId, expectedPoint, newPoint, updateMillis) == 1) {
+                    return true;
+                }
+                if (expectedPoint != 0 || repository.existsById(userId)) {
+                    return false;
+                }
+                UserPointEntity entity = new UserPointEntity(userId);
+                entity.update(newPoint, updateMillis);
+                repository.saveAndFlush(entity);
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // 행이 없던 사이 다른 인스턴스가 먼저 삽입했다.
+            return false;
+        }
+    }
+
+    public void forEach(Consumer<UserPoint> action) {
+        Pageable page = PageRequest.of(0, PAGE_SIZE, Sort.by("id"));
+        Slice<UserPointEntity> slice;
+        do {
+            slice = repository.findAll(page);
+            slice.forEach(entity -> action.accept(entity.toUserPoint()));
+            page = slice.nextPageable();
+        } while (slice.hasNext());
+    }
+}
@@ -0,0 +1,75 @@
+package io.hhplus.tdd.point.jpa;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.history.HistoryRef;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 포인트 히스토리 행
+ * - id 는 시퀀스에서 ALLOCATION_SIZE 개씩 미리 받아 쓴다. (IDENTITY 는 행마다 키를 돌려받아야 해서 JDBC 배치가 꺼진다)
+ * - (user_id, id) 인덱스로 사용자별 조회를 id 순서 그대로 읽는다. id 조회는 기본 키로 찾는다.
+ * - tx_id 는 이 행을 쓴 짝 쓰기의 WAL txId 로, (user_id, tx_id) 인덱스로 복구 시 찾는다. (연결 정보가 없으면 null)
+ * - original_id 는 취소 행이 되돌린 원거래 id 다. 유니크 제약이라 여러 인스턴스가 같은 거래를 동시에 취소해도 한 건만 저장된다.
+ * - type 은 이름으로 저장해 TransactionType 이 늘어도 기존 행의 의미가 바뀌지 않는다.
+ */
+@Entity
+@Table(name = "point_history", indexes = {
+        @Index(name = "idx_point_history_user_id_id", columnList = "user_id, id"),
+        @Index(name = "idx_point_history_user_id_tx_id", columnList = "user_id, tx_id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PointHistoryEntity {
+
+    static final int ALLOCATION_SIZE = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "point_history_seq")
+    @SequenceGenerator(name = "point_history_seq", sequenceName = "point_history_seq", allocationSize = ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private long userId;
+
+    @Column(name = "amount", nullable = false)
+    private long amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 16)
+    private TransactionType type;
+
+    @Column(name = "update_millis", nullable = false)
+    private long updateMillis;
+
+    @Column(name = "tx_id")
+    private Long txId;
+
+    @Column(name = "original_id", unique = true)
+    private Long originalId;
+
+    public PointHistoryEntity(long userId, long amount, TransactionType type, long updateMillis, HistoryRef ref) {
+        this.userId = userId;
+        this.amount = amount;
+        this.type = type;
+        this.updateMillis = updateMillis;
+        this.txId = ref.txId() == 0 ? null : ref.txId();
+        this.originalId = ref.originalId() == 0 ? null : ref.originalId();
+    }
+
+    public PointHistory toPointHistory() {
+        return new PointHistory(id, userId, amount, type, updateMillis);
+    }
+}
@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface PointHistoryJpaRepository extends JpaRepository<PointHistoryEntity, Long> {
+
+    List<PointHistoryEntity> findAllByUserIdOrderByIdAsc(long userId);
+
+    Optional<PointHistoryEntity> findFirstByUserIdAndTxId(long userId, Long txId);
+
+    Optional<PointHistoryEntity> findByOriginalId(Long originalId);
+
+    List<PointHistoryEntity> findAllByUserIdAndOriginalIdNotNull(long userId);
+}
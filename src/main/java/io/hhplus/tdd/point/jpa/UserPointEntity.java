@@ -0,0 +1,48 @@
+package io.hhplus.tdd.point.jpa;
+
+import io.hhplus.tdd.point.entity.UserPoint;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 사용자 잔고 행
+ * - version 은 낙관적 락 컬럼이다. 읽은 뒤 다른 트랜잭션이 먼저 바꿨으면 갱신이 실패한다.
+ */
+@Entity
+@Table(name = "user_point")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class UserPointEntity {
+
+    @Id
+    private Long id;
+
+    @Column(name = "point", nullable = false)
+    private long point;
+
+    @Column(name = "update_millis", nullable = false)
+    private long updateMillis;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    public UserPointEntity(long id) {
+        this.id = id;
+    }
+
+    public void update(long point, long updateMillis) {
+        this.point = point;
+        this.updateMillis = updateMillis;
+    }
+
+    public UserPoint toUserPoint() {
+        return new UserPoint(id, point, updateMillis);
+    }
+}
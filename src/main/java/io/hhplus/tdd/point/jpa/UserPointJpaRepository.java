@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface UserPointJpaRepository extends JpaRepository<UserPointEntity, Long> {
+
+    /**
+     * 잔고가 expectedPoint 일 때만 바꾸고 version 을 올린다. 바뀐 행 수를 돌려준다.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update UserPointEntity u set u.point = :point, u.updateMillis = :updateMillis, u.version = u.version + 1"
+            + " where u.id = :id and u.point = :expectedPoint")
+    int updatePointIf(@Param("id") long id, @Param("expectedPoint") long expectedPoint,
+                      @Param("point") long point, @Param("updateMillis") long updateMillis);
+}
@@ -0,0 +1,177 @@
+package io.hhplus.tdd.point.lock;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 락 경합 추적 (메모리 상한 고정)
+ * - 대기 중인 요청 수 : 락에 진입했지만 아직 빠져나가지 않은 사용자만 맵에 남긴다. (동시 요청 수에 비례)
+ * - 누적 대기 시간/연산 수 : count-min sketch 로 근사한다.
+ * - 경합 상위 사용자 : 대기 시간 추정값 기준 top-K min-heap 으로 유지한다. (경합이 발생한 획득에서만 갱신)
+ * 집계 구간(window)이 지나면 sketch 와 heap 을 새로 시작한다.
+ */
+public class ContentionTracker {
+
+    private static final int SKETCH_WIDTH = 1 << 13;
+    private static final int TOP_K = 100;
+    private static final long WINDOW_MILLIS = 60_000;
+
+    private final Map<Long, Integer> active = new ConcurrentHashMap<>();
+    private volatile Window window = new Window(System.currentTimeMillis());
+
+    void enter(long userId) {
+        active.merge(userId, 1, Integer::sum);
+    }
+
+    void exit(long userId) {
+        active.computeIfPresent(userId, (id, count) -> count == 1 ? null : count - 1);
+    }
+
+    void record(long userId, long waitNanos, boolean contended) {
+        Window current = currentWindow();
+        current.operations.add(userId, 1);
+        if (contended) {
+            current.waitNanos.add(userId, waitNanos);
+            current.offer(userId, current.waitNanos.estimate(userId));
+        }
+    }
+
+    /**
+     * 대기 시간 추정값이 큰 순서로 최대 limit 명
+     * - 아직 획득 전이라 집계되지 않았더라도 지금 대기열이 쌓인 사용자는 함께 보여준다.
+     */
+    public List<HotUser> hotUsers(int limit) {
+        Window current = currentWindow();
+        double elapsedSeconds = Math.max(1, System.currentTimeMillis() - current.startMillis) / 1000.0;
+
+        Set<Long> candidates = new HashSet<>();
+        for (long userId : current.topUsers()) {
+            candidates.add(userId);
+        }
+        active.forEach((userId, count) -> {
+            if (count > 1) {
+                candidates.add(userId);
+            }
+        });
+
+        List<HotUser> result = new ArrayList<>();
+        for (long userId : candidates) {
+            long operations = current.operations.estimate(userId);
+            result.add(new HotUser(
+                    userId,
+                    Math.max(0, active.getOrDefault(userId, 0) - 1),
+                    current.waitNanos.estimate(userId) / 1_000_000,
+                    operations,
+                    operations / elapsedSeconds
+            ));
+        }
+        result.sort(Comparator.comparingLong(HotUser::totalWaitMillis)
+                .thenComparingInt(HotUser::queuedWaiters)
+                .reversed());
+        return result.subList(0, Math.min(limit, result.size()));
+    }
+
+    private Window currentWindow() {
+        Window current = window;
+        long now = System.currentTimeMillis();
+        if (now - current.startMillis < WINDOW_MILLIS) {
+            return current;
+        }
+        synchronized (this) {
+            if (window == current) {
+                window = new Window(now);
+            }
+            return window;
+        }
+    }
+
+    private static final class Window {
+
+        private final long startMillis;
+        private final CountMinSketch operations = new CountMinSketch(SKETCH_WIDTH);
+        private final CountMinSketch waitNanos = new CountMinSketch(SKETCH_WIDTH);
+
+        // userId 별 점수를 가진 min-heap 과 heap 내 위치 인덱스
+        private final long[] heapUsers = new long[TOP_K];
+        private final long[] heapScores = new long[TOP_K];
+        private final Map<Long, Integer> positions = new HashMap<>();
+        private int size;
+
+        private Window(long startMillis) {
+            this.startMillis = startMillis;
+        }
+
+        private synchronized void offer(long userId, long score) {
+            Integer position = positions.get(userId);
+            if (position != null) {
+                // 누적값이므로 점수는 증가만 한다.
+                heapScores[position] = score;
+                siftDown(position);
+            } else if (size < TOP_K) {
+                heapUsers[size] = userId;
+                heapScores[size] = score;
+                positions.put(userId, size);
+                siftUp(size++);
+            } else if (score > heapScores[0]) {
+                positions.remove(heapUsers[0]);
+                heapUsers[0] = userId;
+                heapScores[0] = score;
+                positions.put(userId, 0);
+                siftDown(0);
+            }
+        }
+
+        private synchronized long[] topUsers() {
+            long[] users = new long[size];
+            System.arraycopy(heapUsers, 0, users, 0, size);
+            return users;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (heapScores[parent] <= heapScores[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && heapScores[left] < heapScores[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && heapScores[right] < heapScores[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long user = heapUsers[a];
+            long score = heapScores[a];
+            heapUsers[a] = heapUsers[b];
+            heapScores[a] = heapScores[b];
+            heapUsers[b] = user;
+            heapScores[b] = score;
+            positions.put(heapUsers[a], a);
+            positions.put(heapUsers[b], b);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.hhplus.tdd.point.lock;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 고정 크기 count-min sketch
+ * - 사용자 수와 무관하게 depth * width 개의 카운터만 사용한다.
+ * - 추정값은 실제값 이상이며, 해시 충돌만큼 과대 추정될 수 있다.
+ */
+class CountMinSketch {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final int width;
+    private final AtomicLongArray counters;
+
+    CountMinSketch(int width) {
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("width 는 2의 거듭제곱이어야 합니다.");
+        }
+        this.width = width;
+        this.counters = new AtomicLongArray(SEEDS.length * width);
+    }
+
+    void add(long key, long amount) {
+        for (int row = 0; row < SEEDS.length; row++) {
+            counters.getAndAdd(index(row, key), amount);
+        }
+    }
+
+    long estimate(long key) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < SEEDS.length; row++) {
+            min = Math.min(min, counters.get(index(row, key)));
+        }
+        return min;
+    }
+
+    private int index(int row, long key) {
+        long h = (key ^ SEEDS[row]) * 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return row * width + (int) (h & (width - 1));
+    }
+}
@@ -0,0 +1,115 @@
+package io.hhplus.tdd.point.lock;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * 같은 호스트의 여러 프로세스가 공유하는 파일 락
+ * - userId 를 stripes 개의 락 파일 중 하나에 매핑하고 FileChannel.lock 으로 잠근다.
+ * - 파일 락은 프로세스 단위라 같은 JVM 의 두 스레드를 구분하지 못하므로, stripe 마다 JVM 내부 락을 먼저 잡는다.
+ * - 서로 다른 사용자가 같은 stripe 를 공유하면 함께 직렬화된다. (stripes 를 늘리면 줄어든다)
+ */
+public class FileLockProvider extends MeteredLockProvider implements Closeable {
+
+    private final ReentrantLock[] localLocks;
+    private final FileChannel[] channels;
+
+    public FileLockProvider(Path directory, int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("stripe 수는 1 이상이어야 합니다.");
+        }
+        this.localLocks = new ReentrantLock[stripes];
+        this.channels = new FileChannel[stripes];
+        try {
+            Files.createDirectories(directory);
+            for (int i = 0; i < stripes; i++) {
+                localLocks[i] = new ReentrantLock();
+                channels[i] = FileChannel.open(directory.resolve("point-" + i + ".lock"), CREATE, WRITE);
+            }
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    protected String name() {
+        return "file";
+    }
+
+    @Override
+    protected LockHandle tryAcquire(long userId) {
+        int stripe = stripeOf(userId);
+        ReentrantLock localLock = localLocks[stripe];
+        if (!localLock.tryLock()) {
+            return null;
+        }
+        try {
+            FileLock fileLock = channels[stripe].tryLock();
+            if (fileLock == null) {
+                localLock.unlock();
+                return null;
+            }
+            return handle(localLock, fileLock);
+        } catch (IOException | RuntimeException e) {
+            localLock.unlock();
+            throw unchecked(e);
+        }
+    }
+
+    @Override
+    protected LockHandle acquire(long userId) {
+        int stripe = stripeOf(userId);
+        ReentrantLock localLock = localLocks[stripe];
+        localLock.lock();
+        try {
+            return handle(localLock, channels[stripe].lock());
+        } catch (IOException | RuntimeException e) {
+            localLock.unlock();
+            throw unchecked(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (FileChannel channel : channels) {
+            if (channel == null) {
+                continue;
+            }
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+
+            }
+        }
+    }
+
+    private int stripeOf(long userId) {
+        return Math.floorMod(Long.hashCode(userId * 0x9E3779B97F4A7C15L), channels.length);
+    }
+
+    private static LockHandle handle(ReentrantLock localLock, FileLock fileLock) {
+        return () -> {
+            try {
+                fileLock.release();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                localLock.unlock();
+            }
+        };
+    }
+
+    private static RuntimeException unchecked(Exception e) {
+        return e instanceof IOException io ? new UncheckedIOException(io) : (RuntimeException) e;
+    }
+}
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point.lock;
+
+/**
+ * 락 경합이 심한 사용자
+ * - queuedWaiters : 지금 이 사용자의 락을 기다리는 요청 수
+ * - totalWaitMillis, operations : 현재 집계 구간의 추정 누적값 (count-min sketch)
+ */
+public record HotUser(
+        long userId,
+        int queuedWaiters,
+        long totalWaitMillis,
+        long operations,
+        double operationsPerSecond
+) {
+}
@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point.lock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * GET /actuator/pointcontention?limit= : 현재 집계 구간에서 락 대기가 가장 긴 사용자 목록
+ */
+@Component
+@Endpoint(id = "pointcontention")
+@RequiredArgsConstructor
+public class HotUserEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final LockProvider lockProvider;
+
+    @ReadOperation
+    public List<HotUser> hotUsers(@Nullable Integer limit) {
+        return lockProvider.hotUsers(limit == null ? DEFAULT_LIMIT : limit);
+    }
+}
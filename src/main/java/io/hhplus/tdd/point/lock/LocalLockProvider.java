@@ -0,0 +1,36 @@
+package io.hhplus.tdd.point.lock;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * JVM 내부 사용자별 락 (기본값)
+ */
+public class LocalLockProvider extends MeteredLockProvider {
+
+    // 동시성 제어용 사용자별 락 객체 저장소
+    private final Map<Long, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    @Override
+    protected String name() {
+        return "local";
+    }
+
+    @Override
+    protected LockHandle tryAcquire(long userId) {
+        ReentrantLock lock = getLock(userId);
+        return lock.tryLock() ? lock::unlock : null;
+    }
+
+    @Override
+    protected LockHandle acquire(long userId) {
+        ReentrantLock lock = getLock(userId);
+        lock.lock();
+        return lock::unlock;
+    }
+
+    private ReentrantLock getLock(long userId) {
+        return locks.computeIfAbsent(userId, id -> new ReentrantLock());
+    }
+}
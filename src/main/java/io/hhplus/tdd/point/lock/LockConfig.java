@@ -0,0 +1,54 @@
+package io.hhplus.tdd.point.lock;
+
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * point.lock.provider 로 LockProvider 구현체를 고른다.
+ * - local (기본값) : 단일 JVM
+ * - file : 같은 호스트의 여러 프로세스
+ * - redisson : Redis 를 공유하는 여러 호스트
+ */
+@Configuration
+public class LockConfig {
+
+    private static final String PROVIDER = "point.lock.provider";
+
+    @Bean
+    @ConditionalOnProperty(name = PROVIDER, havingValue = "local", matchIfMissing = true)
+    public LockProvider localLockProvider() {
+        return new LocalLockProvider();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = PROVIDER, havingValue = "file")
+    public LockProvider fileLockProvider(
+            @Value("${point.lock.file.directory:${java.io.tmpdir}/point-locks}") Path directory,
+            @Value("${point.lock.file.stripes:64}") int stripes
+    ) {
+        return new FileLockProvider(directory, stripes);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = PROVIDER, havingValue = "redisson")
+    public RedissonClient redissonClient(
+            @Value("${point.lock.redisson.address:redis://127.0.0.1:6379}") String address
+    ) {
+        Config config = new Config();
+        config.useSingleServer().setAddress(address);
+        return Redisson.create(config);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = PROVIDER, havingValue = "redisson")
+    public LockProvider redissonLockProvider(RedissonClient redissonClient) {
+        return new RedissonLockProvider(redissonClient);
+    }
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point.lock;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 사용자 단위 상호 배제
+ * - 같은 userId 에 대한 action 은 동시에 실행되지 않는다.
+ * - 구현체에 따라 보호 범위가 다르다. (JVM 내부 / 같은 호스트의 프로세스 간 / Redis 를 공유하는 전체 인스턴스)
+ */
+public interface LockProvider {
+
+    <T> T withLock(long userId, Supplier<T> action);
+
+    LockStats stats();
+
+    /**
+     * 락 대기 시간이 가장 긴 사용자 목록 (메모리 상한이 있는 근사 집계)
+     */
+    List<HotUser> hotUsers(int limit);
+}
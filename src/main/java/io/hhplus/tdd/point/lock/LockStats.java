@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point.lock;
+
+/**
+ * 락 획득 지표
+ * - contended : 즉시 획득하지 못하고 대기한 횟수
+ * - waitNanos : 획득까지 걸린 시간의 합 (비경합 획득 포함)
+ */
+public record LockStats(
+        String provider,
+        long acquisitions,
+        long contended,
+        long totalWaitNanos,
+        long maxWaitNanos
+) {
+    public double contentionRatio() {
+        return acquisitions == 0 ? 0 : (double) contended / acquisitions;
+    }
+
+    public long averageWaitNanos() {
+        return acquisitions == 0 ? 0 : totalWaitNanos / acquisitions;
+    }
+}
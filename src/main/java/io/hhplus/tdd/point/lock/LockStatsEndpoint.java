@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point.lock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * GET /actuator/pointlocks : 현재 LockProvider 의 획득 지연/경합 지표
+ */
+@Component
+@Endpoint(id = "pointlocks")
+@RequiredArgsConstructor
+public class LockStatsEndpoint {
+
+    private final LockProvider lockProvider;
+
+    @ReadOperation
+    public LockStats stats() {
+        return lockProvider.stats();
+    }
+}
@@ -0,0 +1,79 @@
+package io.hhplus.tdd.point.lock;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 획득 시간과 경합 여부를 측정하는 LockProvider 공통 골격
+ * - 먼저 tryAcquire 로 즉시 획득을 시도하고, 실패하면 경합으로 기록한 뒤 acquire 로 대기한다.
+ * - 사용자별 대기 현황은 ContentionTracker 에 함께 기록한다.
+ */
+public abstract class MeteredLockProvider implements LockProvider {
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final ContentionTracker contentionTracker = new ContentionTracker();
+
+    @Override
+    public final <T> T withLock(long userId, Supplier<T> action) {
+        contentionTracker.enter(userId);
+        try {
+            long start = System.nanoTime();
+            LockHandle handle = tryAcquire(userId);
+            boolean wasContended = handle == null;
+            if (wasContended) {
+                contended.increment();
+                handle = acquire(userId);
+            }
+            long waitNanos = System.nanoTime() - start;
+            record(waitNanos);
+            contentionTracker.record(userId, waitNanos, wasContended);
+
+            try (LockHandle ignored = handle) {
+                return action.get();
+            }
+        } finally {
+            contentionTracker.exit(userId);
+        }
+    }
+
+    @Override
+    public LockStats stats() {
+        return new LockStats(name(), acquisitions.sum(), contended.sum(), totalWaitNanos.sum(), maxWaitNanos.get());
+    }
+
+    @Override
+    public List<HotUser> hotUsers(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("조회 인원은 1명 이상이어야 합니다.");
+        }
+        return contentionTracker.hotUsers(limit);
+    }
+
+    protected abstract String name();
+
+    /**
+     * 대기 없이 획득을 시도한다. 이미 다른 쪽이 쥐고 있으면 null.
+     */
+    protected abstract LockHandle tryAcquire(long userId);
+
+    /**
+     * 획득할 때까지 대기한다.
+     */
+    protected abstract LockHandle acquire(long userId);
+
+    private void record(long waitNanos) {
+        acquisitions.increment();
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    protected interface LockHandle extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
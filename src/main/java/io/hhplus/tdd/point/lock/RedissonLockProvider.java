@@ -0,0 +1,38 @@
+package io.hhplus.tdd.point.lock;
+
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+
+/**
+ * Redis 분산 락 (Redisson RLock)
+ * - Redis 를 공유하는 모든 인스턴스 사이에서 사용자 단위로 배제한다.
+ * - 획득/해제마다 Redis 왕복이 발생하므로 로컬 락보다 지연이 크다.
+ */
+public class RedissonLockProvider extends MeteredLockProvider {
+
+    private static final String KEY_PREFIX = "point:lock:";
+
+    private final RedissonClient redissonClient;
+
+    public RedissonLockProvider(RedissonClient redissonClient) {
+        this.redissonClient = redissonClient;
+    }
+
+    @Override
+    protected String name() {
+        return "redisson";
+    }
+
+    @Override
+    protected LockHandle tryAcquire(long userId) {
+        RLock lock = redissonClient.getLock(KEY_PREFIX + userId);
+        return lock.tryLock() ? lock::unlock : null;
+    }
+
+    @Override
+    protected LockHandle acquire(long userId) {
+        RLock lock = redissonClient.getLock(KEY_PREFIX + userId);
+        lock.lock();
+        return lock::unlock;
+    }
+}
@@ -0,0 +1,7 @@
+package io.hhplus.tdd.point.operation;
+
+public enum OperationStatus {
+    PENDING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,37 @@
+package io.hhplus.tdd.point.operation;
+
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+
+/**
+ * 비동기 충전/사용 요청의 상태
+ * - SUCCEEDED 면 result 에 반영 후 잔고가, FAILED 면 errorCode/errorMessage 에 REST 응답과 같은 에러 코드가 담긴다.
+ */
+public record PointOperation(
+        String opId,
+        long userId,
+        TransactionType type,
+        long amount,
+        OperationStatus status,
+        UserPoint result,
+        String errorCode,
+        String errorMessage,
+        long acceptedMillis,
+        long completedMillis
+) {
+    static PointOperation pending(String opId, long userId, TransactionType type, long amount) {
+        return new PointOperation(opId, userId, type, amount, OperationStatus.PENDING, null, null, null, System.currentTimeMillis(), 0);
+    }
+
+    PointOperation succeeded(UserPoint result) {
+        return new PointOperation(opId, userId, type, amount, OperationStatus.SUCCEEDED, result, null, null, acceptedMillis, System.currentTimeMillis());
+    }
+
+    PointOperation failed(String errorCode, String errorMessage) {
+        return new PointOperation(opId, userId, type, amount, OperationStatus.FAILED, null, errorCode, errorMessage, acceptedMillis, System.currentTimeMillis());
+    }
+
+    public boolean isDone() {
+        return status != OperationStatus.PENDING;
+    }
+}
@@ -0,0 +1,216 @@
+package io.hhplus.tdd.point.operation;
+
+import io.hhplus.tdd.ErrorMapper;
+import io.hhplus.tdd.exception.ShuttingDownException;
+import io.hhplus.tdd.point.bulkhead.BulkheadFullException;
+import io.hhplus.tdd.point.bulkhead.PointLane;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.service.PointService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 비동기 충전/사용 파이프라인
+ * - 요청은 바로 PENDING 작업으로 등록하고 opId 를 돌려준다. 실제 처리는 작업 스레드에서 PointService 로 실행한다.
+ * - 같은 사용자의 작업은 접수 순서대로 하나씩 실행한다. (사용자별 꼬리 future 에 이어 붙인다)
+ *   그래서 충전 직후 보낸 사용이 충전보다 먼저 실행되지 않고, 한 사용자의 락을 기다리느라 작업 스레드가 묶이지 않는다.
+ * - 처리 대기 작업이 maxPending 을 넘으면 WRITE 레인 포화와 같게 BulkheadFullException 으로 접수를 거절한다.
+ * - 끝난 작업은 retention 동안, 최근 maxRetained 건까지만 조회할 수 있다. (넘으면 먼저 끝난 작업부터 버린다)
+ * - 종료(close)가 시작되면 새 작업은 ShuttingDownException(503)으로 거절하고, 이미 접수(202)한 작업은 모두 처리한 뒤 종료한다.
+ *   접수한 작업을 버리지 않으므로 종료는 대기 작업(최대 maxPending 건)을 처리하는 만큼 걸린다.
+ */
+@Slf4j
+@Service
+public class PointOperationService {
+
+    private final PointService pointService;
+    private final int maxPending;
+    private final int maxRetained;
+    private final long retentionMillis;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(daemon("point-operation-sweep"));
+
+    private final Map<String, Entry> operations = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    // 끝난 작업 id (끝난 순서), 이 객체의 모니터로 보호한다.
+    private final ArrayDeque<String> completed = new ArrayDeque<>();
+    private volatile boolean closing;
+
+    public PointOperationService(PointService pointService,
+                                 @Value("${point.operation.workers:64}") int workerCount,
+                                 @Value("${point.operation.max-pending:100000}") int maxPending,
+                                 @Value("${point.operation.max-retained:100000}") int maxRetained,
+                                 @Value("${point.operation.retention:10m}") Duration retention) {
+        this.pointService = pointService;
+        this.maxPending = maxPending;
+        this.maxRetained = maxRetained;
+        this.retentionMillis = retention.toMillis();
+        this.workers = Executors.newFixedThreadPool(workerCount, daemon("point-operation"));
+        long sweepMillis = Math.max(1_000, retentionMillis / 10);
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public PointOperation charge(long userId, long amount) {
+        return submit(userId, TransactionType.CHARGE, amount, () -> pointService.charge(userId, amount));
+    }
+
+    public PointOperation use(long userId, long amount) {
+        return submit(userId, TransactionType.USE, amount, () -> pointService.use(userId, amount));
+    }
+
+    public PointOperation get(String opId) {
+        return entry(opId).operation;
+    }
+
+    /**
+     * 작업이 끝나면 완료되는 future (이미 끝났으면 바로 완료된 future)
+     */
+    public CompletableFuture<PointOperation> completion(String opId) {
+        return entry(opId).done;
+    }
+
+    public int pendingCount() {
+        return pending.get();
+    }
+
+    @PreDestroy
+    public void close() {
+        closing = true;
+        sweeper.shutdownNow();
+        // 앞 작업에 이어 붙은 작업은 앞 작업이 끝날 때 workers 에 제출되므로, workers 는 대기 작업이 모두 끝난 뒤에 멈춘다.
+        try {
+            while (pending.get() > 0) {
+                log.info("접수한 비동기 작업 {} 건을 처리한 뒤 종료합니다.", pending.get());
+                awaitPending(TimeUnit.SECONDS.toMillis(10));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("종료 대기 중 인터럽트되어 비동기 작업 {} 건을 남기고 종료합니다.", pending.get());
+        }
+        workers.shutdownNow();
+    }
+
+    private PointOperation submit(long userId, TransactionType type, long amount, Supplier<UserPoint> action) {
+        // 먼저 세고 나서 closing 을 보므로, close 가 기다리는 작업과 거절되는 작업 사이에 빠지는 작업이 없다.
+        int count = pending.incrementAndGet();
+        if (closing) {
+            release();
+            throw new ShuttingDownException();
+        }
+        if (count > maxPending) {
+            release();
+            throw new BulkheadFullException(PointLane.WRITE);
+        }
+        Entry entry = new Entry(PointOperation.pending(UUID.randomUUID().toString(), userId, type, amount));
+        operations.put(entry.operation.opId(), entry);
+
+        // 앞 작업의 성패와 관계없이 이어서 실행한다.
+        CompletableFuture<Void> next = tails.compute(userId, (id, tail) ->
+                (tail == null ? CompletableFuture.<Void>completedFuture(null) : tail)
+                        .handleAsync((ignored, e) -> {
+                            execute(entry, action);
+                            return null;
+                        }, workers));
+        // 끝났을 때 꼬리가 그대로면 정리해, 사용자 수만큼 future 가 쌓이지 않게 한다. (compute 밖에서 등록해야 재진입하지 않는다)
+        next.whenComplete((ignored, e) -> tails.remove(userId, next));
+        return entry.operation;
+    }
+
+    private void execute(Entry entry, Supplier<UserPoint> action) {
+        PointOperation result;
+        try {
+            result = entry.operation.succeeded(action.get());
+        } catch (RuntimeException e) {
+            ErrorMapper.MappedError error = ErrorMapper.map(e);
+            result = entry.operation.failed(error.code(), error.message());
+            if (error.status() == 500) {
+                log.error("비동기 작업 {} 처리에 실패했습니다.", entry.operation.opId(), e);
+            }
+        }
+        entry.operation = result;
+        retain(result.opId());
+        release();
+        entry.done.complete(result);
+    }
+
+    private void release() {
+        if (pending.decrementAndGet() == 0) {
+            synchronized (pending) {
+                pending.notifyAll();
+            }
+        }
+    }
+
+    private synchronized void retain(String opId) {
+        completed.addLast(opId);
+        while (completed.size() > maxRetained) {
+            operations.remove(completed.pollFirst());
+        }
+    }
+
+    private void awaitPending(long timeoutMillis) throws InterruptedException {
+        synchronized (pending) {
+            if (pending.get() > 0) {
+                pending.wait(timeoutMillis);
+            }
+        }
+    }
+
+    private Entry entry(String opId) {
+        Entry entry = operations.get(opId);
+        if (entry == null) {
+            throw new NoSuchElementException("작업을 찾을 수 없습니다: " + opId);
+        }
+        return entry;
+    }
+
+    // 끝난 순서대로 보므로 만료되지 않은 작업을 만나면 멈춘다.
+    private synchronized void sweep() {
+        long expiredBefore = System.currentTimeMillis() - retentionMillis;
+        while (!completed.isEmpty()) {
+            Entry entry = operations.get(completed.peekFirst());
+            if (entry != null && entry.operation.completedMillis() >= expiredBefore) {
+                break;
+            }
+            operations.remove(completed.pollFirst());
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Entry {
+
+        private volatile PointOperation operation;
+        private final CompletableFuture<PointOperation> done = new CompletableFuture<>();
+
+        private Entry(PointOperation operation) {
+            this.operation = operation;
+        }
+    }
+}
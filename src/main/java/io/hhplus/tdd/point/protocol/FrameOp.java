@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point.protocol;
+
+/**
+ * 요청 프레임의 연산 (코드는 ordinal)
+ */
+public enum FrameOp {
+    GET,
+    CHARGE,
+    USE
+}
@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point.protocol;
+
+/**
+ * 응답 프레임의 결과 (코드는 ordinal)
+ * - REST 의 200 / 400 / 409 / 500 / 404 / 503 에 대응한다. (ordinal 을 주고받으므로 새 값은 끝에만 추가한다)
+ */
+public enum FrameStatus {
+    OK,
+    BAD_REQUEST,
+    CONFLICT,
+    ERROR,
+    NOT_FOUND,
+    UNAVAILABLE;
+
+    /**
+     * ErrorMapper 가 정한 HTTP 상태에 대응하는 결과
+     */
+    public static FrameStatus of(int httpStatus) {
+        return switch (httpStatus) {
+            case 400 -> BAD_REQUEST;
+            case 404 -> NOT_FOUND;
+            case 409 -> CONFLICT;
+            case 503 -> UNAVAILABLE;
+            default -> ERROR;
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package io.hhplus.tdd.point.protocol;
+
+import io.hhplus.tdd.point.entity.UserPoint;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 길이 접두 바이너리 프레임
+ * - 모든 프레임은 [int length] 뒤에 length 바이트의 본문이 온다. (big-endian)
+ * - 요청 : correlationId(long) op(byte) userId(long) amount(long)
+ * - 응답 : correlationId(long) status(byte) 뒤에
+ *   OK 면 id(long) point(long) updateMillis(long),
+ *   그 밖에는 codeLength(byte) 뒤에 UTF-8 에러 코드(ErrorMapper 의 코드), 나머지는 UTF-8 오류 메시지
+ * - 응답은 처리가 끝난 순서대로 오므로, 클라이언트는 correlationId 로 요청과 짝을 맞춘다.
+ */
+final class PointFrame {
+
+    static final int LENGTH_SIZE = Integer.BYTES;
+    static final int REQUEST_BODY_SIZE = Long.BYTES + 1 + Long.BYTES * 2;
+    static final int REQUEST_SIZE = LENGTH_SIZE + REQUEST_BODY_SIZE;
+    static final int MAX_RESPONSE_BODY_SIZE = 4 * 1024;
+
+    private static final FrameOp[] OPS = FrameOp.values();
+    private static final FrameStatus[] STATUSES = FrameStatus.values();
+
+    private PointFrame() {
+    }
+
+    static void writeRequest(ByteBuffer buffer, long correlationId, FrameOp op, long userId, long amount) {
+        buffer.putInt(REQUEST_BODY_SIZE)
+                .putLong(correlationId)
+                .put((byte) op.ordinal())
+                .putLong(userId)
+                .putLong(amount);
+    }
+
+    static FrameOp op(byte code) {
+        if (code < 0 || code >= OPS.length) {
+            throw new IllegalArgumentException("알 수 없는 연산입니다: " + code);
+        }
+        return OPS[code];
+    }
+
+    static ByteBuffer ok(long correlationId, UserPoint userPoint) {
+        int bodySize = Long.BYTES + 1 + Long.BYTES * 3;
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH_SIZE + bodySize);
+        buffer.putInt(bodySize)
+                .putLong(correlationId)
+                .put((byte) FrameStatus.OK.ordinal())
+                .putLong(userPoint.id())
+                .putLong(userPoint.point())
+                .putLong(userPoint.updateMillis());
+        return buffer.flip();
+    }
+
+    static ByteBuffer error(long correlationId, FrameStatus status, String code, String message) {
+        byte[] codeBytes = code.getBytes(StandardCharsets.UTF_8);
+        int codeSize = Math.min(codeBytes.length, Byte.MAX_VALUE);
+        byte[] text = (message == null ? "" : message).getBytes(StandardCharsets.UTF_8);
+        int textSize = Math.min(text.length, MAX_RESPONSE_BODY_SIZE - Long.BYTES - 2 - codeSize);
+        int bodySize = Long.BYTES + 2 + codeSize + textSize;
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH_SIZE + bodySize);
+        buffer.putInt(bodySize)
+                .putLong(correlationId)
+                .put((byte) status.ordinal())
+                .put((byte) codeSize)
+                .put(codeBytes, 0, codeSize)
+                .put(text, 0, textSize);
+        return buffer.flip();
+    }
+
+    static FrameStatus status(byte code) {
+        if (code < 0 || code >= STATUSES.length) {
+            throw new IllegalArgumentException("알 수 없는 응답 상태입니다: " + code);
+        }
+        return STATUSES[code];
+    }
+}
@@ -0,0 +1,148 @@
+package io.hhplus.tdd.point.protocol;
+
+import io.hhplus.tdd.point.entity.UserPoint;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PointProtocolServer 클라이언트
+ * - 연결 하나로 여러 스레드가 동시에 요청을 보낼 수 있고, 응답은 correlationId 로 각 요청의 future 에 전달된다.
+ * - 거절/오류 응답은 PointProtocolException 으로 future 를 실패시킨다.
+ * - 연결이 끊기면 기다리던 요청은 모두 실패한다.
+ */
+public class PointProtocolClient implements Closeable {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(PointFrame.REQUEST_SIZE);
+    private final AtomicLong nextCorrelationId = new AtomicLong();
+    private final Map<Long, CompletableFuture<UserPoint>> pending = new ConcurrentHashMap<>();
+    private final Thread reader;
+    private volatile boolean closed;
+
+    private PointProtocolClient(SocketChannel channel) {
+        this.channel = channel;
+        this.reader = new Thread(this::readLoop, "point-protocol-client");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    public static PointProtocolClient connect(InetSocketAddress address) throws IOException {
+        SocketChannel channel = SocketChannel.open(address);
+        channel.socket().setTcpNoDelay(true);
+        return new PointProtocolClient(channel);
+    }
+
+    public CompletableFuture<UserPoint> getPoint(long userId) {
+        return send(FrameOp.GET, userId, 0);
+    }
+
+    public CompletableFuture<UserPoint> charge(long userId, long amount) {
+        return send(FrameOp.CHARGE, userId, amount);
+    }
+
+    public CompletableFuture<UserPoint> use(long userId, long amount) {
+        return send(FrameOp.USE, userId, amount);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // 이미 닫혔다.
+        }
+        failPending(new IOException("연결이 닫혔습니다."));
+    }
+
+    private CompletableFuture<UserPoint> send(FrameOp op, long userId, long amount) {
+        long correlationId = nextCorrelationId.incrementAndGet();
+        CompletableFuture<UserPoint> future = new CompletableFuture<>();
+        pending.put(correlationId, future);
+        if (closed) {
+            pending.remove(correlationId);
+            future.completeExceptionally(new IOException("연결이 닫혔습니다."));
+            return future;
+        }
+        try {
+            synchronized (writeBuffer) {
+                writeBuffer.clear();
+                PointFrame.writeRequest(writeBuffer, correlationId, op, userId, amount);
+                writeBuffer.flip();
+                while (writeBuffer.hasRemaining()) {
+                    channel.write(writeBuffer);
+                }
+            }
+        } catch (IOException e) {
+            pending.remove(correlationId);
+            future.completeExceptionally(new UncheckedIOException(e));
+        }
+        return future;
+    }
+
+    private void readLoop() {
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        try {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.remaining() >= PointFrame.LENGTH_SIZE) {
+                    int length = buffer.getInt(buffer.position());
+                    if (length < Long.BYTES + 1 || length > PointFrame.MAX_RESPONSE_BODY_SIZE) {
+                        throw new IOException("응답 프레임 길이가 올바르지 않습니다: " + length);
+                    }
+                    if (buffer.remaining() < PointFrame.LENGTH_SIZE + length) {
+                        break;
+                    }
+                    buffer.getInt();
+                    complete(buffer, length);
+                }
+                buffer.compact();
+            }
+            failPending(new IOException("서버가 연결을 닫았습니다."));
+        } catch (IOException | RuntimeException e) {
+            failPending(closed ? new IOException("연결이 닫혔습니다.") : e);
+        }
+    }
+
+    private void complete(ByteBuffer buffer, int length) {
+        long correlationId = buffer.getLong();
+        FrameStatus status = PointFrame.status(buffer.get());
+        CompletableFuture<UserPoint> future = pending.remove(correlationId);
+        if (status == FrameStatus.OK) {
+            UserPoint userPoint = new UserPoint(buffer.getLong(), buffer.getLong(), buffer.getLong());
+            if (future != null) {
+                future.complete(userPoint);
+            }
+            return;
+        }
+        byte[] code = new byte[buffer.get()];
+        buffer.get(code);
+        byte[] message = new byte[length - Long.BYTES - 2 - code.length];
+        buffer.get(message);
+        if (future != null) {
+            future.completeExceptionally(new PointProtocolException(status,
+                    new String(code, StandardCharsets.UTF_8), new String(message, StandardCharsets.UTF_8)));
+        }
+    }
+
+    private void failPending(Exception cause) {
+        for (Long correlationId : pending.keySet()) {
+            CompletableFuture<UserPoint> future = pending.remove(correlationId);
+            if (future != null) {
+                future.completeExceptionally(cause);
+            }
+        }
+    }
+}
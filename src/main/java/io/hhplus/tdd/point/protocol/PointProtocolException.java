@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point.protocol;
+
+import lombok.Getter;
+
+/**
+ * 바이너리 프로토콜로 받은 거절/오류 응답
+ */
+@Getter
+public class PointProtocolException extends RuntimeException {
+
+    private final FrameStatus status;
+    // ErrorMapper 의 에러 코드 (REST 응답의 code 와 같다)
+    private final String code;
+
+    public PointProtocolException(FrameStatus status, String code, String message) {
+        super(message);
+        this.status = status;
+        this.code = code;
+    }
+}
@@ -0,0 +1,346 @@
+package io.hhplus.tdd.point.protocol;
+
+import io.hhplus.tdd.ErrorMapper;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.service.PointService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 대량 호출자용 내부 바이너리 프로토콜 리스너
+ * - 셀렉터 스레드 하나가 모든 연결의 accept/read/write 를 처리하고, 디코딩한 요청은 작업 스레드에서 PointService 로 넘긴다.
+ *   (PointService 는 Table 지연과 사용자 락으로 블로킹되므로 셀렉터 스레드에서 실행하지 않는다)
+ * - 한 연결에서 응답을 기다리지 않고 요청을 이어 보낼 수 있다(pipelining). 응답은 끝난 순서대로 correlationId 와 함께 나간다.
+ * - 연결당 처리 중이거나 아직 소켓에 쓰지 못한 응답이 MAX_IN_FLIGHT_PER_CONNECTION 에 닿으면 그 연결의 읽기를 멈춘다.
+ *   (응답을 읽지 않는 클라이언트 때문에 작업 큐나 응답 큐가 무한히 쌓이지 않는다)
+ * - point.protocol.port 가 0 이상일 때만 연다. (0 이면 임의 포트)
+ * - 인증 없는 내부 프로토콜이므로 point.protocol.address(기본 루프백)에만 바인딩한다. 외부에서 받으려면 주소를 직접 지정한다.
+ * - 거절/오류는 ErrorMapper 로 REST 와 같은 상태/코드/메시지로 바꿔 응답한다.
+ */
+@Slf4j
+@Component
+public class PointProtocolServer {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_IN_FLIGHT_PER_CONNECTION = 1_024;
+
+    private final PointService pointService;
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final ExecutorService workers;
+    private final Thread selectorThread;
+    // 작업 스레드가 쓰기/읽기 재개를 요청한 연결. 셀렉터 스레드가 다음 루프에서 관심 이벤트를 갱신한다.
+    private final Queue<Connection> pendingUpdates = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+
+    public PointProtocolServer(PointService pointService,
+                               @Value("${point.protocol.address:127.0.0.1}") String address,
+                               @Value("${point.protocol.port:-1}") int port,
+                               @Value("${point.protocol.workers:64}") int workerCount) {
+        this.pointService = pointService;
+        if (port < 0) {
+            this.serverChannel = null;
+            this.selector = null;
+            this.workers = null;
+            this.selectorThread = null;
+            return;
+        }
+        try {
+            this.selector = Selector.open();
+            this.serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(new InetSocketAddress(address, port));
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "point-protocol-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.selectorThread = new Thread(this::loop, "point-protocol-selector");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+        log.info("포인트 바이너리 프로토콜 리스너: {}:{}", address, port());
+    }
+
+    public boolean isEnabled() {
+        return serverChannel != null;
+    }
+
+    /**
+     * 실제로 바인딩된 포트 (꺼져 있으면 -1)
+     */
+    public int port() {
+        if (serverChannel == null) {
+            return -1;
+        }
+        try {
+            return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (serverChannel == null) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            selectorThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.shutdownNow();
+    }
+
+    private void loop() {
+        try {
+            while (running) {
+                selector.select();
+                applyPendingUpdates();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("바이너리 프로토콜 셀렉터가 중단되었습니다.", e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            try {
+                selector.close();
+                serverChannel.close();
+            } catch (IOException e) {
+                log.warn("바이너리 프로토콜 리스너를 닫지 못했습니다.", e);
+            }
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        try {
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isAcceptable()) {
+                accept();
+                return;
+            }
+            Connection connection = (Connection) key.attachment();
+            if (key.isReadable()) {
+                connection.read();
+            }
+            if (key.isValid() && key.isWritable()) {
+                connection.write();
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // 잘못된 프레임이나 끊긴 연결은 그 연결만 닫는다.
+            log.debug("바이너리 프로토콜 연결을 닫습니다.", e);
+            closeQuietly(key);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            key.attach(new Connection(key, channel));
+        }
+    }
+
+    private void applyPendingUpdates() {
+        Connection connection;
+        while ((connection = pendingUpdates.poll()) != null) {
+            try {
+                connection.applyUpdate();
+            } catch (IOException | IllegalArgumentException e) {
+                closeQuietly(connection.key);
+            }
+        }
+    }
+
+    private void dispatch(Connection connection, long correlationId, FrameOp op, long userId, long amount) {
+        try {
+            workers.execute(() -> connection.respond(execute(correlationId, op, userId, amount)));
+        } catch (RejectedExecutionException e) {
+            // 종료 중에는 응답하지 않는다. 연결도 곧 닫힌다.
+        }
+    }
+
+    private ByteBuffer execute(long correlationId, FrameOp op, long userId, long amount) {
+        try {
+            UserPoint userPoint = switch (op) {
+                case GET -> pointService.getPoint(userId);
+                case CHARGE -> pointService.charge(userId, amount);
+                case USE -> pointService.use(userId, amount);
+            };
+            return PointFrame.ok(correlationId, userPoint);
+        } catch (RuntimeException e) {
+            ErrorMapper.MappedError error = ErrorMapper.map(e);
+            if (error.status() >= 500) {
+                log.error("바이너리 프로토콜 요청 처리에 실패했습니다.", e);
+            }
+            return PointFrame.error(correlationId, FrameStatus.of(error.status()), error.code(), error.message());
+        }
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+            // 이미 끊긴 연결이다.
+        }
+    }
+
+    /**
+     * 연결별 상태
+     * - readBuffer, writeBuffer, readPaused 는 셀렉터 스레드만 만진다.
+     * - outbound, inFlight, updateRequested 는 작업 스레드와 공유한다.
+     */
+    private final class Connection {
+
+        private final SelectionKey key;
+        private final SocketChannel channel;
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).limit(0);
+        private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicBoolean updateRequested = new AtomicBoolean();
+        private boolean readPaused;
+
+        private Connection(SelectionKey key, SocketChannel channel) {
+            this.key = key;
+            this.channel = channel;
+        }
+
+        private void read() throws IOException {
+            if (channel.read(readBuffer) < 0) {
+                throw new ClosedChannelException();
+            }
+            decodeFrames();
+        }
+
+        // readBuffer 에 모인 완전한 프레임을 꺼내 처리를 맡기고, 남은 조각은 앞으로 당긴다.
+        private void decodeFrames() {
+            readBuffer.flip();
+            while (readBuffer.remaining() >= PointFrame.LENGTH_SIZE && inFlight.get() < MAX_IN_FLIGHT_PER_CONNECTION) {
+                int length = readBuffer.getInt(readBuffer.position());
+                if (length != PointFrame.REQUEST_BODY_SIZE) {
+                    throw new IllegalArgumentException("요청 프레임 길이가 올바르지 않습니다: " + length);
+                }
+                if (readBuffer.remaining() < PointFrame.REQUEST_SIZE) {
+                    break;
+                }
+                readBuffer.getInt();
+                long correlationId = readBuffer.getLong();
+                FrameOp op = PointFrame.op(readBuffer.get());
+                long userId = readBuffer.getLong();
+                long amount = readBuffer.getLong();
+                inFlight.incrementAndGet();
+                dispatch(this, correlationId, op, userId, amount);
+            }
+            readBuffer.compact();
+
+            boolean pause = inFlight.get() >= MAX_IN_FLIGHT_PER_CONNECTION;
+            if (pause != readPaused) {
+                readPaused = pause;
+                updateInterest();
+            }
+        }
+
+        // 작업 스레드에서 호출된다.
+        private void respond(ByteBuffer frame) {
+            outbound.add(frame);
+            if (updateRequested.compareAndSet(false, true)) {
+                pendingUpdates.add(this);
+                selector.wakeup();
+            }
+        }
+
+        private void applyUpdate() throws IOException {
+            updateRequested.set(false);
+            if (key.isValid()) {
+                write();
+            }
+        }
+
+        private void write() throws IOException {
+            while (true) {
+                ByteBuffer frame;
+                while (writeBuffer.limit() < writeBuffer.capacity() && (frame = outbound.peek()) != null
+                        && frame.remaining() <= writeBuffer.capacity() - writeBuffer.limit()) {
+                    int start = writeBuffer.limit();
+                    writeBuffer.limit(start + frame.remaining());
+                    writeBuffer.put(start, frame, frame.position(), frame.remaining());
+                    outbound.poll();
+                    inFlight.decrementAndGet();
+                }
+                if (!writeBuffer.hasRemaining()) {
+                    writeBuffer.clear().limit(0);
+                    if (outbound.isEmpty()) {
+                        break;
+                    }
+                    continue;
+                }
+                channel.write(writeBuffer);
+                if (writeBuffer.hasRemaining()) {
+                    // 소켓 버퍼가 가득 찼다. OP_WRITE 로 이어서 쓴다.
+                    writeBuffer.compact().flip();
+                    break;
+                }
+                writeBuffer.clear().limit(0);
+            }
+            if (readPaused && inFlight.get() < MAX_IN_FLIGHT_PER_CONNECTION) {
+                // 멈춘 동안 버퍼에 남아 있던 요청부터 처리한다.
+                decodeFrames();
+            } else {
+                updateInterest();
+            }
+        }
+
+        private void updateInterest() {
+            if (!key.isValid()) {
+                return;
+            }
+            int ops = readPaused ? 0 : SelectionKey.OP_READ;
+            if (writeBuffer.hasRemaining() || !outbound.isEmpty()) {
+                ops |= SelectionKey.OP_WRITE;
+            }
+            key.interestOps(ops);
+        }
+    }
+}
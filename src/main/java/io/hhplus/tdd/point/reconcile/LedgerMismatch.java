@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point.reconcile;
+
+/**
+ * 잔고와 히스토리 합계가 맞지 않는 사용자
+ * - ledgerBalance : CHARGE 합계 - USE 합계 - EXPIRE 합계
+ */
+public record LedgerMismatch(
+        long userId,
+        long balance,
+        long ledgerBalance,
+        long detectedMillis
+) {
+}
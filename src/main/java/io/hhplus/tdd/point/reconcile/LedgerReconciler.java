@@ -0,0 +1,211 @@
+package io.hhplus.tdd.point.reconcile;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.history.PointHistoryStore;
+import io.hhplus.tdd.point.lock.LockProvider;
+import io.hhplus.tdd.point.service.PointChangeListener;
+import io.hhplus.tdd.point.service.UserPointRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 잔고/히스토리 대사
+ * - 사용자마다 UserPoint.point 가 CHARGE - USE - EXPIRE 합계와 같은지 검증한다.
+ * - 커밋된 사용자를 dirty 로 표시해 두고, 주기적으로 그 사용자만 검증한다. (증분)
+ *   실행 시작 시 dirty 집합을 새 집합으로 바꿔 끼우므로, 검증 중 커밋된 사용자는 다음 실행에서 다시 본다.
+ * - 사용자 목록을 구간으로 나눠 ForkJoinPool 에서 병렬로 검증한다.
+ * - 잔고는 레지스트리 캐시가 아니라 잔고 테이블에서, 히스토리는 히스토리 저장소에서 읽는다.
+ *   두 읽기를 사용자 락 안에서 하므로 커밋 중인 사용자를 오탐하지 않는다. (그 사용자의 쓰기는 검증 동안 기다린다)
+ *   레지스트리는 전체 검증할 사용자 목록을 얻는 데만 쓴다. (테이블에 전체 조회 API 가 없다)
+ * - 사용자별 조회 비용은 저장소를 따른다. 대량 전체 검증은 point.history.store=tiered 를 전제로 한다.
+ */
+@Slf4j
+@Component
+public class LedgerReconciler implements PointChangeListener {
+
+    private static final int USERS_PER_TASK = 1_024;
+
+    private final UserPointTable userPointTable;
+    private final PointHistoryStore pointHistoryStore;
+    private final LockProvider lockProvider;
+    private final UserPointRegistry userPointRegistry;
+    private final ForkJoinPool pool;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "point-reconcile");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicReference<Set<Long>> dirty = new AtomicReference<>(ConcurrentHashMap.newKeySet());
+    private final Map<Long, LedgerMismatch> mismatches = new ConcurrentHashMap<>();
+    private volatile ReconciliationReport lastReport = ReconciliationReport.empty();
+
+    private final Counter checkedUsers;
+    private final Timer fullDuration;
+    private final Timer incrementalDuration;
+
+    public LedgerReconciler(UserPointTable userPointTable,
+                            PointHistoryStore pointHistoryStore,
+                            LockProvider lockProvider,
+                            UserPointRegistry userPointRegistry,
+                            MeterRegistry meterRegistry,
+                            @Value("${point.reconcile.parallelism:0}") int parallelism,
+                            @Value("${point.reconcile.interval-millis:10000}") long intervalMillis) {
+        this.userPointTable = userPointTable;
+        this.pointHistoryStore = pointHistoryStore;
+        this.lockProvider = lockProvider;
+        this.userPointRegistry = userPointRegistry;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+
+        meterRegistry.gauge("point.reconcile.mismatches", mismatches, Map::size);
+        this.checkedUsers = meterRegistry.counter("point.reconcile.checked.users");
+        this.fullDuration = meterRegistry.timer("point.reconcile.duration", "mode", "full");
+        this.incrementalDuration = meterRegistry.timer("point.reconcile.duration", "mode", "incremental");
+
+        if (intervalMillis > 0) {
+            scheduler.scheduleWithFixedDelay(this::runIncrementalQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void onCommitted(UserPoint userPoint, PointHistory history) {
+        dirty.get().add(userPoint.id());
+    }
+
+    /**
+     * 마지막 체크포인트 이후 변경된 사용자만 검증한다.
+     */
+    public synchronized ReconciliationReport runIncremental() {
+        long startNanos = System.nanoTime();
+        Set<Long> changed = dirty.getAndSet(ConcurrentHashMap.newKeySet());
+        long[] userIds = changed.stream().mapToLong(Long::longValue).toArray();
+        return verify(userIds, false, startNanos, incrementalDuration);
+    }
+
+    /**
+     * 레지스트리의 모든 사용자를 검증한다.
+     */
+    public synchronized ReconciliationReport runFull() {
+        long startNanos = System.nanoTime();
+        // 전체 검증이 다루는 사용자는 증분 대상에서 빠져도 된다.
+        dirty.set(ConcurrentHashMap.newKeySet());
+        long[] userIds = userPointRegistry.snapshot().stream().mapToLong(entry -> entry.userPoint().id()).toArray();
+        return verify(userIds, true, startNanos, fullDuration);
+    }
+
+    public ReconciliationReport lastReport() {
+        return lastReport;
+    }
+
+    public Optional<LedgerMismatch> mismatchOf(long userId) {
+        return Optional.ofNullable(mismatches.get(userId));
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    private ReconciliationReport verify(long[] userIds, boolean full, long startNanos, Timer timer) {
+        long detectedMillis = System.currentTimeMillis();
+        pool.invoke(new VerifyTask(userIds, 0, userIds.length, detectedMillis));
+        checkedUsers.increment(userIds.length);
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        List<LedgerMismatch> reported = mismatches.values().stream()
+                .sorted(Comparator.comparingLong(LedgerMismatch::userId))
+                .limit(ReconciliationReport.MAX_REPORTED_MISMATCHES)
+                .toList();
+        ReconciliationReport report = new ReconciliationReport(full, userIds.length, mismatches.size(), reported,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), System.currentTimeMillis());
+        lastReport = report;
+        return report;
+    }
+
+    private void verifyUser(long userId, long detectedMillis) {
+        LedgerMismatch mismatch = lockProvider.withLock(userId, () -> check(userId, detectedMillis));
+        if (mismatch == null) {
+            mismatches.remove(userId);
+        } else {
+            mismatches.put(userId, mismatch);
+        }
+    }
+
+    // 사용자 락 안에서 잔고와 히스토리를 함께 읽어 같은 시점의 장부를 비교한다. 맞으면 null
+    private LedgerMismatch check(long userId, long detectedMillis) {
+        UserPoint userPoint = userPointTable.selectById(userId);
+        List<PointHistory> histories = pointHistoryStore.selectAllByUserId(userId);
+        long ledgerBalance = 0;
+        for (PointHistory history : histories) {
+            ledgerBalance += switch (history.type()) {
+                case CHARGE, USE_CANCEL -> history.amount();
+                case USE, EXPIRE, CHARGE_CANCEL -> -history.amount();
+            };
+        }
+        return ledgerBalance == userPoint.point()
+                ? null
+                : new LedgerMismatch(userId, userPoint.point(), ledgerBalance, detectedMillis);
+    }
+
+    private void runIncrementalQuietly() {
+        try {
+            ReconciliationReport report = runIncremental();
+            if (report.mismatchCount() > 0) {
+                log.warn("잔고/히스토리 불일치 사용자 {} 명", report.mismatchCount());
+            }
+        } catch (RuntimeException e) {
+            log.error("증분 대사에 실패했습니다.", e);
+        }
+    }
+
+    private class VerifyTask extends RecursiveTask<Void> {
+
+        private final long[] userIds;
+        private final int from;
+        private final int to;
+        private final long detectedMillis;
+
+        private VerifyTask(long[] userIds, int from, int to, long detectedMillis) {
+            this.userIds = userIds;
+            this.from = from;
+            this.to = to;
+            this.detectedMillis = detectedMillis;
+        }
+
+        @Override
+        protected Void compute() {
+            if (to - from <= USERS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    verifyUser(userIds[i], detectedMillis);
+                }
+                return null;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new VerifyTask(userIds, from, mid, detectedMillis), new VerifyTask(userIds, mid, to, detectedMillis));
+            return null;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point.reconcile;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * GET /actuator/pointreconcile : 마지막 대사 결과와 현재 불일치 사용자
+ * POST /actuator/pointreconcile : 전체 대사를 즉시 실행
+ */
+@Component
+@Endpoint(id = "pointreconcile")
+@RequiredArgsConstructor
+public class ReconciliationEndpoint {
+
+    private final LedgerReconciler ledgerReconciler;
+
+    @ReadOperation
+    public ReconciliationReport lastReport() {
+        return ledgerReconciler.lastReport();
+    }
+
+    @WriteOperation
+    public ReconciliationReport runFull() {
+        return ledgerReconciler.runFull();
+    }
+}
@@ -0,0 +1,25 @@
+package io.hhplus.tdd.point.reconcile;
+
+import java.util.List;
+
+/**
+ * 대사 실행 결과
+ * - checkedUsers : 이번 실행에서 검증한 사용자 수 (증분 실행이면 변경된 사용자만)
+ * - mismatchCount : 현재 불일치 상태로 남아 있는 전체 사용자 수
+ * - mismatches : 그중 일부 (최대 MAX_REPORTED_MISMATCHES 명)
+ */
+public record ReconciliationReport(
+        boolean full,
+        long checkedUsers,
+        long mismatchCount,
+        List<LedgerMismatch> mismatches,
+        long elapsedMillis,
+        long completedAtMillis
+) {
+
+    public static final int MAX_REPORTED_MISMATCHES = 100;
+
+    public static ReconciliationReport empty() {
+        return new ReconciliationReport(false, 0, 0, List.of(), 0, 0);
+    }
+}
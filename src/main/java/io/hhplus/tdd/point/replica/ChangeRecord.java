@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point.replica;
+
+import io.hhplus.tdd.point.entity.UserPoint;
+
+/**
+ * 복제 로그 항목
+ * - sequence : primary 커밋 순서대로 1부터 증가
+ * - userPoint : 커밋 후 잔고 전체 (증감이 아니므로 한 건만 적용해도 그 사용자의 잔고가 맞는다)
+ */
+public record ChangeRecord(
+        long sequence,
+        UserPoint userPoint,
+        long committedMillis
+) {
+}
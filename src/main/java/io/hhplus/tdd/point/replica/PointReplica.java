@@ -0,0 +1,95 @@
+package io.hhplus.tdd.point.replica;
+
+import io.hhplus.tdd.point.entity.UserPoint;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * 메모리 읽기 복제본
+ * - 전용 스레드가 복제 로그를 sequence 순서대로 적용한다.
+ * - 조회는 Table 의 throttle 없이 바로 응답하지만, 아직 적용되지 않은 변경만큼 뒤처질 수 있다.
+ * - 사용자별 마지막 잔고만 둔다. 히스토리는 복제본 수만큼 힙을 늘리고 사용자마다 끝없이 자라므로 복제하지 않는다.
+ * - 기동 후 커밋을 한 번도 받지 못한 사용자는 잔고를 모른다. (재기동 전 잔고로 채워 두지 않는다)
+ *   이때 findPoint 는 비어 있고, 조회는 primary 로 보낸다. 한 번 받으면 잔고 전체가 오므로 그때부터는 맞다.
+ */
+public class PointReplica implements AutoCloseable {
+
+    private final String name;
+    private final BlockingQueue<ChangeRecord> pending = new LinkedBlockingQueue<>();
+    private final Map<Long, UserPoint> balances = new ConcurrentHashMap<>();
+    private final Thread applier;
+    private volatile long appliedSequence;
+    private volatile ChangeRecord applying;
+
+    public PointReplica(String name) {
+        this.name = name;
+        this.applier = new Thread(this::applyLoop, name + "-applier");
+        this.applier.setDaemon(true);
+    }
+
+    public void start() {
+        applier.start();
+    }
+
+    @Override
+    public void close() {
+        applier.interrupt();
+    }
+
+    void enqueue(ChangeRecord record) {
+        pending.add(record);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * 적용한 마지막 잔고 (이 복제본이 아직 그 사용자의 커밋을 받지 못했으면 비어 있다)
+     */
+    public Optional<UserPoint> findPoint(long userId) {
+        return Optional.ofNullable(balances.get(userId));
+    }
+
+    public long appliedSequence() {
+        return appliedSequence;
+    }
+
+    /**
+     * 아직 적용하지 못한 가장 오래된 변경이 커밋된 뒤 흐른 시간 (모두 적용했다면 0)
+     */
+    public long lagMillis() {
+        ChangeRecord oldest = applying;
+        if (oldest == null) {
+            oldest = pending.peek();
+        }
+        return oldest == null ? 0 : Math.max(0, System.currentTimeMillis() - oldest.committedMillis());
+    }
+
+    public ReplicaStatus status(long primarySequence) {
+        return new ReplicaStatus(name, appliedSequence, primarySequence - appliedSequence, lagMillis());
+    }
+
+    private void applyLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                ChangeRecord record = pending.take();
+                applying = record;
+                apply(record);
+                appliedSequence = record.sequence();
+                applying = null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void apply(ChangeRecord record) {
+        UserPoint userPoint = record.userPoint();
+        balances.put(userPoint.id(), userPoint);
+    }
+}
@@ -0,0 +1,62 @@
+package io.hhplus.tdd.point.replica;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.service.PointChangeListener;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * primary 쓰기 경로의 변경 로그
+ * - 커밋마다 sequence 를 붙여 모든 복제본의 대기열에 넣는다. (잔고만 복제하고 히스토리는 싣지 않는다)
+ * - sequence 발급과 대기열 적재를 한 번에 묶어, 복제본은 항상 sequence 순서로 받는다.
+ *   (적재만 하고 바로 반환하므로 사용자 락 구간이 늘어나지 않는다)
+ */
+@Component
+public class PointReplicationLog implements PointChangeListener {
+
+    private final List<PointReplica> replicas;
+    private long sequence;
+
+    public PointReplicationLog(@Value("${point.replica.count:2}") int replicaCount) {
+        if (replicaCount < 0) {
+            throw new IllegalArgumentException("복제본 수는 음수일 수 없습니다.");
+        }
+        this.replicas = IntStream.range(0, replicaCount)
+                .mapToObj(i -> new PointReplica("replica-" + i))
+                .toList();
+        this.replicas.forEach(PointReplica::start);
+    }
+
+    @Override
+    public synchronized void onCommitted(UserPoint userPoint, PointHistory history) {
+        ChangeRecord record = new ChangeRecord(++sequence, userPoint, System.currentTimeMillis());
+        for (PointReplica replica : replicas) {
+            replica.enqueue(record);
+        }
+    }
+
+    public synchronized long sequence() {
+        return sequence;
+    }
+
+    public List<PointReplica> replicas() {
+        return replicas;
+    }
+
+    public List<ReplicaStatus> status() {
+        long primarySequence = sequence();
+        return replicas.stream()
+                .map(replica -> replica.status(primarySequence))
+                .toList();
+    }
+
+    @PreDestroy
+    public void close() {
+        replicas.forEach(PointReplica::close);
+    }
+}
@@ -0,0 +1,56 @@
+package io.hhplus.tdd.point.replica;
+
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.service.PointService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 허용 지연(maxStalenessMillis) 안에 있는 복제본으로 잔고 조회를 보내고, 없으면 primary 로 조회한다.
+ * - 고른 복제본이 그 사용자의 잔고를 아직 모르면(기동 후 커밋을 받지 못함) primary 로 조회한다.
+ * - 히스토리는 복제하지 않으므로 라우팅하지 않는다. (히스토리 조회는 PointService 로 primary 에서 한다)
+ */
+@Service
+@RequiredArgsConstructor
+public class ReplicaReadRouter {
+
+    private final PointService pointService;
+    private final PointReplicationLog replicationLog;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public UserPoint getPoint(long userId, long maxStalenessMillis) {
+        PointReplica replica = pick(maxStalenessMillis);
+        if (replica == null) {
+            return pointService.getPoint(userId);
+        }
+        return replica.findPoint(userId).orElseGet(() -> pointService.getPoint(userId));
+    }
+
+    public List<ReplicaStatus> status() {
+        return replicationLog.status();
+    }
+
+    // 라운드로빈으로 시작 위치를 돌려 가며 허용 지연을 만족하는 첫 복제본을 고른다.
+    private PointReplica pick(long maxStalenessMillis) {
+        validate(maxStalenessMillis);
+
+        List<PointReplica> replicas = replicationLog.replicas();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+        for (int i = 0; i < replicas.size(); i++) {
+            PointReplica replica = replicas.get((start + i) % replicas.size());
+            if (replica.lagMillis() <= maxStalenessMillis) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private static void validate(long maxStalenessMillis) {
+        if (maxStalenessMillis < 0) {
+            throw new IllegalArgumentException("허용 지연은 음수일 수 없습니다.");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package io.hhplus.tdd.point.replica;
+
+public record ReplicaStatus(
+        String name,
+        long appliedSequence,
+        long lagEntries,
+        long lagMillis
+) {
+}
@@ -0,0 +1,160 @@
+package io.hhplus.tdd.point.schedule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 예약 충전 전용 해시드 타이밍 휠
+ * - 실행 tick 을 wheelSize 로 나눈 나머지 칸에 넣고, 칸 차례가 오면 이번 바퀴에 해당하는 항목만 꺼낸다.
+ * - 항목을 객체가 아닌 칸별 long[] 에 필드 단위로 펼쳐 저장한다. (항목당 64 byte)
+ *   수백만 건을 담아도 항목마다 객체를 두지 않고, 꺼낼 때만 ScheduledCharge 를 만든다.
+ * - 취소할 때 한 칸만 훑도록 id 별로 들어 있는 칸 번호를 따로 둔다.
+ */
+class HashedTimingWheel {
+
+    // id, userId, amount, scheduledAtMillis, runAtMillis, intervalMillis, attempts, txId
+    private static final int FIELDS = 8;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final long tickMillis;
+    private final int mask;
+    private final long[][] buckets;
+    private final int[] counts;
+    private final Map<Long, Integer> bucketOf = new HashMap<>();
+    // 다음에 처리할 tick 번호 (epoch 기준 tickMillis 단위)
+    private long currentTick;
+    private int size;
+
+    HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis < 1 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("tick 은 1ms 이상, 칸 수는 2의 거듭제곱이어야 합니다.");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new long[wheelSize][];
+        this.counts = new int[wheelSize];
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    synchronized void add(ScheduledCharge charge) {
+        // 이미 지난 시각은 다음에 처리할 칸에 넣는다.
+        long tick = Math.max(tickOf(charge.runAtMillis()), currentTick);
+        int index = (int) (tick & mask);
+
+        long[] bucket = buckets[index];
+        int offset = counts[index] * FIELDS;
+        if (bucket == null) {
+            bucket = buckets[index] = new long[INITIAL_CAPACITY * FIELDS];
+        } else if (offset == bucket.length) {
+            bucket = buckets[index] = Arrays.copyOf(bucket, bucket.length * 2);
+        }
+        bucket[offset] = charge.id();
+        bucket[offset + 1] = charge.userId();
+        bucket[offset + 2] = charge.amount();
+        bucket[offset + 3] = charge.scheduledAtMillis();
+        bucket[offset + 4] = charge.runAtMillis();
+        bucket[offset + 5] = charge.intervalMillis();
+        bucket[offset + 6] = charge.attempts();
+        bucket[offset + 7] = charge.txId();
+        bucketOf.put(charge.id(), index);
+        counts[index]++;
+        size++;
+    }
+
+    /**
+     * nowMillis 까지 휠을 돌리고 실행 시각이 도래한 항목을 꺼낸다.
+     */
+    synchronized List<ScheduledCharge> advance(long nowMillis) {
+        List<ScheduledCharge> due = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        if (targetTick - currentTick >= buckets.length) {
+            // 한 바퀴 이상 밀렸으면 모든 칸을 한 번씩만 훑는다.
+            for (int index = 0; index < buckets.length; index++) {
+                drain(index, targetTick, due);
+            }
+        } else {
+            for (long tick = currentTick; tick <= targetTick; tick++) {
+                drain((int) (tick & mask), tick, due);
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick + 1);
+        size -= due.size();
+        return due;
+    }
+
+    /**
+     * id 의 항목을 뺀다.
+     * @return 휠에 있었으면 true
+     */
+    synchronized boolean remove(long id) {
+        Integer index = bucketOf.remove(id);
+        if (index == null) {
+            return false;
+        }
+        long[] bucket = buckets[index];
+        int count = counts[index];
+        for (int i = 0; i < count; i++) {
+            int offset = i * FIELDS;
+            if (bucket[offset] == id) {
+                System.arraycopy(bucket, offset + FIELDS, bucket, offset, (count - i - 1) * FIELDS);
+                counts[index] = count - 1;
+                if (count == 1) {
+                    buckets[index] = null;
+                }
+                size--;
+                return true;
+            }
+        }
+        throw new IllegalStateException("예약 " + id + " 이 기록된 칸에 없습니다.");
+    }
+
+    synchronized void forEach(Consumer<ScheduledCharge> action) {
+        for (int index = 0; index < buckets.length; index++) {
+            for (int i = 0; i < counts[index]; i++) {
+                action.accept(read(buckets[index], i * FIELDS));
+            }
+        }
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    // 칸에서 processingTick 이전 항목을 꺼내고, 다음 바퀴 항목은 앞으로 당겨 남긴다.
+    private void drain(int index, long processingTick, List<ScheduledCharge> due) {
+        long[] bucket = buckets[index];
+        int count = counts[index];
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int offset = i * FIELDS;
+            if (tickOf(bucket[offset + 4]) <= processingTick) {
+                bucketOf.remove(bucket[offset]);
+                due.add(read(bucket, offset));
+            } else {
+                if (kept != i) {
+                    System.arraycopy(bucket, offset, bucket, kept * FIELDS, FIELDS);
+                }
+                kept++;
+            }
+        }
+        counts[index] = kept;
+        if (kept == 0) {
+            buckets[index] = null;
+        } else if (kept * FIELDS * 4 < bucket.length && bucket.length > INITIAL_CAPACITY * FIELDS) {
+            buckets[index] = Arrays.copyOf(bucket, bucket.length / 2);
+        }
+    }
+
+    private long tickOf(long millis) {
+        return -Math.floorDiv(-millis, tickMillis);
+    }
+
+    private static ScheduledCharge read(long[] bucket, int offset) {
+        return new ScheduledCharge(bucket[offset], bucket[offset + 1], bucket[offset + 2],
+                bucket[offset + 3], bucket[offset + 4], bucket[offset + 5], (int) bucket[offset + 6], bucket[offset + 7]);
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point.schedule;
+
+/**
+ * 예약 충전 처리 현황
+ * - pending : 대기 중이거나 실행 중인 예약 수
+ * - rejected : 한도 초과 등 도메인 규칙으로 거절되어 재시도하지 않은 건수
+ * - failed : 재시도 횟수를 모두 소진한 건수
+ */
+public record ScheduleStats(
+        long pending,
+        long fired,
+        long rejected,
+        long retried,
+        long failed
+) {
+}
@@ -0,0 +1,39 @@
+package io.hhplus.tdd.point.schedule;
+
+/**
+ * 예약 충전
+ * - intervalMillis 가 0 이면 1회성, 0보다 크면 scheduledAtMillis 부터 주기적으로 충전한다.
+ * - scheduledAtMillis 는 현재 회차의 예정 시각, runAtMillis 는 실제로 실행할 시각이다. (재시도 중이면 예정 시각보다 늦다)
+ *   다음 회차는 예정 시각에 주기를 더해 정하므로, 재시도가 있었어도 정기 충전 시각이 밀리지 않는다.
+ * - attempts 는 현재 회차의 실패 재시도 횟수다.
+ * - txId 는 현재 회차를 실행하려고 발급받은 WAL txId 다. (아직 실행하지 않았으면 0)
+ *   실행 전에 저널에 남기므로, 결과를 남기기 전에 멈췄다면 재기동 후 PointService.isApplied 로 충전 여부를 확인한다.
+ */
+public record ScheduledCharge(
+        long id,
+        long userId,
+        long amount,
+        long scheduledAtMillis,
+        long runAtMillis,
+        long intervalMillis,
+        int attempts,
+        long txId
+) {
+
+    public boolean recurring() {
+        return intervalMillis > 0;
+    }
+
+    public ScheduledCharge nextOccurrence() {
+        long next = scheduledAtMillis + intervalMillis;
+        return new ScheduledCharge(id, userId, amount, next, next, intervalMillis, 0, 0);
+    }
+
+    public ScheduledCharge retryAt(long retryAtMillis) {
+        return new ScheduledCharge(id, userId, amount, scheduledAtMillis, retryAtMillis, intervalMillis, attempts + 1, txId);
+    }
+
+    public ScheduledCharge withTxId(long txId) {
+        return new ScheduledCharge(id, userId, amount, scheduledAtMillis, runAtMillis, intervalMillis, attempts, txId);
+    }
+}
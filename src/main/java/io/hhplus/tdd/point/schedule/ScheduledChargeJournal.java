@@ -0,0 +1,215 @@
+package io.hhplus.tdd.point.schedule;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * 대기 중인 예약 충전의 append-only 저널
+ * - PUT(예약 추가/갱신), REMOVE(완료/취소), ID_MARK(발급한 최대 id) 레코드를 이어 쓴다. 레코드 길이는 type 으로 정해진다.
+ *   PUT 에는 실행하려고 발급받은 txId 도 남긴다. (ScheduledCharge.txId)
+ * - 기동 시 replay 로 대기 목록과 발급한 최대 id 를 복원하고, 파일이 커지면 최대 id 와 현재 대기 목록만 남기도록 compact 한다.
+ *   (완료된 예약의 id 가 다시 발급되지 않도록 compact 해도 최대 id 는 남긴다)
+ * - write 는 OS 버퍼까지만 쓰고, flush 에서 한 번에 디스크로 내린다. (group commit)
+ */
+class ScheduledChargeJournal implements Closeable {
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte ID_MARK = 3;
+    // type(1) + id, userId, amount, scheduledAtMillis, runAtMillis, intervalMillis(8 * 6) + attempts(4) + txId(8)
+    private static final int PUT_RECORD_SIZE = 1 + 8 * 6 + 4 + 8;
+    // type(1) + id(8)
+    private static final int ID_RECORD_SIZE = 1 + 8;
+    private static final int BUFFER_SIZE = PUT_RECORD_SIZE * 1024;
+
+    private final Path path;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private FileChannel channel;
+    private long maxId;
+
+    ScheduledChargeJournal(Path path) {
+        this.path = path;
+        this.channel = open(path);
+    }
+
+    /**
+     * 저널을 처음부터 읽어 대기 중인 예약을 돌려준다.
+     * 마지막 레코드가 쓰다 만 상태(또는 알 수 없는 type)라면 그 자리부터 잘라낸다.
+     */
+    synchronized Collection<ScheduledCharge> replay() {
+        Map<Long, ScheduledCharge> pending = new LinkedHashMap<>();
+        try {
+            ByteBuffer readBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            long validLength = 0;
+            boolean torn = false;
+            while (!torn && channel.read(readBuffer, validLength) > 0) {
+                readBuffer.flip();
+                long before = validLength;
+                while (readBuffer.hasRemaining()) {
+                    byte type = readBuffer.get(readBuffer.position());
+                    int size = recordSize(type);
+                    if (size < 0) {
+                        torn = true;
+                        break;
+                    }
+                    if (readBuffer.remaining() < size) {
+                        break;
+                    }
+                    readBuffer.get();
+                    apply(type, readBuffer, pending);
+                    validLength += size;
+                }
+                // 더 읽었는데도 레코드 하나를 못 채웠으면 파일 끝의 쓰다 만 레코드다.
+                torn |= validLength == before;
+                readBuffer.clear();
+            }
+            channel.truncate(validLength);
+            channel.position(validLength);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return pending.values();
+    }
+
+    /**
+     * 지금까지 저널에 남은 최대 예약 id (replay 이후 유효)
+     */
+    synchronized long maxId() {
+        return maxId;
+    }
+
+    synchronized void put(ScheduledCharge charge) {
+        maxId = Math.max(maxId, charge.id());
+        reserve(PUT_RECORD_SIZE);
+        buffer.put(PUT)
+                .putLong(charge.id())
+                .putLong(charge.userId())
+                .putLong(charge.amount())
+                .putLong(charge.scheduledAtMillis())
+                .putLong(charge.runAtMillis())
+                .putLong(charge.intervalMillis())
+                .putInt(charge.attempts())
+                .putLong(charge.txId());
+    }
+
+    synchronized void remove(long id) {
+        reserve(ID_RECORD_SIZE);
+        buffer.put(REMOVE).putLong(id);
+    }
+
+    synchronized void flush() {
+        try {
+            drainBuffer();
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    synchronized long sizeBytes() {
+        try {
+            return channel.size() + buffer.position();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 발급한 최대 id 와 현재 대기 목록만 담은 새 저널로 교체한다.
+     * @param snapshot 대기 중인 예약을 하나씩 넘겨주는 함수
+     */
+    synchronized void compact(Consumer<Consumer<ScheduledCharge>> snapshot) {
+        Path compacting = path.resolveSibling(path.getFileName() + ".compacting");
+        try {
+            flush();
+            try (ScheduledChargeJournal next = new ScheduledChargeJournal(compacting)) {
+                next.channel.truncate(0);
+                next.markId(maxId);
+                snapshot.accept(next::put);
+                next.flush();
+            }
+            channel.close();
+            Files.move(compacting, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = open(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            flush();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void markId(long id) {
+        maxId = Math.max(maxId, id);
+        reserve(ID_RECORD_SIZE);
+        buffer.put(ID_MARK).putLong(id);
+    }
+
+    private void apply(byte type, ByteBuffer record, Map<Long, ScheduledCharge> pending) {
+        long id = record.getLong();
+        maxId = Math.max(maxId, id);
+        switch (type) {
+            case PUT -> pending.put(id, new ScheduledCharge(id, record.getLong(), record.getLong(),
+                    record.getLong(), record.getLong(), record.getLong(), record.getInt(), record.getLong()));
+            case REMOVE -> pending.remove(id);
+            default -> {
+                // ID_MARK 는 id 만 가진다.
+            }
+        }
+    }
+
+    private static int recordSize(byte type) {
+        return switch (type) {
+            case PUT -> PUT_RECORD_SIZE;
+            case REMOVE, ID_MARK -> ID_RECORD_SIZE;
+            default -> -1;
+        };
+    }
+
+    private void reserve(int size) {
+        try {
+            if (buffer.remaining() < size) {
+                drainBuffer();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void drainBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static FileChannel open(Path path) {
+        try {
+            FileChannel channel = FileChannel.open(path, CREATE, READ, WRITE);
+            channel.position(channel.size());
+            return channel;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
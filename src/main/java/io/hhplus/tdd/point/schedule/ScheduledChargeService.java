@@ -0,0 +1,314 @@
+package io.hhplus.tdd.point.schedule;
+
+import io.hhplus.tdd.exception.MaxChargeAmountException;
+import io.hhplus.tdd.exception.MinChargeAmountException;
+import io.hhplus.tdd.point.service.PointService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 예약/정기 충전
+ * - 대기 중인 예약은 HashedTimingWheel 에 펼쳐 저장하고, tick 마다 도래한 예약을 배치로 묶어 PointService.charge 로 실행한다.
+ * - 한도 초과 같은 도메인 거절은 재시도하지 않고, 그 외 실패는 지수 백오프로 MAX_ATTEMPTS 회까지 재시도한다.
+ * - point.schedule.journal 이 지정되면 예약/완료/취소를 저널에 남기고 기동 시 복원한다.
+ *   저널은 tick 마다 디스크로 내린다.
+ * - 회차마다 PointService.reserveTxId 로 txId 를 받아 저널에 먼저 내린 뒤 그 txId 로 충전한다.
+ *   완료를 남기기 전에 멈췄다면 재기동 후 isApplied 로 그 txId 의 충전이 적용됐는지 확인하고, 적용됐으면 다시 충전하지 않는다.
+ */
+@Slf4j
+@Service
+public class ScheduledChargeService {
+
+    private static final int BATCH_SIZE = 512;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long MAX_BACKOFF_MILLIS = 60_000;
+    private static final long COMPACT_THRESHOLD_BYTES = 64L << 20;
+
+    private final PointService pointService;
+    private final HashedTimingWheel wheel;
+    private final ScheduledChargeJournal journal;
+    private final long tickMillis;
+    private final long maxPending;
+
+    // 저널 기록과 휠/실행 중 목록 변경을 한 단위로 묶는다. (compact 시 누락 방지)
+    private final Object stateLock = new Object();
+    private final Map<Long, ScheduledCharge> inFlight = new ConcurrentHashMap<>();
+    // 실행 중에 취소된 예약 id (회차가 끝나면 complete 에서 빠진다)
+    private final Set<Long> cancelled = ConcurrentHashMap.newKeySet();
+    private final AtomicLong nextId = new AtomicLong();
+
+    private final LongAdder fired = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(daemon("point-schedule-tick"));
+    private final ExecutorService workers;
+
+    public ScheduledChargeService(PointService pointService,
+                                  @Value("${point.schedule.tick-millis:100}") long tickMillis,
+                                  @Value("${point.schedule.wheel-size:4096}") int wheelSize,
+                                  @Value("${point.schedule.max-pending:5000000}") long maxPending,
+                                  @Value("${point.schedule.workers:8}") int workerCount,
+                                  @Value("${point.schedule.journal:}") String journalPath) {
+        this.pointService = pointService;
+        this.tickMillis = tickMillis;
+        this.maxPending = maxPending;
+        this.wheel = new HashedTimingWheel(tickMillis, wheelSize, System.currentTimeMillis());
+        this.journal = journalPath.isBlank() ? null : new ScheduledChargeJournal(Path.of(journalPath));
+        if (journal != null) {
+            for (ScheduledCharge charge : journal.replay()) {
+                wheel.add(charge);
+            }
+            // 완료된 예약의 id 도 다시 발급하지 않도록 저널에 남은 최대 id 부터 이어서 발급한다.
+            nextId.set(journal.maxId());
+        }
+        this.workers = Executors.newFixedThreadPool(workerCount, daemon("point-schedule"));
+        ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * runAtMillis 에 1회 충전한다.
+     */
+    public ScheduledCharge schedule(long userId, long amount, long runAtMillis) {
+        return register(userId, amount, runAtMillis, 0);
+    }
+
+    /**
+     * firstRunAtMillis 부터 interval 마다 충전한다.
+     */
+    public ScheduledCharge scheduleRecurring(long userId, long amount, long firstRunAtMillis, Duration interval) {
+        if (interval.toMillis() < tickMillis) {
+            throw new IllegalArgumentException("충전 주기는 " + tickMillis + "ms 이상이어야 합니다.");
+        }
+        return register(userId, amount, firstRunAtMillis, interval.toMillis());
+    }
+
+    /**
+     * 예약을 취소한다. 이미 실행 중인 회차는 완료되지만 다음 회차는 예약되지 않는다.
+     * - 대기 중인 예약은 휠에서 바로 뺀다.
+     * - 없거나 이미 끝났거나 이미 취소한 예약이면 IllegalArgumentException
+     */
+    public void cancel(long scheduleId) {
+        synchronized (stateLock) {
+            boolean pending = wheel.remove(scheduleId)
+                    || inFlight.containsKey(scheduleId) && cancelled.add(scheduleId);
+            if (!pending) {
+                throw new IllegalArgumentException("대기 중인 예약이 아닙니다: " + scheduleId);
+            }
+            if (journal != null) {
+                journal.remove(scheduleId);
+            }
+        }
+    }
+
+    public ScheduleStats stats() {
+        return new ScheduleStats(wheel.size() + inFlight.size(), fired.sum(), rejected.sum(), retried.sum(), failed.sum());
+    }
+
+    @PreDestroy
+    public void close() {
+        // 인터럽트하면 저널 FileChannel 이 닫히므로, 진행 중인 tick 은 끝나기를 기다린다.
+        ticker.shutdown();
+        workers.shutdown();
+        try {
+            ticker.awaitTermination(10, TimeUnit.SECONDS);
+            workers.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private ScheduledCharge register(long userId, long amount, long runAtMillis, long intervalMillis) {
+        // 실행 시점에 거절될 예약은 미리 막는다. (PointService.charge 와 같은 한도)
+        if (amount < 100) {
+            throw new MinChargeAmountException();
+        }
+        if (amount > 1000000) {
+            throw new MaxChargeAmountException();
+        }
+        if (wheel.size() + inFlight.size() >= maxPending) {
+            throw new IllegalStateException("예약 가능한 건수(" + maxPending + ")를 초과했습니다.");
+        }
+
+        ScheduledCharge charge = new ScheduledCharge(nextId.incrementAndGet(), userId, amount, runAtMillis, runAtMillis, intervalMillis, 0, 0);
+        synchronized (stateLock) {
+            if (journal != null) {
+                journal.put(charge);
+            }
+            wheel.add(charge);
+        }
+        return charge;
+    }
+
+    private void tick() {
+        try {
+            List<ScheduledCharge> due = new ArrayList<>();
+            synchronized (stateLock) {
+                for (ScheduledCharge charge : wheel.advance(System.currentTimeMillis())) {
+                    inFlight.put(charge.id(), charge);
+                    due.add(charge);
+                }
+            }
+            for (int from = 0; from < due.size(); from += BATCH_SIZE) {
+                List<ScheduledCharge> batch = due.subList(from, Math.min(from + BATCH_SIZE, due.size()));
+                workers.execute(() -> fire(batch));
+            }
+
+            if (journal != null) {
+                journal.flush();
+                if (journal.sizeBytes() > COMPACT_THRESHOLD_BYTES) {
+                    compact();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("예약 충전 tick 처리에 실패했습니다.", e);
+        }
+    }
+
+    private void fire(List<ScheduledCharge> batch) {
+        int size = batch.size();
+        ScheduledCharge[] running = new ScheduledCharge[size];
+        ScheduledCharge[] next = new ScheduledCharge[size];
+        for (int i = 0; i < size; i++) {
+            ScheduledCharge charge = batch.get(i);
+            try {
+                if (charge.txId() != 0 && pointService.isApplied(charge.userId(), charge.txId())) {
+                    // 이전 실행(재기동 전 포함)이 충전은 했지만 완료를 남기지 못했다.
+                    fired.increment();
+                    next[i] = following(charge);
+                } else {
+                    running[i] = charge.withTxId(pointService.reserveTxId());
+                }
+            } catch (RuntimeException e) {
+                next[i] = afterFailure(charge, e);
+            }
+        }
+        try {
+            begin(running);
+        } catch (RuntimeException e) {
+            // txId 를 남기지 못했으면 충전하지 않고 재시도한다.
+            for (int i = 0; i < size; i++) {
+                if (running[i] != null) {
+                    next[i] = afterFailure(batch.get(i), e);
+                    running[i] = null;
+                }
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            if (running[i] != null) {
+                next[i] = run(running[i]);
+            }
+        }
+        synchronized (stateLock) {
+            for (int i = 0; i < size; i++) {
+                complete(batch.get(i), next[i]);
+            }
+        }
+    }
+
+    // 충전 전에 회차의 txId 를 저널에 내린다. (실행 중에 취소된 예약은 다시 쓰지 않는다)
+    private void begin(ScheduledCharge[] running) {
+        synchronized (stateLock) {
+            for (ScheduledCharge charge : running) {
+                if (charge == null || cancelled.contains(charge.id())) {
+                    continue;
+                }
+                inFlight.put(charge.id(), charge);
+                if (journal != null) {
+                    journal.put(charge);
+                }
+            }
+            if (journal != null) {
+                journal.flush();
+            }
+        }
+    }
+
+    // 다음에 실행할 예약을 돌려준다. (없으면 null)
+    private ScheduledCharge run(ScheduledCharge charge) {
+        try {
+            pointService.charge(charge.userId(), charge.amount(), charge.txId());
+            fired.increment();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            rejected.increment();
+        } catch (RuntimeException e) {
+            // 장애와 잔고 갱신 충돌(ConcurrentBalanceUpdateException)은 거절이 아니므로 다시 시도한다.
+            return afterFailure(charge, e);
+        }
+        return following(charge);
+    }
+
+    // 재시도할 예약을 돌려준다. 재시도 횟수를 다 썼으면 다음 회차로 넘어간다.
+    private ScheduledCharge afterFailure(ScheduledCharge charge, RuntimeException e) {
+        if (charge.attempts() + 1 < MAX_ATTEMPTS) {
+            retried.increment();
+            long backoff = Math.min(tickMillis << charge.attempts(), MAX_BACKOFF_MILLIS);
+            return charge.retryAt(System.currentTimeMillis() + backoff);
+        }
+        failed.increment();
+        log.error("예약 충전 {} 이 재시도 후에도 실패했습니다.", charge.id(), e);
+        return following(charge);
+    }
+
+    private static ScheduledCharge following(ScheduledCharge charge) {
+        return charge.recurring() ? charge.nextOccurrence() : null;
+    }
+
+    // stateLock 을 쥔 상태에서 호출된다.
+    private void complete(ScheduledCharge charge, ScheduledCharge next) {
+        inFlight.remove(charge.id());
+        if (cancelled.remove(charge.id())) {
+            return;
+        }
+        if (next == null) {
+            if (journal != null) {
+                journal.remove(charge.id());
+            }
+            return;
+        }
+        if (journal != null) {
+            journal.put(next);
+        }
+        wheel.add(next);
+    }
+
+    private void compact() {
+        synchronized (stateLock) {
+            journal.compact(sink -> {
+                wheel.forEach(sink);
+                inFlight.values().stream()
+                        .filter(charge -> !cancelled.contains(charge.id()))
+                        .forEach(sink);
+            });
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.UserPoint;
+
+/**
+ * 포인트 변경 커밋 이벤트 수신자
+ * - PointService 가 잔고/히스토리 저장을 마친 직후, 사용자 락을 쥔 상태로 호출한다.
+ * - 따라서 같은 사용자에 대한 이벤트는 커밋 순서대로 전달된다.
+ * - 히스토리 없이 잔고만 복원된 경우 history 는 null 이다.
+ * - 락 구간 안에서 실행되므로 구현체는 가볍고 블로킹 없이 동작해야 한다.
+ */
+public interface PointChangeListener {
+
+    void onCommitted(UserPoint userPoint, PointHistory history);
+
+    /**
+     * 거래 취소 커밋
+     * - reversal 은 CHARGE_CANCEL/USE_CANCEL 히스토리, originalId 는 취소된 원거래의 히스토리 id 다.
+     * - 원거래를 알아야 하는 수신자(lot 장부 등)만 재정의한다. 기본은 일반 커밋과 같다.
+     */
+    default void onCancelled(UserPoint userPoint, PointHistory reversal, long originalId) {
+        onCommitted(userPoint, reversal);
+    }
+}
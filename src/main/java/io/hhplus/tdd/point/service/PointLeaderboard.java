@@ -0,0 +1,202 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.dto.LeaderboardEntry;
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.UserPoint;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 포인트 잔고 랭킹
+ * - 잔고 내림차순(동점이면 userId 오름차순)으로 정렬된 indexed skip list 로 관리한다.
+ * - 각 레벨의 링크마다 건너뛰는 노드 수(span)를 기록해 순위 조회를 O(log n)에 처리한다.
+ * - 상위 N명 조회는 최하위 레벨을 N칸만 따라가므로 전체 사용자 수와 무관하다.
+ */
+@Component
+public class PointLeaderboard implements PointChangeListener {
+
+    private static final int MAX_LEVEL = 32;
+    private static final int MAX_TOP_SIZE = 1000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private final Node head = new Node(Long.MIN_VALUE, Long.MAX_VALUE, MAX_LEVEL);
+    private int level = 1;
+    private int size = 0;
+
+    @Override
+    public void onCommitted(UserPoint userPoint, PointHistory history) {
+        update(userPoint.id(), userPoint.point());
+    }
+
+    public void update(long userId, long point) {
+        lock.writeLock().lock();
+        try {
+            Node existing = nodes.get(userId);
+            if (existing != null) {
+                if (existing.point == point) {
+                    return;
+                }
+                delete(existing);
+            }
+            nodes.put(userId, insert(userId, point));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<LeaderboardEntry> top(int n) {
+        if (n < 1 || n > MAX_TOP_SIZE) {
+            throw new IllegalArgumentException("조회 인원은 1명 이상 1000명 이하여야 합니다.");
+        }
+
+        lock.readLock().lock();
+        try {
+            List<LeaderboardEntry> result = new ArrayList<>(Math.min(n, size));
+            Node x = head.next[0];
+            long rank = 1;
+            while (x != null && rank <= n) {
+                result.add(new LeaderboardEntry(rank++, x.userId, x.point));
+                x = x.next[0];
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<LeaderboardEntry> rankOf(long userId) {
+        lock.readLock().lock();
+        try {
+            Node target = nodes.get(userId);
+            if (target == null) {
+                return Optional.empty();
+            }
+
+            long rank = 0;
+            Node x = head;
+            for (int i = level - 1; i >= 0; i--) {
+                while (x.next[i] != null && !precedes(target, x.next[i])) {
+                    rank += x.span[i];
+                    x = x.next[i];
+                }
+                if (x == target) {
+                    return Optional.of(new LeaderboardEntry(rank, userId, target.point));
+                }
+            }
+            return Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Node insert(long userId, long point) {
+        Node[] update = new Node[MAX_LEVEL];
+        long[] rank = new long[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = (i == level - 1) ? 0 : rank[i + 1];
+            while (x.next[i] != null && precedes(x.next[i], point, userId)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int newLevel = randomLevel();
+        if (newLevel > level) {
+            for (int i = level; i < newLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                update[i].span[i] = size;
+            }
+            level = newLevel;
+        }
+
+        Node node = new Node(userId, point, newLevel);
+        for (int i = 0; i < newLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+        for (int i = newLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+        return node;
+    }
+
+    private void delete(Node target) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && precedes(x.next[i], target)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        nodes.remove(target.userId);
+        size--;
+    }
+
+    private static boolean precedes(Node node, Node other) {
+        return precedes(node, other.point, other.userId);
+    }
+
+    // 잔고가 클수록, 같다면 userId 가 작을수록 앞선다.
+    private static boolean precedes(Node node, long point, long userId) {
+        return node.point > point || (node.point == point && node.userId < userId);
+    }
+
+    private static int randomLevel() {
+        int lvl = 1;
+        while (lvl < MAX_LEVEL && ThreadLocalRandom.current().nextInt(4) == 0) {
+            lvl++;
+        }
+        return lvl;
+    }
+
+    private static final class Node {
+        private final long userId;
+        private final long point;
+        private final Node[] next;
+        private final long[] span;
+
+        private Node(long userId, long point, int level) {
+            this.userId = userId;
+            this.point = point;
+            this.next = new Node[level];
+            this.span = new long[level];
+        }
+    }
+}
@@ -1,35 +1,94 @@
 package io.hhplus.tdd.point.service;
 
-import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.AlreadyCancelledException;
+import io.hhplus.tdd.exception.ConcurrentBalanceUpdateException;
+import io.hhplus.tdd.exception.InsufficientBalanceException;
 import io.hhplus.tdd.exception.MaxChargeAmountException;
 import io.hhplus.tdd.exception.MinChargeAmountException;
+import io.hhplus.tdd.point.dto.PointCancellation;
 import io.hhplus.tdd.point.entity.PointHistory;
 import io.hhplus.tdd.point.entity.TransactionType;
 import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.history.HistoryRef;
+import io.hhplus.tdd.point.history.PointHistoryStore;
+import io.hhplus.tdd.point.jfr.PointOperationEvent;
+import io.hhplus.tdd.point.lock.LockProvider;
+import io.hhplus.tdd.point.wal.ConditionalBalanceTable;
+import io.hhplus.tdd.point.wal.DurableStore;
+import io.hhplus.tdd.point.wal.PendingWrite;
+import io.hhplus.tdd.point.wal.PointWriteAheadLog;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PointService {
 
 
     private final UserPointTable userPointTable;
-    private final PointHistoryTable pointHistoryTable;
+    // 히스토리 저장소 (구현체는 point.history.store 로 선택)
+    private final PointHistoryStore pointHistoryStore;
+    // 동시성 제어용 사용자별 락 (구현체는 point.lock.provider 로 선택)
+    private final LockProvider lockProvider;
+    private final List<PointChangeListener> changeListeners;
+    // 잔고/히스토리 짝 쓰기의 WAL (두 쓰기를 동시에 내보낸다)
+    private final PointWriteAheadLog writeAheadLog;
+    // 같은 사용자의 동시 조회는 테이블 호출 한 번으로 합친다. (쓰기가 끝나면 세대를 올려 이전 조회에 합류하지 않게 한다)
+    private final WriteEpochs writeEpochs = new WriteEpochs();
+    private final SingleFlight<UserPoint> pointReads = new SingleFlight<>(writeEpochs);
+    private final SingleFlight<List<PointHistory>> historyReads = new SingleFlight<>(writeEpochs);
 
-    // 동시성 제어용 사용자별 락 객체 저장소
-    private final Map<Long, Object> locks = new ConcurrentHashMap<>();
-
-    private Object getLock(long userId) {
-        return locks.computeIfAbsent(userId, id -> new Object());
+    /**
+     * 기동 시 WAL 에 남은 미완료 짝을 완료하거나 롤백한다.
+     * - 잔고 테이블과 히스토리 저장소가 모두 재기동 후에도 남는 저장소(DurableStore)일 때만 복구한다.
+     *   메모리 저장소는 비어서 올라오므로, 남은 엔트리로 잔고를 맞추면 없던 잔고가 생긴다. 이때는 경고를 남기고 엔트리를 버린다.
+     */
+    @PostConstruct
+    public void recover() {
+        List<PendingWrite> writes = writeAheadLog.pending();
+        if (writes.isEmpty()) {
+            return;
+        }
+        if (!(userPointTable instanceof DurableStore) || !(pointHistoryStore instanceof DurableStore)) {
+            log.warn("잔고/히스토리 저장소가 재기동 후 남지 않는 저장소라 WAL 의 미완료 쓰기 {} 건을 복구하지 않고 버립니다.", writes.size());
+            writes.forEach(writeAheadLog::end);
+            return;
+        }
+        for (PendingWrite write : writes) {
+            try {
+                lockProvider.withLock(write.userId(), () -> {
+                    try {
+                        resolve(write);
+                    } finally {
+                        writeEpochs.advance(write.userId());
+                    }
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                log.warn("미완료 쓰기 {} 를 복구하지 못했습니다. 해당 사용자의 다음 쓰기에서 다시 시도합니다.", write.txId(), e);
+            }
+        }
     }
 
     public UserPoint charge(long userId, long chargeAmount) {
+        return charge(userId, chargeAmount, writeAheadLog.reserveTxId());
+    }
+
+    /**
+     * reserveTxId 로 미리 받은 txId 로 충전한다. (히스토리에 그 txId 가 남는다)
+     */
+    public UserPoint charge(long userId, long chargeAmount, long txId) {
         if (chargeAmount < 0) {
             throw new IllegalArgumentException("충전 금액은 음수일 수 없습니다");
         }
@@ -40,47 +99,318 @@ public class PointService {
             throw new MaxChargeAmountException();
         }
 
-        synchronized (getLock(userId)) {
+        return withLock(userId, TransactionType.CHARGE, chargeAmount, event -> {
+            resolvePending(userId);
             UserPoint current = userPointTable.selectById(userId);
+            event.balanceRead();
+            // 최대 잔고를 넘으면 add 가 MaxBalanceExceededException 을 던진다.
             UserPoint updated = current.add(chargeAmount);
 
-            if (updated.point() > 10_000_000) {
-                throw new IllegalStateException("최대 잔고는 10,000,000 포인트를 초과할 수 없습니다.");
-            }
-
-            userPointTable.insertOrUpdate(userId, updated.point());
-            pointHistoryTable.insert(userId, chargeAmount, TransactionType.CHARGE, System.currentTimeMillis());
+            PointHistory history = write(txId, current, updated, chargeAmount, TransactionType.CHARGE, 0, event);
+            publish(updated, history);
 
             return updated;
-        }
+        });
     }
 
+    /**
+     * 동시에 들어온 같은 사용자 조회는 진행 중인 테이블 호출 하나의 결과를 함께 받는다.
+     */
     public UserPoint getPoint(long userId) {
-        return userPointTable.selectById(userId);
+        return pointReads.load(userId, userPointTable::selectById);
     }
 
     public List<PointHistory> getHistories(long userId) {
-        return pointHistoryTable.selectAllByUserId(userId);
+        return historyReads.load(userId, pointHistoryStore::selectAllByUserId);
+    }
+
+    /**
+     * charge/use 에 넘길 txId 를 미리 발급한다.
+     * - 호출자가 txId 를 먼저 남겨 두면, 결과를 모르고 멈췄을 때 isApplied 로 적용 여부를 확인할 수 있다.
+     */
+    public long reserveTxId() {
+        return writeAheadLog.reserveTxId();
+    }
+
+    /**
+     * txId 의 쓰기가 적용됐는지 (그 txId 의 히스토리가 있는지)
+     * - 사용자 락 안에서 미완료 짝을 먼저 정리하므로, true 면 잔고에도 반영된 상태다.
+     */
+    public boolean isApplied(long userId, long txId) {
+        return lockProvider.withLock(userId, () -> {
+            try {
+                resolvePending(userId);
+                return pointHistoryStore.selectByTxId(userId, txId).isPresent();
+            } finally {
+                writeEpochs.advance(userId);
+            }
+        });
     }
 
     public UserPoint use(long userId, long useAmount) {
+        return use(userId, useAmount, writeAheadLog.reserveTxId());
+    }
+
+    /**
+     * reserveTxId 로 미리 받은 txId 로 사용한다. (히스토리에 그 txId 가 남는다)
+     */
+    public UserPoint use(long userId, long useAmount, long txId) {
         if (useAmount < 0) {
             throw new IllegalArgumentException("사용 금액은 음수일 수 없습니다.");
         }
 
-        synchronized (getLock(userId)) {
+        return withLock(userId, TransactionType.USE, useAmount, event -> {
+            resolvePending(userId);
             UserPoint current = userPointTable.selectById(userId);
+            event.balanceRead();
 
             if (current.point() < useAmount) {
-                throw new IllegalStateException("잔액이 부족합니다.");
+                throw new InsufficientBalanceException();
             }
 
             UserPoint updated = current.subtract(useAmount);
 
-            userPointTable.insertOrUpdate(userId, updated.point());
-            pointHistoryTable.insert(userId, useAmount, TransactionType.USE, System.currentTimeMillis());
+            PointHistory history = write(txId, current, updated, useAmount, TransactionType.USE, 0, event);
+            publish(updated, history);
 
             return updated;
+        });
+    }
+
+    /**
+     * 유효기간 만료 차감
+     * - expiredAmount 는 사용자 락 안에서 호출되어, 그 시점까지 만료되고 남아 있는 포인트를 돌려준다.
+     *   (락 밖에서 계산하면 그 사이 사용된 포인트까지 차감될 수 있다)
+     */
+    public UserPoint expire(long userId, LongSupplier expiredAmount) {
+        // 만료 금액은 락 안에서 정해지므로 이벤트에는 0 으로 남긴다.
+        return withLock(userId, TransactionType.EXPIRE, 0, event -> {
+            resolvePending(userId);
+            UserPoint current = userPointTable.selectById(userId);
+            event.balanceRead();
+            long amount = Math.min(expiredAmount.getAsLong(), current.point());
+            if (amount <= 0) {
+                return current;
+            }
+
+            UserPoint updated = current.subtract(amount);
+
+            PointHistory history = write(writeAheadLog.reserveTxId(), current, updated, amount, TransactionType.EXPIRE, 0, event);
+            publish(updated, history);
+
+            return updated;
+        });
+    }
+
+    /**
+     * 거래 취소
+     * - historyId 의 충전/사용을 반대 방향으로 되돌리고, 원거래와 연결된 취소 히스토리(CHARGE_CANCEL/USE_CANCEL)를 남긴다.
+     * - 원거래는 저장소의 id 인덱스로 찾고, 중복 확인/잔고 검증/쓰기는 사용자 락 안에서 한 번에 처리한다.
+     * - 취소 히스토리에 원거래 id(HistoryRef.originalId)를 함께 저장하고, 중복 취소는 저장소에서 그 연결을 찾아 막는다.
+     *   저장소가 남아 있는 한 재기동 후에도 막히고, jpa 프로필에서는 original_id 유니크 제약이 인스턴스 간 동시 취소도 막는다.
+     */
+    public PointCancellation cancel(long historyId) {
+        PointHistory original = pointHistoryStore.selectById(historyId)
+                .orElseThrow(() -> new NoSuchElementException("히스토리를 찾을 수 없습니다: " + historyId));
+        TransactionType reversalType = switch (original.type()) {
+            case CHARGE -> TransactionType.CHARGE_CANCEL;
+            case USE -> TransactionType.USE_CANCEL;
+            default -> throw new IllegalArgumentException("충전/사용 거래만 취소할 수 있습니다.");
+        };
+        long userId = original.userId();
+        long amount = original.amount();
+
+        return withLock(userId, reversalType, amount, event -> {
+            resolvePending(userId);
+            if (pointHistoryStore.selectReversalOf(historyId).isPresent()) {
+                throw new AlreadyCancelledException(historyId);
+            }
+            UserPoint current = userPointTable.selectById(userId);
+            event.balanceRead();
+            UserPoint updated = reversalType == TransactionType.CHARGE_CANCEL ? current.subtract(amount) : current.add(amount);
+
+            PointHistory reversal = write(writeAheadLog.reserveTxId(), current, updated, amount, reversalType, historyId, event);
+            publishCancel(updated, reversal, historyId);
+
+            return new PointCancellation(historyId, reversal, updated);
+        });
+    }
+
+    /**
+     * 이관 데이터 복원
+     * - 잔고를 그대로 덮어쓰고 히스토리를 원래 시각으로 다시 적재한다. (히스토리 id 는 새로 발급된다)
+     * - 충전/사용 한도 검증을 거치지 않으므로 벌크 이관 용도로만 사용한다.
+     */
+    public UserPoint restore(UserPoint userPoint, List<PointHistory> histories) {
+        long userId = userPoint.id();
+        for (PointHistory history : histories) {
+            if (history.userId() != userId) {
+                throw new IllegalArgumentException("다른 사용자의 히스토리는 복원할 수 없습니다.");
+            }
+        }
+
+        return lockProvider.withLock(userId, () -> {
+            try {
+                resolvePending(userId);
+                UserPoint restored = new UserPoint(userId, userPoint.point(), System.currentTimeMillis());
+                userPointTable.insertOrUpdate(userId, restored.point());
+                if (histories.isEmpty()) {
+                    publish(restored, null);
+                }
+                for (PointHistory history : histories) {
+                    PointHistory inserted = pointHistoryStore.insert(userId, history.amount(), history.type(), history.updateMillis());
+                    publish(restored, inserted);
+                }
+
+                return restored;
+            } finally {
+                writeEpochs.advance(userId);
+            }
+        });
+    }
+
+    /**
+     * 사용자 락 안에서 잔고 변경을 실행하고, 구간별 소요 시간을 JFR 이벤트(PointOperationEvent)로 남긴다.
+     * - 끝나면(실패 포함) 쓰기 세대를 올려, 이후 조회가 그 전에 시작된 조회 결과에 합류하지 않게 한다.
+     */
+    private <T> T withLock(long userId, TransactionType type, long amount, Function<PointOperationEvent, T> action) {
+        PointOperationEvent event = new PointOperationEvent(userId, type, amount);
+        try {
+            T result = lockProvider.withLock(userId, () -> {
+                event.lockAcquired();
+                try {
+                    return action.apply(event);
+                } finally {
+                    writeEpochs.advance(userId);
+                }
+            });
+            event.end(null);
+            return result;
+        } catch (RuntimeException e) {
+            event.end(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 잔고와 히스토리를 동시에 쓴다. (사용자 락 안에서 호출된다)
+     * - 먼저 WAL 에 BEGIN 을 남기고, 히스토리는 WAL 작업 스레드에서, 잔고는 호출 스레드에서 쓴다.
+     *   히스토리 행에는 WAL txId 를 함께 남겨, 결과를 모를 때 이 쓰기의 히스토리인지 txId 로 가린다.
+     *   취소라면 되돌린 원거래 id(originalId)도 함께 남긴다. (아니면 0)
+     *   지연은 두 호출의 합이 아니라 둘 중 긴 쪽이 된다.
+     * - 한쪽이 실패하면 바로 짝을 정리한다. 히스토리가 쓰였으면 잔고를 다시 써서 완료하고,
+     *   아니면 잔고를 되돌리고 원래 예외를 던진다.
+     * - 잔고 테이블이 ConditionalBalanceTable 이면 잔고를 읽은 값 조건으로 먼저 쓰고, 성공한 뒤에 히스토리를 쓴다.
+     *   다른 인스턴스가 먼저 바꿨으면 히스토리를 쓰지 않고 ConcurrentBalanceUpdateException 을 던진다.
+     *   (히스토리는 지울 수 없으므로 충돌을 히스토리 전에 가린다. 지연은 두 쓰기의 합이 된다)
+     */
+    private PointHistory write(long txId, UserPoint current, UserPoint updated, long amount, TransactionType type,
+                               long originalId, PointOperationEvent event) {
+        long userId = current.id();
+        long updateMillis = System.currentTimeMillis();
+        PendingWrite write = writeAheadLog.begin(txId, userId, current.point(), updated.point(), amount, type, updateMillis);
+        ConditionalBalanceTable conditional = userPointTable instanceof ConditionalBalanceTable table ? table : null;
+        RuntimeException failure = null;
+        long writeStart = System.nanoTime();
+        if (conditional != null) {
+            boolean applied;
+            try {
+                applied = conditional.compareAndSet(userId, current.point(), updated.point());
+            } catch (RuntimeException e) {
+                // 반영 여부를 모르므로 롤백으로 정리한다.
+                settle(write, false);
+                throw e;
+            }
+            event.balanceWritten(writeStart);
+            if (!applied) {
+                writeAheadLog.end(write);
+                throw new ConcurrentBalanceUpdateException(userId);
+            }
+        }
+        CompletableFuture<PointHistory> historyWrite = writeAheadLog.supplyAsync(() -> {
+            long insertStart = System.nanoTime();
+            PointHistory inserted = pointHistoryStore.insert(userId, amount, type, updateMillis, new HistoryRef(write.txId(), originalId));
+            event.historyInserted(insertStart);
+            return inserted;
+        });
+
+        if (conditional == null) {
+            try {
+                userPointTable.insertOrUpdate(userId, updated.point());
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            event.balanceWritten(writeStart);
+        }
+        PointHistory history = null;
+        boolean historyWritten = false;
+        try {
+            history = historyWrite.join();
+            historyWritten = true;
+        } catch (CompletionException e) {
+            RuntimeException cause = e.getCause() instanceof RuntimeException runtime ? runtime : e;
+            if (failure == null) {
+                failure = cause;
+            } else {
+                failure.addSuppressed(cause);
+            }
+        }
+        if (failure == null) {
+            writeAheadLog.end(write);
+            return history;
+        }
+
+        settle(write, historyWritten);
+        if (!historyWritten) {
+            throw failure;
+        }
+        return history;
+    }
+
+    private void resolvePending(long userId) {
+        for (PendingWrite write : writeAheadLog.pending(userId)) {
+            resolve(write);
+        }
+    }
+
+    // 결과를 모르는 짝(재기동, 이전 정리 실패)은 그 txId 로 쓰인 히스토리가 남았는지 찾아보고 정리한다.
+    private void resolve(PendingWrite write) {
+        settle(write, pointHistoryStore.selectByTxId(write.userId(), write.txId()).isPresent());
+    }
+
+    /**
+     * 미완료 짝을 정리한다. (사용자 락 안에서 호출된다)
+     * - 히스토리가 쓰였으면 잔고를 nextPoint 로 맞춰 완료하고, 아니면 previousPoint 로 되돌려 롤백한다.
+     * - ConditionalBalanceTable 이면 잔고가 짝의 다른 쪽 값일 때만 바꾼다.
+     *   그 밖의 값이면 그 뒤에 다른 인스턴스가 잔고를 바꾼 것이므로 덮어쓰지 않고 경고만 남긴다. (LedgerReconciler 가 차이를 보고한다)
+     * - 여기서 예외가 나면 엔트리가 남아 다음 쓰기나 재기동 때 다시 시도된다.
+     */
+    private void settle(PendingWrite write, boolean historyWritten) {
+        long userId = write.userId();
+        long target = historyWritten ? write.nextPoint() : write.previousPoint();
+        long other = historyWritten ? write.previousPoint() : write.nextPoint();
+        long point = userPointTable.selectById(userId).point();
+        if (point != target) {
+            if (!(userPointTable instanceof ConditionalBalanceTable conditional)) {
+                userPointTable.insertOrUpdate(userId, target);
+            } else if (point != other || !conditional.compareAndSet(userId, other, target)) {
+                log.warn("미완료 쓰기 {} 를 정리하는 사이 사용자 {} 의 잔고가 바뀌어 덮어쓰지 않습니다. (현재 {}, 목표 {})",
+                        write.txId(), userId, point, target);
+            }
+        }
+        writeAheadLog.end(write);
+    }
+
+    // 사용자 락 안에서 호출되어 같은 사용자의 변경은 커밋 순서대로 전달된다.
+    private void publish(UserPoint updated, PointHistory history) {
+        for (PointChangeListener listener : changeListeners) {
+            listener.onCommitted(updated, history);
+        }
+    }
+
+    private void publishCancel(UserPoint updated, PointHistory reversal, long originalId) {
+        for (PointChangeListener listener : changeListeners) {
+            listener.onCancelled(updated, reversal, originalId);
         }
     }
 }
@@ -0,0 +1,79 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.UserPoint;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * PointService 의 논블로킹 어댑터
+ * - Table 호출은 블로킹이므로 크기가 제한된 전용 스케줄러로 넘긴다.
+ * - 같은 사용자의 쓰기는 이전 작업의 완료 신호에 이어 붙여 순서대로 실행한다.
+ *   스레드가 모니터를 기다리며 멈추지 않고, 대기 중인 요청은 스레드 없이 체인으로만 남는다.
+ *   (PointService 의 사용자 락은 그대로 두므로 MVC 경로와 섞여도 정합성은 유지된다)
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactivePointService {
+
+    private static final int THREAD_CAP = 64;
+    private static final int QUEUED_TASK_CAP = 10_000;
+
+    private final PointService pointService;
+    private final Scheduler scheduler = Schedulers.newBoundedElastic(THREAD_CAP, QUEUED_TASK_CAP, "point-io");
+
+    // 사용자별 마지막 쓰기 작업의 완료 신호
+    private final Map<Long, Mono<Void>> tails = new ConcurrentHashMap<>();
+
+    public Mono<UserPoint> getPoint(long userId) {
+        return offload(() -> pointService.getPoint(userId));
+    }
+
+    public Flux<PointHistory> getHistories(long userId) {
+        return offload(() -> pointService.getHistories(userId))
+                .flatMapIterable(histories -> histories);
+    }
+
+    public Mono<UserPoint> charge(long userId, long amount) {
+        return serialize(userId, offload(() -> pointService.charge(userId, amount)));
+    }
+
+    public Mono<UserPoint> use(long userId, long amount) {
+        return serialize(userId, offload(() -> pointService.use(userId, amount)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+    }
+
+    private <T> Mono<T> offload(Supplier<T> call) {
+        return Mono.fromSupplier(call).subscribeOn(scheduler);
+    }
+
+    private <T> Mono<T> serialize(long userId, Mono<T> operation) {
+        return Mono.defer(() -> {
+            Sinks.Empty<Void> done = Sinks.empty();
+            Mono<Void> tail = done.asMono();
+            Mono<Void> previous = tails.put(userId, tail);
+            Mono<Void> waitPrevious = previous == null ? Mono.empty() : previous;
+
+            return waitPrevious
+                    .then(operation)
+                    .doFinally(signal -> {
+                        tails.remove(userId, tail);
+                        done.tryEmitEmpty();
+                    });
+        });
+    }
+}
@@ -0,0 +1,69 @@
+package io.hhplus.tdd.point.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+
+/**
+ * 같은 사용자에 대한 동시 읽기를 한 번의 테이블 호출로 합친다.
+ * - 먼저 온 읽기가 테이블을 호출하고, 그 사이에 온 읽기는 그 결과(예외 포함)를 함께 받는다.
+ * - 진행 중인 읽기가 시작된 뒤에 쓰기가 끝났다면 합류하지 않고 새로 읽는다. (WriteEpochs)
+ *   그래서 쓰기가 끝난 뒤 시작한 읽기는 항상 그 쓰기를 본다.
+ * - 결과 객체를 여러 호출자가 나눠 가지므로 불변 값(record, 불변 List)에만 쓴다.
+ */
+final class SingleFlight<V> {
+
+    private final WriteEpochs writeEpochs;
+    private final Map<Long, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    SingleFlight(WriteEpochs writeEpochs) {
+        this.writeEpochs = writeEpochs;
+    }
+
+    V load(long userId, LongFunction<V> loader) {
+        long epoch = writeEpochs.current(userId);
+        Flight<V> created = new Flight<>(epoch);
+        // 같거나 더 늦은 세대에 시작한 읽기에만 합류한다.
+        Flight<V> flight = flights.compute(userId, (id, inFlight) ->
+                inFlight != null && inFlight.epoch >= epoch ? inFlight : created);
+        if (flight != created) {
+            return flight.await();
+        }
+
+        try {
+            V value = loader.apply(userId);
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(userId, created);
+        }
+    }
+
+    private static final class Flight<V> extends CompletableFuture<V> {
+
+        private final long epoch;
+
+        private Flight(long epoch) {
+            this.epoch = epoch;
+        }
+
+        private V await() {
+            try {
+                return join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.UserPoint;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 커밋된 사용자 목록 레지스트리
+ * - Table 클래스에는 전체 조회 API 가 없으므로, 커밋 이벤트로 사용자별 최신 잔고와 히스토리 건수를 모아 둔다.
+ * - snapshot() 은 모든 사용자에 대해 같은 시점의 상태를 돌려준다.
+ *   (커밋 반영은 read lock 을 공유하고, 스냅샷 복사만 write lock 으로 잠깐 막는다)
+ */
+@Component
+public class UserPointRegistry implements PointChangeListener {
+
+    private final ReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public void onCommitted(UserPoint userPoint, PointHistory history) {
+        int appended = history == null ? 0 : 1;
+        snapshotLock.readLock().lock();
+        try {
+            entries.merge(userPoint.id(), new Entry(userPoint, appended),
+                    (prev, next) -> new Entry(userPoint, prev.historyCount() + appended));
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    public Optional<UserPoint> find(long userId) {
+        Entry entry = entries.get(userId);
+        return entry == null ? Optional.empty() : Optional.of(entry.userPoint());
+    }
+
+    /**
+     * userId 오름차순으로 정렬된 시점 일관 스냅샷
+     */
+    public List<Entry> snapshot() {
+        List<Entry> copied;
+        snapshotLock.writeLock().lock();
+        try {
+            copied = new ArrayList<>(entries.values());
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+        copied.sort(Comparator.comparingLong(entry -> entry.userPoint().id()));
+        return copied;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public record Entry(
+            UserPoint userPoint,
+            int historyCount
+    ) {
+    }
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 사용자별 쓰기 세대
+ * - 잔고/히스토리를 바꾸는 작업이 끝날 때마다(성공/실패 모두) 올린다.
+ *   SingleFlight 는 이 세대로 진행 중인 읽기에 합류해도 되는지 가린다.
+ * - 사용자 id 를 STRIPES 개 칸에 나눠 담아 메모리를 고정한다.
+ *   같은 칸의 다른 사용자가 쓰면 합류가 줄어들 뿐 읽기 결과는 틀리지 않는다.
+ */
+final class WriteEpochs {
+
+    private static final int STRIPES = 4096;
+
+    private final AtomicLongArray epochs = new AtomicLongArray(STRIPES);
+
+    long current(long userId) {
+        return epochs.get(index(userId));
+    }
+
+    void advance(long userId) {
+        epochs.incrementAndGet(index(userId));
+    }
+
+    private static int index(long userId) {
+        return Long.hashCode(userId * 0x9E3779B97F4A7C15L) & (STRIPES - 1);
+    }
+}
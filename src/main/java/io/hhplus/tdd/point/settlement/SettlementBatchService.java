@@ -0,0 +1,354 @@
+package io.hhplus.tdd.point.settlement;
+
+import io.hhplus.tdd.ErrorMapper;
+import io.hhplus.tdd.exception.ConcurrentBalanceUpdateException;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.service.PointService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * 대량 정산 배치
+ * - 정산 파일(userId,CHARGE|USE,amount 한 줄에 하나)을 메모리 매핑해 읽고, userId 로 파티션을 나눠
+ *   파티션마다 한 스레드가 파일 순서대로 PointService.charge/use 를 적용한다.
+ *   (한 사용자의 줄은 항상 같은 파티션에 들어가므로 사용자별 적용 순서가 유지된다)
+ * - 줄마다 결과를 파티션 결과 파일에 남기고 체크포인트를 전진시킨다.
+ *   중간에 멈추면 같은 입력/출력으로 다시 실행해 파티션별 체크포인트 다음 줄부터 이어서 적용한다.
+ * - 줄을 적용하기 전에 WAL txId 를 발급받아 체크포인트에 남기고, 그 txId 로 충전/사용한다. (히스토리에 txId 가 남는다)
+ *   적용을 시작했지만 결과를 남기기 전에 멈춘 줄은 그 txId 의 히스토리가 있을 때만 적용된 것으로 보고 다시 적용하지 않는다.
+ *   (같은 금액/유형의 다른 거래를 이 줄로 오인하지 않는다)
+ * - 잔액 부족 같은 업무 오류는 해당 줄의 FAILED 결과로 남기고, 그 밖의 예외는 배치를 멈춘다. (재실행 시 이어서 처리)
+ *   다른 인스턴스와 잔고 갱신이 겹치면(ConcurrentBalanceUpdateException) 새 txId 로 그 줄을 다시 적용한다.
+ * - 모두 끝나면 파티션 결과를 줄 번호 순으로 합쳐 출력 파일에 쓴다.
+ *   lineNumber,userId,type,amount,APPLIED,잔고 / lineNumber,userId,type,amount,FAILED,에러코드
+ */
+@Slf4j
+@Service
+public class SettlementBatchService {
+
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final int MAX_CONFLICT_ATTEMPTS = 5;
+    private static final SettlementLine END = SettlementLine.invalid(-1);
+
+    private final PointService pointService;
+    private final int partitionCount;
+
+    public SettlementBatchService(PointService pointService,
+                                  @Value("${point.settlement.partitions:64}") int partitionCount) {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("파티션 수는 1 이상이어야 합니다.");
+        }
+        this.pointService = pointService;
+        this.partitionCount = partitionCount;
+    }
+
+    public SettlementResult run(Path input, Path output) throws IOException {
+        long startMillis = System.currentTimeMillis();
+        Path checkpointPath = sibling(output, ".ckpt");
+        List<Path> partPaths = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            partPaths.add(sibling(output, ".part-" + i));
+        }
+
+        long resumedCount;
+        try (FileChannel channel = FileChannel.open(input, READ);
+             SettlementCheckpoint checkpoint = SettlementCheckpoint.open(checkpointPath, partitionCount,
+                     channel.size(), Files.getLastModifiedTime(input).toMillis())) {
+            if (checkpoint.resumed()) {
+                log.info("정산 체크포인트에서 이어서 실행합니다: {}", input);
+            }
+            resumedCount = apply(channel, checkpoint, partPaths);
+        }
+
+        SettlementResult result = merge(partPaths, output, resumedCount, startMillis);
+        Files.deleteIfExists(checkpointPath);
+        for (Path partPath : partPaths) {
+            Files.deleteIfExists(partPath);
+        }
+        return result;
+    }
+
+    // 파일을 읽어 파티션에 나눠 주고, 모든 파티션이 끝날 때까지 기다린다. 건너뛴 줄 수를 돌려준다.
+    private long apply(FileChannel channel, SettlementCheckpoint checkpoint, List<Path> partPaths) throws IOException {
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        List<Partition> partitions = new ArrayList<>(partitionCount);
+        ExecutorService executor = Executors.newFixedThreadPool(partitionCount, daemon());
+        long[] resumedCount = new long[1];
+        try {
+            for (int i = 0; i < partitionCount; i++) {
+                Partition partition = new Partition(i, checkpoint, partPaths.get(i), failure);
+                partitions.add(partition);
+                executor.execute(partition);
+            }
+
+            new SettlementFileReader(channel).readAll(line -> {
+                if (failure.get() != null) {
+                    return false;
+                }
+                int index = line.isValid()
+                        ? (int) Math.floorMod(line.userId(), (long) partitionCount)
+                        : (int) (line.lineNumber() % partitionCount);
+                if (line.lineNumber() <= checkpoint.lastLine(index)) {
+                    resumedCount[0]++;
+                } else {
+                    partitions.get(index).enqueue(line);
+                }
+                return true;
+            });
+        } finally {
+            for (Partition partition : partitions) {
+                partition.enqueue(END);
+            }
+            executor.shutdown();
+            awaitTermination(executor);
+        }
+
+        RuntimeException cause = failure.get();
+        if (cause != null) {
+            throw cause;
+        }
+        return resumedCount[0];
+    }
+
+    // 파티션 결과 파일은 각각 줄 번호 순이므로 k-way 병합으로 입력 순서를 되살린다.
+    private static SettlementResult merge(List<Path> partPaths, Path output, long resumedCount, long startMillis) throws IOException {
+        PriorityQueue<PartReader> heads = new PriorityQueue<>(Comparator.comparingLong(PartReader::lineNumber));
+        List<PartReader> readers = new ArrayList<>(partPaths.size());
+        long lineCount = 0;
+        long appliedCount = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.US_ASCII)) {
+            for (Path partPath : partPaths) {
+                PartReader reader = new PartReader(Files.newBufferedReader(partPath, StandardCharsets.US_ASCII));
+                readers.add(reader);
+                if (reader.advance()) {
+                    heads.add(reader);
+                }
+            }
+            while (!heads.isEmpty()) {
+                PartReader head = heads.poll();
+                writer.write(head.line);
+                writer.write('\n');
+                lineCount++;
+                if (head.line.contains(",APPLIED,")) {
+                    appliedCount++;
+                }
+                if (head.advance()) {
+                    heads.add(head);
+                }
+            }
+        } finally {
+            for (PartReader reader : readers) {
+                reader.reader.close();
+            }
+        }
+        return new SettlementResult(lineCount, appliedCount, lineCount - appliedCount, resumedCount,
+                System.currentTimeMillis() - startMillis);
+    }
+
+    private static Path sibling(Path output, String suffix) {
+        return output.resolveSibling(output.getFileName() + suffix);
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                // 남은 줄을 모두 적용할 때까지 대기
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private static ThreadFactory daemon() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "point-settlement-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 한 파티션의 줄을 순서대로 적용하는 작업자
+     * - 파티션 결과 파일과 체크포인트 레코드는 이 작업자만 쓴다.
+     */
+    private class Partition implements Runnable {
+
+        private final int index;
+        private final SettlementCheckpoint checkpoint;
+        private final AtomicReference<RuntimeException> failure;
+        private final BlockingQueue<SettlementLine> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private final FileChannel part;
+        private final ByteBuffer buffer = ByteBuffer.allocate(128);
+        private final long inDoubtLine;
+        private final long inDoubtTxId;
+        private long partLength;
+
+        private Partition(int index, SettlementCheckpoint checkpoint, Path partPath, AtomicReference<RuntimeException> failure) throws IOException {
+            this.index = index;
+            this.checkpoint = checkpoint;
+            this.failure = failure;
+            this.inDoubtLine = checkpoint.inFlightLine(index);
+            this.inDoubtTxId = checkpoint.inFlightTxId(index);
+            this.partLength = checkpoint.partLength(index);
+            this.part = FileChannel.open(partPath, CREATE, WRITE);
+            // 체크포인트 뒤에 쓰인 결과는 다시 만든다.
+            part.truncate(partLength);
+        }
+
+        private void enqueue(SettlementLine line) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    queue.put(line);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                SettlementLine line;
+                while ((line = queue.take()) != END) {
+                    // 실패한 뒤에는 디스패처가 막히지 않도록 남은 줄을 비우기만 한다.
+                    if (failure.get() == null) {
+                        apply(line);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, new IllegalStateException("정산이 중단되었습니다."));
+            } catch (RuntimeException e) {
+                log.error("정산 파티션 {} 처리에 실패했습니다. 다시 실행하면 체크포인트부터 이어서 처리합니다.", index, e);
+                failure.compareAndSet(null, e);
+                drain();
+            } finally {
+                close();
+            }
+        }
+
+        private void apply(SettlementLine line) {
+            String outcome;
+            if (!line.isValid()) {
+                outcome = "FAILED,INVALID_LINE";
+            } else if (line.lineNumber() == inDoubtLine && pointService.isApplied(line.userId(), inDoubtTxId)) {
+                outcome = "APPLIED," + pointService.getPoint(line.userId()).point();
+            } else {
+                outcome = applyLine(line);
+            }
+            write(line, outcome);
+            checkpoint.complete(index, line.lineNumber(), partLength);
+        }
+
+        // 충돌이 MAX_CONFLICT_ATTEMPTS 번 이어지면 예외를 던져 파티션을 멈춘다. (체크포인트가 이 줄에 남아 재실행 때 이어진다)
+        private String applyLine(SettlementLine line) {
+            for (int attempt = 1; ; attempt++) {
+                long txId = pointService.reserveTxId();
+                checkpoint.begin(index, line.lineNumber(), txId);
+                try {
+                    UserPoint userPoint = line.type() == TransactionType.CHARGE
+                            ? pointService.charge(line.userId(), line.amount(), txId)
+                            : pointService.use(line.userId(), line.amount(), txId);
+                    return "APPLIED," + userPoint.point();
+                } catch (ConcurrentBalanceUpdateException e) {
+                    // 히스토리를 쓰기 전에 거절되므로 이 txId 는 적용되지 않았다.
+                    if (attempt == MAX_CONFLICT_ATTEMPTS) {
+                        throw e;
+                    }
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    return "FAILED," + ErrorMapper.map(e).code();
+                }
+            }
+        }
+
+        private void write(SettlementLine line, String outcome) {
+            String text = line.isValid()
+                    ? line.lineNumber() + "," + line.userId() + "," + line.type() + "," + line.amount() + "," + outcome + "\n"
+                    : line.lineNumber() + ",,,," + outcome + "\n";
+            buffer.clear();
+            buffer.put(text.getBytes(StandardCharsets.US_ASCII)).flip();
+            try {
+                while (buffer.hasRemaining()) {
+                    partLength += part.write(buffer, partLength);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (queue.take() != END) {
+                    // 남은 줄은 다음 실행에서 처리한다.
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void close() {
+            try {
+                part.close();
+            } catch (IOException e) {
+                log.warn("정산 파티션 {} 결과 파일을 닫지 못했습니다.", index, e);
+            }
+        }
+    }
+
+    private static class PartReader {
+
+        private final BufferedReader reader;
+        private String line;
+        private long lineNumber;
+
+        private PartReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        private long lineNumber() {
+            return lineNumber;
+        }
+
+        private boolean advance() throws IOException {
+            line = reader.readLine();
+            if (line == null) {
+                return false;
+            }
+            lineNumber = Long.parseLong(line, 0, line.indexOf(','), 10);
+            return true;
+        }
+    }
+}
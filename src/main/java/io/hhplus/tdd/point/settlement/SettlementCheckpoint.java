@@ -0,0 +1,156 @@
+package io.hhplus.tdd.point.settlement;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * 파티션별 정산 진행 상태
+ * - 헤더 : magic(4) + partitions(4) + 입력 파일 크기(8) + 입력 파일 수정 시각(8)
+ * - 파티션마다 고정 길이 레코드 하나를 제자리에 덮어쓴다.
+ *   lastLine(8) + partLength(8) : 결과를 남긴 마지막 줄과 그때의 파티션 결과 파일 길이
+ *   inFlightLine(8) + inFlightTxId(8) : 적용을 시작했지만 결과를 남기기 전인 줄과 그 줄에 발급한 WAL txId (없으면 0)
+ *   (입력 파일은 헤더로, 줄은 줄 번호로 가리키므로 (파일, 줄) 하나에 txId 하나가 남는다)
+ * - 헤더가 현재 입력과 다르면 처음부터 다시 시작한다.
+ * - OS 버퍼까지만 쓰므로 프로세스 크래시는 견디고, fsync 는 하지 않는다.
+ */
+class SettlementCheckpoint implements Closeable {
+
+    private static final int MAGIC = 0x50534332;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8;
+    private static final int RECORD_SIZE = 8 * 4;
+
+    private final FileChannel channel;
+    private final long[] lastLines;
+    private final long[] partLengths;
+    private final long[] inFlightLines;
+    private final long[] inFlightTxIds;
+    private final boolean resumed;
+
+    private SettlementCheckpoint(FileChannel channel, int partitions, boolean resumed) {
+        this.channel = channel;
+        this.lastLines = new long[partitions];
+        this.partLengths = new long[partitions];
+        this.inFlightLines = new long[partitions];
+        this.inFlightTxIds = new long[partitions];
+        this.resumed = resumed;
+    }
+
+    static SettlementCheckpoint open(Path path, int partitions, long inputSize, long inputModifiedMillis) {
+        try {
+            FileChannel channel = FileChannel.open(path, CREATE, READ, WRITE);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            boolean matches = channel.size() == HEADER_SIZE + (long) RECORD_SIZE * partitions
+                    && channel.read(header, 0) == HEADER_SIZE
+                    && header.getInt(0) == MAGIC
+                    && header.getInt(4) == partitions
+                    && header.getLong(8) == inputSize
+                    && header.getLong(16) == inputModifiedMillis;
+
+            SettlementCheckpoint checkpoint = new SettlementCheckpoint(channel, partitions, matches);
+            if (matches) {
+                checkpoint.load();
+            } else {
+                channel.truncate(0);
+                header.clear();
+                header.putInt(MAGIC).putInt(partitions).putLong(inputSize).putLong(inputModifiedMillis).flip();
+                writeFully(channel, header, 0);
+                for (int partition = 0; partition < partitions; partition++) {
+                    checkpoint.complete(partition, 0, 0);
+                }
+            }
+            return checkpoint;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    boolean resumed() {
+        return resumed;
+    }
+
+    long lastLine(int partition) {
+        return lastLines[partition];
+    }
+
+    long partLength(int partition) {
+        return partLengths[partition];
+    }
+
+    long inFlightLine(int partition) {
+        return inFlightLines[partition];
+    }
+
+    long inFlightTxId(int partition) {
+        return inFlightTxIds[partition];
+    }
+
+    /**
+     * 줄을 적용하기 직전에 그 줄에 쓸 txId 와 함께 남긴다. 결과를 남기기 전에 멈추면 재시작 때 txId 로 적용 여부를 확인한다.
+     * 파티션마다 하나의 스레드만 호출한다.
+     */
+    void begin(int partition, long lineNumber, long txId) {
+        inFlightLines[partition] = lineNumber;
+        inFlightTxIds[partition] = txId;
+        ByteBuffer record = ByteBuffer.allocate(16).putLong(lineNumber).putLong(txId).flip();
+        write(record, recordOffset(partition) + 16);
+    }
+
+    /**
+     * 줄의 결과를 파티션 결과 파일에 남긴 뒤 호출한다.
+     */
+    void complete(int partition, long lineNumber, long partLength) {
+        lastLines[partition] = lineNumber;
+        partLengths[partition] = partLength;
+        inFlightLines[partition] = 0;
+        inFlightTxIds[partition] = 0;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE).putLong(lineNumber).putLong(partLength).putLong(0).putLong(0).flip();
+        write(record, recordOffset(partition));
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void load() throws IOException {
+        ByteBuffer records = ByteBuffer.allocate(RECORD_SIZE * lastLines.length);
+        while (records.hasRemaining() && channel.read(records, HEADER_SIZE + records.position()) > 0) {
+            // 끝까지 읽는다.
+        }
+        records.flip();
+        for (int partition = 0; partition < lastLines.length; partition++) {
+            lastLines[partition] = records.getLong();
+            partLengths[partition] = records.getLong();
+            inFlightLines[partition] = records.getLong();
+            inFlightTxIds[partition] = records.getLong();
+        }
+    }
+
+    private void write(ByteBuffer record, long position) {
+        try {
+            writeFully(channel, record, position);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long recordOffset(int partition) {
+        return HEADER_SIZE + (long) RECORD_SIZE * partition;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package io.hhplus.tdd.point.settlement;
+
+import io.hhplus.tdd.point.entity.TransactionType;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * 정산 파일(userId,CHARGE|USE,amount)을 구간별로 메모리 매핑해 한 줄씩 파싱한다.
+ * - 매핑 구간 경계에 걸친 줄은 바이트 배열에 이어 붙여 처리한다.
+ * - 빈 줄은 건너뛰지만 줄 번호는 센다.
+ */
+class SettlementFileReader {
+
+    private static final long MAP_WINDOW_BYTES = 1L << 28;
+    private static final byte[] CHARGE = "CHARGE".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] USE = "USE".getBytes(StandardCharsets.US_ASCII);
+
+    private final FileChannel channel;
+    private byte[] line = new byte[64];
+    private int lineLength;
+    private int cursor;
+    private long lineNumber;
+
+    SettlementFileReader(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * @param handler false 를 돌려주면 읽기를 멈춘다.
+     */
+    void readAll(Predicate<SettlementLine> handler) throws IOException {
+        long size = channel.size();
+        for (long position = 0; position < size; position += MAP_WINDOW_BYTES) {
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_WINDOW_BYTES, size - position));
+            while (window.hasRemaining()) {
+                byte b = window.get();
+                if (b == '\n') {
+                    if (!emit(handler)) {
+                        return;
+                    }
+                } else if (b != '\r') {
+                    append(b);
+                }
+            }
+        }
+        emit(handler);
+    }
+
+    private boolean emit(Predicate<SettlementLine> handler) {
+        lineNumber++;
+        if (lineLength == 0) {
+            return true;
+        }
+        SettlementLine parsed = parseLine();
+        lineLength = 0;
+        return handler.test(parsed);
+    }
+
+    private SettlementLine parseLine() {
+        cursor = 0;
+        long userId = nextLong();
+        if (userId < 0 || !expectComma()) {
+            return SettlementLine.invalid(lineNumber);
+        }
+        TransactionType type = nextType();
+        if (type == null || !expectComma()) {
+            return SettlementLine.invalid(lineNumber);
+        }
+        long amount = nextLong();
+        if (amount < 0 || cursor != lineLength) {
+            return SettlementLine.invalid(lineNumber);
+        }
+        return new SettlementLine(lineNumber, userId, type, amount);
+    }
+
+    // 음수는 받지 않으므로 -1 을 형식 오류로 쓴다.
+    private long nextLong() {
+        int start = cursor;
+        long value = 0;
+        while (cursor < lineLength && line[cursor] != ',') {
+            int digit = line[cursor++] - '0';
+            if (digit < 0 || digit > 9 || value > (Long.MAX_VALUE - digit) / 10) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return cursor == start ? -1 : value;
+    }
+
+    private TransactionType nextType() {
+        int start = cursor;
+        while (cursor < lineLength && line[cursor] != ',') {
+            cursor++;
+        }
+        if (Arrays.equals(line, start, cursor, CHARGE, 0, CHARGE.length)) {
+            return TransactionType.CHARGE;
+        }
+        if (Arrays.equals(line, start, cursor, USE, 0, USE.length)) {
+            return TransactionType.USE;
+        }
+        return null;
+    }
+
+    private boolean expectComma() {
+        if (cursor >= lineLength || line[cursor] != ',') {
+            return false;
+        }
+        cursor++;
+        return true;
+    }
+
+    private void append(byte b) {
+        if (lineLength == line.length) {
+            line = Arrays.copyOf(line, line.length * 2);
+        }
+        line[lineLength++] = b;
+    }
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point.settlement;
+
+import io.hhplus.tdd.point.entity.TransactionType;
+
+/**
+ * 정산 파일의 한 줄 (userId,CHARGE|USE,amount)
+ * - 형식이 올바르지 않은 줄은 type 이 null 이고, 결과 파일에 INVALID_LINE 으로 남긴다.
+ */
+record SettlementLine(
+        long lineNumber,
+        long userId,
+        TransactionType type,
+        long amount
+) {
+
+    static SettlementLine invalid(long lineNumber) {
+        return new SettlementLine(lineNumber, 0, null, 0);
+    }
+
+    boolean isValid() {
+        return type != null;
+    }
+}
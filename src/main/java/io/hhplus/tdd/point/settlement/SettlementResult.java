@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point.settlement;
+
+/**
+ * @param lineCount    결과 파일에 남은 줄 수 (빈 줄 제외)
+ * @param resumedCount 이전 실행의 체크포인트로 건너뛴 줄 수
+ */
+public record SettlementResult(
+        long lineCount,
+        long appliedCount,
+        long failedCount,
+        long resumedCount,
+        long elapsedMillis
+) {
+}
@@ -0,0 +1,84 @@
+package io.hhplus.tdd.point.stream;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.service.PointChangeListener;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 잔고 변경 브로드캐스트
+ * - 구독자가 있는 사용자만 채널(best-effort multicast sink)을 가진다. 구독자 목록은 CAS 로 관리되는 배열이라
+ *   커밋 스레드는 락 없이 구독자 수만큼 값을 넘겨주고 바로 돌아간다.
+ * - 구독자마다 최신 값 하나만 남기고(onBackpressureLatest) 전송은 별도 스케줄러에서 한다.
+ *   느린 구독자는 중간 잔고를 건너뛰고 마지막 잔고만 받으며, 쓰기 경로를 막지 않는다.
+ * - 같은 사용자의 커밋은 사용자 락 안에서 호출되므로 채널로의 emit 은 직렬화되어 있다.
+ */
+@Component
+public class PointBalanceBroadcaster implements PointChangeListener {
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final Scheduler scheduler = Schedulers.newParallel("point-stream");
+
+    @Override
+    public void onCommitted(UserPoint userPoint, PointHistory history) {
+        Channel channel = channels.get(userPoint.id());
+        if (channel != null) {
+            channel.sink.tryEmitNext(userPoint);
+        }
+    }
+
+    /**
+     * current 로 현재 잔고를 먼저 보내고 이후 커밋될 때마다 새 잔고를 보낸다.
+     * current 를 조회하는 사이 커밋이 먼저 도착하면 current 는 버린다. (더 최신 값을 이미 보냈으므로)
+     */
+    public Flux<UserPoint> subscribe(long userId, Mono<UserPoint> current) {
+        return updates(userId)
+                .publish(updates -> Flux.merge(current.takeUntilOther(updates), updates))
+                .onBackpressureLatest();
+    }
+
+    public int subscriberCount(long userId) {
+        Channel channel = channels.get(userId);
+        return channel == null ? 0 : channel.sink.currentSubscriberCount();
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.dispose();
+    }
+
+    private Flux<UserPoint> updates(long userId) {
+        return Flux.defer(() -> {
+            Channel channel = channels.compute(userId, (id, existing) -> {
+                Channel acquired = existing == null ? new Channel() : existing;
+                acquired.references++;
+                return acquired;
+            });
+            return channel.sink.asFlux()
+                    .onBackpressureLatest()
+                    .publishOn(scheduler, 1)
+                    .doFinally(signal -> release(userId, channel));
+        });
+    }
+
+    private void release(long userId, Channel channel) {
+        channels.computeIfPresent(userId, (id, existing) ->
+                existing == channel && --existing.references == 0 ? null : existing);
+    }
+
+    private static final class Channel {
+
+        private final Sinks.Many<UserPoint> sink = Sinks.many().multicast().directBestEffort();
+        // channels.compute 안에서만 변경한다.
+        private int references;
+    }
+}
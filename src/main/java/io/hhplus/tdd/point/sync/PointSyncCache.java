@@ -0,0 +1,339 @@
+package io.hhplus.tdd.point.sync;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.dto.HistoryDelta;
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.service.PointChangeListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * 사용자별 버전과 히스토리 델타 응답 캐시
+ * - 커밋(충전/사용/만료/취소/복원)마다 사용자 버전을 올리고 그 시점의 잔고를 함께 둔다.
+ *   버전은 기동 시각(ms) << 20 에서 시작하는 전역 순번이라 재기동 전 버전과 겹치지 않는다.
+ * - 버전으로 ETag 를 만들어, If-None-Match 가 맞으면 테이블을 읽지 않고 304 로 응답하게 한다.
+ * - 최근 RETAINED_VERSIONS 개 버전마다 그때까지의 마지막 히스토리 id 를 기억해 sinceVersion 이후 히스토리만 골라낸다.
+ *   (히스토리 id 는 전역으로 증가하고 사용자 락 안에서 발급되므로 사용자 안에서도 커밋 순서를 따른다)
+ *   기억하지 못하는 sinceVersion 이면 전체 히스토리를 full 로 돌려준다.
+ * - 직렬화한 델타 응답은 (현재 버전, sinceVersion) 단위로 사용자마다 몇 개만 두고, 다음 커밋 때 버린다.
+ *   MAX_CACHED_DELTA_BYTES 보다 큰 응답은 두지 않고, 전체 바이트가 maxCachedBytes 를 넘으면 오래 쓰지 않은 사용자의 응답부터 버린다.
+ * - 추적하는 사용자가 maxUsers 를 넘으면 오래 쓰지 않은 사용자부터 추적을 그만둔다.
+ *   추적하지 않는 사용자는 untrackedVersion 을 버전으로 쓰고, 추적을 그만둘 때마다 새 순번으로 올린다.
+ *   그래서 버린 사용자의 이전 버전으로 온 요청이 304 를 받지 않는다. (바뀐 것이 없어도 한 번은 200 이 나갈 수 있다)
+ * - 인스턴스 메모리에만 두므로 다른 인스턴스의 커밋은 이 인스턴스의 버전을 올리지 않는다.
+ *   잔고/히스토리를 여러 인스턴스가 함께 쓰는 저장소(jpa 프로필)에서는 버전이 그대로인 채 잔고가 바뀌어
+ *   304 나 캐시한 잔고가 낡은 값을 줄 수 있으므로 point.sync.enabled=false 로 끈다.
+ *   끄면 커밋을 추적하지 않고, 조회는 ETag 없이 매번 저장소를 읽으며, 델타 조회는 항상 전체 히스토리(full)를 돌려준다.
+ */
+@Component
+public class PointSyncCache implements PointChangeListener {
+
+    private static final int RETAINED_VERSIONS = 32;
+    private static final int CACHED_DELTAS = 4;
+    private static final int MAX_CACHED_DELTA_BYTES = 64 * 1024;
+    private static final long UNKNOWN = -1;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int maxUsers;
+    private final long maxCachedBytes;
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() << 20);
+    // 이 인스턴스에서 추적하지 않는(커밋이 없었거나 추적을 그만둔) 사용자의 버전
+    private volatile long untrackedVersion = sequence.get();
+    private final Map<Long, UserSync> users = new ConcurrentHashMap<>();
+    private final AtomicLong cachedBytes = new AtomicLong();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+
+    public PointSyncCache(ObjectMapper objectMapper,
+                          @Value("${point.sync.enabled:true}") boolean enabled,
+                          @Value("${point.sync.max-users:100000}") int maxUsers,
+                          @Value("${point.sync.max-cached-bytes:67108864}") long maxCachedBytes) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxUsers = maxUsers;
+        this.maxCachedBytes = maxCachedBytes;
+    }
+
+    @Override
+    public void onCommitted(UserPoint userPoint, PointHistory history) {
+        if (!enabled) {
+            return;
+        }
+        long version = sequence.incrementAndGet();
+        UserSync sync = users.computeIfAbsent(userPoint.id(), id -> new UserSync(untrackedVersion, history));
+        sync.commit(version, userPoint, history);
+        if (users.size() > maxUsers) {
+            trim();
+        }
+    }
+
+    /**
+     * 버전으로 ETag/304 를 쓸 수 있는지 (false 면 current 의 버전은 의미가 없다)
+     */
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * 사용자의 현재 버전과 그 버전의 잔고 (이 인스턴스에서 추적하지 않는 사용자면 잔고는 null)
+     */
+    public UserVersion current(long userId) {
+        UserSync sync = users.get(userId);
+        return sync == null ? new UserVersion(untrackedVersion, null) : sync.current();
+    }
+
+    /**
+     * sinceVersion 이후 히스토리를 HistoryDelta JSON 으로 직렬화해 돌려준다.
+     * @param historyLoader 캐시에 없을 때만 호출해 사용자의 전체 히스토리를 읽는다.
+     */
+    public Delta historiesSince(long userId, long sinceVersion, LongFunction<List<PointHistory>> historyLoader) {
+        if (!enabled) {
+            return new Delta(0, serialize(new HistoryDelta(0, true, historyLoader.apply(userId))));
+        }
+        UserSync sync = users.get(userId);
+        Range range = sync == null ? untouchedRange(sinceVersion) : sync.range(sinceVersion);
+        if (range.cached() != null) {
+            return new Delta(range.version(), range.cached());
+        }
+
+        boolean full = range.fromId() == UNKNOWN;
+        List<PointHistory> histories = range.empty() ? List.of() : select(historyLoader.apply(userId), range);
+        byte[] body = serialize(new HistoryDelta(range.version(), full, histories));
+        if (sync != null && body.length <= MAX_CACHED_DELTA_BYTES
+                && cachedBytes.addAndGet(sync.cache(range.version(), sinceVersion, body)) > maxCachedBytes) {
+            trim();
+        }
+        return new Delta(range.version(), body);
+    }
+
+    public static String etag(long version) {
+        return "W/\"" + version + "\"";
+    }
+
+    int trackedUsers() {
+        return users.size();
+    }
+
+    long cachedBytes() {
+        return cachedBytes.get();
+    }
+
+    private Range untouchedRange(long sinceVersion) {
+        // 추적하지 않는 동안에는 커밋이 없었으니 그 버전을 가진 클라이언트는 바뀐 것이 없다.
+        long version = untrackedVersion;
+        boolean upToDate = sinceVersion == version;
+        return new Range(version, upToDate ? 0 : UNKNOWN, Long.MAX_VALUE, upToDate, null);
+    }
+
+    /**
+     * 사용자 수와 캐시 바이트를 한도의 3/4 까지 줄인다. (매번 정렬하지 않도록 여유를 두고, 한 스레드만 실행한다)
+     * - 오래 쓰지 않은 사용자부터 추적을 그만두고, 남은 사용자도 오래 쓰지 않은 순으로 캐시한 응답을 버린다.
+     */
+    private void trim() {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // 정렬 중에 바뀌지 않도록 마지막 사용 시각을 먼저 떠 둔다.
+            List<Candidate> byLastUsed = new ArrayList<>(users.size());
+            users.forEach((userId, sync) -> byLastUsed.add(new Candidate(userId, sync, sync.lastUsedNanos)));
+            byLastUsed.sort(Comparator.comparingLong(Candidate::lastUsedNanos));
+            int excessUsers = users.size() - maxUsers * 3 / 4;
+            long targetBytes = maxCachedBytes * 3 / 4;
+            boolean removed = false;
+            for (Candidate candidate : byLastUsed) {
+                if (excessUsers > 0 && users.remove(candidate.userId(), candidate.sync())) {
+                    cachedBytes.addAndGet(-candidate.sync().evict());
+                    excessUsers--;
+                    removed = true;
+                } else if (cachedBytes.get() > targetBytes) {
+                    cachedBytes.addAndGet(-candidate.sync().dropDeltas());
+                } else if (excessUsers <= 0) {
+                    break;
+                }
+            }
+            // 추적을 그만둔 사용자가 그 전에 받은 버전과 겹치지 않도록, 뺀 뒤에 새 순번을 받는다.
+            if (removed) {
+                untrackedVersion = sequence.incrementAndGet();
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    // 히스토리는 id 순이므로 뒤에서부터 fromId 까지만 훑는다.
+    private static List<PointHistory> select(List<PointHistory> histories, Range range) {
+        int end = histories.size();
+        while (end > 0 && histories.get(end - 1).id() > range.toId()) {
+            end--;
+        }
+        int start = end;
+        if (range.fromId() == UNKNOWN) {
+            start = 0;
+        } else {
+            while (start > 0 && histories.get(start - 1).id() > range.fromId()) {
+                start--;
+            }
+        }
+        return List.copyOf(histories.subList(start, end));
+    }
+
+    private byte[] serialize(HistoryDelta delta) {
+        try {
+            return objectMapper.writeValueAsBytes(delta);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public record UserVersion(
+            long version,
+            UserPoint userPoint
+    ) {
+    }
+
+    /**
+     * @param body HistoryDelta 의 JSON 바이트
+     */
+    public record Delta(
+            long version,
+            byte[] body
+    ) {
+    }
+
+    /**
+     * fromId 초과 toId 이하의 히스토리가 델타다. (fromId 가 UNKNOWN 이면 전체)
+     */
+    private record Range(
+            long version,
+            long fromId,
+            long toId,
+            boolean empty,
+            byte[] cached
+    ) {
+    }
+
+    private record Candidate(
+            long userId,
+            UserSync sync,
+            long lastUsedNanos
+    ) {
+    }
+
+    /**
+     * 한 사용자의 버전 상태 (커밋은 사용자 락 안에서 오지만, 조회와 겹치므로 이 객체의 모니터로 보호한다)
+     */
+    private static class UserSync {
+
+        // 마지막으로 커밋/조회한 시각 (trim 에서 오래 쓰지 않은 순으로 고른다)
+        private volatile long lastUsedNanos = System.nanoTime();
+
+        private long version;
+        private UserPoint userPoint;
+        private long lastHistoryId;
+        // 버전별 그때까지의 마지막 히스토리 id (오래된 순)
+        private long[] versions = new long[4];
+        private long[] lastHistoryIds = new long[4];
+        private int size;
+        private final Map<Long, byte[]> deltas = new HashMap<>();
+        private long deltasVersion;
+        private long deltaBytes;
+        private boolean evicted;
+
+        private UserSync(long initialVersion, PointHistory firstHistory) {
+            // 첫 커밋 전의 히스토리는 모두 첫 히스토리보다 id 가 작다.
+            lastHistoryId = firstHistory == null ? UNKNOWN : firstHistory.id() - 1;
+            version = initialVersion;
+            if (firstHistory != null) {
+                append(initialVersion, lastHistoryId);
+            }
+        }
+
+        private synchronized void commit(long version, UserPoint userPoint, PointHistory history) {
+            lastUsedNanos = System.nanoTime();
+            this.version = version;
+            this.userPoint = userPoint;
+            if (history != null) {
+                lastHistoryId = history.id();
+            }
+            append(version, lastHistoryId);
+        }
+
+        private synchronized UserVersion current() {
+            lastUsedNanos = System.nanoTime();
+            return new UserVersion(version, userPoint);
+        }
+
+        private synchronized Range range(long sinceVersion) {
+            lastUsedNanos = System.nanoTime();
+            byte[] cached = deltasVersion == version ? deltas.get(sinceVersion) : null;
+            long fromId = UNKNOWN;
+            for (int i = size - 1; i >= 0; i--) {
+                if (versions[i] == sinceVersion) {
+                    fromId = lastHistoryIds[i];
+                    break;
+                }
+            }
+            boolean empty = sinceVersion == version && fromId != UNKNOWN;
+            return new Range(version, fromId, lastHistoryId == UNKNOWN ? Long.MAX_VALUE : lastHistoryId, empty, cached);
+        }
+
+        // 캐시한 바이트의 증감을 돌려준다.
+        private synchronized long cache(long version, long sinceVersion, byte[] body) {
+            if (evicted || version != this.version) {
+                return 0;
+            }
+            long freed = 0;
+            if (deltasVersion != version || deltas.size() >= CACHED_DELTAS) {
+                freed = dropDeltas();
+                deltasVersion = version;
+            }
+            byte[] previous = deltas.put(sinceVersion, body);
+            long added = body.length - (previous == null ? 0 : previous.length);
+            deltaBytes += added;
+            return added - freed;
+        }
+
+        // 버린 바이트를 돌려준다.
+        private synchronized long dropDeltas() {
+            long freed = deltaBytes;
+            deltas.clear();
+            deltaBytes = 0;
+            return freed;
+        }
+
+        // 추적을 그만둔 뒤에 끝난 조회가 다시 캐시하지 않게 한다.
+        private synchronized long evict() {
+            evicted = true;
+            return dropDeltas();
+        }
+
+        private void append(long version, long historyId) {
+            if (size == RETAINED_VERSIONS) {
+                System.arraycopy(versions, 1, versions, 0, size - 1);
+                System.arraycopy(lastHistoryIds, 1, lastHistoryIds, 0, size - 1);
+                size--;
+            } else if (size == versions.length) {
+                versions = Arrays.copyOf(versions, Math.min(size * 2, RETAINED_VERSIONS));
+                lastHistoryIds = Arrays.copyOf(lastHistoryIds, versions.length);
+            }
+            versions[size] = version;
+            lastHistoryIds[size] = historyId;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.hhplus.tdd.point.transfer;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import static io.hhplus.tdd.point.transfer.BinaryPointRecordWriter.*;
+
+class BinaryPointRecordReader implements PointRecordReader {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(TransferFormat.BUFFER_SIZE);
+
+    BinaryPointRecordReader(ReadableByteChannel channel) {
+        this.channel = channel;
+        buffer.limit(0);
+    }
+
+    @Override
+    public void readAll(PointRecordHandler handler) throws IOException {
+        if (!fill(Integer.BYTES) || buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("바이너리 이관 파일 형식이 아닙니다.");
+        }
+
+        while (fill(1)) {
+            byte tag = buffer.get(buffer.position());
+            if (tag == USER_POINT) {
+                require(USER_POINT_SIZE);
+                buffer.get();
+                handler.onUserPoint(new UserPoint(buffer.getLong(), buffer.getLong(), buffer.getLong()));
+            } else if (tag == HISTORY) {
+                require(HISTORY_SIZE);
+                buffer.get();
+                long id = buffer.getLong();
+                long userId = buffer.getLong();
+                long amount = buffer.getLong();
+                TransactionType type = TYPES[buffer.get()];
+                handler.onHistory(new PointHistory(id, userId, amount, type, buffer.getLong()));
+            } else {
+                throw new IllegalArgumentException("알 수 없는 레코드 타입입니다: " + tag);
+            }
+        }
+    }
+
+    private void require(int size) throws IOException {
+        if (!fill(size)) {
+            throw new IllegalArgumentException("레코드가 중간에 끊겼습니다.");
+        }
+    }
+
+    // buffer 를 읽기 모드로 유지하면서 최소 size 바이트가 남도록 채운다. 파일 끝이면 false.
+    private boolean fill(int size) throws IOException {
+        while (buffer.remaining() < size) {
+            buffer.compact();
+            int read = channel.read(buffer);
+            buffer.flip();
+            if (read < 0) {
+                return buffer.remaining() >= size;
+            }
+        }
+        return true;
+    }
+}
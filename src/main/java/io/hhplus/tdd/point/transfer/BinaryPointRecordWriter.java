@@ -0,0 +1,64 @@
+package io.hhplus.tdd.point.transfer;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.UserPoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+class BinaryPointRecordWriter implements PointRecordWriter {
+
+    static final int MAGIC = 0x504E5431; // "PNT1"
+    static final byte USER_POINT = 'U';
+    static final byte HISTORY = 'H';
+    static final int USER_POINT_SIZE = 1 + Long.BYTES * 3;
+    static final int HISTORY_SIZE = 1 + Long.BYTES * 4 + 1;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(TransferFormat.BUFFER_SIZE);
+
+    BinaryPointRecordWriter(WritableByteChannel channel) {
+        this.channel = channel;
+        buffer.putInt(MAGIC);
+    }
+
+    @Override
+    public void writeUserPoint(UserPoint userPoint) throws IOException {
+        ensureCapacity(USER_POINT_SIZE);
+        buffer.put(USER_POINT)
+                .putLong(userPoint.id())
+                .putLong(userPoint.point())
+                .putLong(userPoint.updateMillis());
+    }
+
+    @Override
+    public void writeHistory(PointHistory history) throws IOException {
+        ensureCapacity(HISTORY_SIZE);
+        buffer.put(HISTORY)
+                .putLong(history.id())
+                .putLong(history.userId())
+                .putLong(history.amount())
+                .put((byte) history.type().ordinal())
+                .putLong(history.updateMillis());
+    }
+
+    @Override
+    public void close() throws IOException {
+        drain();
+    }
+
+    private void ensureCapacity(int size) throws IOException {
+        if (buffer.remaining() < size) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
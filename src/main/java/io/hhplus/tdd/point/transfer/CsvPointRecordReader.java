@@ -0,0 +1,129 @@
+package io.hhplus.tdd.point.transfer;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 한 줄씩 바이트 배열로 모은 뒤 필드를 직접 파싱한다. (빈 줄은 건너뛴다)
+ */
+class CsvPointRecordReader implements PointRecordReader {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final byte[][] TYPE_NAMES = Arrays.stream(TYPES)
+            .map(type -> type.name().getBytes(StandardCharsets.US_ASCII))
+            .toArray(byte[][]::new);
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(TransferFormat.BUFFER_SIZE);
+    private byte[] line = new byte[128];
+    private int lineLength;
+    private int cursor;
+    private long lineNumber;
+
+    CsvPointRecordReader(ReadableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void readAll(PointRecordHandler handler) throws IOException {
+        while (channel.read(buffer) >= 0) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                if (b == '\n') {
+                    parseLine(handler);
+                } else if (b != '\r') {
+                    append(b);
+                }
+            }
+            buffer.clear();
+        }
+        parseLine(handler);
+    }
+
+    private void parseLine(PointRecordHandler handler) {
+        lineNumber++;
+        if (lineLength == 0) {
+            return;
+        }
+
+        cursor = 1;
+        byte tag = line[0];
+        if (tag == 'U') {
+            handler.onUserPoint(new UserPoint(nextLong(), nextLong(), nextLong()));
+        } else if (tag == 'H') {
+            long id = nextLong();
+            long userId = nextLong();
+            long amount = nextLong();
+            TransactionType type = nextType();
+            handler.onHistory(new PointHistory(id, userId, amount, type, nextLong()));
+        } else {
+            throw invalidLine();
+        }
+        if (cursor != lineLength) {
+            throw invalidLine();
+        }
+        lineLength = 0;
+    }
+
+    private long nextLong() {
+        expectComma();
+        boolean negative = cursor < lineLength && line[cursor] == '-';
+        if (negative) {
+            cursor++;
+        }
+
+        int start = cursor;
+        long value = 0;
+        while (cursor < lineLength && line[cursor] != ',') {
+            int digit = line[cursor++] - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalidLine();
+            }
+            value = value * 10 + digit;
+        }
+        if (cursor == start) {
+            throw invalidLine();
+        }
+        return negative ? -value : value;
+    }
+
+    private TransactionType nextType() {
+        expectComma();
+        int start = cursor;
+        while (cursor < lineLength && line[cursor] != ',') {
+            cursor++;
+        }
+        for (int i = 0; i < TYPES.length; i++) {
+            if (Arrays.equals(line, start, cursor, TYPE_NAMES[i], 0, TYPE_NAMES[i].length)) {
+                return TYPES[i];
+            }
+        }
+        throw invalidLine();
+    }
+
+    private void expectComma() {
+        if (cursor >= lineLength || line[cursor] != ',') {
+            throw invalidLine();
+        }
+        cursor++;
+    }
+
+    private void append(byte b) {
+        if (lineLength == line.length) {
+            line = Arrays.copyOf(line, line.length * 2);
+        }
+        line[lineLength++] = b;
+    }
+
+    private IllegalArgumentException invalidLine() {
+        return new IllegalArgumentException("CSV 형식이 올바르지 않습니다. (line " + lineNumber + ")");
+    }
+}
@@ -0,0 +1,94 @@
+package io.hhplus.tdd.point.transfer;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 숫자를 문자열로 만들지 않고 버퍼에 바로 ASCII 로 기록한다.
+ */
+class CsvPointRecordWriter implements PointRecordWriter {
+
+    private static final int MAX_LINE_SIZE = 128;
+    private static final byte[][] TYPE_NAMES = typeNames();
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(TransferFormat.BUFFER_SIZE);
+    private final byte[] digits = new byte[20];
+
+    CsvPointRecordWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void writeUserPoint(UserPoint userPoint) throws IOException {
+        ensureCapacity();
+        buffer.put((byte) 'U');
+        putField(userPoint.id());
+        putField(userPoint.point());
+        putField(userPoint.updateMillis());
+        buffer.put((byte) '\n');
+    }
+
+    @Override
+    public void writeHistory(PointHistory history) throws IOException {
+        ensureCapacity();
+        buffer.put((byte) 'H');
+        putField(history.id());
+        putField(history.userId());
+        putField(history.amount());
+        buffer.put((byte) ',').put(TYPE_NAMES[history.type().ordinal()]);
+        putField(history.updateMillis());
+        buffer.put((byte) '\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        drain();
+    }
+
+    private void putField(long value) {
+        buffer.put((byte) ',');
+        if (value < 0) {
+            buffer.put(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+
+        int length = 0;
+        do {
+            digits[length++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        while (length > 0) {
+            buffer.put(digits[--length]);
+        }
+    }
+
+    private void ensureCapacity() throws IOException {
+        if (buffer.remaining() < MAX_LINE_SIZE) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static byte[][] typeNames() {
+        TransactionType[] types = TransactionType.values();
+        byte[][] names = new byte[types.length][];
+        for (TransactionType type : types) {
+            names[type.ordinal()] = type.name().getBytes(StandardCharsets.US_ASCII);
+        }
+        return names;
+    }
+}
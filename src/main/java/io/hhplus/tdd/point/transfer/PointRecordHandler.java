@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.transfer;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.UserPoint;
+
+public interface PointRecordHandler {
+
+    void onUserPoint(UserPoint userPoint);
+
+    void onHistory(PointHistory history);
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point.transfer;
+
+import java.io.IOException;
+
+/**
+ * 이관 레코드 읽기
+ * - 파일 끝까지 순서대로 읽으며 레코드마다 handler 를 호출한다.
+ */
+public interface PointRecordReader {
+
+    void readAll(PointRecordHandler handler) throws IOException;
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point.transfer;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.UserPoint;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 이관 레코드 쓰기
+ * - close() 는 버퍼에 남은 레코드를 채널로 내보내지만 채널 자체는 닫지 않는다.
+ */
+public interface PointRecordWriter extends Closeable {
+
+    void writeUserPoint(UserPoint userPoint) throws IOException;
+
+    void writeHistory(PointHistory history) throws IOException;
+}
@@ -0,0 +1,169 @@
+package io.hhplus.tdd.point.transfer;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.service.UserPointRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * 잔고/히스토리 벌크 이관
+ * - export : UserPointRegistry 스냅샷 시점의 잔고와, 그 시점까지 커밋된 히스토리만 기록한다.
+ * - import : 사용자 단위로 묶어 배치로 나눈 뒤 PointService.restore 로 병렬 적용한다.
+ *   (한 사용자의 레코드는 항상 같은 배치에 들어가므로 사용자별 적용 순서가 유지된다)
+ */
+@Service
+@RequiredArgsConstructor
+public class PointTransferService {
+
+    private static final int IMPORT_BATCH_SIZE = 256;
+    private static final int IMPORT_PARALLELISM = 32;
+    private static final int MAX_IN_FLIGHT_BATCHES = IMPORT_PARALLELISM * 2;
+
+    private final PointService pointService;
+    private final UserPointRegistry userPointRegistry;
+
+    public TransferResult exportTo(Path path, TransferFormat format) throws IOException {
+        long startMillis = System.currentTimeMillis();
+        List<UserPointRegistry.Entry> snapshot = userPointRegistry.snapshot();
+        long historyCount = 0;
+
+        try (FileChannel channel = FileChannel.open(path, CREATE, TRUNCATE_EXISTING, WRITE);
+             PointRecordWriter writer = format.newWriter(channel)) {
+            for (UserPointRegistry.Entry entry : snapshot) {
+                UserPoint userPoint = entry.userPoint();
+                writer.writeUserPoint(userPoint);
+
+                // 히스토리는 append-only 이므로 스냅샷 당시 건수까지만 내보내면 같은 시점이 된다.
+                List<PointHistory> histories = pointService.getHistories(userPoint.id());
+                int count = Math.min(entry.historyCount(), histories.size());
+                for (int i = 0; i < count; i++) {
+                    writer.writeHistory(histories.get(i));
+                }
+                historyCount += count;
+            }
+        }
+
+        return new TransferResult(snapshot.size(), historyCount, System.currentTimeMillis() - startMillis);
+    }
+
+    public TransferResult importFrom(Path path, TransferFormat format) throws IOException {
+        long startMillis = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(IMPORT_PARALLELISM);
+        ImportHandler handler = new ImportHandler(executor);
+
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            format.newReader(channel).readAll(handler);
+            handler.finish();
+        } finally {
+            executor.shutdown();
+            awaitTermination(executor);
+        }
+
+        RuntimeException failure = handler.failure.get();
+        if (failure != null) {
+            throw failure;
+        }
+        return new TransferResult(handler.userCount, handler.historyCount, System.currentTimeMillis() - startMillis);
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                // 남은 배치가 끝날 때까지 대기
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private record UserRecords(
+            UserPoint userPoint,
+            List<PointHistory> histories
+    ) {
+    }
+
+    private class ImportHandler implements PointRecordHandler {
+
+        private final ExecutorService executor;
+        private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT_BATCHES);
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private List<UserRecords> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        private UserRecords current;
+        private long userCount;
+        private long historyCount;
+
+        private ImportHandler(ExecutorService executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void onUserPoint(UserPoint userPoint) {
+            flushCurrent();
+            current = new UserRecords(userPoint, new ArrayList<>());
+            userCount++;
+        }
+
+        @Override
+        public void onHistory(PointHistory history) {
+            if (current == null || current.userPoint().id() != history.userId()) {
+                throw new IllegalArgumentException("히스토리 앞에는 같은 사용자의 잔고 레코드가 있어야 합니다.");
+            }
+            current.histories().add(history);
+            historyCount++;
+        }
+
+        private void finish() {
+            flushCurrent();
+            submit();
+        }
+
+        private void flushCurrent() {
+            if (current == null) {
+                return;
+            }
+            batch.add(current);
+            current = null;
+            if (batch.size() >= IMPORT_BATCH_SIZE) {
+                submit();
+            }
+        }
+
+        private void submit() {
+            if (batch.isEmpty() || failure.get() != null) {
+                batch.clear();
+                return;
+            }
+
+            List<UserRecords> submitted = batch;
+            batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+            inFlight.acquireUninterruptibly();
+            executor.execute(() -> {
+                try {
+                    for (UserRecords records : submitted) {
+                        pointService.restore(records.userPoint(), records.histories());
+                    }
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+}
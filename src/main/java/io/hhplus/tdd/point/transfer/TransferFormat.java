@@ -0,0 +1,41 @@
+package io.hhplus.tdd.point.transfer;
+
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * 벌크 이관 파일 포맷
+ * - BINARY : 고정 길이 레코드 (U 25 byte, H 34 byte), 매직 넘버로 시작
+ * - CSV : U,id,point,updateMillis / H,id,userId,amount,type,updateMillis
+ * 두 포맷 모두 사용자 잔고(U) 뒤에 해당 사용자의 히스토리(H)가 이어지는 순서를 따른다.
+ */
+public enum TransferFormat {
+    BINARY {
+        @Override
+        public PointRecordWriter newWriter(WritableByteChannel channel) {
+            return new BinaryPointRecordWriter(channel);
+        }
+
+        @Override
+        public PointRecordReader newReader(ReadableByteChannel channel) {
+            return new BinaryPointRecordReader(channel);
+        }
+    },
+    CSV {
+        @Override
+        public PointRecordWriter newWriter(WritableByteChannel channel) {
+            return new CsvPointRecordWriter(channel);
+        }
+
+        @Override
+        public PointRecordReader newReader(ReadableByteChannel channel) {
+            return new CsvPointRecordReader(channel);
+        }
+    };
+
+    static final int BUFFER_SIZE = 1 << 16;
+
+    public abstract PointRecordWriter newWriter(WritableByteChannel channel);
+
+    public abstract PointRecordReader newReader(ReadableByteChannel channel);
+}
@@ -0,0 +1,8 @@
+package io.hhplus.tdd.point.transfer;
+
+public record TransferResult(
+        long userCount,
+        long historyCount,
+        long elapsedMillis
+) {
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point.wal;
+
+/**
+ * 읽어 둔 잔고가 그대로일 때만 바꾸는 잔고 테이블
+ * - 사용자 락은 인스턴스 안에서만 유효하므로, 여러 인스턴스가 한 DB 를 쓰면 읽은 뒤 쓰기 전에 다른 인스턴스가 잔고를 바꿀 수 있다.
+ * - PointService 는 이 테이블이면 잔고를 먼저 조건부로 쓰고, 어긋나면 히스토리를 쓰지 않고 실패시킨다.
+ *   WAL 정리(롤백/완료)도 잔고가 짝의 한쪽 값일 때만 바꾸고, 다른 값이면 덮어쓰지 않는다.
+ */
+public interface ConditionalBalanceTable {
+
+    /**
+     * 잔고가 expectedPoint 일 때만 newPoint 로 바꾼다. (행이 없으면 잔고 0 으로 본다)
+     * @return 바꿨으면 true, 잔고가 expectedPoint 가 아니면 false
+     */
+    boolean compareAndSet(long userId, long expectedPoint, long newPoint);
+}
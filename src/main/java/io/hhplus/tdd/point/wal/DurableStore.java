@@ -0,0 +1,9 @@
+package io.hhplus.tdd.point.wal;
+
+/**
+ * 재기동 후에도 내용이 남는 잔고/히스토리 저장소 표시
+ * - PointService.recover 는 잔고 테이블과 히스토리 저장소가 모두 DurableStore 일 때만 WAL 의 미완료 짝을 복구한다.
+ * - 메모리 저장소는 재기동하면 비어 있으므로, 남은 엔트리로 잔고를 맞추면 없던 잔고가 생긴다.
+ */
+public interface DurableStore {
+}
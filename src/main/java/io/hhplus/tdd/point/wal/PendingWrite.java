@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point.wal;
+
+import io.hhplus.tdd.point.entity.TransactionType;
+
+/**
+ * 잔고/히스토리 짝 쓰기 하나의 WAL 엔트리
+ * - previousPoint 는 쓰기 전 잔고, nextPoint 는 쓰려는 잔고다. 복구 시 어느 쪽으로 맞출지 판단하는 데 쓴다.
+ * - 히스토리는 행에 함께 남긴 txId(HistoryRef)로 찾는다. (같은 ms 에 같은 금액/유형의 쓰기가 있어도 구분된다)
+ */
+public record PendingWrite(
+        long txId,
+        long userId,
+        long previousPoint,
+        long nextPoint,
+        long amount,
+        TransactionType type,
+        long updateMillis
+) {
+}
@@ -0,0 +1,316 @@
+package io.hhplus.tdd.point.wal;
+
+import io.hhplus.tdd.point.entity.TransactionType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * 잔고/히스토리 짝 쓰기의 로컬 WAL
+ * - 두 쓰기를 동시에 내보내기 전에 BEGIN 을, 둘 다 끝나거나 복구가 끝나면 END 를 남긴다.
+ *   END 가 없는 엔트리가 완료/롤백해야 할 짝이다. (pending)
+ * - point.wal.path 가 지정되면 레코드를 파일에도 이어 쓰고, 기동 시 읽어 미완료 엔트리를 복원한다.
+ *   레코드는 OS 버퍼까지만 쓰므로 프로세스 크래시는 견디고, fsync 는 하지 않는다.
+ *   레코드마다 CRC32C 를 붙여, 복원할 때 체크섬이 맞지 않는 첫 레코드에서 멈추고 그 뒤를 잘라낸다.
+ * - 파일이 커지면 미완료 엔트리만 담은 새 파일을 따로 만들어 교체한다. 교체가 끝나기 전에는 기존 파일에 계속 쓴다.
+ * - txId 는 기동 시각(ms) << 20 부터 발급해, 압축으로 지워진 이전 txId 와도 재기동 후 겹치지 않는다.
+ *   히스토리 행에 txId 를 함께 남기므로 겹치면 다른 쓰기의 히스토리를 짝으로 오인한다.
+ * - 짝 쓰기 중 히스토리 쪽을 실행할 작업 스레드도 함께 둔다.
+ */
+@Slf4j
+@Component
+public class PointWriteAheadLog implements Closeable {
+
+    private static final byte BEGIN = 1;
+    private static final byte END = 2;
+    // type(1) + txId, userId, previousPoint, nextPoint, amount, updateMillis(8 * 6) + transactionType(1) + crc(4)
+    private static final int BODY_SIZE = 1 + 8 * 6 + 1;
+    private static final int RECORD_SIZE = BODY_SIZE + 4;
+    private static final long COMPACT_THRESHOLD_BYTES = 4L * 1024 * 1024;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Path path;
+    private final ThreadPoolExecutor writers;
+    // 아래 필드는 this 모니터로 보호한다.
+    private final ByteBuffer record = ByteBuffer.allocateDirect(RECORD_SIZE);
+    private final CRC32C crc = new CRC32C();
+    private final Map<Long, PendingWrite> pending = new LinkedHashMap<>();
+    private FileChannel channel;
+    private long compactAtBytes = COMPACT_THRESHOLD_BYTES;
+    private long nextTxId = System.currentTimeMillis() << 20;
+
+    public PointWriteAheadLog(@Value("${point.wal.path:}") String path,
+                              @Value("${point.wal.writers:64}") int writerCount) {
+        this.path = path.isBlank() ? null : Path.of(path);
+        this.writers = new ThreadPoolExecutor(writerCount, writerCount, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), daemon());
+        writers.allowCoreThreadTimeOut(true);
+        if (this.path != null) {
+            channel = open(this.path);
+            replay();
+        }
+    }
+
+    /**
+     * 파일 없이 메모리에만 엔트리를 두는 WAL (단위 테스트, 클러스터 노드, 워밍업용)
+     */
+    public static PointWriteAheadLog inMemory() {
+        return new PointWriteAheadLog("", 8);
+    }
+
+    public synchronized PendingWrite begin(long userId, long previousPoint, long nextPoint,
+                                           long amount, TransactionType type, long updateMillis) {
+        return begin(nextTxId++, userId, previousPoint, nextPoint, amount, type, updateMillis);
+    }
+
+    /**
+     * reserveTxId 로 미리 받은 txId 로 시작한다.
+     */
+    public synchronized PendingWrite begin(long txId, long userId, long previousPoint, long nextPoint,
+                                           long amount, TransactionType type, long updateMillis) {
+        PendingWrite write = new PendingWrite(txId, userId, previousPoint, nextPoint, amount, type, updateMillis);
+        append(BEGIN, write);
+        pending.put(write.txId(), write);
+        return write;
+    }
+
+    /**
+     * 쓰기 전에 txId 를 미리 발급한다.
+     * - 호출자가 txId 를 먼저 남겨 두면(정산 체크포인트 등) 결과를 모를 때 그 txId 의 히스토리로 적용 여부를 확인할 수 있다.
+     */
+    public synchronized long reserveTxId() {
+        return nextTxId++;
+    }
+
+    public synchronized void end(PendingWrite write) {
+        if (pending.remove(write.txId()) == null) {
+            return;
+        }
+        append(END, write);
+        if (channel != null && sizeBytes() > compactAtBytes) {
+            compact();
+        }
+    }
+
+    /**
+     * 아직 END 가 없는 엔트리 (txId 순)
+     */
+    public synchronized List<PendingWrite> pending() {
+        return new ArrayList<>(pending.values());
+    }
+
+    /**
+     * 해당 사용자의 미완료 엔트리 (txId 순)
+     * - 사용자 락 안에서 새 쓰기 전에 확인해, 앞선 짝이 정리되기 전에는 다음 쓰기로 넘어가지 않게 한다.
+     */
+    public synchronized List<PendingWrite> pending(long userId) {
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        List<PendingWrite> writes = new ArrayList<>();
+        for (PendingWrite write : pending.values()) {
+            if (write.userId() == userId) {
+                writes.add(write);
+            }
+        }
+        return writes;
+    }
+
+    /**
+     * 짝 쓰기의 한쪽을 작업 스레드에서 실행한다.
+     * 작업 스레드를 쓸 수 없으면(종료 중) 호출 스레드에서 바로 실행한다.
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, writers);
+        } catch (RejectedExecutionException e) {
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (RuntimeException failure) {
+                return CompletableFuture.failedFuture(failure);
+            }
+        }
+    }
+
+    @PreDestroy
+    @Override
+    public synchronized void close() {
+        writers.shutdown();
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.force(false);
+            channel.close();
+            channel = null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 쓰다 만 레코드나 체크섬이 맞지 않는 레코드를 만나면 거기서 멈추고 그 뒤를 잘라낸다.
+    private void replay() {
+        try {
+            ByteBuffer readBuffer = ByteBuffer.allocate(RECORD_SIZE * 1024);
+            long position = 0;
+            long validLength = 0;
+            boolean corrupted = false;
+            while (!corrupted && channel.read(readBuffer, position) > 0) {
+                readBuffer.flip();
+                while (readBuffer.remaining() >= RECORD_SIZE) {
+                    byte kind = readBuffer.get(readBuffer.position());
+                    PendingWrite write = read(readBuffer);
+                    if (write == null) {
+                        corrupted = true;
+                        break;
+                    }
+                    if (kind == BEGIN) {
+                        pending.put(write.txId(), write);
+                    } else {
+                        pending.remove(write.txId());
+                    }
+                    nextTxId = Math.max(nextTxId, write.txId() + 1);
+                    validLength += RECORD_SIZE;
+                }
+                if (position == validLength) {
+                    // 레코드 하나도 못 채운 꼬리만 남았다.
+                    break;
+                }
+                position = validLength;
+                readBuffer.clear();
+            }
+            channel.truncate(validLength);
+            channel.position(validLength);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 체크섬과 type 이 맞으면 레코드를 읽고, 아니면 null
+    private PendingWrite read(ByteBuffer buffer) {
+        int start = buffer.position();
+        crc.reset();
+        crc.update(buffer.array(), buffer.arrayOffset() + start, BODY_SIZE);
+        byte kind = buffer.get(start);
+        int type = buffer.get(start + BODY_SIZE - 9);
+        if ((int) crc.getValue() != buffer.getInt(start + BODY_SIZE)
+                || kind != BEGIN && kind != END || type < 0 || type >= TYPES.length) {
+            return null;
+        }
+        buffer.get();
+        PendingWrite write = new PendingWrite(buffer.getLong(), buffer.getLong(), buffer.getLong(),
+                buffer.getLong(), buffer.getLong(), TYPES[buffer.get()], buffer.getLong());
+        buffer.getInt();
+        return write;
+    }
+
+    private void append(byte kind, PendingWrite write) {
+        if (channel != null) {
+            append(channel, kind, write);
+        }
+    }
+
+    private void append(FileChannel target, byte kind, PendingWrite write) {
+        record.clear();
+        record.put(kind)
+                .putLong(write.txId())
+                .putLong(write.userId())
+                .putLong(write.previousPoint())
+                .putLong(write.nextPoint())
+                .putLong(write.amount())
+                .put((byte) write.type().ordinal())
+                .putLong(write.updateMillis());
+        crc.reset();
+        crc.update(record.flip());
+        record.limit(RECORD_SIZE).putInt(BODY_SIZE, (int) crc.getValue());
+        record.position(0);
+        try {
+            while (record.hasRemaining()) {
+                target.write(record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long sizeBytes() {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 미완료 엔트리의 BEGIN 만 담은 새 파일로 교체한다.
+     * - 새 파일은 따로 만들어 내린 뒤 원자적으로 옮기고, 옮긴 뒤에만 쓰는 채널을 바꾼다.
+     *   교체하지 못했으면 기존 파일에 계속 쓰고, 파일이 임계치만큼 더 커졌을 때 다시 시도한다.
+     */
+    private void compact() {
+        Path compacting = path.resolveSibling(path.getFileName() + ".compacting");
+        try {
+            try (FileChannel next = FileChannel.open(compacting, CREATE, TRUNCATE_EXISTING, WRITE)) {
+                for (PendingWrite write : pending.values()) {
+                    append(next, BEGIN, write);
+                }
+                next.force(false);
+            }
+            Files.move(compacting, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("WAL 을 압축하지 못해 기존 파일에 계속 씁니다.", e);
+            compactAtBytes = sizeBytes() + COMPACT_THRESHOLD_BYTES;
+            return;
+        }
+        FileChannel current = channel;
+        channel = open(path);
+        compactAtBytes = COMPACT_THRESHOLD_BYTES;
+        try {
+            current.close();
+        } catch (IOException e) {
+            log.warn("압축 전 WAL 파일을 닫지 못했습니다.", e);
+        }
+    }
+
+    private static FileChannel open(Path path) {
+        try {
+            FileChannel channel = FileChannel.open(path, CREATE, READ, WRITE);
+            channel.position(channel.size());
+            return channel;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ThreadFactory daemon() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "point-wal-writer-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,173 @@
+package io.hhplus.tdd.point.warmup;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.history.InMemoryPointHistoryStore;
+import io.hhplus.tdd.point.lock.LocalLockProvider;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.wal.PointWriteAheadLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 기동 워밍업
+ * - ApplicationRunner 는 readiness 가 ACCEPTING_TRAFFIC 으로 바뀌기 전에 실행되므로,
+ *   여기서 포인트 경로를 미리 돌려 클래스 로딩/JIT 컴파일 비용을 첫 요청들이 떠안지 않게 한다.
+ * - 서비스 단계는 지연 없는 메모리 저장소를 쓰는 별도 PointService 로 돌리므로 실제 잔고/히스토리와 리스너는 건드리지 않는다.
+ * - HTTP 단계는 상태를 바꾸지 않는 요청(조회, 최소 금액 미만 충전)만 자기 자신에게 보낸다.
+ * - AOT 처리 시 빈 조건은 빌드 시점에 고정되므로, 실행 여부는 빈 조건이 아니라 point.warmup.enabled 로 판단한다.
+ * - 워밍업 실패는 기동을 막지 않는다.
+ */
+@Slf4j
+@Component
+public class PointWarmup implements ApplicationRunner {
+
+    // 실제 사용자와 겹치지 않는 음수 id 를 쓴다.
+    static final long WARMUP_USER_ID = -1L;
+    private static final int SERVICE_USERS = 64;
+    // 워밍업 저장소는 사용자별 최근 히스토리 몇 건만 남긴다.
+    private static final int RETAINED_HISTORIES = 16;
+    private static final int HTTP_CONCURRENCY = 16;
+
+    private final Environment environment;
+    private final boolean enabled;
+    private final int iterations;
+    private final int httpRequests;
+    private final Duration maxDuration;
+
+    public PointWarmup(Environment environment,
+                       @Value("${point.warmup.enabled:false}") boolean enabled,
+                       @Value("${point.warmup.iterations:20000}") int iterations,
+                       @Value("${point.warmup.http-requests:64}") int httpRequests,
+                       @Value("${point.warmup.max-duration:10s}") Duration maxDuration) {
+        this.environment = environment;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.httpRequests = httpRequests;
+        this.maxDuration = maxDuration;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + maxDuration.toNanos();
+        try {
+            int serviceRounds = warmUpService(deadlineNanos);
+            Integer port = environment.getProperty("local.server.port", Integer.class);
+            int responses = port == null ? 0 : warmUpHttp(port, deadlineNanos);
+            log.info("워밍업 완료: 서비스 {} 회, HTTP {} 건, {} ms",
+                    serviceRounds, responses, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        } catch (RuntimeException e) {
+            log.warn("워밍업을 끝내지 못했습니다. 그대로 기동합니다.", e);
+        }
+    }
+
+    /**
+     * 충전/사용/조회와 거절 경로를 반복한다.
+     * @return 완료한 반복 횟수
+     */
+    int warmUpService(long deadlineNanos) {
+        PointService pointService = new PointService(new InMemoryUserPointTable(), new InMemoryPointHistoryStore(RETAINED_HISTORIES),
+                new LocalLockProvider(), List.of(), PointWriteAheadLog.inMemory());
+        int round = 0;
+        for (; round < iterations && System.nanoTime() < deadlineNanos; round++) {
+            long userId = round % SERVICE_USERS;
+            pointService.charge(userId, 1_000);
+            pointService.use(userId, 1_000);
+            pointService.getPoint(userId);
+            pointService.getHistories(userId);
+            expectRejected(() -> pointService.charge(userId, 1));
+            expectRejected(() -> pointService.use(userId, UserPoint.MAX_BALANCE));
+        }
+        return round;
+    }
+
+    /**
+     * 컨트롤러, Jackson 직렬화, 예외 변환 경로를 HTTP 로 한 번씩 돌린다.
+     * @return 응답을 받은 요청 수
+     */
+    int warmUpHttp(int port, long deadlineNanos) {
+        URI base = URI.create("http://localhost:" + port + "/point/" + WARMUP_USER_ID);
+        List<HttpRequest> requests = List.of(
+                HttpRequest.newBuilder(base).GET().build(),
+                HttpRequest.newBuilder(URI.create(base + "/histories")).GET().build(),
+                HttpRequest.newBuilder(URI.create(base + "/charge"))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"amount\":0}"))
+                        .build()
+        );
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        Semaphore inFlight = new Semaphore(HTTP_CONCURRENCY);
+        AtomicLong responses = new AtomicLong();
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        try {
+            for (int i = 0; i < httpRequests && System.nanoTime() < deadlineNanos; i++) {
+                inFlight.acquire();
+                pending.add(client.sendAsync(requests.get(i % requests.size()), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, e) -> {
+                            inFlight.release();
+                            if (e == null) {
+                                responses.incrementAndGet();
+                            }
+                        }));
+            }
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                    .get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.debug("일부 워밍업 요청이 실패했습니다.", e);
+        }
+        return (int) responses.get();
+    }
+
+    private static void expectRejected(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException expected) {
+            // 거절 경로를 데우는 것이 목적이다.
+        }
+    }
+
+    /**
+     * 지연 없이 잔고를 보관하는 워밍업 전용 테이블
+     */
+    private static class InMemoryUserPointTable extends UserPointTable {
+
+        private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+
+        @Override
+        public UserPoint selectById(Long id) {
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+    }
+}
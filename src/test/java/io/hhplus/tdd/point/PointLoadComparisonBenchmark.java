@@ -0,0 +1,60 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+/**
+ * MVC 엔드포인트와 Reactive 엔드포인트의 조회 부하 비교 (./gradlew benchmark)
+ * - 같은 동시 요청 수로 GET 을 보내 처리량과 p99 지연을 출력한다.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("MVC/Reactive 조회 부하 비교")
+class PointLoadComparisonBenchmark {
+
+    private static final int CONCURRENCY = 400;
+    private static final int REQUESTS = 4_000;
+
+    @LocalServerPort
+    int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/point/1", "/reactive/point/1"})
+    void getPoint(String path) {
+        URI uri = URI.create("http://localhost:" + port + path);
+        Semaphore concurrency = new Semaphore(CONCURRENCY);
+        List<CompletableFuture<Long>> latencies = new ArrayList<>(REQUESTS);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            concurrency.acquireUninterruptibly();
+            long sent = System.nanoTime();
+            latencies.add(client.sendAsync(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding())
+                    .thenApply(response -> System.nanoTime() - sent)
+                    .whenComplete((latency, e) -> concurrency.release()));
+        }
+        long[] sorted = latencies.stream().map(CompletableFuture::join).mapToLong(Long::longValue).sorted().toArray();
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("[%s] concurrency=%d requests=%d throughput=%.0f req/s p50=%dms p99=%dms%n",
+                path, CONCURRENCY, REQUESTS, REQUESTS * 1e9 / elapsed,
+                sorted[sorted.length / 2] / 1_000_000, sorted[sorted.length * 99 / 100] / 1_000_000);
+    }
+}
@@ -0,0 +1,71 @@
+package io.hhplus.tdd.point.binary;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 히스토리 응답 직렬화 비교 (./gradlew benchmark)
+ * - 같은 히스토리 목록을 Jackson JSON 과 바이너리 포맷으로 인코딩해 응답당 바이트와 CPU 시간을 출력한다.
+ */
+@Tag("benchmark")
+@DisplayName("히스토리 응답 직렬화 비교")
+class PointBinaryCodecBenchmark {
+
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final long TARGET_ENCODED_HISTORIES = 20_000_000L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1_000})
+    void encodeHistories(int size) throws Exception {
+        List<PointHistory> histories = histories(size);
+        int rounds = (int) Math.max(1_000, TARGET_ENCODED_HISTORIES / size);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            objectMapper.writeValueAsBytes(histories);
+            PointBinaryCodec.encode(histories);
+        }
+
+        long jsonBytes = 0;
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < rounds; i++) {
+            jsonBytes = objectMapper.writeValueAsBytes(histories).length;
+        }
+        long jsonCpu = threads.getCurrentThreadCpuTime() - start;
+
+        long binaryBytes = 0;
+        start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < rounds; i++) {
+            binaryBytes = PointBinaryCodec.encode(histories).length;
+        }
+        long binaryCpu = threads.getCurrentThreadCpuTime() - start;
+
+        System.out.printf("[histories=%d] json=%d bytes %.1f us/response | binary=%d bytes %.1f us/response (%.1fx smaller, %.1fx less CPU)%n",
+                size, jsonBytes, jsonCpu / 1_000.0 / rounds, binaryBytes, binaryCpu / 1_000.0 / rounds,
+                (double) jsonBytes / binaryBytes, (double) jsonCpu / binaryCpu);
+    }
+
+    private static List<PointHistory> histories(int size) {
+        Random random = new Random(size);
+        long now = System.currentTimeMillis();
+        List<PointHistory> histories = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            TransactionType type = random.nextInt(4) == 0 ? TransactionType.USE : TransactionType.CHARGE;
+            histories.add(new PointHistory(1_000_000L + i * 3L, 42L, 100 + random.nextInt(100_000), type, now + i * 1_500L));
+        }
+        return histories;
+    }
+}
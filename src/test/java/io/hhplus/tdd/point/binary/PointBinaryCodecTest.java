@@ -0,0 +1,81 @@
+package io.hhplus.tdd.point.binary;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("바이너리 응답 포맷 테스트")
+class PointBinaryCodecTest {
+
+    @Test
+    @DisplayName("UserPoint 는 인코딩 후 디코딩하면 같은 값이 된다")
+    void userPoint_roundTrip() {
+        // given
+        UserPoint userPoint = new UserPoint(-1L, UserPoint.MAX_BALANCE, System.currentTimeMillis());
+
+        // when
+        UserPoint decoded = PointBinaryCodec.decodeUserPoint(PointBinaryCodec.encode(userPoint));
+
+        // then
+        assertThat(decoded).isEqualTo(userPoint);
+    }
+
+    @Test
+    @DisplayName("히스토리 목록은 순서와 값이 그대로 복원되고, 건당 JSON 보다 작게 인코딩된다")
+    void histories_roundTrip() {
+        // given
+        Random random = new Random(7);
+        long now = System.currentTimeMillis();
+        List<PointHistory> histories = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            TransactionType type = TransactionType.values()[random.nextInt(TransactionType.values().length)];
+            histories.add(new PointHistory(i + 1, 42L, random.nextInt(1_000_000), type, now + i * 37L));
+        }
+
+        // when
+        byte[] bytes = PointBinaryCodec.encode(histories);
+
+        // then
+        assertThat(PointBinaryCodec.decodeHistories(bytes)).isEqualTo(histories);
+        assertThat(bytes.length).isLessThan(histories.size() * 10);
+    }
+
+    @Test
+    @DisplayName("id 나 시각이 줄어드는 목록도 복원된다")
+    void histories_nonMonotonic() {
+        // given
+        List<PointHistory> histories = List.of(
+                new PointHistory(10L, 1L, 100L, TransactionType.CHARGE, 5_000L),
+                new PointHistory(3L, 2L, 0L, TransactionType.EXPIRE, 1_000L),
+                new PointHistory(Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, TransactionType.USE, 0L)
+        );
+
+        // when & then
+        assertThat(PointBinaryCodec.decodeHistories(PointBinaryCodec.encode(histories))).isEqualTo(histories);
+        assertThat(PointBinaryCodec.decodeHistories(PointBinaryCodec.encode(List.of()))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("잘린 응답은 디코딩하지 않는다")
+    void decode_truncated() {
+        // given
+        byte[] bytes = PointBinaryCodec.encode(new UserPoint(1L, 1_000L, System.currentTimeMillis()));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+
+        // when & then
+        assertThatThrownBy(() -> PointBinaryCodec.decodeUserPoint(truncated))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PointBinaryCodec.decodeHistories(bytes))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
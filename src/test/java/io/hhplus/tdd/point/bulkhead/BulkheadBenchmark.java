@@ -0,0 +1,84 @@
+package io.hhplus.tdd.point.bulkhead;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 쓰기 폭주 중 조회 지연 (./gradlew benchmark)
+ * - 서로 다른 사용자에게 충전 요청을 요청 스레드 수보다 많이 밀어 넣으면서, 잔고 조회를 순차로 보내 p50/p99 를 출력한다.
+ * - 레인이 없으면 충전이 요청 스레드를 모두 차지해 조회가 함께 밀린다.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("쓰기 폭주 중 조회 지연")
+class BulkheadBenchmark {
+
+    private static final int WRITE_CONCURRENCY = 400;
+    private static final int READS = 300;
+
+    @LocalServerPort
+    int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void readLatencyDuringWriteStorm() throws Exception {
+        AtomicBoolean storming = new AtomicBoolean(true);
+        AtomicLong accepted = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        ExecutorService writerThreads = Executors.newFixedThreadPool(WRITE_CONCURRENCY);
+        List<CompletableFuture<Void>> writers = new ArrayList<>();
+        for (int i = 0; i < WRITE_CONCURRENCY; i++) {
+            long userId = 10_000 + i;
+            writers.add(CompletableFuture.runAsync(() -> {
+                HttpRequest charge = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + userId + "/charge"))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"amount\":100}"))
+                        .build();
+                while (storming.get()) {
+                    try {
+                        int status = client.send(charge, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        (status == 503 ? rejected : accepted).incrementAndGet();
+                    } catch (Exception e) {
+                        return;
+                    }
+                }
+            }, writerThreads));
+        }
+
+        Thread.sleep(1_000);
+        HttpRequest read = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/1")).GET().build();
+        long[] latencies = new long[READS];
+        for (int i = 0; i < READS; i++) {
+            long start = System.nanoTime();
+            client.send(read, HttpResponse.BodyHandlers.discarding());
+            latencies[i] = System.nanoTime() - start;
+        }
+        storming.set(false);
+        CompletableFuture.allOf(writers.toArray(CompletableFuture[]::new)).join();
+        writerThreads.shutdown();
+
+        Arrays.sort(latencies);
+        System.out.printf("[read during write storm] writers=%d charges accepted=%d rejected=%d read p50=%dms p99=%dms%n",
+                WRITE_CONCURRENCY, accepted.get(), rejected.get(),
+                latencies[READS / 2] / 1_000_000, latencies[READS * 99 / 100] / 1_000_000);
+    }
+}
@@ -0,0 +1,102 @@
+package io.hhplus.tdd.point.bulkhead;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("레인 Bulkhead 테스트")
+class BulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("동시 실행 한도와 대기열이 모두 차면 기다리지 않고 바로 거절한다")
+    void acquire_rejectsWhenQueueFull() {
+        // given
+        Bulkhead bulkhead = new Bulkhead(PointLane.WRITE, 2, 0, Duration.ofSeconds(10), meterRegistry);
+        bulkhead.acquire();
+        bulkhead.acquire();
+
+        // when
+        long start = System.nanoTime();
+
+        // then
+        assertThatThrownBy(bulkhead::acquire)
+                .isInstanceOf(BulkheadFullException.class)
+                .satisfies(e -> assertThat(((BulkheadFullException) e).getLane()).isEqualTo(PointLane.WRITE));
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+        assertThat(bulkhead.active()).isEqualTo(2);
+        assertThat(bulkhead.rejectedCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("point.bulkhead.rejected").tag("lane", "write").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("대기열에 들어간 요청은 자리가 나면 실행된다")
+    void acquire_waitsInQueue() throws Exception {
+        // given
+        Bulkhead bulkhead = new Bulkhead(PointLane.READ, 1, 1, Duration.ofSeconds(5), meterRegistry);
+        bulkhead.acquire();
+        CountDownLatch acquired = new CountDownLatch(1);
+        CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> {
+            bulkhead.acquire();
+            acquired.countDown();
+        });
+        awaitUntil(() -> bulkhead.queued() == 1);
+
+        // when
+        bulkhead.release();
+
+        // then
+        assertThat(acquired.await(2, TimeUnit.SECONDS)).isTrue();
+        waiter.get(1, TimeUnit.SECONDS);
+        assertThat(bulkhead.queued()).isZero();
+        assertThat(bulkhead.active()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최대 대기 시간 안에 자리가 나지 않으면 거절한다")
+    void acquire_rejectsAfterMaxWait() {
+        // given
+        Bulkhead bulkhead = new Bulkhead(PointLane.HISTORY, 1, 4, Duration.ofMillis(100), meterRegistry);
+        bulkhead.acquire();
+
+        // when & then
+        assertThatThrownBy(bulkhead::acquire).isInstanceOf(BulkheadFullException.class);
+        assertThat(bulkhead.queued()).isZero();
+        assertThat(meterRegistry.get("point.bulkhead.wait").tag("lane", "history").timer().max(TimeUnit.MILLISECONDS))
+                .isGreaterThanOrEqualTo(90.0);
+    }
+
+    @Test
+    @DisplayName("한 레인이 포화돼도 다른 레인은 영향을 받지 않는다")
+    void lanes_areIsolated() {
+        // given
+        PointBulkheads bulkheads = new PointBulkheads(meterRegistry, 200,
+                4, 4, Duration.ofMillis(50),
+                1, 0, Duration.ofMillis(50),
+                1, 0, Duration.ofMillis(50));
+        bulkheads.get(PointLane.WRITE).acquire();
+
+        // when & then
+        assertThatThrownBy(() -> bulkheads.get(PointLane.WRITE).acquire()).isInstanceOf(BulkheadFullException.class);
+        bulkheads.get(PointLane.READ).acquire();
+        assertThat(bulkheads.get(PointLane.READ).active()).isEqualTo(1);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,64 @@
+package io.hhplus.tdd.point.cluster;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ConsistentHashRing 단위 테스트")
+class ConsistentHashRingTest {
+
+    private static final int USER_COUNT = 100_000;
+
+    @Test
+    @DisplayName("가상 노드로 사용자를 노드에 고르게 분배한다")
+    void ownerOf_distributesEvenly() {
+        // given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c", "d"), 160);
+
+        // when
+        Map<String, Integer> counts = new HashMap<>();
+        for (long userId = 0; userId < USER_COUNT; userId++) {
+            counts.merge(ring.ownerOf(userId), 1, Integer::sum);
+        }
+
+        // then
+        assertThat(counts).hasSize(4);
+        assertThat(counts.values()).allSatisfy(count ->
+                assertThat(count).isBetween(USER_COUNT / 4 * 8 / 10, USER_COUNT / 4 * 12 / 10));
+    }
+
+    @Test
+    @DisplayName("노드를 추가하면 새 노드로 가는 사용자만 소유자가 바뀐다")
+    void addNode_movesOnlyUsersToNewNode() {
+        // given
+        ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c"), 160);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("a", "b", "c", "d"), 160);
+
+        // when
+        int moved = 0;
+        for (long userId = 0; userId < USER_COUNT; userId++) {
+            String previous = before.ownerOf(userId);
+            String next = after.ownerOf(userId);
+            if (!previous.equals(next)) {
+                assertThat(next).isEqualTo("d");
+                moved++;
+            }
+        }
+
+        // then (이상적인 이동량은 1/4)
+        assertThat(moved).isBetween(USER_COUNT / 5, USER_COUNT * 3 / 10);
+    }
+
+    @Test
+    @DisplayName("노드가 없으면 예외 발생")
+    void ownerOf_withoutNodes_throwsException() {
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of(), 160).ownerOf(1L))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
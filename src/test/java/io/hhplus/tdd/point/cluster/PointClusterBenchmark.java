@@ -0,0 +1,59 @@
+package io.hhplus.tdd.point.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 노드 수에 따른 충전 처리량 (./gradlew benchmark)
+ */
+@Tag("benchmark")
+@DisplayName("샤드 노드 수별 처리량 벤치마크")
+class PointClusterBenchmark {
+
+    private static final int USER_COUNT = 2_000;
+    private static final int OPERATIONS = 4_000;
+    private static final int CLIENT_THREADS = 256;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 4, 8})
+    void chargeThroughput(int nodeCount) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        PointClusterRouter router = new PointClusterRouter(objectMapper, 160);
+        List<PointNode> nodes = new ArrayList<>();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENT_THREADS);
+        try {
+            for (int i = 0; i < nodeCount; i++) {
+                PointNode node = PointNode.start("node-" + i, objectMapper);
+                nodes.add(node);
+                router.addNode(node.id(), node.uri());
+            }
+
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>(OPERATIONS);
+            for (int i = 0; i < OPERATIONS; i++) {
+                long userId = i % USER_COUNT;
+                futures.add(clients.submit(() -> router.charge(userId, 100L)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            System.out.printf("[nodes=%d] operations=%d throughput=%.0f ops/s%n",
+                    nodeCount, OPERATIONS, OPERATIONS * 1e9 / elapsed);
+        } finally {
+            clients.shutdownNow();
+            nodes.forEach(PointNode::close);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.hhplus.tdd.point.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorMapper;
+import io.hhplus.tdd.exception.MinChargeAmountException;
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("loopback 샤드 클러스터 테스트")
+class PointClusterTest {
+
+    private static final int USER_COUNT = 6;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PointClusterRouter router = new PointClusterRouter(objectMapper, 64);
+    private final List<PointNode> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(PointNode::close);
+    }
+
+    @Test
+    @DisplayName("노드가 추가/제거되어도 사용자 잔고와 히스토리가 유지된다")
+    void rebalance_preservesState() throws IOException {
+        // given
+        start("node-1");
+        start("node-2");
+        LongStream.rangeClosed(1, USER_COUNT).forEach(userId -> router.charge(userId, userId * 100));
+
+        // when
+        int movedIn = start("node-3");
+        LongStream.rangeClosed(1, USER_COUNT).forEach(userId -> router.use(userId, 100));
+        int movedOut = router.removeNode("node-1");
+
+        // then
+        assertThat(movedIn + movedOut).isPositive();
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            assertThat(router.ownerOf(userId)).isNotEqualTo("node-1");
+            assertThat(router.getPoint(userId).point()).isEqualTo(userId * 100 - 100);
+            assertThat(router.getHistories(userId))
+                    .extracting(PointHistory::type)
+                    .containsExactly(TransactionType.CHARGE, TransactionType.USE);
+        }
+    }
+
+    @Test
+    @DisplayName("소유 노드의 잔액 부족 응답은 IllegalStateException 으로 전달된다")
+    void use_insufficientBalance_throwsException() throws IOException {
+        // given
+        start("node-1");
+
+        // when & then
+        assertThatThrownBy(() -> router.use(1L, 1_000L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("잔액이 부족합니다.");
+    }
+
+    @Test
+    @DisplayName("소유 노드의 최소 충전 금액 거절은 같은 예외로 전달되어 REST 와 같은 코드로 응답된다")
+    void charge_belowMinimum_keepsErrorCode() throws IOException {
+        // given
+        start("node-1");
+
+        // when & then
+        assertThatThrownBy(() -> router.charge(1L, 1L))
+                .isInstanceOf(MinChargeAmountException.class)
+                .satisfies(e -> assertThat(ErrorMapper.map(e).code()).isEqualTo("MIN_CHARGE_ERROR"));
+    }
+
+    private int start(String nodeId) throws IOException {
+        PointNode node = PointNode.start(nodeId, objectMapper);
+        nodes.add(node);
+        return router.addNode(nodeId, node.uri());
+    }
+}
@@ -1,34 +1,49 @@
 package io.hhplus.tdd.point.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.exception.AlreadyCancelledException;
+import io.hhplus.tdd.exception.MaxBalanceExceededException;
 import io.hhplus.tdd.exception.MaxChargeAmountException;
 import io.hhplus.tdd.exception.MinChargeAmountException;
+import io.hhplus.tdd.point.binary.PointBinaryCodec;
+import io.hhplus.tdd.point.dto.PointCancellation;
 import io.hhplus.tdd.point.dto.PointRequest;
 import io.hhplus.tdd.point.entity.PointHistory;
 import io.hhplus.tdd.point.entity.TransactionType;
 import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.replica.ReplicaReadRouter;
 import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.sync.PointSyncCache;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(PointController.class)
+@Import(PointSyncCache.class)
 @DisplayName("PointController 단위 테스트")
 public class PointControllerTest {
 
@@ -44,6 +59,12 @@ public class PointControllerTest {
     @MockBean
     private PointService pointService;
 
+    @MockBean
+    private ReplicaReadRouter replicaReadRouter;
+
+    @Autowired
+    private PointSyncCache pointSyncCache;
+
     @Test
     @DisplayName("포인트 조회 - 성공")
     void getPoint_success() throws Exception {
@@ -56,6 +77,17 @@ public class PointControllerTest {
                 .andExpect(jsonPath("$.point").value(5000));
     }
 
+    @Test
+    @DisplayName("포인트 조회 - 허용 지연을 주면 복제본에서 조회")
+    void getPoint_withMaxStaleness_readsReplica() throws Exception {
+        given(replicaReadRouter.getPoint(USER_ID, 500L)).willReturn(new UserPoint(USER_ID, 3000L, NOW));
+
+        mockMvc.perform(get("/point/{id}", USER_ID).param("maxStalenessMs", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(3000));
+        verifyNoInteractions(pointService);
+    }
+
     @Test
     @DisplayName("포인트 히스토리 조회 - 성공")
     void getPointHistories_success() throws Exception {
@@ -150,6 +182,22 @@ public class PointControllerTest {
                 .andExpect(jsonPath("$.message").value("최대 충전 금액은 100만원입니다"));
     }
 
+    @Test
+    @DisplayName("포인트 충전 - 최대 잔고 초과 시 400 과 MAX_BALANCE_ERROR 반환")
+    void chargePoint_overMaxBalance_returns400() throws Exception {
+        long chargeAmount = 1_000L;
+
+        given(pointService.charge(USER_ID, chargeAmount))
+                .willThrow(new MaxBalanceExceededException());
+
+        mockMvc.perform(patch("/point/{id}/charge", USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PointRequest(chargeAmount))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("MAX_BALANCE_ERROR"))
+                .andExpect(jsonPath("$.message").value("최대 잔고는 10,000,000 포인트 입니다."));
+    }
+
     @Test
     @DisplayName("포인트 사용 - 잔액 부족 시 409 반환")
     void usePoint_insufficientBalance_returns409() throws Exception {
@@ -184,4 +232,136 @@ public class PointControllerTest {
                         .content("{\"amount\": 1000}"))
                 .andExpect(status().isUnsupportedMediaType());
     }
+
+    @Test
+    @DisplayName("포인트 조회 - Accept 가 바이너리면 바이너리로 응답")
+    void getPoint_binaryAccept_returnsBinary() throws Exception {
+        UserPoint userPoint = new UserPoint(USER_ID, 5000L, NOW);
+        given(pointService.getPoint(USER_ID)).willReturn(userPoint);
+
+        byte[] body = mockMvc.perform(get("/point/{id}", USER_ID).accept(PointBinaryCodec.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PointBinaryCodec.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(PointBinaryCodec.decodeUserPoint(body)).isEqualTo(userPoint);
+    }
+
+    @Test
+    @DisplayName("포인트 히스토리 조회 - Accept 가 바이너리면 바이너리로 응답")
+    void getPointHistories_binaryAccept_returnsBinary() throws Exception {
+        List<PointHistory> histories = List.of(
+                new PointHistory(1L, USER_ID, 1000L, TransactionType.CHARGE, NOW),
+                new PointHistory(2L, USER_ID, 500L, TransactionType.USE, NOW + 10)
+        );
+        given(pointService.getHistories(USER_ID)).willReturn(histories);
+
+        byte[] body = mockMvc.perform(get("/point/{id}/histories", USER_ID)
+                        .accept(PointBinaryCodec.MEDIA_TYPE + ", application/json;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PointBinaryCodec.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(PointBinaryCodec.decodeHistories(body)).isEqualTo(histories);
+    }
+
+    @Test
+    @DisplayName("복제본 상태 조회 - 바이너리 미지원 타입은 JSON 으로 응답")
+    void replicas_binaryAccept_fallsBackToJson() throws Exception {
+        given(replicaReadRouter.status()).willReturn(List.of());
+
+        mockMvc.perform(get("/point/replicas").accept(PointBinaryCodec.MEDIA_TYPE + ", application/json;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("거래 취소 - 성공 시 연결된 취소 히스토리와 잔고 반환")
+    void cancel_success() throws Exception {
+        PointHistory reversal = new PointHistory(8L, USER_ID, 1000L, TransactionType.CHARGE_CANCEL, NOW);
+        given(pointService.cancel(7L))
+                .willReturn(new PointCancellation(7L, reversal, new UserPoint(USER_ID, 0L, NOW)));
+
+        mockMvc.perform(post("/point/histories/{historyId}/cancel", 7L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.historyId").value(7L))
+                .andExpect(jsonPath("$.reversal.id").value(8L))
+                .andExpect(jsonPath("$.reversal.type").value("CHARGE_CANCEL"))
+                .andExpect(jsonPath("$.userPoint.point").value(0L));
+    }
+
+    @Test
+    @DisplayName("거래 취소 - 이미 취소된 거래면 409 반환")
+    void cancel_alreadyCancelled_returns409() throws Exception {
+        given(pointService.cancel(7L)).willThrow(new AlreadyCancelledException(7L));
+
+        mockMvc.perform(post("/point/histories/{historyId}/cancel", 7L))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("ALREADY_CANCELLED"));
+    }
+
+    @Test
+    @DisplayName("포인트 조회 - 커밋된 잔고는 테이블을 읽지 않고, If-None-Match 가 맞으면 304 반환")
+    void getPoint_matchingEtag_returns304() throws Exception {
+        // given : 다른 테스트와 겹치지 않는 사용자로 커밋을 흉내낸다.
+        long userId = 2L;
+        pointSyncCache.onCommitted(new UserPoint(userId, 700L, NOW),
+                new PointHistory(21L, userId, 700L, TransactionType.CHARGE, NOW));
+        String etag = PointSyncCache.etag(pointSyncCache.current(userId).version());
+
+        // when & then
+        mockMvc.perform(get("/point/{id}", userId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(jsonPath("$.point").value(700));
+        mockMvc.perform(get("/point/{id}", userId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/point/{id}/histories", userId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verifyNoInteractions(pointService);
+    }
+
+    @Test
+    @DisplayName("포인트 히스토리 조회 - 버전이 바뀌면 예전 ETag 로도 200 반환")
+    void getPointHistories_staleEtag_returns200() throws Exception {
+        // given
+        long userId = 3L;
+        PointHistory first = new PointHistory(31L, userId, 1000L, TransactionType.CHARGE, NOW);
+        PointHistory second = new PointHistory(32L, userId, 400L, TransactionType.USE, NOW);
+        pointSyncCache.onCommitted(new UserPoint(userId, 1000L, NOW), first);
+        String staleEtag = PointSyncCache.etag(pointSyncCache.current(userId).version());
+        pointSyncCache.onCommitted(new UserPoint(userId, 600L, NOW), second);
+        given(pointService.getHistories(userId)).willReturn(List.of(first, second));
+
+        // when & then
+        mockMvc.perform(get("/point/{id}/histories", userId).header(HttpHeaders.IF_NONE_MATCH, staleEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG,
+                        PointSyncCache.etag(pointSyncCache.current(userId).version())))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("포인트 히스토리 조회 - sinceVersion 을 주면 그 이후 히스토리만 반환")
+    void getPointHistories_sinceVersion_returnsDelta() throws Exception {
+        // given
+        long userId = 4L;
+        PointHistory first = new PointHistory(41L, userId, 1000L, TransactionType.CHARGE, NOW);
+        PointHistory second = new PointHistory(42L, userId, 400L, TransactionType.USE, NOW);
+        pointSyncCache.onCommitted(new UserPoint(userId, 1000L, NOW), first);
+        long sinceVersion = pointSyncCache.current(userId).version();
+        pointSyncCache.onCommitted(new UserPoint(userId, 600L, NOW), second);
+        given(pointService.getHistories(userId)).willReturn(List.of(first, second));
+
+        // when & then
+        mockMvc.perform(get("/point/{id}/histories", userId).param("sinceVersion", String.valueOf(sinceVersion)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG,
+                        PointSyncCache.etag(pointSyncCache.current(userId).version())))
+                .andExpect(jsonPath("$.full").value(false))
+                .andExpect(jsonPath("$.histories.length()").value(1))
+                .andExpect(jsonPath("$.histories[0].id").value(42));
+    }
 }
@@ -0,0 +1,61 @@
+package io.hhplus.tdd.point.expiry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("계층형 타이밍 휠 테스트")
+class HierarchicalTimingWheelTest {
+
+    @Test
+    @DisplayName("만료 시각이 지나기 전에는 꺼내지지 않는다")
+    void advance_beforeDeadline_returnsNothing() {
+        // given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 4, 0);
+        wheel.schedule(35, "a");
+
+        // when
+        List<String> early = wheel.advance(30);
+        List<String> due = wheel.advance(40);
+
+        // then
+        assertThat(early).isEmpty();
+        assertThat(due).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("윗단에 들어간 먼 미래의 타이머도 만료 시각 순서로 꺼내진다")
+    void advance_cascadesFromUpperLevels() {
+        // given : 한 바퀴가 40ms 인 휠에 수 초 뒤의 타이머를 등록한다.
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(10, 4, 0);
+        for (long deadline : new long[]{5_000, 70, 1_230, 20, 640}) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        // when
+        List<Long> beforeLast = wheel.advance(4_990);
+        List<Long> last = wheel.advance(5_000);
+
+        // then
+        assertThat(beforeLast).containsExactly(20L, 70L, 640L, 1_230L);
+        assertThat(last).containsExactly(5_000L);
+    }
+
+    @Test
+    @DisplayName("이미 지난 시각으로 등록하면 다음 advance 에서 꺼내진다")
+    void schedule_pastDeadline_firesOnNextAdvance() {
+        // given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 4, 1_000);
+        wheel.advance(2_000);
+
+        // when
+        wheel.schedule(500, "late");
+
+        // then
+        assertThat(wheel.advance(2_000)).containsExactly("late");
+    }
+}
@@ -0,0 +1,204 @@
+package io.hhplus.tdd.point.expiry;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.history.TablePointHistoryStore;
+import io.hhplus.tdd.point.lock.LocalLockProvider;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.wal.PointWriteAheadLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("포인트 lot 장부 테스트")
+class PointLotLedgerTest {
+
+    private static final long USER_ID = 1L;
+
+    @Test
+    @DisplayName("사용은 가장 오래된 lot 부터 차감된다")
+    void use_consumesOldestLotFirst() {
+        // given
+        PointLotLedger ledger = new PointLotLedger(Duration.ofDays(1), 1_000);
+        ledger.onCommitted(new UserPoint(USER_ID, 1_000, 0), history(TransactionType.CHARGE, 1_000, 100));
+        ledger.onCommitted(new UserPoint(USER_ID, 1_500, 0), history(TransactionType.CHARGE, 500, 200));
+
+        // when
+        ledger.onCommitted(new UserPoint(USER_ID, 800, 0), history(TransactionType.USE, 700, 300));
+
+        // then
+        long day = Duration.ofDays(1).toMillis();
+        assertThat(ledger.lotsOf(USER_ID)).containsExactly(
+                new PointLot(100, 100 + day, 300),
+                new PointLot(200, 200 + day, 500)
+        );
+    }
+
+    @Test
+    @DisplayName("만료 시각이 지난 lot 의 잔여분만 만료 대상이 된다")
+    void expiredAmount_sumsOnlyExpiredLots() {
+        // given
+        PointLotLedger ledger = new PointLotLedger(Duration.ofMillis(1_000), 10);
+        ledger.onCommitted(new UserPoint(USER_ID, 1_000, 0), history(TransactionType.CHARGE, 1_000, 100));
+        ledger.onCommitted(new UserPoint(USER_ID, 1_500, 0), history(TransactionType.CHARGE, 500, 600));
+        ledger.onCommitted(new UserPoint(USER_ID, 1_200, 0), history(TransactionType.USE, 300, 700));
+
+        // when & then
+        assertThat(ledger.expiredAmount(USER_ID, 1_099)).isZero();
+        assertThat(ledger.expiredAmount(USER_ID, 1_100)).isEqualTo(700);
+        assertThat(ledger.expiredAmount(USER_ID, 1_600)).isEqualTo(1_200);
+    }
+
+    @Test
+    @DisplayName("충전 취소는 FIFO 가 아니라 취소된 충전의 lot 에서 차감된다")
+    void chargeCancel_takesFromCancelledChargeLot() {
+        // given
+        PointLotLedger ledger = new PointLotLedger(Duration.ofDays(1), 1_000);
+        ledger.onCommitted(new UserPoint(USER_ID, 1_000, 0), history(1, TransactionType.CHARGE, 1_000, 100));
+        ledger.onCommitted(new UserPoint(USER_ID, 1_500, 0), history(2, TransactionType.CHARGE, 500, 200));
+
+        // when
+        ledger.onCancelled(new UserPoint(USER_ID, 1_000, 0), history(3, TransactionType.CHARGE_CANCEL, 500, 300), 2);
+
+        // then
+        long day = Duration.ofDays(1).toMillis();
+        assertThat(ledger.lotsOf(USER_ID)).containsExactly(new PointLot(100, 100 + day, 1_000));
+    }
+
+    @Test
+    @DisplayName("사용 취소는 사용이 차감했던 lot 을 원래 만료 시각 그대로 되살린다")
+    void useCancel_restoresOriginalLots() {
+        // given
+        PointLotLedger ledger = new PointLotLedger(Duration.ofDays(1), 1_000);
+        ledger.onCommitted(new UserPoint(USER_ID, 1_000, 0), history(1, TransactionType.CHARGE, 1_000, 100));
+        ledger.onCommitted(new UserPoint(USER_ID, 1_500, 0), history(2, TransactionType.CHARGE, 500, 200));
+        ledger.onCommitted(new UserPoint(USER_ID, 300, 0), history(3, TransactionType.USE, 1_200, 300));
+        List<PointLot> beforeUse = List.of(
+                new PointLot(100, 100 + Duration.ofDays(1).toMillis(), 1_000),
+                new PointLot(200, 200 + Duration.ofDays(1).toMillis(), 500)
+        );
+
+        // when
+        ledger.onCancelled(new UserPoint(USER_ID, 1_500, 0), history(4, TransactionType.USE_CANCEL, 1_200, 400), 3);
+
+        // then
+        assertThat(ledger.lotsOf(USER_ID)).containsExactlyElementsOf(beforeUse);
+        assertThat(ledger.expiredAmount(USER_ID, 100 + Duration.ofDays(1).toMillis())).isEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("서비스의 거래 취소도 원거래 기준으로 lot 에 반영된다")
+    void cancel_throughService_restoresOriginalLots() {
+        // given
+        PointLotLedger ledger = new PointLotLedger(Duration.ofDays(1), 1_000);
+        PointService pointService = new PointService(new UserPointTable(), new TablePointHistoryStore(new PointHistoryTable()), new LocalLockProvider(), List.of(ledger), PointWriteAheadLog.inMemory());
+        pointService.charge(USER_ID, 1_000);
+        pointService.charge(USER_ID, 500);
+        List<PointLot> charged = ledger.lotsOf(USER_ID);
+        pointService.use(USER_ID, 1_200);
+        long useId = pointService.getHistories(USER_ID).get(2).id();
+        long secondChargeId = pointService.getHistories(USER_ID).get(1).id();
+
+        // when
+        pointService.cancel(useId);
+        List<PointLot> afterUseCancel = ledger.lotsOf(USER_ID);
+        pointService.cancel(secondChargeId);
+
+        // then
+        assertThat(afterUseCancel).containsExactlyElementsOf(charged);
+        assertThat(ledger.lotsOf(USER_ID)).containsExactly(charged.get(0));
+    }
+
+    @Test
+    @DisplayName("만료 차감 후 잔고, 히스토리, lot 합계가 일치한다")
+    void expire_keepsBalanceHistoryAndLotsConsistent() throws InterruptedException {
+        // given
+        PointLotLedger ledger = new PointLotLedger(Duration.ofMillis(200), 10);
+        PointService pointService = new PointService(new UserPointTable(), new TablePointHistoryStore(new PointHistoryTable()), new LocalLockProvider(), List.of(ledger), PointWriteAheadLog.inMemory());
+        pointService.charge(USER_ID, 1_000);
+        Thread.sleep(250);
+        pointService.charge(USER_ID, 500);
+
+        // when : 두 번째 lot 이 충전된 시점 기준으로 만료시킨다.
+        long secondChargedMillis = ledger.lotsOf(USER_ID).get(1).chargedMillis();
+        UserPoint expired = pointService.expire(USER_ID, () -> ledger.expiredAmount(USER_ID, secondChargedMillis));
+
+        // then
+        assertThat(expired.point()).isEqualTo(500);
+        assertThat(pointService.getHistories(USER_ID))
+                .extracting(PointHistory::type, PointHistory::amount)
+                .last()
+                .isEqualTo(tuple(TransactionType.EXPIRE, 1_000L));
+        assertThat(ledger.lotsOf(USER_ID)).extracting(PointLot::remaining).containsExactly(500L);
+    }
+
+    @Test
+    @DisplayName("스케줄러는 만료 시각이 지난 포인트를 자동으로 차감한다")
+    void scheduler_expiresDueLots() throws InterruptedException {
+        // given
+        PointLotLedger ledger = new PointLotLedger(Duration.ofMillis(300), 10);
+        PointService pointService = new PointService(new UserPointTable(), new TablePointHistoryStore(new PointHistoryTable()), new LocalLockProvider(), List.of(ledger), PointWriteAheadLog.inMemory());
+        PointExpiryScheduler scheduler = new PointExpiryScheduler(pointService, ledger, 2);
+
+        try {
+            // when
+            pointService.charge(USER_ID, 1_000);
+            pointService.charge(2L, 2_000);
+
+            // then
+            long deadline = System.currentTimeMillis() + 5_000;
+            while ((pointService.getPoint(USER_ID).point() > 0 || pointService.getPoint(2L).point() > 0)
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertThat(pointService.getPoint(USER_ID).point()).isZero();
+            assertThat(pointService.getPoint(2L).point()).isZero();
+            assertThat(ledger.lotsOf(USER_ID)).isEmpty();
+        } finally {
+            scheduler.close();
+        }
+    }
+
+    @Test
+    @DisplayName("히스토리로 다시 만든 lot 은 원래 충전 시각과 사용/취소 결과를 그대로 가진다")
+    void rebuild_replaysHistoryWithOriginalChargeTimes() {
+        // given
+        long day = Duration.ofDays(1).toMillis();
+        List<PointHistory> histories = List.of(
+                history(1, TransactionType.CHARGE, 1_000, 100),
+                history(2, TransactionType.CHARGE, 500, 200),
+                history(3, TransactionType.USE, 1_200, 300),
+                history(4, TransactionType.CHARGE, 700, 400),
+                history(5, TransactionType.CHARGE_CANCEL, 700, 500),
+                history(6, TransactionType.USE_CANCEL, 1_200, 600)
+        );
+        PointLotLedger ledger = new PointLotLedger(Duration.ofDays(1), 1_000);
+
+        // when
+        ledger.rebuild(new UserPoint(USER_ID, 1_500, 600), histories, Map.of(5L, 4L, 6L, 3L));
+
+        // then
+        assertThat(ledger.lotsOf(USER_ID)).containsExactly(
+                new PointLot(100, 100 + day, 1_000),
+                new PointLot(200, 200 + day, 500)
+        );
+        assertThat(ledger.expiredAmount(USER_ID, 100 + day)).isEqualTo(1_000);
+    }
+
+    private static PointHistory history(TransactionType type, long amount, long updateMillis) {
+        return history(0, type, amount, updateMillis);
+    }
+
+    private static PointHistory history(long id, TransactionType type, long amount, long updateMillis) {
+        return new PointHistory(id, USER_ID, amount, type, updateMillis);
+    }
+}
@@ -0,0 +1,59 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.point.entity.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 히스토리 id 조회 시간 (./gradlew benchmark)
+ * - 계층형 저장소에 1,000,000 건 -> 30,000,000 건까지 쌓으면서 같은 횟수의 무작위 id 조회 시간을 잰다.
+ * - id 인덱스가 상수 시간이면 건수가 늘어도 조회당 시간이 거의 그대로여야 한다.
+ */
+@Tag("benchmark")
+@DisplayName("히스토리 id 조회 시간")
+class HistoryIdLookupBenchmark {
+
+    private static final int USERS = 100_000;
+    private static final int[] SIZES = {1_000_000, 10_000_000, 30_000_000};
+    private static final int LOOKUPS = 1_000_000;
+
+    @Test
+    void selectById() throws InterruptedException {
+        try (TieredPointHistoryStore store = new TieredPointHistoryStore(null, 1 << 20)) {
+            long inserted = 0;
+            for (int size : SIZES) {
+                for (; inserted < size; inserted++) {
+                    store.insert(inserted % USERS, 1_000, TransactionType.CHARGE, inserted);
+                }
+                while (store.hotCount() >= 1 << 20) {
+                    Thread.sleep(10);
+                }
+
+                lookup(store, inserted);
+                long start = System.nanoTime();
+                long found = lookup(store, inserted);
+                long elapsed = System.nanoTime() - start;
+
+                System.out.printf("[selectById] histories=%d segments=%d lookups=%d avg=%.0fns%n",
+                        inserted, store.segmentCount(), LOOKUPS, (double) elapsed / LOOKUPS);
+                assertThat(found).isEqualTo(LOOKUPS);
+            }
+        }
+    }
+
+    private static long lookup(TieredPointHistoryStore store, long histories) {
+        SplittableRandom random = new SplittableRandom(42);
+        long found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (store.selectById(1 + random.nextLong(histories)).isPresent()) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
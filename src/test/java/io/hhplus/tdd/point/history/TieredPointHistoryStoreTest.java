@@ -0,0 +1,192 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("계층형 히스토리 저장소 테스트")
+class TieredPointHistoryStoreTest {
+
+    private static final int HOT_CAPACITY = 100;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("세그먼트로 내려간 히스토리와 메모리의 히스토리를 이어서 조회한다")
+    void selectAllByUserId_readsAcrossTiers() throws InterruptedException {
+        // given
+        Map<Long, List<PointHistory>> expected = new HashMap<>();
+        try (TieredPointHistoryStore store = new TieredPointHistoryStore(null, HOT_CAPACITY)) {
+
+            // when
+            for (int i = 0; i < 1_050; i++) {
+                long userId = i % 7;
+                PointHistory inserted = store.insert(userId, i, TransactionType.values()[i % 3], i);
+                expected.computeIfAbsent(userId, id -> new ArrayList<>()).add(inserted);
+            }
+            awaitUntil(() -> store.hotCount() < HOT_CAPACITY);
+
+            // then
+            assertThat(store.segmentCount()).isPositive();
+            for (Map.Entry<Long, List<PointHistory>> entry : expected.entrySet()) {
+                assertThat(store.selectAllByUserId(entry.getKey())).containsExactlyElementsOf(entry.getValue());
+            }
+            assertThat(store.selectAllByUserId(99L)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("디렉터리를 지정하면 재기동 후에도 히스토리와 id 가 이어진다")
+    void reopen_continuesFromSegments() {
+        // given
+        try (TieredPointHistoryStore store = new TieredPointHistoryStore(tempDir, HOT_CAPACITY)) {
+            for (int i = 0; i < 250; i++) {
+                store.insert(1L, 100, TransactionType.CHARGE, i);
+            }
+        }
+
+        // when
+        try (TieredPointHistoryStore reopened = new TieredPointHistoryStore(tempDir, HOT_CAPACITY)) {
+            PointHistory next = reopened.insert(1L, 200, TransactionType.USE, 250);
+
+            // then
+            assertThat(next.id()).isEqualTo(251L);
+            List<PointHistory> histories = reopened.selectAllByUserId(1L);
+            assertThat(histories).hasSize(251);
+            assertThat(histories).extracting(PointHistory::id).isSorted();
+            assertThat(histories.get(250)).isEqualTo(next);
+        }
+    }
+
+    @Test
+    @DisplayName("닫지 않고 멈춰 메모리의 히스토리를 잃어도, 재기동 후 이미 발급한 id 를 다시 쓰지 않는다")
+    void reopen_afterCrash_doesNotReuseIds() {
+        // given : close 없이 멈춘 상황 (hot 은 세그먼트로 내려가지 않았다)
+        TieredPointHistoryStore crashed = new TieredPointHistoryStore(tempDir, HOT_CAPACITY);
+        PointHistory lost = null;
+        for (int i = 0; i < HOT_CAPACITY / 2; i++) {
+            lost = crashed.insert(1L, 100, TransactionType.CHARGE, i);
+        }
+
+        // when
+        try (TieredPointHistoryStore reopened = new TieredPointHistoryStore(tempDir, HOT_CAPACITY)) {
+            PointHistory next = reopened.insert(1L, 200, TransactionType.USE, 0);
+
+            // then
+            assertThat(next.id()).isGreaterThan(lost.id());
+            assertThat(reopened.selectById(lost.id())).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("id 로 세그먼트/메모리 어느 쪽에 있든 히스토리를 찾는다")
+    void selectById_findsAcrossTiers() throws InterruptedException {
+        // given
+        try (TieredPointHistoryStore store = new TieredPointHistoryStore(null, HOT_CAPACITY)) {
+            List<PointHistory> inserted = new ArrayList<>();
+            for (int i = 0; i < 1_050; i++) {
+                inserted.add(store.insert(i % 7, i, TransactionType.values()[i % 3], i));
+            }
+            awaitUntil(() -> store.hotCount() < HOT_CAPACITY);
+
+            // when & then
+            for (PointHistory history : inserted) {
+                assertThat(store.selectById(history.id())).contains(history);
+            }
+            assertThat(store.selectById(0L)).isEmpty();
+            assertThat(store.selectById(1_051L)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("재기동 후에도 세그먼트의 id 인덱스로 히스토리를 찾는다")
+    void selectById_afterReopen() {
+        // given
+        try (TieredPointHistoryStore store = new TieredPointHistoryStore(tempDir, HOT_CAPACITY)) {
+            for (int i = 0; i < 250; i++) {
+                store.insert(i % 5, 100 + i, TransactionType.CHARGE, i);
+            }
+        }
+
+        // when
+        try (TieredPointHistoryStore reopened = new TieredPointHistoryStore(tempDir, HOT_CAPACITY)) {
+
+            // then
+            assertThat(reopened.selectById(1L)).contains(new PointHistory(1L, 0L, 100, TransactionType.CHARGE, 0));
+            assertThat(reopened.selectById(250L)).contains(new PointHistory(250L, 4L, 349, TransactionType.CHARGE, 249));
+            assertThat(reopened.selectById(251L)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("txId 로 쓰인 히스토리를 세그먼트/메모리 어느 쪽에 있든 찾고, 재기동 후에도 세그먼트에서 찾는다")
+    void selectByTxId_findsAcrossTiersAndReopen() throws InterruptedException {
+        // given
+        List<PointHistory> inserted = new ArrayList<>();
+        try (TieredPointHistoryStore store = new TieredPointHistoryStore(tempDir, HOT_CAPACITY)) {
+            for (int i = 0; i < 250; i++) {
+                inserted.add(store.insert(i % 5, 100, TransactionType.CHARGE, 0, HistoryRef.ofTx(1_000 + i)));
+            }
+            awaitUntil(() -> store.hotCount() < HOT_CAPACITY);
+
+            // when & then
+            for (int i = 0; i < 250; i++) {
+                assertThat(store.selectByTxId(i % 5, 1_000 + i)).contains(inserted.get(i));
+            }
+            assertThat(store.selectByTxId(1L, 1_000)).isEmpty();
+        }
+
+        try (TieredPointHistoryStore reopened = new TieredPointHistoryStore(tempDir, HOT_CAPACITY)) {
+            assertThat(reopened.selectByTxId(4L, 1_249)).contains(inserted.get(249));
+            assertThat(reopened.selectByTxId(0L, 1_000)).contains(inserted.get(0));
+            assertThat(reopened.selectByTxId(0L, 2_000)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("취소 행을 원거래 id 로 세그먼트/메모리 어느 쪽에 있든 찾고, 재기동 후에도 세그먼트의 취소 인덱스로 찾는다")
+    void selectReversalOf_findsAcrossTiersAndReopen() throws InterruptedException {
+        // given : 충전 두 건마다 앞 건을 취소한다.
+        List<PointHistory> reversals = new ArrayList<>();
+        try (TieredPointHistoryStore store = new TieredPointHistoryStore(tempDir, HOT_CAPACITY)) {
+            for (int i = 0; i < 125; i++) {
+                PointHistory charged = store.insert(i % 5, 100, TransactionType.CHARGE, i);
+                store.insert(i % 5, 100, TransactionType.CHARGE, i);
+                reversals.add(store.insert(i % 5, 100, TransactionType.CHARGE_CANCEL, i, new HistoryRef(0, charged.id())));
+            }
+            awaitUntil(() -> store.hotCount() < HOT_CAPACITY);
+
+            // when & then
+            for (PointHistory reversal : reversals) {
+                assertThat(store.selectReversalOf(reversal.id() - 2)).contains(reversal);
+            }
+            assertThat(store.selectReversalOf(2L)).isEmpty();
+        }
+
+        try (TieredPointHistoryStore reopened = new TieredPointHistoryStore(tempDir, HOT_CAPACITY)) {
+            assertThat(reopened.selectReversalOf(1L)).contains(reversals.get(0));
+            assertThat(reopened.selectReversalOf(reversals.get(124).id() - 2)).contains(reversals.get(124));
+            assertThat(reopened.selectReversalOf(reversals.get(124).id() - 1)).isEmpty();
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,117 @@
+package io.hhplus.tdd.point.jfr;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.InsufficientBalanceException;
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.history.HistoryRef;
+import io.hhplus.tdd.point.history.InMemoryPointHistoryStore;
+import io.hhplus.tdd.point.lock.LocalLockProvider;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.wal.PointWriteAheadLog;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PointOperationEvent JFR 이벤트 테스트")
+class PointOperationEventTest {
+
+    private static final String EVENT_NAME = "io.hhplus.tdd.PointOperation";
+    private static final long WRITE_MILLIS = 20;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("충전/사용마다 락 대기, 잔고 쓰기, 히스토리 저장 시간을 담은 이벤트를 남긴다")
+    void chargeAndUse_recordEvents() throws IOException {
+        // given
+        PointService pointService = new PointService(new FakeUserPointTable(), new FakeHistoryStore(),
+                new LocalLockProvider(), List.of(), PointWriteAheadLog.inMemory());
+        Path dump = tempDir.resolve("point.jfr");
+
+        // when
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_NAME);
+            recording.start();
+            pointService.charge(1L, 1_000);
+            assertThatThrownBy(() -> pointService.use(1L, 5_000))
+                    .isInstanceOf(InsufficientBalanceException.class);
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        // then
+        List<RecordedEvent> events = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+            if (event.getEventType().getName().equals(EVENT_NAME)) {
+                events.add(event);
+            }
+        }
+        assertThat(events).hasSize(2);
+
+        RecordedEvent charge = events.get(0);
+        assertThat(charge.getString("type")).isEqualTo("CHARGE");
+        assertThat(charge.getLong("userId")).isEqualTo(1L);
+        assertThat(charge.getLong("amount")).isEqualTo(1_000L);
+        assertThat(charge.getDuration("lockWait")).isNotNegative();
+        assertThat(charge.getDuration("balanceWrite")).isGreaterThanOrEqualTo(Duration.ofMillis(WRITE_MILLIS));
+        assertThat(charge.getDuration("historyInsert")).isGreaterThanOrEqualTo(Duration.ofMillis(WRITE_MILLIS));
+        assertThat(charge.getString("failure")).isNull();
+
+        RecordedEvent use = events.get(1);
+        assertThat(use.getString("type")).isEqualTo("USE");
+        assertThat(use.getString("failure")).isEqualTo("InsufficientBalanceException");
+        assertThat(use.getDuration("balanceWrite")).isZero();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(WRITE_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class FakeUserPointTable extends UserPointTable {
+
+        private final Map<Long, UserPoint> points = new ConcurrentHashMap<>();
+
+        @Override
+        public UserPoint selectById(Long id) {
+            return points.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            sleep();
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            points.put(id, userPoint);
+            return userPoint;
+        }
+    }
+
+    private static class FakeHistoryStore extends InMemoryPointHistoryStore {
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis, HistoryRef ref) {
+            sleep();
+            return super.insert(userId, amount, type, updateMillis, ref);
+        }
+    }
+}
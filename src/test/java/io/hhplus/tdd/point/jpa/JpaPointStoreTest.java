@@ -0,0 +1,204 @@
+package io.hhplus.tdd.point.jpa;
+
+import io.hhplus.tdd.exception.AlreadyCancelledException;
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.history.HistoryRef;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 저장소가 자체 트랜잭션(별도 스레드 포함)으로 커밋하므로 테스트 트랜잭션으로 감싸지 않는다.
+@DataJpaTest(showSql = false)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("JPA 잔고/히스토리 저장소 테스트")
+class JpaPointStoreTest {
+
+    @Autowired
+    UserPointJpaRepository userPointRepository;
+    @Autowired
+    PointHistoryJpaRepository historyRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    JpaUserPointTable userPointTable;
+    JpaPointHistoryStore historyStore;
+
+    @BeforeEach
+    void setUp() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        userPointTable = new JpaUserPointTable(userPointRepository, transactionTemplate);
+        historyStore = new JpaPointHistoryStore(historyRepository, transactionTemplate, 64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        historyStore.close();
+        historyRepository.deleteAllInBatch();
+        userPointRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("잔고는 없으면 0 으로 조회되고, 쓰면 버전이 오른다")
+    void userPoint_insertAndUpdate() {
+        // when
+        UserPoint empty = userPointTable.selectById(1L);
+        userPointTable.insertOrUpdate(1L, 1_000L);
+        UserPoint updated = userPointTable.insertOrUpdate(1L, 700L);
+
+        // then
+        assertThat(empty.point()).isZero();
+        assertThat(updated.point()).isEqualTo(700L);
+        assertThat(userPointTable.selectById(1L).point()).isEqualTo(700L);
+        assertThat(userPointRepository.findById(1L).orElseThrow().getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("읽은 뒤 다른 쓰기가 먼저 커밋됐으면 낙관적 락으로 실패한다")
+    void userPoint_staleVersion_fails() {
+        // given
+        userPointTable.insertOrUpdate(1L, 1_000L);
+        UserPointEntity stale = userPointRepository.findById(1L).orElseThrow();
+        userPointTable.insertOrUpdate(1L, 2_000L);
+
+        // when
+        stale.update(500L, System.currentTimeMillis());
+
+        // then
+        assertThatThrownBy(() -> userPointRepository.saveAndFlush(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(userPointTable.selectById(1L).point()).isEqualTo(2_000L);
+    }
+
+    @Test
+    @DisplayName("조건부 갱신은 잔고가 읽어 둔 값일 때만 바꾸고, 아니면 바꾸지 않고 false 를 돌려준다")
+    void userPoint_compareAndSet() {
+        // given
+        boolean inserted = userPointTable.compareAndSet(1L, 0L, 1_000L);
+        userPointTable.insertOrUpdate(1L, 2_000L);
+
+        // when
+        boolean stale = userPointTable.compareAndSet(1L, 1_000L, 500L);
+        boolean fresh = userPointTable.compareAndSet(1L, 2_000L, 1_500L);
+
+        // then
+        assertThat(inserted).isTrue();
+        assertThat(stale).isFalse();
+        assertThat(fresh).isTrue();
+        assertThat(userPointTable.selectById(1L).point()).isEqualTo(1_500L);
+        assertThat(userPointTable.compareAndSet(2L, 100L, 200L)).isFalse();
+        assertThat(userPointRepository.findById(2L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("동시에 넣은 히스토리는 배치로 저장되고, 사용자별로 id 순서대로 조회된다")
+    void history_concurrentInserts() throws Exception {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<PointHistory>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 400; i++) {
+            long userId = i % 4;
+            TransactionType type = TransactionType.values()[i % TransactionType.values().length];
+            long amount = i;
+            futures.add(executor.submit(() -> historyStore.insert(userId, amount, type, amount)));
+        }
+        List<PointHistory> inserted = new ArrayList<>();
+        for (Future<PointHistory> future : futures) {
+            inserted.add(future.get());
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(inserted).extracting(PointHistory::id).doesNotHaveDuplicates();
+        List<PointHistory> user1 = historyStore.selectAllByUserId(1L);
+        assertThat(user1).hasSize(100);
+        assertThat(user1).extracting(PointHistory::id).isSorted();
+        assertThat(user1).extracting(PointHistory::userId).containsOnly(1L);
+        PointHistory any = inserted.get(123);
+        assertThat(historyStore.selectById(any.id())).contains(any);
+        assertThat(historyStore.selectById(-1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("같은 거래의 중복 취소는 그 행만 AlreadyCancelledException 으로 실패하고, 같은 배치의 다른 행은 저장된다")
+    void history_duplicateCancel_failsOnlyThatRow() throws Exception {
+        // given
+        PointHistory original = historyStore.insert(1L, 1000L, TransactionType.CHARGE, 1L);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<PointHistory>> cancels = new ArrayList<>();
+        List<Future<PointHistory>> others = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            long amount = i;
+            cancels.add(executor.submit(() -> historyStore.insert(1L, 1000L, TransactionType.CHARGE_CANCEL, 2L,
+                    new HistoryRef(0, original.id()))));
+            others.add(executor.submit(() -> historyStore.insert(2L, amount, TransactionType.CHARGE, amount)));
+        }
+        int cancelled = 0;
+        int rejected = 0;
+        for (Future<PointHistory> future : cancels) {
+            try {
+                future.get();
+                cancelled++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(AlreadyCancelledException.class);
+                rejected++;
+            }
+        }
+        for (Future<PointHistory> future : others) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(cancelled).isEqualTo(1);
+        assertThat(rejected).isEqualTo(99);
+        assertThat(historyStore.selectAllByUserId(2L)).hasSize(100);
+    }
+
+    @Test
+    @DisplayName("행이 없을 때의 조건부 갱신이 다른 삽입과 겹쳐 기본 키가 충돌하면 false 를 돌려준다")
+    void userPoint_compareAndSet_concurrentInsert_returnsFalse() throws Exception {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 8; i++) {
+            long newPoint = 100L + i;
+            futures.add(executor.submit(() -> userPointTable.compareAndSet(3L, 0L, newPoint)));
+        }
+        int applied = 0;
+        for (Future<Boolean> future : futures) {
+            if (future.get()) {
+                applied++;
+            }
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(applied).isEqualTo(1);
+    }
+}
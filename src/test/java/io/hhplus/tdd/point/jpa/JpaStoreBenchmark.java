@@ -0,0 +1,128 @@
+package io.hhplus.tdd.point.jpa;
+
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.history.PointHistoryStore;
+import io.hhplus.tdd.point.history.TieredPointHistoryStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JPA(H2) 히스토리 저장소와 메모리 저장소 비교 (./gradlew benchmark)
+ * - 100,000 건 -> 1,000,000 건까지 THREADS 개 스레드로 나눠 넣으면서 삽입 처리량,
+ *   무작위 사용자의 selectAllByUserId, 무작위 id 의 selectById 평균 시간을 출력한다.
+ * - 메모리 쪽은 지연 없이 쌓을 수 있는 계층형 저장소를 쓴다.
+ *   PointHistoryTable 은 삽입마다 최대 300ms 를 쉬고 동시 삽입도 안전하지 않아 이 건수까지 채울 수 없다.
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.properties.hibernate.jdbc.batch_size=500",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("JPA/메모리 히스토리 저장소 비교")
+class JpaStoreBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int[] SIZES = {100_000, 1_000_000};
+    private static final int THREADS = 64;
+    private static final int LOOKUPS = 2_000;
+
+    @Autowired
+    PointHistoryJpaRepository historyRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void jpa() throws Exception {
+        try (JpaPointHistoryStore store = new JpaPointHistoryStore(historyRepository, new TransactionTemplate(transactionManager), 500)) {
+            run("jpa", store);
+        } finally {
+            historyRepository.deleteAllInBatch();
+        }
+    }
+
+    @Test
+    void memory() throws Exception {
+        try (TieredPointHistoryStore store = new TieredPointHistoryStore(null, 1 << 20)) {
+            run("memory", store);
+        }
+    }
+
+    private static void run(String name, PointHistoryStore store) throws Exception {
+        long inserted = 0;
+        long firstId = -1;
+        for (int size : SIZES) {
+            long start = System.nanoTime();
+            long firstOfRound = insert(store, inserted, size);
+            long insertElapsed = System.nanoTime() - start;
+            if (firstId < 0) {
+                firstId = firstOfRound;
+            }
+            long rows = size - inserted;
+            inserted = size;
+
+            SplittableRandom random = new SplittableRandom(42);
+            start = System.nanoTime();
+            long read = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                read += store.selectAllByUserId(random.nextLong(USERS)).size();
+            }
+            long selectAllElapsed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long found = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                if (store.selectById(firstId + random.nextLong(inserted)).isPresent()) {
+                    found++;
+                }
+            }
+            long selectByIdElapsed = System.nanoTime() - start;
+
+            System.out.printf("[%s] histories=%d insert=%.0f rows/s selectAllByUserId=%.0fus selectById=%.0fus found=%d/%d%n",
+                    name, inserted, rows * 1e9 / insertElapsed,
+                    selectAllElapsed / 1e3 / LOOKUPS, selectByIdElapsed / 1e3 / LOOKUPS, found, LOOKUPS);
+            assertThat(read).isEqualTo(LOOKUPS * (inserted / USERS));
+        }
+    }
+
+    // [from, to) 번째 히스토리를 THREADS 개 스레드로 나눠 넣고, 가장 작은 id 를 돌려준다.
+    private static long insert(PointHistoryStore store, long from, long to) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                long offset = from + t;
+                futures.add(executor.submit(() -> {
+                    long minId = Long.MAX_VALUE;
+                    for (long i = offset; i < to; i += THREADS) {
+                        minId = Math.min(minId, store.insert(i % USERS, 1_000, TransactionType.CHARGE, i).id());
+                    }
+                    return minId;
+                }));
+            }
+            long minId = Long.MAX_VALUE;
+            for (Future<Long> future : futures) {
+                minId = Math.min(minId, future.get());
+            }
+            return minId;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
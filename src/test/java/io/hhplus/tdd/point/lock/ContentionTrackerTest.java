@@ -0,0 +1,107 @@
+package io.hhplus.tdd.point.lock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("락 경합 추적 테스트")
+class ContentionTrackerTest {
+
+    @Test
+    @DisplayName("count-min sketch 추정값은 실제값보다 작지 않다")
+    void countMinSketch_neverUnderestimates() {
+        // given
+        CountMinSketch sketch = new CountMinSketch(1 << 6);
+
+        // when
+        for (long key = 0; key < 1_000; key++) {
+            sketch.add(key, key + 1);
+        }
+
+        // then
+        for (long key = 0; key < 1_000; key++) {
+            assertThat(sketch.estimate(key)).isGreaterThanOrEqualTo(key + 1);
+        }
+    }
+
+    @Test
+    @DisplayName("경합 상위 사용자는 대기 시간이 큰 순서로 최대 100명까지만 유지된다")
+    void hotUsers_keepsTopKByWaitTime() {
+        // given
+        ContentionTracker tracker = new ContentionTracker();
+
+        // when : 사용자 id 가 클수록 대기 시간이 길다.
+        for (long userId = 1; userId <= 1_000; userId++) {
+            tracker.record(userId, userId * 1_000_000, true);
+        }
+        tracker.record(20_000L, 1, false);
+
+        // then
+        List<HotUser> hotUsers = tracker.hotUsers(1_000);
+        assertThat(hotUsers).hasSize(100);
+        assertThat(hotUsers.get(0).userId()).isEqualTo(1_000L);
+        assertThat(hotUsers.get(0).totalWaitMillis()).isGreaterThanOrEqualTo(1_000L);
+        assertThat(hotUsers).extracting(HotUser::userId).doesNotContain(20_000L);
+    }
+
+    @Test
+    @DisplayName("락을 기다리는 요청 수와 연산 수가 집계된다")
+    void hotUsers_reportsQueuedWaiters() throws InterruptedException {
+        // given
+        LocalLockProvider lockProvider = new LocalLockProvider();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // when : 한 요청이 락을 쥔 동안 3개 요청이 대기한다.
+        executor.execute(() -> lockProvider.withLock(1L, () -> {
+            holding.countDown();
+            await(release);
+            return null;
+        }));
+        holding.await();
+        for (int i = 0; i < 3; i++) {
+            executor.execute(() -> lockProvider.withLock(1L, () -> null));
+        }
+        Thread.sleep(200);
+        List<HotUser> waiting = lockProvider.hotUsers(10);
+        release.countDown();
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(waiting).singleElement()
+                .satisfies(hotUser -> assertThat(hotUser.queuedWaiters()).isEqualTo(3));
+
+        List<HotUser> hotUsers = lockProvider.hotUsers(10);
+        assertThat(hotUsers).singleElement().satisfies(hotUser -> {
+            assertThat(hotUser.userId()).isEqualTo(1L);
+            assertThat(hotUser.operations()).isEqualTo(4L);
+            assertThat(hotUser.totalWaitMillis()).isGreaterThanOrEqualTo(200L);
+            assertThat(hotUser.queuedWaiters()).isZero();
+        });
+    }
+
+    @Test
+    @DisplayName("조회 인원이 1명 미만이면 예외가 발생한다")
+    void hotUsers_invalidLimit() {
+        assertThatThrownBy(() -> new LocalLockProvider().hotUsers(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
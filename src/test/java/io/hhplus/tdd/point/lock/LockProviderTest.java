@@ -0,0 +1,131 @@
+package io.hhplus.tdd.point.lock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("LockProvider 구현체 테스트")
+class LockProviderTest {
+
+    private static final int THREAD_COUNT = 16;
+    private static final int OPERATIONS = 400;
+
+    @TempDir
+    Path tempDir;
+
+    private FileLockProvider fileLockProvider;
+
+    @AfterEach
+    void tearDown() {
+        if (fileLockProvider != null) {
+            fileLockProvider.close();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"local", "file", "redisson"})
+    @DisplayName("같은 사용자에 대한 작업은 동시에 실행되지 않고 경합이 기록된다")
+    void withLock_sameUser_isMutuallyExclusive(String provider) throws InterruptedException {
+        // given
+        LockProvider lockProvider = create(provider);
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch latch = new CountDownLatch(OPERATIONS);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        int[] counter = new int[1];
+
+        // when
+        for (int i = 0; i < OPERATIONS; i++) {
+            executor.execute(() -> {
+                try {
+                    lockProvider.withLock(1L, () -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        counter[0]++;
+                        running.decrementAndGet();
+                        return null;
+                    });
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(counter[0]).isEqualTo(OPERATIONS);
+        LockStats stats = lockProvider.stats();
+        assertThat(stats.provider()).isEqualTo(provider);
+        assertThat(stats.acquisitions()).isEqualTo(OPERATIONS);
+        assertThat(stats.contended()).isBetween(0L, (long) OPERATIONS);
+        assertThat(stats.maxWaitNanos()).isLessThanOrEqualTo(stats.totalWaitNanos());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"local", "file", "redisson"})
+    @DisplayName("작업이 예외로 끝나도 락은 해제된다")
+    void withLock_actionThrows_releasesLock(String provider) {
+        // given
+        LockProvider lockProvider = create(provider);
+
+        // when
+        assertThatThrownBy(() -> lockProvider.withLock(1L, () -> {
+            throw new IllegalStateException("잔액이 부족합니다.");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // then
+        assertThat(lockProvider.withLock(1L, () -> "다시 획득")).isEqualTo("다시 획득");
+        assertThat(lockProvider.stats().contended()).isZero();
+    }
+
+    private LockProvider create(String provider) {
+        return switch (provider) {
+            case "local" -> new LocalLockProvider();
+            case "file" -> fileLockProvider = new FileLockProvider(tempDir, 8);
+            case "redisson" -> new RedissonLockProvider(localRedissonStandIn());
+            default -> throw new IllegalArgumentException(provider);
+        };
+    }
+
+    // Redis 없이 RLock 의미를 흉내 내는 대역 (키마다 ReentrantLock 하나)
+    private static RedissonClient localRedissonStandIn() {
+        Map<String, RLock> locks = new ConcurrentHashMap<>();
+        RedissonClient client = mock(RedissonClient.class);
+        when(client.getLock(anyString())).thenAnswer(invocation ->
+                locks.computeIfAbsent(invocation.getArgument(0), name -> {
+                    ReentrantLock delegate = new ReentrantLock();
+                    RLock lock = mock(RLock.class);
+                    when(lock.tryLock()).thenAnswer(i -> delegate.tryLock());
+                    doAnswer(i -> {
+                        delegate.lock();
+                        return null;
+                    }).when(lock).lock();
+                    doAnswer(i -> {
+                        delegate.unlock();
+                        return null;
+                    }).when(lock).unlock();
+                    return lock;
+                }));
+        return client;
+    }
+}
@@ -0,0 +1,169 @@
+package io.hhplus.tdd.point.operation;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.ShuttingDownException;
+import io.hhplus.tdd.point.bulkhead.BulkheadFullException;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.history.TablePointHistoryStore;
+import io.hhplus.tdd.point.lock.LocalLockProvider;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.wal.PointWriteAheadLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("비동기 충전/사용 파이프라인 테스트")
+class PointOperationServiceTest {
+
+    private final PointService pointService =
+            new PointService(new UserPointTable(), new TablePointHistoryStore(new PointHistoryTable()), new LocalLockProvider(), List.of(), PointWriteAheadLog.inMemory());
+    private PointOperationService operationService = new PointOperationService(pointService, 8, 1_000, 1_000, Duration.ofMinutes(1));
+
+    @AfterEach
+    void tearDown() {
+        operationService.close();
+    }
+
+    @Test
+    @DisplayName("접수 즉시 PENDING 작업을 돌려주고, 처리가 끝나면 결과 잔고를 담아 SUCCEEDED 가 된다")
+    void charge_acceptedThenSucceeded() throws Exception {
+        // when
+        PointOperation accepted = operationService.charge(1L, 1_000);
+        PointOperation done = operationService.completion(accepted.opId()).get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(accepted.status()).isEqualTo(OperationStatus.PENDING);
+        assertThat(done.status()).isEqualTo(OperationStatus.SUCCEEDED);
+        assertThat(done.result().point()).isEqualTo(1_000L);
+        assertThat(operationService.get(accepted.opId())).isEqualTo(done);
+        assertThat(operationService.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 작업은 접수 순서대로 실행된다")
+    void sameUser_runsInSubmissionOrder() throws Exception {
+        // when
+        PointOperation charge = operationService.charge(1L, 1_000);
+        PointOperation use = operationService.use(1L, 1_000);
+        PointOperation usedResult = operationService.completion(use.opId()).get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(operationService.get(charge.opId()).status()).isEqualTo(OperationStatus.SUCCEEDED);
+        assertThat(usedResult.status()).isEqualTo(OperationStatus.SUCCEEDED);
+        assertThat(usedResult.result().point()).isZero();
+    }
+
+    @Test
+    @DisplayName("처리 중 예외가 나면 REST 응답과 같은 에러 코드로 FAILED 가 된다")
+    void failure_recordsErrorCode() throws Exception {
+        // when
+        PointOperation minCharge = operationService.charge(1L, 50);
+        PointOperation insufficient = operationService.use(2L, 1_000);
+
+        // then
+        PointOperation minChargeResult = operationService.completion(minCharge.opId()).get(5, TimeUnit.SECONDS);
+        PointOperation insufficientResult = operationService.completion(insufficient.opId()).get(5, TimeUnit.SECONDS);
+        assertThat(minChargeResult.status()).isEqualTo(OperationStatus.FAILED);
+        assertThat(minChargeResult.errorCode()).isEqualTo("MIN_CHARGE_ERROR");
+        assertThat(insufficientResult.errorCode()).isEqualTo("INSUFFICIENT_BALANCE");
+        assertThat(insufficientResult.errorMessage()).isEqualTo("잔액이 부족합니다.");
+    }
+
+    @Test
+    @DisplayName("앞 작업이 실패해도 같은 사용자의 다음 작업은 실행된다")
+    void failure_doesNotBlockNextOperation() throws Exception {
+        // when
+        operationService.use(1L, 1_000);
+        PointOperation charge = operationService.charge(1L, 500);
+
+        // then
+        PointOperation result = operationService.completion(charge.opId()).get(5, TimeUnit.SECONDS);
+        assertThat(result.status()).isEqualTo(OperationStatus.SUCCEEDED);
+        assertThat(result.result().point()).isEqualTo(500L);
+    }
+
+    @Test
+    @DisplayName("없는 작업을 조회하면 NoSuchElementException 이 발생한다")
+    void get_unknownOperation() {
+        assertThatThrownBy(() -> operationService.get("unknown"))
+                .isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    @DisplayName("처리 대기 작업이 한도를 넘으면 접수를 거절한다")
+    void submit_rejectsWhenPendingFull() throws Exception {
+        // given
+        operationService.close();
+        CountDownLatch release = new CountDownLatch(1);
+        PointService blocking = mock(PointService.class);
+        when(blocking.charge(anyLong(), anyLong())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new UserPoint(invocation.getArgument(0), invocation.getArgument(1), System.currentTimeMillis());
+        });
+        operationService = new PointOperationService(blocking, 2, 2, 1_000, Duration.ofMinutes(1));
+        PointOperation first = operationService.charge(1L, 100);
+        operationService.charge(2L, 100);
+
+        // when & then
+        assertThatThrownBy(() -> operationService.charge(3L, 100))
+                .isInstanceOf(BulkheadFullException.class);
+        release.countDown();
+        assertThat(operationService.completion(first.opId()).get(5, TimeUnit.SECONDS).status())
+                .isEqualTo(OperationStatus.SUCCEEDED);
+    }
+
+    @Test
+    @DisplayName("끝난 작업이 maxRetained 를 넘으면 먼저 끝난 작업부터 조회할 수 없다")
+    void completed_isBoundedByMaxRetained() throws Exception {
+        // given
+        operationService.close();
+        operationService = new PointOperationService(pointService, 2, 1_000, 2, Duration.ofMinutes(1));
+        PointOperation first = operationService.charge(1L, 100);
+        PointOperation second = operationService.charge(1L, 100);
+        PointOperation third = operationService.charge(1L, 100);
+
+        // when
+        operationService.completion(third.opId()).get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThatThrownBy(() -> operationService.get(first.opId()))
+                .isInstanceOf(NoSuchElementException.class);
+        assertThat(operationService.get(second.opId()).status()).isEqualTo(OperationStatus.SUCCEEDED);
+        assertThat(operationService.get(third.opId()).result().point()).isEqualTo(300L);
+    }
+
+    @Test
+    @DisplayName("종료하면 이미 접수한 작업은 모두 처리하고, 그 뒤의 접수는 거절한다")
+    void close_drainsAcceptedAndRejectsNew() {
+        // given
+        List<PointOperation> accepted = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            accepted.add(operationService.charge(1L, 100));
+        }
+
+        // when
+        operationService.close();
+
+        // then
+        for (PointOperation operation : accepted) {
+            assertThat(operationService.get(operation.opId()).status()).isEqualTo(OperationStatus.SUCCEEDED);
+        }
+        assertThat(operationService.pendingCount()).isZero();
+        assertThatThrownBy(() -> operationService.charge(1L, 100))
+                .isInstanceOf(ShuttingDownException.class);
+    }
+}
@@ -0,0 +1,103 @@
+package io.hhplus.tdd.point.protocol;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * REST/JSON 과 바이너리 프로토콜의 충전 요청 처리량 비교 (./gradlew benchmark)
+ * - 최소 금액 미만 충전(Table 지연 없이 거절되는 경로)으로 전송/바인딩 비용만 비교한다.
+ * - 같은 동시 요청 수로 보내 처리량과 p50/p99 지연을 출력하고, 마지막에 REST 대비 바이너리의 배율을 한 줄로 출력한다.
+ *   (커밋/PR 에 결과를 남길 때는 이 요약 줄과 측정 환경(CPU 수)을 함께 적는다)
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "point.protocol.port=0")
+@ActiveProfiles("test")
+@DisplayName("REST/바이너리 프로토콜 처리량 비교")
+class PointProtocolBenchmark {
+
+    private static final int CONCURRENCY = 256;
+    private static final int CONNECTIONS = 4;
+    private static final int REQUESTS = 200_000;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    PointProtocolServer server;
+
+    @Test
+    void charge() throws Exception {
+        HttpClient http = HttpClient.newHttpClient();
+        URI uri = URI.create("http://localhost:" + port + "/point/1/charge");
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"amount\":1}"))
+                .build();
+        run("rest", REQUESTS / 10, () -> http.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        Result rest = run("rest", REQUESTS, () -> http.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+
+        List<PointProtocolClient> clients = new ArrayList<>();
+        for (int i = 0; i < CONNECTIONS; i++) {
+            clients.add(PointProtocolClient.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.port())));
+        }
+        Result binary;
+        try {
+            int[] next = {0};
+            Supplier<CompletableFuture<?>> send = () -> clients.get(next[0]++ % CONNECTIONS).charge(1L, 1).exceptionally(e -> null);
+            run("binary", REQUESTS / 10, send);
+            binary = run("binary", REQUESTS, send);
+        } finally {
+            clients.forEach(PointProtocolClient::close);
+        }
+
+        System.out.printf("[summary] cpus=%d binary/rest throughput=%.2fx p50=%dus/%dus p99=%dus/%dus%n",
+                Runtime.getRuntime().availableProcessors(), binary.throughput() / rest.throughput(),
+                binary.p50Micros(), rest.p50Micros(), binary.p99Micros(), rest.p99Micros());
+    }
+
+    private Result run(String name, int requests, Supplier<CompletableFuture<?>> send) {
+        Semaphore concurrency = new Semaphore(CONCURRENCY);
+        List<CompletableFuture<Long>> latencies = new ArrayList<>(requests);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            concurrency.acquireUninterruptibly();
+            long sent = System.nanoTime();
+            latencies.add(send.get()
+                    .thenApply(response -> System.nanoTime() - sent)
+                    .whenComplete((latency, e) -> concurrency.release()));
+        }
+        long[] sorted = latencies.stream().map(CompletableFuture::join).mapToLong(Long::longValue).sorted().toArray();
+        long elapsed = System.nanoTime() - start;
+
+        Result result = new Result(requests * 1e9 / elapsed,
+                sorted[sorted.length / 2] / 1_000, sorted[sorted.length * 99 / 100] / 1_000);
+        System.out.printf("[%s] concurrency=%d requests=%d throughput=%.0f req/s p50=%dus p99=%dus%n",
+                name, CONCURRENCY, requests, result.throughput(), result.p50Micros(), result.p99Micros());
+        return result;
+    }
+
+    private record Result(
+            double throughput,
+            long p50Micros,
+            long p99Micros
+    ) {
+    }
+}
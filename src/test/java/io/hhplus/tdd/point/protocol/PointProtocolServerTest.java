@@ -0,0 +1,111 @@
+package io.hhplus.tdd.point.protocol;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.history.TablePointHistoryStore;
+import io.hhplus.tdd.point.lock.LocalLockProvider;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.wal.PointWriteAheadLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("바이너리 프로토콜 리스너 테스트")
+class PointProtocolServerTest {
+
+    private PointService pointService;
+    private PointProtocolServer server;
+    private PointProtocolClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pointService = new PointService(new UserPointTable(), new TablePointHistoryStore(new PointHistoryTable()), new LocalLockProvider(), List.of(), PointWriteAheadLog.inMemory());
+        server = new PointProtocolServer(pointService, "127.0.0.1", 0, 64);
+        client = PointProtocolClient.connect(address());
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("충전/사용/조회 요청을 PointService 로 처리한다")
+    void chargeUseGet() throws Exception {
+        // when
+        client.charge(1L, 1_000).get(5, TimeUnit.SECONDS);
+        UserPoint used = client.use(1L, 300).get(5, TimeUnit.SECONDS);
+        UserPoint current = client.getPoint(1L).get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(used.point()).isEqualTo(700L);
+        assertThat(current.point()).isEqualTo(700L);
+        assertThat(pointService.getHistories(1L)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("한 연결에 이어 보낸 요청의 응답은 correlationId 로 각 요청에 돌아간다")
+    void pipelinedRequests() throws Exception {
+        // given : 응답 순서가 섞이도록 서로 다른 사용자에게 보낸다.
+        List<CompletableFuture<UserPoint>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(client.charge(100L + i, 100L + i));
+        }
+
+        // when & then
+        for (int i = 0; i < 200; i++) {
+            UserPoint userPoint = futures.get(i).get(10, TimeUnit.SECONDS);
+            assertThat(userPoint.id()).isEqualTo(100L + i);
+            assertThat(userPoint.point()).isEqualTo(100L + i);
+        }
+    }
+
+    @Test
+    @DisplayName("도메인 거절은 REST 와 같은 분류의 상태로 돌아온다")
+    void rejections() {
+        // when & then
+        assertThatThrownBy(() -> client.charge(2L, 1).join())
+                .hasCauseInstanceOf(PointProtocolException.class)
+                .cause()
+                .satisfies(e -> assertThat(((PointProtocolException) e).getStatus()).isEqualTo(FrameStatus.BAD_REQUEST))
+                .satisfies(e -> assertThat(((PointProtocolException) e).getCode()).isEqualTo("MIN_CHARGE_ERROR"));
+        assertThatThrownBy(() -> client.use(2L, 1_000).join())
+                .cause()
+                .satisfies(e -> assertThat(((PointProtocolException) e).getStatus()).isEqualTo(FrameStatus.CONFLICT))
+                .satisfies(e -> assertThat(((PointProtocolException) e).getCode()).isEqualTo("INSUFFICIENT_BALANCE"))
+                .hasMessage("잔액이 부족합니다.");
+    }
+
+    @Test
+    @DisplayName("잘못된 길이의 프레임을 보낸 연결은 닫는다")
+    void malformedFrame_closesConnection() throws Exception {
+        // given
+        try (SocketChannel channel = SocketChannel.open(address())) {
+            // when
+            channel.write(ByteBuffer.allocate(8).putInt(Integer.MAX_VALUE).putInt(0).flip());
+
+            // then
+            assertThat(channel.read(ByteBuffer.allocate(16))).isEqualTo(-1);
+        }
+        assertThat(client.getPoint(3L).get(5, TimeUnit.SECONDS).point()).isZero();
+    }
+
+    private InetSocketAddress address() {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), server.port());
+    }
+}
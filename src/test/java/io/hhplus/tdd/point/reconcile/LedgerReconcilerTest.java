@@ -0,0 +1,211 @@
+package io.hhplus.tdd.point.reconcile;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.history.InMemoryPointHistoryStore;
+import io.hhplus.tdd.point.history.PointHistoryStore;
+import io.hhplus.tdd.point.history.TieredPointHistoryStore;
+import io.hhplus.tdd.point.lock.LocalLockProvider;
+import io.hhplus.tdd.point.service.UserPointRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("잔고/히스토리 대사 테스트")
+class LedgerReconcilerTest {
+
+    private final Map<Long, Long> balances = new HashMap<>();
+    private final FakeUserPointTable userPointTable = new FakeUserPointTable();
+    private final UserPointRegistry userPointRegistry = new UserPointRegistry();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TieredPointHistoryStore pointHistoryStore;
+    private LedgerReconciler ledgerReconciler;
+
+    @BeforeEach
+    void setUp() {
+        pointHistoryStore = new TieredPointHistoryStore(null, 64);
+        ledgerReconciler = newReconciler(pointHistoryStore);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ledgerReconciler.close();
+        pointHistoryStore.close();
+    }
+
+    @Test
+    @DisplayName("잔고가 충전 - 사용 - 만료 합계와 같으면 불일치가 없다")
+    void runFull_consistentLedger() {
+        // given
+        for (long userId = 1; userId <= 5_000; userId++) {
+            commit(userId, TransactionType.CHARGE, 1_000);
+            commit(userId, TransactionType.USE, 300);
+            commit(userId, TransactionType.EXPIRE, 200);
+        }
+
+        // when
+        ReconciliationReport report = ledgerReconciler.runFull();
+
+        // then
+        assertThat(report.full()).isTrue();
+        assertThat(report.checkedUsers()).isEqualTo(5_000);
+        assertThat(report.mismatchCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("히스토리 없이 바뀐 잔고는 불일치로 보고되고, 장부가 맞춰지면 해소된다")
+    void runIncremental_detectsAndClearsMismatch() {
+        // given
+        commit(1L, TransactionType.CHARGE, 1_000);
+        commit(2L, TransactionType.CHARGE, 1_000);
+        ledgerReconciler.runFull();
+
+        // when : 히스토리 없이 잔고만 바뀐 커밋
+        UserPoint corrupted = userPointTable.insertOrUpdate(1L, 5_000);
+        userPointRegistry.onCommitted(corrupted, null);
+        ledgerReconciler.onCommitted(corrupted, null);
+        ReconciliationReport detected = ledgerReconciler.runIncremental();
+
+        // then
+        assertThat(detected.checkedUsers()).isEqualTo(1);
+        assertThat(detected.mismatches()).singleElement().satisfies(mismatch -> {
+            assertThat(mismatch.userId()).isEqualTo(1L);
+            assertThat(mismatch.balance()).isEqualTo(5_000L);
+            assertThat(mismatch.ledgerBalance()).isEqualTo(1_000L);
+        });
+        assertThat(meterRegistry.get("point.reconcile.mismatches").gauge().value()).isEqualTo(1.0);
+
+        // when : 차액만큼 충전 히스토리가 들어와 장부가 맞춰진다.
+        balances.put(1L, 1_000L);
+        commit(1L, TransactionType.CHARGE, 4_000);
+        ReconciliationReport cleared = ledgerReconciler.runIncremental();
+
+        // then
+        assertThat(cleared.mismatchCount()).isZero();
+        assertThat(ledgerReconciler.mismatchOf(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("증분 대사는 마지막 실행 이후 변경된 사용자만 검증한다")
+    void runIncremental_checksOnlyChangedUsers() {
+        // given
+        for (long userId = 1; userId <= 100; userId++) {
+            commit(userId, TransactionType.CHARGE, 1_000);
+        }
+        ledgerReconciler.runIncremental();
+
+        // when
+        commit(7L, TransactionType.USE, 100);
+        commit(8L, TransactionType.USE, 100);
+        ReconciliationReport report = ledgerReconciler.runIncremental();
+
+        // then
+        assertThat(report.full()).isFalse();
+        assertThat(report.checkedUsers()).isEqualTo(2);
+        assertThat(ledgerReconciler.runIncremental().checkedUsers()).isZero();
+    }
+
+    @Test
+    @DisplayName("잔고는 레지스트리 캐시가 아니라 잔고 테이블에서 읽어 비교한다")
+    void runFull_readsBalanceFromTable() {
+        // given : 커밋 이벤트 없이 테이블의 잔고만 바뀐 상황
+        commit(1L, TransactionType.CHARGE, 1_000);
+        userPointTable.insertOrUpdate(1L, 3_000);
+
+        // when
+        ReconciliationReport report = ledgerReconciler.runFull();
+
+        // then
+        assertThat(report.mismatches()).singleElement().satisfies(mismatch -> {
+            assertThat(mismatch.balance()).isEqualTo(3_000L);
+            assertThat(mismatch.ledgerBalance()).isEqualTo(1_000L);
+        });
+    }
+
+    @Test
+    @DisplayName("히스토리 조회가 동시 삽입과 겹쳐 실패하면 그 사용자를 다음 증분 대사에서 다시 본다")
+    void runIncremental_failedRead_retriesNextRun() {
+        // given
+        FlakyHistoryStore flakyStore = new FlakyHistoryStore();
+        LedgerReconciler reconciler = newReconciler(flakyStore);
+        try {
+            userPointTable.insertOrUpdate(1L, 1_000);
+            flakyStore.insert(1L, 1_000, TransactionType.CHARGE, 0);
+            reconciler.onCommitted(userPointTable.selectById(1L), null);
+            flakyStore.failures.add(new ArrayIndexOutOfBoundsException(10));
+            flakyStore.failures.add(new NullPointerException());
+
+            // when
+            ReconciliationReport first = reconciler.runIncremental();
+            ReconciliationReport second = reconciler.runIncremental();
+            ReconciliationReport third = reconciler.runIncremental();
+
+            // then
+            assertThat(first.checkedUsers()).isEqualTo(1);
+            assertThat(second.checkedUsers()).isEqualTo(1);
+            assertThat(third.checkedUsers()).isEqualTo(1);
+            assertThat(third.mismatchCount()).isZero();
+            assertThat(reconciler.runIncremental().checkedUsers()).isZero();
+        } finally {
+            reconciler.close();
+        }
+    }
+
+    private LedgerReconciler newReconciler(PointHistoryStore historyStore) {
+        return new LedgerReconciler(userPointTable, historyStore, new LocalLockProvider(), userPointRegistry, meterRegistry, 4, 0);
+    }
+
+    // PointService 의 커밋 순서(히스토리 저장 -> 리스너 통지)를 흉내 낸다.
+    private void commit(long userId, TransactionType type, long amount) {
+        long delta = type == TransactionType.CHARGE ? amount : -amount;
+        long balance = balances.merge(userId, delta, Long::sum);
+        PointHistory history = pointHistoryStore.insert(userId, amount, type, System.currentTimeMillis());
+        UserPoint userPoint = userPointTable.insertOrUpdate(userId, balance);
+        userPointRegistry.onCommitted(userPoint, history);
+        ledgerReconciler.onCommitted(userPoint, history);
+    }
+
+    // 지연 없는 잔고 테이블
+    private static class FakeUserPointTable extends UserPointTable {
+
+        private final Map<Long, UserPoint> points = new ConcurrentHashMap<>();
+
+        @Override
+        public UserPoint selectById(Long id) {
+            return points.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            points.put(id, userPoint);
+            return userPoint;
+        }
+    }
+
+    // PointHistoryTable 의 동시 조회 실패를 흉내 내, 정해 둔 예외를 차례로 던지는 저장소
+    private static class FlakyHistoryStore extends InMemoryPointHistoryStore {
+
+        private final List<RuntimeException> failures = new ArrayList<>();
+
+        @Override
+        public List<PointHistory> selectAllByUserId(long userId) {
+            if (!failures.isEmpty()) {
+                throw failures.remove(0);
+            }
+            return super.selectAllByUserId(userId);
+        }
+    }
+}
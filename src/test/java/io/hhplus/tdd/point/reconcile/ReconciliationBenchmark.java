@@ -0,0 +1,83 @@
+package io.hhplus.tdd.point.reconcile;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.history.TieredPointHistoryStore;
+import io.hhplus.tdd.point.lock.LocalLockProvider;
+import io.hhplus.tdd.point.service.UserPointRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 전체 대사 처리 시간 (./gradlew benchmark)
+ * - 1,000,000 명 x 10 건 = 10,000,000 건의 히스토리를 계층형 저장소에 적재한 뒤 전체 대사를 실행한다.
+ */
+@Tag("benchmark")
+@DisplayName("전체 대사 처리 시간")
+class ReconciliationBenchmark {
+
+    private static final int USERS = 1_000_000;
+    private static final int HISTORIES_PER_USER = 10;
+
+    @Test
+    void runFull() {
+        UserPointRegistry userPointRegistry = new UserPointRegistry();
+        MapUserPointTable userPointTable = new MapUserPointTable();
+        try (TieredPointHistoryStore pointHistoryStore = new TieredPointHistoryStore(null, 1 << 20)) {
+            // 사용자별로 번갈아 쌓아 세그먼트마다 모든 사용자가 섞이게 한다.
+            long[] balances = new long[USERS];
+            for (int round = 0; round < HISTORIES_PER_USER; round++) {
+                for (int userId = 0; userId < USERS; userId++) {
+                    TransactionType type = round % 3 == 2 ? TransactionType.USE : TransactionType.CHARGE;
+                    long amount = type == TransactionType.CHARGE ? 1_000 : 500;
+                    balances[userId] += type == TransactionType.CHARGE ? amount : -amount;
+                    PointHistory history = pointHistoryStore.insert(userId, amount, type, round);
+                    userPointRegistry.onCommitted(new UserPoint(userId, balances[userId], round), history);
+                }
+            }
+            for (int userId = 0; userId < USERS; userId++) {
+                userPointTable.insertOrUpdate(userId, balances[userId]);
+            }
+
+            LedgerReconciler ledgerReconciler = new LedgerReconciler(userPointTable, pointHistoryStore, new LocalLockProvider(),
+                    userPointRegistry, new SimpleMeterRegistry(), 0, 0);
+            try {
+                ledgerReconciler.runFull();
+                ReconciliationReport report = ledgerReconciler.runFull();
+
+                System.out.printf("[full] users=%d histories=%d segments=%d elapsed=%dms%n",
+                        report.checkedUsers(), (long) USERS * HISTORIES_PER_USER, pointHistoryStore.segmentCount(), report.elapsedMillis());
+                assertThat(report.mismatchCount()).isZero();
+            } finally {
+                ledgerReconciler.close();
+            }
+        }
+    }
+
+    // 지연 없는 잔고 테이블
+    private static class MapUserPointTable extends UserPointTable {
+
+        private final Map<Long, UserPoint> points = new ConcurrentHashMap<>();
+
+        @Override
+        public UserPoint selectById(Long id) {
+            return points.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            points.put(id, userPoint);
+            return userPoint;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package io.hhplus.tdd.point.replica;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PointReplicationLog 단위 테스트")
+class PointReplicationLogTest {
+
+    final long userId = 1L;
+    final long now = System.currentTimeMillis();
+    final PointReplicationLog log = new PointReplicationLog(2);
+
+    @AfterEach
+    void tearDown() {
+        log.close();
+    }
+
+    @Test
+    @DisplayName("커밋된 변경을 모든 복제본에 순서대로 적용한다")
+    void onCommitted_appliesToAllReplicas() throws InterruptedException {
+        // given
+        PointHistory charge = new PointHistory(1L, userId, 1000L, TransactionType.CHARGE, now);
+        PointHistory use = new PointHistory(2L, userId, 300L, TransactionType.USE, now);
+
+        // when
+        log.onCommitted(new UserPoint(userId, 1000L, now), charge);
+        log.onCommitted(new UserPoint(userId, 700L, now), use);
+        awaitApplied(2);
+
+        // then
+        assertThat(log.sequence()).isEqualTo(2);
+        for (PointReplica replica : log.replicas()) {
+            assertThat(replica.findPoint(userId)).contains(new UserPoint(userId, 700L, now));
+        }
+        assertThat(log.status()).allSatisfy(status -> {
+            assertThat(status.lagEntries()).isZero();
+            assertThat(status.lagMillis()).isZero();
+        });
+    }
+
+    @Test
+    @DisplayName("커밋을 받은 적 없는 사용자는 잔고를 모른다고 답한다")
+    void findPoint_unknownUser_returnsEmpty() {
+        assertThat(log.replicas().get(0).findPoint(999L)).isEmpty();
+    }
+
+    private void awaitApplied(long sequence) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (log.replicas().stream().anyMatch(replica -> replica.appliedSequence() < sequence)) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+    }
+}
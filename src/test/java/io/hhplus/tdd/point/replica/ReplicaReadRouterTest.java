@@ -0,0 +1,84 @@
+package io.hhplus.tdd.point.replica;
+
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.service.PointService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ReplicaReadRouter 단위 테스트")
+class ReplicaReadRouterTest {
+
+    final long userId = 1L;
+    final long now = System.currentTimeMillis();
+    final PointService pointService = mock(PointService.class);
+    final PointReplicationLog log = new PointReplicationLog(1);
+    final ReplicaReadRouter router = new ReplicaReadRouter(pointService, log);
+
+    @AfterEach
+    void tearDown() {
+        log.close();
+    }
+
+    @Test
+    @DisplayName("허용 지연 이내의 복제본에서 조회한다")
+    void getPoint_freshReplica_readsReplica() throws InterruptedException {
+        // given
+        log.onCommitted(new UserPoint(userId, 1000L, now), null);
+        while (log.replicas().get(0).appliedSequence() < 1) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+
+        // when
+        UserPoint result = router.getPoint(userId, 100L);
+
+        // then
+        assertThat(result.point()).isEqualTo(1000L);
+        verifyNoInteractions(pointService);
+    }
+
+    @Test
+    @DisplayName("모든 복제본이 허용 지연을 넘으면 primary 에서 조회한다")
+    void getPoint_laggingReplica_fallsBackToPrimary() throws InterruptedException {
+        // given : 적용 스레드를 멈춰 지연을 만든다.
+        log.replicas().get(0).close();
+        TimeUnit.MILLISECONDS.sleep(10);
+        log.onCommitted(new UserPoint(userId, 1000L, now), null);
+        TimeUnit.MILLISECONDS.sleep(20);
+        when(pointService.getPoint(userId)).thenReturn(new UserPoint(userId, 1000L, now));
+
+        // when
+        UserPoint result = router.getPoint(userId, 5L);
+
+        // then
+        assertThat(result.point()).isEqualTo(1000L);
+        verify(pointService).getPoint(userId);
+    }
+
+    @Test
+    @DisplayName("복제본이 아직 커밋을 받지 못한 사용자는 primary 에서 조회한다")
+    void getPoint_unseenUser_readsPrimary() {
+        // given : 기동 전부터 잔고가 있던 사용자
+        when(pointService.getPoint(userId)).thenReturn(new UserPoint(userId, 5000L, now));
+
+        // when
+        UserPoint result = router.getPoint(userId, 100L);
+
+        // then
+        assertThat(result.point()).isEqualTo(5000L);
+        verify(pointService).getPoint(userId);
+    }
+
+    @Test
+    @DisplayName("허용 지연이 음수면 예외 발생")
+    void getPoint_negativeStaleness_throwsException() {
+        assertThatThrownBy(() -> router.getPoint(userId, -1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,78 @@
+package io.hhplus.tdd.point.schedule;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("해시드 타이밍 휠 테스트")
+class HashedTimingWheelTest {
+
+    @Test
+    @DisplayName("같은 칸에 있어도 다음 바퀴 항목은 꺼내지지 않는다")
+    void advance_keepsLaterRounds() {
+        // given : tick 10ms, 8칸이므로 한 바퀴는 80ms 다.
+        HashedTimingWheel wheel = new HashedTimingWheel(10, 8, 0);
+        wheel.add(charge(1, 30));
+        wheel.add(charge(2, 110));
+
+        // when & then
+        assertThat(wheel.advance(50)).extracting(ScheduledCharge::id).containsExactly(1L);
+        assertThat(wheel.advance(100)).isEmpty();
+        assertThat(wheel.advance(110)).extracting(ScheduledCharge::id).containsExactly(2L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("한 바퀴 이상 밀려도 도래한 항목은 모두 꺼내진다")
+    void advance_afterLongPause_returnsAllDue() {
+        // given
+        HashedTimingWheel wheel = new HashedTimingWheel(10, 8, 0);
+        for (long id = 1; id <= 100; id++) {
+            wheel.add(charge(id, id * 10));
+        }
+
+        // when
+        int due = wheel.advance(500).size();
+
+        // then
+        assertThat(due).isEqualTo(50);
+        assertThat(wheel.size()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("꺼낸 항목은 저장할 때의 필드를 그대로 가진다")
+    void advance_restoresAllFields() {
+        // given
+        HashedTimingWheel wheel = new HashedTimingWheel(10, 8, 0);
+        ScheduledCharge charge = new ScheduledCharge(7, 42, 1_000, 10, 20, 60_000, 3, 99);
+        wheel.add(charge);
+
+        // when & then
+        assertThat(wheel.advance(20)).containsExactly(charge);
+    }
+
+    @Test
+    @DisplayName("뺀 항목은 꺼내지지 않고, 없는 id 는 빼지 못한다")
+    void remove_dropsOnlyPendingEntry() {
+        // given
+        HashedTimingWheel wheel = new HashedTimingWheel(10, 8, 0);
+        wheel.add(charge(1, 30));
+        wheel.add(charge(2, 30));
+        wheel.add(charge(3, 30));
+
+        // when
+        boolean removed = wheel.remove(2);
+        boolean removedAgain = wheel.remove(2);
+
+        // then
+        assertThat(removed).isTrue();
+        assertThat(removedAgain).isFalse();
+        assertThat(wheel.size()).isEqualTo(2);
+        assertThat(wheel.advance(30)).extracting(ScheduledCharge::id).containsExactly(1L, 3L);
+    }
+
+    private static ScheduledCharge charge(long id, long runAtMillis) {
+        return new ScheduledCharge(id, 1, 100, runAtMillis, runAtMillis, 0, 0, 0);
+    }
+}
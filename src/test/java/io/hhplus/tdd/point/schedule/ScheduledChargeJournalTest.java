@@ -0,0 +1,62 @@
+package io.hhplus.tdd.point.schedule;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("예약 충전 저널 테스트")
+class ScheduledChargeJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("compact 해도 발급한 최대 id 와 대기 중인 예약이 남는다")
+    void compact_keepsMaxIdAndPending() {
+        // given
+        Path path = tempDir.resolve("schedule.journal");
+        ScheduledCharge pending = new ScheduledCharge(1, 1, 1_000, 10, 30, 60_000, 2, 77);
+        try (ScheduledChargeJournal journal = new ScheduledChargeJournal(path)) {
+            journal.put(pending);
+            journal.put(new ScheduledCharge(9, 2, 1_000, 10, 10, 0, 0, 0));
+            journal.remove(9);
+
+            // when
+            journal.compact(sink -> sink.accept(pending));
+        }
+
+        // then
+        try (ScheduledChargeJournal reopened = new ScheduledChargeJournal(path)) {
+            assertThat(reopened.replay()).containsExactly(pending);
+            assertThat(reopened.maxId()).isEqualTo(9);
+        }
+    }
+
+    @Test
+    @DisplayName("쓰다 만 마지막 레코드는 잘라내고, 그 앞까지의 예약을 복원한다")
+    void replay_truncatesTornTail() throws IOException {
+        // given
+        Path path = tempDir.resolve("schedule.journal");
+        ScheduledCharge pending = new ScheduledCharge(3, 7, 1_000, 500, 500, 60_000, 1, 42);
+        try (ScheduledChargeJournal journal = new ScheduledChargeJournal(path)) {
+            journal.put(pending);
+        }
+        long validLength = Files.size(path);
+        Files.write(path, new byte[]{1, 0, 0, 0, 4}, StandardOpenOption.APPEND);
+
+        // when
+        try (ScheduledChargeJournal journal = new ScheduledChargeJournal(path)) {
+            // then
+            assertThat(journal.replay()).containsExactly(pending);
+            assertThat(journal.maxId()).isEqualTo(3);
+        }
+        assertThat(Files.size(path)).isEqualTo(validLength);
+    }
+}
@@ -0,0 +1,227 @@
+package io.hhplus.tdd.point.schedule;
+
+import io.hhplus.tdd.exception.MinChargeAmountException;
+import io.hhplus.tdd.point.service.PointService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("예약 충전 테스트")
+class ScheduledChargeServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final PointService pointService = mock(PointService.class);
+    private final AtomicLong txIds = new AtomicLong();
+    private ScheduledChargeService scheduledChargeService;
+
+    @BeforeEach
+    void setUp() {
+        when(pointService.reserveTxId()).thenAnswer(invocation -> txIds.incrementAndGet());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (scheduledChargeService != null) {
+            scheduledChargeService.close();
+        }
+    }
+
+    @Test
+    @DisplayName("예약 시각이 되면 충전된다")
+    void schedule_chargesAtRunTime() throws InterruptedException {
+        // given
+        scheduledChargeService = create("");
+        long now = System.currentTimeMillis();
+
+        // when
+        scheduledChargeService.schedule(1L, 1_000L, now + 100);
+
+        // then
+        verify(pointService, after(50).never()).charge(anyLong(), anyLong(), anyLong());
+        awaitUntil(() -> scheduledChargeService.stats().fired() == 1);
+        verify(pointService).charge(eq(1L), eq(1_000L), anyLong());
+        assertThat(scheduledChargeService.stats().pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("정기 충전은 주기마다 반복되고 취소하면 멈춘다")
+    void scheduleRecurring_repeatsUntilCancelled() throws InterruptedException {
+        // given
+        scheduledChargeService = create("");
+        ScheduledCharge charge = scheduledChargeService.scheduleRecurring(1L, 500L, System.currentTimeMillis(), Duration.ofMillis(50));
+
+        // when
+        awaitUntil(() -> scheduledChargeService.stats().fired() >= 3);
+        scheduledChargeService.cancel(charge.id());
+        Thread.sleep(100);
+        long firedAfterCancel = scheduledChargeService.stats().fired();
+        Thread.sleep(200);
+
+        // then
+        assertThat(scheduledChargeService.stats().fired()).isEqualTo(firedAfterCancel);
+        assertThat(scheduledChargeService.stats().pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("일시적인 실패는 재시도하고, 도메인 거절은 재시도하지 않는다")
+    void fire_retriesOnlyTransientFailures() throws InterruptedException {
+        // given
+        scheduledChargeService = create("");
+        when(pointService.charge(eq(1L), eq(1_000L), anyLong()))
+                .thenThrow(new RuntimeException("일시적인 오류"))
+                .thenReturn(null);
+        when(pointService.charge(eq(2L), eq(1_000L), anyLong())).thenThrow(new IllegalArgumentException("최대 잔고는 10,000,000 포인트 입니다."));
+        long now = System.currentTimeMillis();
+
+        // when
+        scheduledChargeService.schedule(1L, 1_000L, now);
+        scheduledChargeService.schedule(2L, 1_000L, now);
+
+        // then
+        awaitUntil(() -> scheduledChargeService.stats().pending() == 0);
+        ScheduleStats stats = scheduledChargeService.stats();
+        assertThat(stats.fired()).isEqualTo(1);
+        assertThat(stats.retried()).isEqualTo(1);
+        assertThat(stats.rejected()).isEqualTo(1);
+        verify(pointService, times(2)).charge(eq(1L), eq(1_000L), anyLong());
+        verify(pointService, times(1)).charge(eq(2L), eq(1_000L), anyLong());
+    }
+
+    @Test
+    @DisplayName("저널을 지정하면 재기동 후에도 대기 중인 예약이 복원된다")
+    void journal_restoresPendingAfterRestart() throws InterruptedException {
+        // given
+        String journal = tempDir.resolve("schedule.journal").toString();
+        scheduledChargeService = create(journal);
+        long now = System.currentTimeMillis();
+        scheduledChargeService.schedule(1L, 1_000L, now);
+        ScheduledCharge later = scheduledChargeService.schedule(2L, 1_000L, now + 60_000);
+        ScheduledCharge cancelled = scheduledChargeService.schedule(3L, 1_000L, now + 60_000);
+        scheduledChargeService.cancel(cancelled.id());
+        awaitUntil(() -> scheduledChargeService.stats().fired() == 1);
+        scheduledChargeService.close();
+
+        // when
+        scheduledChargeService = create(journal);
+
+        // then
+        assertThat(scheduledChargeService.stats().pending()).isEqualTo(1);
+        assertThat(scheduledChargeService.schedule(4L, 1_000L, now + 60_000).id()).isGreaterThan(later.id());
+    }
+
+    @Test
+    @DisplayName("충전 후 완료를 남기기 전에 멈췄다면, 재기동 후 그 txId 의 충전이 적용됐을 때 다시 충전하지 않는다")
+    void journal_skipsChargeAlreadyAppliedBeforeRestart() throws InterruptedException {
+        // given : txId 를 남기고 실행하던 두 예약 중 7 번 txId 만 적용된 상황
+        Path journal = tempDir.resolve("schedule.journal");
+        long now = System.currentTimeMillis();
+        try (ScheduledChargeJournal written = new ScheduledChargeJournal(journal)) {
+            written.put(new ScheduledCharge(1L, 1L, 1_000L, now, now, 0, 0, 7L));
+            written.put(new ScheduledCharge(2L, 2L, 1_000L, now, now, 0, 0, 8L));
+        }
+        when(pointService.isApplied(1L, 7L)).thenReturn(true);
+
+        // when
+        scheduledChargeService = create(journal.toString());
+
+        // then
+        awaitUntil(() -> scheduledChargeService.stats().fired() == 2 && scheduledChargeService.stats().pending() == 0);
+        verify(pointService, never()).charge(eq(1L), anyLong(), anyLong());
+        verify(pointService).charge(eq(2L), eq(1_000L), longThat(txId -> txId != 8L));
+    }
+
+    @Test
+    @DisplayName("모든 예약이 끝난 뒤 재기동해도 이미 발급한 id 를 다시 쓰지 않는다")
+    void journal_doesNotReuseIdsAfterRestart() throws InterruptedException {
+        // given
+        String journal = tempDir.resolve("schedule.journal").toString();
+        scheduledChargeService = create(journal);
+        ScheduledCharge done = scheduledChargeService.schedule(1L, 1_000L, System.currentTimeMillis());
+        awaitUntil(() -> scheduledChargeService.stats().fired() == 1 && scheduledChargeService.stats().pending() == 0);
+        scheduledChargeService.close();
+
+        // when
+        scheduledChargeService = create(journal);
+
+        // then
+        assertThat(scheduledChargeService.stats().pending()).isZero();
+        assertThat(scheduledChargeService.schedule(2L, 1_000L, System.currentTimeMillis() + 60_000).id())
+                .isGreaterThan(done.id());
+    }
+
+    @Test
+    @DisplayName("없거나 이미 끝났거나 이미 취소한 예약은 취소할 수 없다")
+    void cancel_unknownOrFinished_throws() throws InterruptedException {
+        // given
+        scheduledChargeService = create("");
+        ScheduledCharge done = scheduledChargeService.schedule(1L, 1_000L, System.currentTimeMillis());
+        ScheduledCharge later = scheduledChargeService.schedule(2L, 1_000L, System.currentTimeMillis() + 60_000);
+        awaitUntil(() -> scheduledChargeService.stats().fired() == 1 && scheduledChargeService.stats().pending() == 1);
+        scheduledChargeService.cancel(later.id());
+
+        // when & then
+        assertThatThrownBy(() -> scheduledChargeService.cancel(done.id())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> scheduledChargeService.cancel(later.id())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> scheduledChargeService.cancel(999L)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(scheduledChargeService.stats().pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("재시도한 회차가 늦게 끝나도 다음 회차는 원래 주기를 따른다")
+    void retry_keepsNominalSchedule() {
+        // given
+        ScheduledCharge charge = new ScheduledCharge(1L, 1L, 1_000L, 1_000L, 1_000L, 60_000L, 0, 0);
+
+        // when
+        ScheduledCharge retried = charge.retryAt(1_500L).retryAt(2_700L);
+        ScheduledCharge next = retried.nextOccurrence();
+
+        // then
+        assertThat(retried.runAtMillis()).isEqualTo(2_700L);
+        assertThat(retried.scheduledAtMillis()).isEqualTo(1_000L);
+        assertThat(retried.attempts()).isEqualTo(2);
+        assertThat(next.scheduledAtMillis()).isEqualTo(61_000L);
+        assertThat(next.runAtMillis()).isEqualTo(61_000L);
+        assertThat(next.attempts()).isZero();
+    }
+
+    @Test
+    @DisplayName("충전 한도를 벗어난 예약은 등록되지 않는다")
+    void schedule_invalidAmount() {
+        // given
+        scheduledChargeService = create("");
+
+        // when & then
+        assertThatThrownBy(() -> scheduledChargeService.schedule(1L, 50L, System.currentTimeMillis()))
+                .isInstanceOf(MinChargeAmountException.class);
+        assertThat(scheduledChargeService.stats().pending()).isZero();
+    }
+
+    private ScheduledChargeService create(String journal) {
+        return new ScheduledChargeService(pointService, 10, 64, 1_000, 2, journal);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,216 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.history.HistoryRef;
+import io.hhplus.tdd.point.history.PointHistoryStore;
+import io.hhplus.tdd.point.lock.LocalLockProvider;
+import io.hhplus.tdd.point.wal.PointWriteAheadLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 연산당 힙 할당량 예산 (./gradlew allocationBudget, check 에 포함)
+ * - 워밍업으로 JIT 컴파일을 끝낸 뒤 ThreadMXBean 으로 연산당 할당 바이트를 재고, 예산을 넘으면 실패한다.
+ * - 서비스 경로는 히스토리를 WAL 작업 스레드에서 쓰므로, 호출 스레드와 WAL 작업 스레드(point-wal-writer-*)의 할당량을 스레드 id 로 합산한다.
+ *   측정 중에 끝난 스레드는 할당량을 읽을 수 없으므로, 그런 라운드는 버리고 다시 잰다. (새로 뜬 작업 스레드는 0 부터 센다)
+ * - 테이블은 지연 없는 가짜로 바꿔 서비스 코드 자체의 할당만 잰다.
+ * - 예산은 현재 측정값(UserPoint 40 byte, charge 약 620 byte, use 약 700 byte)에 여유를 둔 값이다.
+ *   할당을 줄였다면 예산도 함께 낮춘다.
+ */
+@Tag("allocation")
+@DisplayName("연산당 할당량 예산 테스트")
+class AllocationBudgetTest {
+
+    private static final int WARMUP = 100_000;
+    private static final int MEASURED = 20_000;
+    private static final int ROUNDS = 3;
+    private static final int MAX_ATTEMPTS = ROUNDS * 3;
+    private static final String WAL_WRITER_PREFIX = "point-wal-writer-";
+
+    private static final long USER_POINT_BUDGET = 48;
+    private static final long SERVICE_BUDGET = 896;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // 결과를 필드로 내보내 JIT 가 연산을 없애지 못하게 한다.
+    private static volatile UserPoint sink;
+
+    @Test
+    @DisplayName("UserPoint.add 는 새 UserPoint 하나만 할당한다")
+    void userPointAdd() {
+        UserPoint userPoint = new UserPoint(1L, 1_000_000L, 0L);
+
+        double bytes = bytesPerOperation(false, () -> sink = userPoint.add(1));
+
+        assertThat(bytes).isLessThanOrEqualTo(USER_POINT_BUDGET);
+    }
+
+    @Test
+    @DisplayName("UserPoint.subtract 는 새 UserPoint 하나만 할당한다")
+    void userPointSubtract() {
+        UserPoint userPoint = new UserPoint(1L, 1_000_000L, 0L);
+
+        double bytes = bytesPerOperation(false, () -> sink = userPoint.subtract(1));
+
+        assertThat(bytes).isLessThanOrEqualTo(USER_POINT_BUDGET);
+    }
+
+    @Test
+    @DisplayName("PointService.charge 의 연산당 할당량이 예산 이내다")
+    void serviceCharge() {
+        PointService pointService = newPointService();
+
+        // 최대 잔고에 닿기 전에 가끔 비운다.
+        double bytes = bytesPerOperation(true, () -> {
+            sink = pointService.charge(1L, 100);
+            if (sink.point() >= 9_000_000) {
+                pointService.use(1L, sink.point());
+            }
+        });
+
+        assertThat(bytes).isLessThanOrEqualTo(SERVICE_BUDGET);
+    }
+
+    @Test
+    @DisplayName("PointService.use 의 연산당 할당량이 예산 이내다")
+    void serviceUse() {
+        PointService pointService = newPointService();
+        pointService.charge(1L, 1_000_000);
+
+        double bytes = bytesPerOperation(true, () -> {
+            sink = pointService.use(1L, 1);
+            if (sink.point() == 0) {
+                pointService.charge(1L, 1_000_000);
+            }
+        });
+
+        assertThat(bytes).isLessThanOrEqualTo(SERVICE_BUDGET);
+    }
+
+    // 라운드마다 워밍업 후 측정하고, GC/백그라운드 스레드 잡음을 줄이려 가장 작은 값을 쓴다.
+    private static double bytesPerOperation(boolean withWalWriters, Runnable operation) {
+        double best = Double.MAX_VALUE;
+        int rounds = 0;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS && rounds < ROUNDS; attempt++) {
+            for (int i = 0; i < WARMUP; i++) {
+                operation.run();
+            }
+            long[] threadIds = measuredThreadIds(withWalWriters);
+            long[] before = THREADS.getThreadAllocatedBytes(threadIds);
+            for (int i = 0; i < MEASURED; i++) {
+                operation.run();
+            }
+            long allocated = allocatedSince(threadIds, before, withWalWriters);
+            if (allocated < 0) {
+                continue;
+            }
+            best = Math.min(best, (double) allocated / MEASURED);
+            rounds++;
+        }
+        assertThat(rounds).as("측정 중에 스레드가 끝나지 않은 라운드").isPositive();
+        System.out.printf("[allocation] %.1f bytes/op%n", best);
+        return best;
+    }
+
+    // 측정 중에 끝난 스레드가 있으면 -1
+    private static long allocatedSince(long[] threadIds, long[] before, boolean withWalWriters) {
+        long[] after = THREADS.getThreadAllocatedBytes(threadIds);
+        long total = 0;
+        for (int i = 0; i < threadIds.length; i++) {
+            if (before[i] < 0 || after[i] < 0) {
+                return -1;
+            }
+            total += after[i] - before[i];
+        }
+        if (withWalWriters) {
+            long[] started = Arrays.stream(measuredThreadIds(true))
+                    .filter(id -> Arrays.stream(threadIds).noneMatch(measured -> measured == id))
+                    .toArray();
+            for (long bytes : THREADS.getThreadAllocatedBytes(started)) {
+                if (bytes > 0) {
+                    total += bytes;
+                }
+            }
+        }
+        return total;
+    }
+
+    private static long[] measuredThreadIds(boolean withWalWriters) {
+        long current = Thread.currentThread().getId();
+        if (!withWalWriters) {
+            return new long[]{current};
+        }
+        return LongStream.concat(LongStream.of(current), Thread.getAllStackTraces().keySet().stream()
+                        .filter(thread -> thread.getName().startsWith(WAL_WRITER_PREFIX))
+                        .mapToLong(Thread::getId))
+                .toArray();
+    }
+
+    private static PointService newPointService() {
+        return new PointService(new FakeUserPointTable(), new FakeHistoryStore(), new LocalLockProvider(), List.of(), PointWriteAheadLog.inMemory());
+    }
+
+    private static class FakeUserPointTable extends UserPointTable {
+
+        private final Map<Long, UserPoint> points = new ConcurrentHashMap<>();
+
+        @Override
+        public UserPoint selectById(Long id) {
+            return points.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            points.put(id, userPoint);
+            return userPoint;
+        }
+    }
+
+    // 저장은 하지 않고 id 만 발급한다.
+    private static class FakeHistoryStore implements PointHistoryStore {
+
+        private final AtomicLong sequence = new AtomicLong();
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis, HistoryRef ref) {
+            return new PointHistory(sequence.incrementAndGet(), userId, amount, type, updateMillis);
+        }
+
+        @Override
+        public List<PointHistory> selectAllByUserId(long userId) {
+            return List.of();
+        }
+
+        @Override
+        public Optional<PointHistory> selectById(long historyId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<PointHistory> selectByTxId(long userId, long txId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<PointHistory> selectReversalOf(long originalId) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.dto.LeaderboardEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PointLeaderboard 단위 테스트")
+class PointLeaderboardTest {
+
+    private PointLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new PointLeaderboard();
+    }
+
+    @Test
+    @DisplayName("잔고 내림차순, 동점이면 userId 오름차순으로 정렬된다")
+    void top_ordersByPointDescThenUserIdAsc() {
+        // given
+        leaderboard.update(1L, 500L);
+        leaderboard.update(2L, 1500L);
+        leaderboard.update(3L, 500L);
+
+        // when
+        List<LeaderboardEntry> top = leaderboard.top(10);
+
+        // then
+        assertThat(top).containsExactly(
+                new LeaderboardEntry(1, 2L, 1500L),
+                new LeaderboardEntry(2, 1L, 500L),
+                new LeaderboardEntry(3, 3L, 500L)
+        );
+    }
+
+    @Test
+    @DisplayName("잔고가 바뀌면 기존 순위를 제거하고 새 위치로 이동한다")
+    void update_movesExistingUser() {
+        // given
+        leaderboard.update(1L, 100L);
+        leaderboard.update(2L, 200L);
+
+        // when
+        leaderboard.update(1L, 300L);
+
+        // then
+        assertThat(leaderboard.size()).isEqualTo(2);
+        assertThat(leaderboard.rankOf(1L)).contains(new LeaderboardEntry(1, 1L, 300L));
+        assertThat(leaderboard.rankOf(2L)).contains(new LeaderboardEntry(2, 2L, 200L));
+    }
+
+    @Test
+    @DisplayName("랭킹에 없는 사용자는 빈 결과를 반환한다")
+    void rankOf_unknownUser_returnsEmpty() {
+        assertThat(leaderboard.rankOf(999L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("조회 인원이 범위를 벗어나면 예외 발생")
+    void top_invalidSize_throwsException() {
+        assertThatThrownBy(() -> leaderboard.top(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> leaderboard.top(1001))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("무작위 갱신 후에도 순위가 정렬 기준과 일치한다")
+    void randomUpdates_rankMatchesSortedOrder() {
+        // given
+        Random random = new Random(42);
+        TreeMap<Long, Long> expected = new TreeMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            long userId = random.nextInt(1_000);
+            long point = random.nextInt(10_000);
+            leaderboard.update(userId, point);
+            expected.put(userId, point);
+        }
+
+        // when
+        List<Long> sortedUserIds = expected.keySet().stream()
+                .sorted((a, b) -> {
+                    int byPoint = Long.compare(expected.get(b), expected.get(a));
+                    return byPoint != 0 ? byPoint : Long.compare(a, b);
+                })
+                .toList();
+
+        // then
+        assertThat(leaderboard.size()).isEqualTo(expected.size());
+        for (int i = 0; i < sortedUserIds.size(); i++) {
+            long userId = sortedUserIds.get(i);
+            assertThat(leaderboard.rankOf(userId))
+                    .contains(new LeaderboardEntry(i + 1, userId, expected.get(userId)));
+        }
+        assertThat(leaderboard.top(100))
+                .extracting(LeaderboardEntry::userId)
+                .containsExactlyElementsOf(sortedUserIds.subList(0, 100));
+    }
+}
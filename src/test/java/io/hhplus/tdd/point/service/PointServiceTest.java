@@ -2,11 +2,17 @@ package io.hhplus.tdd.point.service;
 
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.AlreadyCancelledException;
+import io.hhplus.tdd.exception.InsufficientBalanceException;
 import io.hhplus.tdd.exception.MaxChargeAmountException;
 import io.hhplus.tdd.exception.MinChargeAmountException;
+import io.hhplus.tdd.point.dto.PointCancellation;
 import io.hhplus.tdd.point.entity.PointHistory;
 import io.hhplus.tdd.point.entity.TransactionType;
 import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.history.TablePointHistoryStore;
+import io.hhplus.tdd.point.lock.LocalLockProvider;
+import io.hhplus.tdd.point.wal.PointWriteAheadLog;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,6 +22,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -39,7 +46,7 @@ class PointServiceTest {
     @BeforeEach
     void setUp() {
         // 테스트 상태 초기화 (Repeatable 보장하기 위해 분리하였다.)
-        pointService = new PointService(userPointTable, pointHistoryTable);
+        pointService = new PointService(userPointTable, new TablePointHistoryStore(pointHistoryTable), new LocalLockProvider(), List.of(), PointWriteAheadLog.inMemory());
     }
 
     // TODO 테스트 명 영어로 바꾸기
@@ -185,6 +192,18 @@ class PointServiceTest {
                 .hasMessageContaining("잔액이 부족합니다.");
     }
 
+    @Test
+    @DisplayName("포인트 사용 - 잔액 부족 예외는 스택 트레이스 없이 생성된다")
+    void use_withInsufficientBalance_throwsStacklessException() {
+        // Given
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 1000L, now));
+
+        // When & Then
+        assertThatThrownBy(() -> pointService.use(userId, 9999L))
+                .isInstanceOf(InsufficientBalanceException.class)
+                .satisfies(e -> assertThat(e.getStackTrace()).isEmpty());
+    }
+
     @Test
     @DisplayName("포인트 사용 - 음수 입력 시 예외 발생")
     void use_withNegativeAmount_throwsException() {
@@ -236,4 +255,141 @@ class PointServiceTest {
         // userPointTable.insertOrUpdate()가 호출되지 않음을 명시적으로 검증 (방어코드)
         verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
     }
+
+    @Test
+    @DisplayName("포인트 충전 성공 시 변경 리스너에 커밋 결과를 전달한다")
+    void charge_publishesCommittedChange() {
+        // Given
+        long chargeAmount = 1000L;
+        PointChangeListener listener = mock(PointChangeListener.class);
+        PointService service = new PointService(userPointTable, new TablePointHistoryStore(pointHistoryTable), new LocalLockProvider(), List.of(listener), PointWriteAheadLog.inMemory());
+        PointHistory history = new PointHistory(1L, userId, chargeAmount, TransactionType.CHARGE, now);
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 0L, now));
+        when(pointHistoryTable.insert(eq(userId), eq(chargeAmount), eq(TransactionType.CHARGE), anyLong())).thenReturn(history);
+
+        // When
+        UserPoint updated = service.charge(userId, chargeAmount);
+
+        // Then
+        verify(listener).onCommitted(updated, history);
+    }
+
+    @Test
+    @DisplayName("포인트 사용 실패 시 변경 리스너를 호출하지 않는다")
+    void use_fail_doesNotPublish() {
+        // Given
+        PointChangeListener listener = mock(PointChangeListener.class);
+        PointService service = new PointService(userPointTable, new TablePointHistoryStore(pointHistoryTable), new LocalLockProvider(), List.of(listener), PointWriteAheadLog.inMemory());
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 100L, now));
+
+        // When & Then
+        assertThatThrownBy(() -> service.use(userId, 1000L))
+                .isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(listener);
+    }
+
+    @Test
+    @DisplayName("거래 취소 - 충전을 취소하면 잔고를 차감하고 연결된 취소 히스토리를 남긴다")
+    void cancel_charge_success() {
+        // Given
+        long chargeAmount = 1000L;
+        PointHistory charged = new PointHistory(1L, userId, chargeAmount, TransactionType.CHARGE, now);
+        PointHistory reversal = new PointHistory(2L, userId, chargeAmount, TransactionType.CHARGE_CANCEL, now);
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 0L, now), new UserPoint(userId, chargeAmount, now));
+        when(pointHistoryTable.insert(eq(userId), eq(chargeAmount), eq(TransactionType.CHARGE), anyLong())).thenReturn(charged);
+        when(pointHistoryTable.insert(eq(userId), eq(chargeAmount), eq(TransactionType.CHARGE_CANCEL), anyLong())).thenReturn(reversal);
+        pointService.charge(userId, chargeAmount);
+
+        // When
+        PointCancellation cancellation = pointService.cancel(1L);
+
+        // Then
+        assertThat(cancellation.historyId()).isEqualTo(1L);
+        assertThat(cancellation.reversal()).isEqualTo(reversal);
+        assertThat(cancellation.userPoint().point()).isZero();
+        verify(userPointTable).insertOrUpdate(userId, 0L);
+    }
+
+    @Test
+    @DisplayName("거래 취소 - 같은 거래를 두 번 취소하면 예외 발생")
+    void cancel_twice_throwsException() {
+        // Given
+        long useAmount = 300L;
+        PointHistory used = new PointHistory(1L, userId, useAmount, TransactionType.USE, now);
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 1000L, now), new UserPoint(userId, 700L, now));
+        when(pointHistoryTable.insert(eq(userId), eq(useAmount), eq(TransactionType.USE), anyLong())).thenReturn(used);
+        when(pointHistoryTable.insert(eq(userId), eq(useAmount), eq(TransactionType.USE_CANCEL), anyLong()))
+                .thenReturn(new PointHistory(2L, userId, useAmount, TransactionType.USE_CANCEL, now));
+        pointService.use(userId, useAmount);
+        PointCancellation first = pointService.cancel(1L);
+
+        // When & Then
+        assertThat(first.userPoint().point()).isEqualTo(1000L);
+        assertThatThrownBy(() -> pointService.cancel(1L))
+                .isInstanceOf(AlreadyCancelledException.class);
+        verify(userPointTable).insertOrUpdate(userId, 1000L);
+    }
+
+    @Test
+    @DisplayName("거래 취소 - 취소 연결은 히스토리 저장소에 남으므로 서비스를 새로 띄워도 중복 취소를 막는다")
+    void cancel_afterRestart_throwsException() {
+        // Given
+        long useAmount = 300L;
+        TablePointHistoryStore historyStore = new TablePointHistoryStore(pointHistoryTable);
+        PointService before = new PointService(userPointTable, historyStore, new LocalLockProvider(), List.of(), PointWriteAheadLog.inMemory());
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 1000L, now), new UserPoint(userId, 700L, now));
+        when(pointHistoryTable.insert(eq(userId), eq(useAmount), eq(TransactionType.USE), anyLong()))
+                .thenReturn(new PointHistory(1L, userId, useAmount, TransactionType.USE, now));
+        when(pointHistoryTable.insert(eq(userId), eq(useAmount), eq(TransactionType.USE_CANCEL), anyLong()))
+                .thenReturn(new PointHistory(2L, userId, useAmount, TransactionType.USE_CANCEL, now));
+        before.use(userId, useAmount);
+        before.cancel(1L);
+
+        // When
+        PointService restarted = new PointService(userPointTable, historyStore, new LocalLockProvider(), List.of(), PointWriteAheadLog.inMemory());
+
+        // Then
+        assertThatThrownBy(() -> restarted.cancel(1L))
+                .isInstanceOf(AlreadyCancelledException.class);
+        verify(userPointTable).insertOrUpdate(userId, 1000L);
+    }
+
+    @Test
+    @DisplayName("거래 취소 - 없는 히스토리면 예외 발생")
+    void cancel_unknownHistory_throwsException() {
+        assertThatThrownBy(() -> pointService.cancel(99L))
+                .isInstanceOf(NoSuchElementException.class);
+        verifyNoInteractions(userPointTable);
+    }
+
+    @Test
+    @DisplayName("이관 복원 - 잔고를 덮어쓰고 히스토리를 원래 시각으로 적재한다")
+    void restore_success() {
+        // Given
+        List<PointHistory> histories = List.of(
+                new PointHistory(10L, userId, 1000L, TransactionType.CHARGE, 1L),
+                new PointHistory(11L, userId, 300L, TransactionType.USE, 2L)
+        );
+
+        // When
+        UserPoint restored = pointService.restore(new UserPoint(userId, 700L, now), histories);
+
+        // Then
+        assertThat(restored.point()).isEqualTo(700L);
+        verify(userPointTable).insertOrUpdate(userId, 700L);
+        verify(pointHistoryTable).insert(userId, 1000L, TransactionType.CHARGE, 1L);
+        verify(pointHistoryTable).insert(userId, 300L, TransactionType.USE, 2L);
+    }
+
+    @Test
+    @DisplayName("이관 복원 - 다른 사용자의 히스토리가 섞이면 예외 발생")
+    void restore_withOtherUsersHistory_throwsException() {
+        // Given
+        List<PointHistory> histories = List.of(new PointHistory(10L, 2L, 1000L, TransactionType.CHARGE, 1L));
+
+        // When & Then
+        assertThatThrownBy(() -> pointService.restore(new UserPoint(userId, 1000L, now), histories))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(userPointTable, pointHistoryTable);
+    }
 }
@@ -0,0 +1,102 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ReactivePointService 단위 테스트")
+class ReactivePointServiceTest {
+
+    final long userId = 1L;
+    final long now = System.currentTimeMillis();
+
+    PointService pointService;
+    ReactivePointService reactivePointService;
+
+    @BeforeEach
+    void setUp() {
+        pointService = mock(PointService.class);
+        reactivePointService = new ReactivePointService(pointService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reactivePointService.shutdown();
+    }
+
+    @Test
+    @DisplayName("포인트 조회 결과를 Mono 로 전달한다")
+    void getPoint_success() {
+        when(pointService.getPoint(userId)).thenReturn(new UserPoint(userId, 1000L, now));
+
+        StepVerifier.create(reactivePointService.getPoint(userId))
+                .expectNext(new UserPoint(userId, 1000L, now))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("히스토리를 Flux 로 순서대로 전달한다")
+    void getHistories_success() {
+        List<PointHistory> histories = List.of(
+                new PointHistory(1L, userId, 1000L, TransactionType.CHARGE, now),
+                new PointHistory(2L, userId, 300L, TransactionType.USE, now)
+        );
+        when(pointService.getHistories(userId)).thenReturn(histories);
+
+        StepVerifier.create(reactivePointService.getHistories(userId))
+                .expectNextSequence(histories)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("잔액 부족 예외는 error 신호로 전달된다")
+    void use_insufficientBalance_emitsError() {
+        when(pointService.use(userId, 1000L)).thenThrow(new IllegalStateException("잔액이 부족합니다."));
+
+        StepVerifier.create(reactivePointService.use(userId, 1000L))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 쓰기는 동시에 실행되지 않는다")
+    void charge_sameUser_runsSequentially() {
+        // given
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(pointService.charge(eq(userId), anyLong())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            TimeUnit.MILLISECONDS.sleep(5);
+            running.decrementAndGet();
+            return new UserPoint(userId, 100L, now);
+        });
+
+        // when
+        Flux<UserPoint> charges = Flux.range(0, 50)
+                .flatMap(i -> reactivePointService.charge(userId, 100L));
+
+        // then
+        StepVerifier.create(charges)
+                .expectNextCount(50)
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+}
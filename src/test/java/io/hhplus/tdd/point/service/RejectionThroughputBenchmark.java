@@ -0,0 +1,88 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.history.TablePointHistoryStore;
+import io.hhplus.tdd.point.lock.LocalLockProvider;
+import io.hhplus.tdd.point.wal.PointWriteAheadLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 거절 요청 처리량 비교 (./gradlew benchmark)
+ * - 기존 방식 : 스택 트레이스를 채우는 예외를 던진다.
+ * - 변경 후 : PointService 가 스택 트레이스 없는 도메인 예외를 던진다.
+ * 웹 요청처럼 깊은 호출 스택에서 던지도록 STACK_DEPTH 만큼 재귀한 뒤 측정한다.
+ * 기존 방식은 예외 생성만 측정하므로(락/조회 비용 제외) 비교 결과는 보수적이다.
+ */
+@Tag("benchmark")
+@DisplayName("거절 요청 처리량 비교")
+class RejectionThroughputBenchmark {
+
+    private static final int STACK_DEPTH = 120;
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    @Test
+    void minChargeRejection() {
+        PointService pointService = newPointService();
+
+        run("최소 충전 금액 (기존)", amount -> {
+            throw new IllegalArgumentException("최소 충전 금액은 100원입니다.");
+        });
+        run("최소 충전 금액 (stackless)", amount -> pointService.charge(1L, amount));
+    }
+
+    @Test
+    void insufficientBalanceRejection() {
+        PointService pointService = newPointService();
+
+        run("잔액 부족 (기존)", amount -> {
+            throw new IllegalStateException("잔액이 부족합니다.");
+        });
+        run("잔액 부족 (stackless)", amount -> pointService.use(1L, amount));
+    }
+
+    private static PointService newPointService() {
+        // stubOnly : 호출 기록을 남기지 않아 반복 측정 중 메모리가 늘지 않는다.
+        UserPointTable userPointTable = mock(UserPointTable.class, withSettings().stubOnly());
+        when(userPointTable.selectById(1L)).thenReturn(new UserPoint(1L, 0, 0));
+        return new PointService(userPointTable, new TablePointHistoryStore(mock(PointHistoryTable.class)), new LocalLockProvider(), List.of(), PointWriteAheadLog.inMemory());
+    }
+
+    private static void run(String name, LongConsumer rejection) {
+        atDepth(STACK_DEPTH, () -> repeat(WARMUP, rejection));
+
+        long start = System.nanoTime();
+        long rejected = atDepth(STACK_DEPTH, () -> repeat(ITERATIONS, rejection));
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("[%s] rejected=%d throughput=%.0f ops/s%n", name, rejected, rejected * 1e9 / elapsed);
+    }
+
+    private static long repeat(int iterations, LongConsumer rejection) {
+        long rejected = 0;
+        for (int i = 0; i < iterations; i++) {
+            try {
+                rejection.accept(50L);
+            } catch (RuntimeException e) {
+                rejected++;
+            }
+        }
+        return rejected;
+    }
+
+    private static long atDepth(int depth, LongSupplier body) {
+        return depth == 0 ? body.getAsLong() : atDepth(depth - 1, body);
+    }
+}
@@ -0,0 +1,118 @@
+package io.hhplus.tdd.point.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("동시 조회 합치기(single-flight) 테스트")
+class SingleFlightTest {
+
+    private static final long USER_ID = 1L;
+    private static final int READERS = 8;
+
+    private final WriteEpochs writeEpochs = new WriteEpochs();
+    private final SingleFlight<String> reads = new SingleFlight<>(writeEpochs);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("진행 중인 조회가 있으면 같은 사용자의 조회는 그 결과를 함께 받는다")
+    void load_concurrentReads_shareOneCall() throws Exception {
+        // given
+        Future<String> leader = executor.submit(() -> reads.load(USER_ID, id -> blockingLoad("v1")));
+        assertThat(entered.await(1, TimeUnit.SECONDS)).isTrue();
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < READERS; i++) {
+            followers.add(executor.submit(() -> reads.load(USER_ID, id -> countedLoad("other"))));
+        }
+        Thread.sleep(100);
+
+        // when
+        release.countDown();
+
+        // then
+        assertThat(leader.get(1, TimeUnit.SECONDS)).isEqualTo("v1");
+        for (Future<String> follower : followers) {
+            assertThat(follower.get(1, TimeUnit.SECONDS)).isEqualTo("v1");
+        }
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("쓰기가 끝난 뒤 시작한 조회는 그 전에 시작된 조회에 합류하지 않는다")
+    void load_afterWrite_doesNotJoinEarlierRead() throws Exception {
+        // given
+        Future<String> before = executor.submit(() -> reads.load(USER_ID, id -> blockingLoad("before")));
+        assertThat(entered.await(1, TimeUnit.SECONDS)).isTrue();
+        writeEpochs.advance(USER_ID);
+
+        // when
+        String after = reads.load(USER_ID, id -> countedLoad("after"));
+        String joined = reads.load(USER_ID, id -> countedLoad("again"));
+
+        // then
+        assertThat(after).isEqualTo("after");
+        assertThat(joined).isEqualTo("again");
+        release.countDown();
+        assertThat(before.get(1, TimeUnit.SECONDS)).isEqualTo("before");
+        assertThat(calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("테이블 호출이 실패하면 합류한 조회도 같은 예외를 받고, 다음 조회는 다시 호출한다")
+    void load_failure_isSharedAndNotCached() throws Exception {
+        // given
+        Future<String> leader = executor.submit(() -> reads.load(USER_ID, id -> {
+            blockingLoad("unused");
+            throw new IllegalStateException("table down");
+        }));
+        assertThat(entered.await(1, TimeUnit.SECONDS)).isTrue();
+        Future<String> follower = executor.submit(() -> reads.load(USER_ID, id -> countedLoad("other")));
+        Thread.sleep(100);
+
+        // when
+        release.countDown();
+
+        // then
+        assertThatThrownBy(() -> leader.get(1, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> follower.get(1, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(reads.load(USER_ID, id -> countedLoad("next"))).isEqualTo("next");
+    }
+
+    private String blockingLoad(String value) {
+        calls.incrementAndGet();
+        entered.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+
+    private String countedLoad(String value) {
+        calls.incrementAndGet();
+        return value;
+    }
+}
@@ -0,0 +1,38 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UserPointRegistry 단위 테스트")
+class UserPointRegistryTest {
+
+    final long now = System.currentTimeMillis();
+    final UserPointRegistry registry = new UserPointRegistry();
+
+    @Test
+    @DisplayName("커밋마다 최신 잔고를 갱신하고 히스토리 건수를 누적한다")
+    void onCommitted_tracksLatestPointAndHistoryCount() {
+        // given
+        registry.onCommitted(new UserPoint(1L, 1000L, now), new PointHistory(1L, 1L, 1000L, TransactionType.CHARGE, now));
+        registry.onCommitted(new UserPoint(1L, 700L, now), new PointHistory(2L, 1L, 300L, TransactionType.USE, now));
+        registry.onCommitted(new UserPoint(2L, 500L, now), null);
+
+        // when
+        List<UserPointRegistry.Entry> snapshot = registry.snapshot();
+
+        // then
+        assertThat(snapshot).containsExactly(
+                new UserPointRegistry.Entry(new UserPoint(1L, 700L, now), 2),
+                new UserPointRegistry.Entry(new UserPoint(2L, 500L, now), 0)
+        );
+        assertThat(registry.find(1L)).contains(new UserPoint(1L, 700L, now));
+        assertThat(registry.find(3L)).isEmpty();
+    }
+}
@@ -0,0 +1,245 @@
+package io.hhplus.tdd.point.settlement;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.history.HistoryRef;
+import io.hhplus.tdd.point.history.InMemoryPointHistoryStore;
+import io.hhplus.tdd.point.lock.LocalLockProvider;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.wal.ConditionalBalanceTable;
+import io.hhplus.tdd.point.wal.PointWriteAheadLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("대량 정산 배치 테스트")
+class SettlementBatchServiceTest {
+
+    private static final int PARTITIONS = 4;
+
+    @TempDir
+    Path tempDir;
+
+    private final FakeHistoryStore historyStore = new FakeHistoryStore();
+    private final PointService pointService =
+            new PointService(new FakeUserPointTable(), historyStore, new LocalLockProvider(), List.of(), PointWriteAheadLog.inMemory());
+    private final SettlementBatchService batchService = new SettlementBatchService(pointService, PARTITIONS);
+
+    @Test
+    @DisplayName("줄마다 충전/사용을 적용하고, 입력 순서대로 줄별 결과를 남긴다")
+    void run_appliesLinesAndWritesResults() throws IOException {
+        // given
+        Path input = write("""
+                1,CHARGE,1000
+                2,CHARGE,5000
+                1,USE,300
+                3,USE,100
+
+                2,REFUND,100
+                2,CHARGE,50
+                """);
+        Path output = tempDir.resolve("result.csv");
+
+        // when
+        SettlementResult result = batchService.run(input, output);
+
+        // then
+        assertThat(Files.readAllLines(output)).containsExactly(
+                "1,1,CHARGE,1000,APPLIED,1000",
+                "2,2,CHARGE,5000,APPLIED,5000",
+                "3,1,USE,300,APPLIED,700",
+                "4,3,USE,100,FAILED,INSUFFICIENT_BALANCE",
+                "6,,,,FAILED,INVALID_LINE",
+                "7,2,CHARGE,50,FAILED,MIN_CHARGE_ERROR");
+        assertThat(result.lineCount()).isEqualTo(6);
+        assertThat(result.appliedCount()).isEqualTo(3);
+        assertThat(result.failedCount()).isEqualTo(3);
+        assertThat(pointService.getPoint(1L).point()).isEqualTo(700L);
+        assertThat(pointService.getPoint(2L).point()).isEqualTo(5_000L);
+        // 끝나면 체크포인트와 파티션 결과 파일은 지운다.
+        try (var files = Files.list(tempDir)) {
+            assertThat(files).containsExactlyInAnyOrder(input, output);
+        }
+    }
+
+    @Test
+    @DisplayName("중간에 멈추면 다시 실행했을 때 체크포인트 다음 줄부터 이어서 적용한다")
+    void run_resumesFromCheckpoint() throws IOException {
+        // given
+        Path input = write("""
+                1,CHARGE,1000
+                2,CHARGE,2000
+                1,CHARGE,3000
+                2,CHARGE,4000
+                """);
+        Path output = tempDir.resolve("result.csv");
+        historyStore.failingUserId = 2L;
+        assertThatThrownBy(() -> batchService.run(input, output))
+                .isInstanceOf(UncheckedIOException.class);
+        assertThat(tempDir.resolve("result.csv.ckpt")).exists();
+        historyStore.failingUserId = -1L;
+
+        // when
+        SettlementResult result = batchService.run(input, output);
+
+        // then
+        assertThat(Files.readAllLines(output)).containsExactly(
+                "1,1,CHARGE,1000,APPLIED,1000",
+                "2,2,CHARGE,2000,APPLIED,2000",
+                "3,1,CHARGE,3000,APPLIED,4000",
+                "4,2,CHARGE,4000,APPLIED,6000");
+        assertThat(result.appliedCount()).isEqualTo(4);
+        assertThat(pointService.getPoint(1L).point()).isEqualTo(4_000L);
+        assertThat(pointService.getPoint(2L).point()).isEqualTo(6_000L);
+        assertThat(historyStore.selectAllByUserId(1L)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("적용 중에 멈춘 줄은 그 줄의 txId 로 쓰인 히스토리가 있으면 다시 적용하지 않는다")
+    void run_skipsInFlightLineAlreadyApplied() throws IOException {
+        // given : 1번 줄을 적용한 직후, 결과를 남기기 전에 멈춘 상황
+        Path input = write("""
+                1,CHARGE,1000
+                1,CHARGE,2000
+                """);
+        Path output = tempDir.resolve("result.csv");
+        try (SettlementCheckpoint checkpoint = SettlementCheckpoint.open(tempDir.resolve("result.csv.ckpt"), PARTITIONS,
+                Files.size(input), Files.getLastModifiedTime(input).toMillis())) {
+            long txId = pointService.reserveTxId();
+            checkpoint.begin(1, 1, txId);
+            pointService.charge(1L, 1_000, txId);
+        }
+
+        // when
+        SettlementResult result = batchService.run(input, output);
+
+        // then
+        assertThat(Files.readAllLines(output)).containsExactly(
+                "1,1,CHARGE,1000,APPLIED,1000",
+                "2,1,CHARGE,2000,APPLIED,3000");
+        assertThat(result.appliedCount()).isEqualTo(2);
+        assertThat(pointService.getPoint(1L).point()).isEqualTo(3_000L);
+        assertThat(historyStore.selectAllByUserId(1L)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("적용 중에 멈춘 줄은 같은 금액/유형의 다른 거래가 있어도 그 줄의 txId 히스토리가 없으면 다시 적용한다")
+    void run_reappliesInFlightLineNotApplied() throws IOException {
+        // given : 1번 줄을 시작만 하고 멈췄고, 같은 사용자의 같은 금액 충전이 따로 있는 상황
+        Path input = write("""
+                1,CHARGE,1000
+                """);
+        Path output = tempDir.resolve("result.csv");
+        try (SettlementCheckpoint checkpoint = SettlementCheckpoint.open(tempDir.resolve("result.csv.ckpt"), PARTITIONS,
+                Files.size(input), Files.getLastModifiedTime(input).toMillis())) {
+            checkpoint.begin(1, 1, pointService.reserveTxId());
+            pointService.charge(1L, 1_000);
+        }
+
+        // when
+        SettlementResult result = batchService.run(input, output);
+
+        // then
+        assertThat(Files.readAllLines(output)).containsExactly("1,1,CHARGE,1000,APPLIED,2000");
+        assertThat(result.appliedCount()).isEqualTo(1);
+        assertThat(historyStore.selectAllByUserId(1L)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스와 잔고 갱신이 겹친 줄은 실패로 남기지 않고 다시 적용한다")
+    void run_retriesConcurrentBalanceUpdate() throws IOException {
+        // given : 사용자 1 의 조건부 갱신이 두 번 어긋나는 상황
+        ConflictingUserPointTable userPointTable = new ConflictingUserPointTable(1L, 2);
+        PointService conflicting =
+                new PointService(userPointTable, historyStore, new LocalLockProvider(), List.of(), PointWriteAheadLog.inMemory());
+        Path input = write("""
+                1,CHARGE,1000
+                2,CHARGE,2000
+                """);
+        Path output = tempDir.resolve("result.csv");
+
+        // when
+        SettlementResult result = new SettlementBatchService(conflicting, PARTITIONS).run(input, output);
+
+        // then
+        assertThat(Files.readAllLines(output)).containsExactly(
+                "1,1,CHARGE,1000,APPLIED,1000",
+                "2,2,CHARGE,2000,APPLIED,2000");
+        assertThat(result.appliedCount()).isEqualTo(2);
+        assertThat(userPointTable.conflicts.get()).isZero();
+        assertThat(historyStore.selectAllByUserId(1L)).hasSize(1);
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(tempDir.resolve("settlement.csv"), content);
+    }
+
+    private static class FakeUserPointTable extends UserPointTable {
+
+        private final Map<Long, UserPoint> points = new ConcurrentHashMap<>();
+
+        @Override
+        public UserPoint selectById(Long id) {
+            return points.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            points.put(id, userPoint);
+            return userPoint;
+        }
+    }
+
+    // 지정한 사용자의 조건부 갱신을 정해진 횟수만큼 어긋나게 하는 잔고 테이블
+    private static class ConflictingUserPointTable extends FakeUserPointTable implements ConditionalBalanceTable {
+
+        private final long conflictingUserId;
+        private final AtomicInteger conflicts;
+
+        private ConflictingUserPointTable(long conflictingUserId, int conflicts) {
+            this.conflictingUserId = conflictingUserId;
+            this.conflicts = new AtomicInteger(conflicts);
+        }
+
+        @Override
+        public boolean compareAndSet(long userId, long expectedPoint, long newPoint) {
+            if (userId == conflictingUserId && conflicts.getAndUpdate(left -> Math.max(left - 1, 0)) > 0) {
+                return false;
+            }
+            if (selectById(userId).point() != expectedPoint) {
+                return false;
+            }
+            insertOrUpdate(userId, newPoint);
+            return true;
+        }
+    }
+
+    // 지정한 사용자의 히스토리 저장을 실패시킬 수 있는 저장소
+    private static class FakeHistoryStore extends InMemoryPointHistoryStore {
+
+        private volatile long failingUserId = -1L;
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis, HistoryRef ref) {
+            if (userId == failingUserId) {
+                throw new UncheckedIOException(new IOException("history down"));
+            }
+            return super.insert(userId, amount, type, updateMillis, ref);
+        }
+    }
+}
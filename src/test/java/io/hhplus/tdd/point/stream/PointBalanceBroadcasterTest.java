@@ -0,0 +1,97 @@
+package io.hhplus.tdd.point.stream;
+
+import io.hhplus.tdd.point.entity.UserPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("잔고 변경 브로드캐스트 테스트")
+class PointBalanceBroadcasterTest {
+
+    private static final long USER_ID = 1L;
+
+    private final PointBalanceBroadcaster broadcaster = new PointBalanceBroadcaster();
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.close();
+    }
+
+    @Test
+    @DisplayName("현재 잔고를 먼저 받고 이후 커밋된 잔고를 받는다")
+    void subscribe_receivesCurrentThenCommitted() {
+        // given
+        UserPoint current = new UserPoint(USER_ID, 100, 0);
+        UserPoint charged = new UserPoint(USER_ID, 1_100, 1);
+
+        // when & then
+        StepVerifier.create(broadcaster.subscribe(USER_ID, Mono.just(current)))
+                .expectNext(current)
+                .then(() -> broadcaster.onCommitted(charged, null))
+                .expectNext(charged)
+                .thenCancel()
+                .verify();
+        assertThat(broadcaster.subscriberCount(USER_ID)).isZero();
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 커밋은 전달되지 않는다")
+    void subscribe_ignoresOtherUsers() {
+        // given
+        UserPoint mine = new UserPoint(USER_ID, 500, 1);
+
+        // when & then
+        StepVerifier.create(broadcaster.subscribe(USER_ID, Mono.empty()))
+                .then(() -> {
+                    broadcaster.onCommitted(new UserPoint(2L, 100, 0), null);
+                    broadcaster.onCommitted(mine, null);
+                })
+                .expectNext(mine)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("느린 구독자는 중간 잔고를 건너뛰고 마지막 잔고를 받는다")
+    void slowSubscriber_receivesLatestOnly() throws InterruptedException {
+        // given : 요청(demand) 없이 구독만 해 둔다.
+        List<UserPoint> received = new CopyOnWriteArrayList<>();
+        BaseSubscriber<UserPoint> slow = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+            }
+
+            @Override
+            protected void hookOnNext(UserPoint value) {
+                received.add(value);
+            }
+        };
+        broadcaster.subscribe(USER_ID, Mono.empty()).subscribe(slow);
+
+        // when
+        for (long point = 1; point <= 1_000; point++) {
+            broadcaster.onCommitted(new UserPoint(USER_ID, point, point), null);
+        }
+        Thread.sleep(100);
+        slow.request(Long.MAX_VALUE);
+
+        // then
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ((received.isEmpty() || received.get(received.size() - 1).point() != 1_000)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(received).last().extracting(UserPoint::point).isEqualTo(1_000L);
+        assertThat(received.size()).isLessThanOrEqualTo(3);
+        slow.dispose();
+    }
+}
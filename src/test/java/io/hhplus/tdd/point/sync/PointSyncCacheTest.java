@@ -0,0 +1,215 @@
+package io.hhplus.tdd.point.sync;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.dto.HistoryDelta;
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("사용자 버전/히스토리 델타 캐시 테스트")
+class PointSyncCacheTest {
+
+    private static final long USER_ID = 1L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PointSyncCache cache = new PointSyncCache(objectMapper, true, 1_000, 1 << 20);
+    private final List<PointHistory> histories = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("커밋이 없던 사용자는 기동 시점 버전이고, 그 버전 이후의 델타는 테이블을 읽지 않고 비어 있다")
+    void untouchedUser_isAtInitialVersion() throws IOException {
+        // when
+        PointSyncCache.UserVersion current = cache.current(USER_ID);
+        HistoryDelta delta = delta(current.version());
+
+        // then
+        assertThat(current.userPoint()).isNull();
+        assertThat(delta.full()).isFalse();
+        assertThat(delta.histories()).isEmpty();
+        assertThat(loads.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("커밋마다 버전이 오르고, 최신 잔고를 함께 돌려준다")
+    void commit_bumpsVersion() {
+        // given
+        long before = cache.current(USER_ID).version();
+
+        // when
+        commit(1_000L, TransactionType.CHARGE);
+        PointSyncCache.UserVersion current = cache.current(USER_ID);
+
+        // then
+        assertThat(current.version()).isGreaterThan(before);
+        assertThat(current.userPoint().point()).isEqualTo(1_000L);
+        assertThat(cache.current(2L).version()).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("sinceVersion 이후에 쌓인 히스토리만 돌려준다")
+    void historiesSince_returnsOnlyNewHistories() throws IOException {
+        // given : 기동 전에 쌓인 히스토리
+        history(500L, TransactionType.CHARGE);
+        long initial = cache.current(USER_ID).version();
+        commit(1_000L, TransactionType.CHARGE);
+        long since = cache.current(USER_ID).version();
+        commit(300L, TransactionType.USE);
+        commit(200L, TransactionType.USE);
+
+        // when
+        HistoryDelta delta = delta(since);
+        HistoryDelta fromInitial = delta(initial);
+
+        // then
+        assertThat(delta.version()).isEqualTo(cache.current(USER_ID).version());
+        assertThat(delta.full()).isFalse();
+        assertThat(delta.histories()).extracting(PointHistory::amount).containsExactly(300L, 200L);
+        assertThat(fromInitial.histories()).extracting(PointHistory::amount).containsExactly(1_000L, 300L, 200L);
+    }
+
+    @Test
+    @DisplayName("기억하지 못하는 버전이면 전체 히스토리를 full 로 돌려준다")
+    void historiesSince_unknownVersion_returnsFull() throws IOException {
+        // given
+        history(500L, TransactionType.CHARGE);
+        commit(1_000L, TransactionType.CHARGE);
+        long oldest = cache.current(USER_ID).version();
+        for (int i = 0; i < 40; i++) {
+            commit(100L, TransactionType.CHARGE);
+        }
+
+        // when
+        HistoryDelta evicted = delta(oldest);
+        HistoryDelta unknown = delta(12345L);
+
+        // then
+        assertThat(evicted.full()).isTrue();
+        assertThat(evicted.histories()).hasSize(42);
+        assertThat(unknown.full()).isTrue();
+    }
+
+    @Test
+    @DisplayName("같은 버전의 같은 델타는 직렬화한 바이트를 다시 쓰고, 커밋하면 새로 만든다")
+    void historiesSince_reusesBytesUntilNextCommit() throws IOException {
+        // given
+        commit(1_000L, TransactionType.CHARGE);
+        long since = cache.current(USER_ID).version();
+        commit(300L, TransactionType.USE);
+
+        // when
+        byte[] first = cache.historiesSince(USER_ID, since, this::load).body();
+        byte[] second = cache.historiesSince(USER_ID, since, this::load).body();
+        commit(200L, TransactionType.USE);
+        HistoryDelta afterCommit = delta(since);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(afterCommit.histories()).extracting(PointHistory::amount).containsExactly(300L, 200L);
+    }
+
+    @Test
+    @DisplayName("추적하는 사용자가 한도를 넘으면 오래 쓰지 않은 사용자부터 빼고, 뺀 사용자의 이전 버전은 더 이상 맞지 않는다")
+    void users_evictsLeastRecentlyUsed() {
+        // given
+        PointSyncCache small = new PointSyncCache(objectMapper, true, 4, 1 << 20);
+        for (long userId = 1; userId <= 4; userId++) {
+            commit(small, userId);
+        }
+        long evictedVersion = small.current(1L).version();
+        small.current(3L);
+        small.current(4L);
+        small.current(2L);
+
+        // when
+        commit(small, 5L);
+
+        // then
+        assertThat(small.trackedUsers()).isLessThanOrEqualTo(4);
+        assertThat(small.current(1L).userPoint()).isNull();
+        assertThat(small.current(1L).version()).isNotEqualTo(evictedVersion);
+        assertThat(small.current(2L).userPoint()).isNotNull();
+        assertThat(small.current(5L).userPoint()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("큰 델타 응답은 캐시하지 않고, 캐시한 바이트가 한도를 넘으면 오래 쓰지 않은 사용자의 응답부터 버린다")
+    void deltas_areBoundedByBytes() {
+        // given
+        PointSyncCache small = new PointSyncCache(objectMapper, true, 1_000, 1_000);
+        for (int i = 0; i < 1_000; i++) {
+            history(100L, TransactionType.CHARGE);
+        }
+
+        // when : 전체 히스토리(64KB 초과)를 두 번 조회하고, 여러 사용자의 작은 델타를 쌓는다.
+        small.onCommitted(new UserPoint(USER_ID, 0, 0), histories.get(histories.size() - 1));
+        small.historiesSince(USER_ID, -1, this::load);
+        small.historiesSince(USER_ID, -1, this::load);
+        for (long userId = 2; userId <= 20; userId++) {
+            commit(small, userId);
+            small.historiesSince(userId, -1, id -> List.of(new PointHistory(id, id, 100L, TransactionType.CHARGE, 0L)));
+        }
+
+        // then
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(small.cachedBytes()).isPositive().isLessThanOrEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("끄면 커밋을 추적하지 않고, 델타 조회는 매번 전체 히스토리를 읽는다")
+    void disabled_alwaysReturnsFullHistories() throws IOException {
+        // given
+        PointSyncCache disabled = new PointSyncCache(objectMapper, false, 1_000, 1 << 20);
+        PointHistory charged = history(1_000L, TransactionType.CHARGE);
+        disabled.onCommitted(new UserPoint(USER_ID, 1_000L, charged.updateMillis()), charged);
+        long version = disabled.current(USER_ID).version();
+
+        // when
+        byte[] body = disabled.historiesSince(USER_ID, version, this::load).body();
+        HistoryDelta delta = objectMapper.readValue(body, HistoryDelta.class);
+
+        // then
+        assertThat(disabled.trackedUsers()).isZero();
+        assertThat(delta.full()).isTrue();
+        assertThat(delta.histories()).containsExactly(charged);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    private HistoryDelta delta(long sinceVersion) throws IOException {
+        byte[] body = cache.historiesSince(USER_ID, sinceVersion, this::load).body();
+        return objectMapper.readValue(body, HistoryDelta.class);
+    }
+
+    private List<PointHistory> load(long userId) {
+        loads.incrementAndGet();
+        return List.copyOf(histories);
+    }
+
+    private void commit(long amount, TransactionType type) {
+        PointHistory history = history(amount, type);
+        long balance = histories.stream()
+                .mapToLong(h -> h.type() == TransactionType.CHARGE ? h.amount() : -h.amount())
+                .sum();
+        cache.onCommitted(new UserPoint(USER_ID, balance, history.updateMillis()), history);
+    }
+
+    private static void commit(PointSyncCache target, long userId) {
+        target.onCommitted(new UserPoint(userId, 100L, 0L), new PointHistory(userId, userId, 100L, TransactionType.CHARGE, 0L));
+    }
+
+    private PointHistory history(long amount, TransactionType type) {
+        PointHistory history = new PointHistory(histories.size() + 1, USER_ID, amount, type, System.currentTimeMillis());
+        histories.add(history);
+        return history;
+    }
+}
@@ -0,0 +1,105 @@
+package io.hhplus.tdd.point.transfer;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("이관 파일 포맷 단위 테스트")
+class PointRecordFormatTest {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @EnumSource(TransferFormat.class)
+    @DisplayName("기록한 레코드를 같은 순서로 다시 읽는다")
+    void writeThenRead_roundTrip(TransferFormat format) throws IOException {
+        // given
+        List<Object> records = new ArrayList<>();
+        for (long userId = 1; userId <= 5_000; userId++) {
+            records.add(new UserPoint(userId, userId * 10, 1_700_000_000_000L + userId));
+            records.add(new PointHistory(userId * 2, userId, 1_000L, TransactionType.CHARGE, 1_700_000_000_000L));
+            records.add(new PointHistory(userId * 2 + 1, userId, 0L, TransactionType.USE, 1_700_000_000_001L));
+        }
+        Path file = tempDir.resolve("points." + format.name().toLowerCase());
+
+        // when
+        write(file, format, records);
+        List<Object> read = read(file, format);
+
+        // then
+        assertThat(read).containsExactlyElementsOf(records);
+    }
+
+    @Test
+    @DisplayName("CSV 필드가 잘못되면 줄 번호와 함께 예외 발생")
+    void csv_invalidLine_throwsException() throws IOException {
+        // given
+        Path file = tempDir.resolve("broken.csv");
+        Files.writeString(file, "U,1,100,1700000000000\nH,1,1,abc,CHARGE,1700000000000\n");
+
+        // when & then
+        assertThatThrownBy(() -> read(file, TransferFormat.CSV))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2");
+    }
+
+    @Test
+    @DisplayName("매직 넘버가 없는 바이너리 파일은 거부한다")
+    void binary_withoutMagic_throwsException() throws IOException {
+        // given
+        Path file = tempDir.resolve("broken.bin");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5});
+
+        // when & then
+        assertThatThrownBy(() -> read(file, TransferFormat.BINARY))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    static void write(Path file, TransferFormat format, List<Object> records) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, WRITE);
+             PointRecordWriter writer = format.newWriter(channel)) {
+            for (Object record : records) {
+                if (record instanceof UserPoint userPoint) {
+                    writer.writeUserPoint(userPoint);
+                } else {
+                    writer.writeHistory((PointHistory) record);
+                }
+            }
+        }
+    }
+
+    static List<Object> read(Path file, TransferFormat format) throws IOException {
+        List<Object> read = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            format.newReader(channel).readAll(new PointRecordHandler() {
+                @Override
+                public void onUserPoint(UserPoint userPoint) {
+                    read.add(userPoint);
+                }
+
+                @Override
+                public void onHistory(PointHistory history) {
+                    read.add(history);
+                }
+            });
+        }
+        return read;
+    }
+}
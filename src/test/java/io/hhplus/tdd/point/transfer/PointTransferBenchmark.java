@@ -0,0 +1,78 @@
+package io.hhplus.tdd.point.transfer;
+
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * 이관 포맷 처리량 측정 (./gradlew benchmark)
+ * - Table 호출 없이 포맷 인코딩/디코딩과 채널 I/O 만 측정한다.
+ */
+@Tag("benchmark")
+@DisplayName("이관 포맷 처리량 벤치마크")
+class PointTransferBenchmark {
+
+    private static final int USER_COUNT = 1_000_000;
+    private static final int HISTORIES_PER_USER = 4;
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @EnumSource(TransferFormat.class)
+    void throughput(TransferFormat format) throws IOException {
+        Path file = tempDir.resolve("bench." + format.name().toLowerCase());
+        long rows = (long) USER_COUNT * (1 + HISTORIES_PER_USER);
+
+        long writeStart = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, WRITE);
+             PointRecordWriter writer = format.newWriter(channel)) {
+            long historyId = 1;
+            for (long userId = 1; userId <= USER_COUNT; userId++) {
+                writer.writeUserPoint(new UserPoint(userId, userId % 10_000, 1_700_000_000_000L));
+                for (int i = 0; i < HISTORIES_PER_USER; i++) {
+                    TransactionType type = i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+                    writer.writeHistory(new PointHistory(historyId++, userId, 1_000L, type, 1_700_000_000_000L));
+                }
+            }
+        }
+        long writeNanos = System.nanoTime() - writeStart;
+
+        long[] readRows = new long[1];
+        long readStart = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            format.newReader(channel).readAll(new PointRecordHandler() {
+                @Override
+                public void onUserPoint(UserPoint userPoint) {
+                    readRows[0]++;
+                }
+
+                @Override
+                public void onHistory(PointHistory history) {
+                    readRows[0]++;
+                }
+            });
+        }
+        long readNanos = System.nanoTime() - readStart;
+
+        System.out.printf("[%s] rows=%d size=%dMB write=%.1fM rows/min read=%.1fM rows/min%n",
+                format, readRows[0], Files.size(file) >> 20,
+                rowsPerMinute(rows, writeNanos), rowsPerMinute(readRows[0], readNanos));
+    }
+
+    private static double rowsPerMinute(long rows, long nanos) {
+        return rows * 60_000_000_000.0 / nanos / 1_000_000;
+    }
+}
@@ -0,0 +1,67 @@
+package io.hhplus.tdd.point.transfer;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.history.TablePointHistoryStore;
+import io.hhplus.tdd.point.lock.LocalLockProvider;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.service.UserPointRegistry;
+import io.hhplus.tdd.point.wal.PointWriteAheadLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("PointTransferService 테스트")
+class PointTransferServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @EnumSource(TransferFormat.class)
+    @DisplayName("내보낸 잔고와 히스토리를 다른 인스턴스로 그대로 가져온다")
+    void exportThenImport_restoresBalancesAndHistories(TransferFormat format) throws Exception {
+        // given
+        Node source = new Node();
+        source.pointService.charge(1L, 1_000L);
+        source.pointService.use(1L, 300L);
+        source.pointService.charge(2L, 5_000L);
+        Path file = tempDir.resolve("points");
+
+        // when
+        TransferResult exported = source.transferService.exportTo(file, format);
+        Node target = new Node();
+        TransferResult imported = target.transferService.importFrom(file, format);
+
+        // then
+        assertThat(exported.userCount()).isEqualTo(2);
+        assertThat(exported.historyCount()).isEqualTo(3);
+        assertThat(imported.userCount()).isEqualTo(2);
+        assertThat(imported.historyCount()).isEqualTo(3);
+
+        assertThat(target.pointService.getPoint(1L).point()).isEqualTo(700L);
+        assertThat(target.pointService.getPoint(2L).point()).isEqualTo(5_000L);
+        assertThat(target.pointService.getHistories(1L))
+                .extracting(PointHistory::type, PointHistory::amount)
+                .containsExactly(
+                        tuple(TransactionType.CHARGE, 1_000L),
+                        tuple(TransactionType.USE, 300L));
+        assertThat(target.registry.find(2L)).map(UserPoint::point).contains(5_000L);
+    }
+
+    private static class Node {
+        final UserPointRegistry registry = new UserPointRegistry();
+        final PointService pointService = new PointService(new UserPointTable(), new TablePointHistoryStore(new PointHistoryTable()), new LocalLockProvider(), List.of(registry), PointWriteAheadLog.inMemory());
+        final PointTransferService transferService = new PointTransferService(pointService, registry);
+    }
+}
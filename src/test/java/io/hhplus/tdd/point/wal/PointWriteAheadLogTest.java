@@ -0,0 +1,346 @@
+package io.hhplus.tdd.point.wal;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.ConcurrentBalanceUpdateException;
+import io.hhplus.tdd.point.entity.PointHistory;
+import io.hhplus.tdd.point.entity.TransactionType;
+import io.hhplus.tdd.point.entity.UserPoint;
+import io.hhplus.tdd.point.history.HistoryRef;
+import io.hhplus.tdd.point.history.InMemoryPointHistoryStore;
+import io.hhplus.tdd.point.history.PointHistoryStore;
+import io.hhplus.tdd.point.lock.LocalLockProvider;
+import io.hhplus.tdd.point.service.PointService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("잔고/히스토리 짝 쓰기 WAL 테스트")
+class PointWriteAheadLogTest {
+
+    private static final long USER_ID = 1L;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("재기동하면 END 가 없는 엔트리만 복원하고 txId 를 이어서 발급한다")
+    void reopen_restoresPendingWrites() throws IOException {
+        // given
+        Path path = tempDir.resolve("point.wal");
+        PendingWrite used;
+        try (PointWriteAheadLog wal = new PointWriteAheadLog(path.toString(), 1)) {
+            PendingWrite done = wal.begin(USER_ID, 0, 1_000, 1_000, TransactionType.CHARGE, 10);
+            used = wal.begin(USER_ID, 1_000, 700, 300, TransactionType.USE, 20);
+            wal.end(done);
+        }
+        // 쓰다 만 레코드를 흉내 낸다.
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+        }
+
+        // when
+        try (PointWriteAheadLog reopened = new PointWriteAheadLog(path.toString(), 1)) {
+
+            // then
+            assertThat(reopened.pending())
+                    .containsExactly(new PendingWrite(used.txId(), USER_ID, 1_000, 700, 300, TransactionType.USE, 20));
+            assertThat(reopened.begin(2L, 0, 100, 100, TransactionType.CHARGE, 30).txId()).isGreaterThan(used.txId());
+        }
+    }
+
+    @Test
+    @DisplayName("체크섬이 맞지 않는 레코드를 만나면 그 앞까지만 복원하고 나머지를 잘라낸다")
+    void reopen_stopsAtCorruptedRecord() throws IOException {
+        // given : 두 번째 레코드(BEGIN) 중간의 바이트가 깨진 상황
+        Path path = tempDir.resolve("point.wal");
+        PendingWrite first;
+        try (PointWriteAheadLog wal = new PointWriteAheadLog(path.toString(), 1)) {
+            first = wal.begin(USER_ID, 0, 1_000, 1_000, TransactionType.CHARGE, 10);
+            PendingWrite second = wal.begin(2L, 0, 500, 500, TransactionType.CHARGE, 20);
+            wal.end(second);
+        }
+        long recordSize = Files.size(path) / 3;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), recordSize + 20);
+        }
+
+        // when
+        try (PointWriteAheadLog reopened = new PointWriteAheadLog(path.toString(), 1)) {
+
+            // then
+            assertThat(reopened.pending()).containsExactly(first);
+        }
+        assertThat(Files.size(path)).isEqualTo(recordSize);
+    }
+
+    @Test
+    @DisplayName("잔고와 히스토리를 동시에 써서 지연이 두 쓰기의 합이 아니라 긴 쪽만큼 든다")
+    void charge_writesConcurrently() {
+        // given
+        FakeUserPointTable userPointTable = new FakeUserPointTable(100);
+        FakeHistoryStore historyStore = new FakeHistoryStore(100);
+        PointService pointService = newPointService(userPointTable, historyStore, PointWriteAheadLog.inMemory());
+        pointService.charge(USER_ID, 100);
+
+        // when
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            pointService.charge(USER_ID, 100);
+        }
+        long averageMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / 5;
+
+        // then
+        assertThat(averageMillis).isLessThan(180);
+        assertThat(userPointTable.selectById(USER_ID).point()).isEqualTo(600L);
+        assertThat(historyStore.selectAllByUserId(USER_ID)).hasSize(6);
+    }
+
+    @Test
+    @DisplayName("히스토리 저장이 실패하면 잔고를 되돌리고 원래 예외를 던진다")
+    void historyFailure_rollsBackBalance() {
+        // given
+        FakeUserPointTable userPointTable = new FakeUserPointTable(0);
+        FakeHistoryStore historyStore = new FakeHistoryStore(0);
+        PointWriteAheadLog wal = PointWriteAheadLog.inMemory();
+        PointService pointService = newPointService(userPointTable, historyStore, wal);
+        pointService.charge(USER_ID, 1_000);
+        historyStore.failing = true;
+
+        // when & then
+        assertThatThrownBy(() -> pointService.use(USER_ID, 300))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("history down");
+        assertThat(userPointTable.selectById(USER_ID).point()).isEqualTo(1_000L);
+        assertThat(historyStore.selectAllByUserId(USER_ID)).hasSize(1);
+        assertThat(wal.pending()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("잔고 저장만 실패하고 히스토리가 남았으면 잔고를 다시 써서 완료한다")
+    void balanceFailure_completesPair() {
+        // given
+        FakeUserPointTable userPointTable = new FakeUserPointTable(0);
+        FakeHistoryStore historyStore = new FakeHistoryStore(0);
+        PointWriteAheadLog wal = PointWriteAheadLog.inMemory();
+        PointService pointService = newPointService(userPointTable, historyStore, wal);
+        userPointTable.failuresLeft = 1;
+
+        // when
+        UserPoint charged = pointService.charge(USER_ID, 1_000);
+
+        // then
+        assertThat(charged.point()).isEqualTo(1_000L);
+        assertThat(userPointTable.selectById(USER_ID).point()).isEqualTo(1_000L);
+        assertThat(historyStore.selectAllByUserId(USER_ID)).hasSize(1);
+        assertThat(wal.pending()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("조건부 잔고 테이블에서 읽은 뒤 다른 인스턴스가 잔고를 바꿨으면 히스토리를 쓰지 않고 실패한다")
+    void conditionalTable_concurrentUpdate_failsWithoutHistory() {
+        // given : 다른 인스턴스가 잔고를 읽은 직후에 바꾸는 상황
+        ConditionalUserPointTable userPointTable = new ConditionalUserPointTable();
+        FakeHistoryStore historyStore = new FakeHistoryStore(0);
+        PointWriteAheadLog wal = PointWriteAheadLog.inMemory();
+        PointService pointService = newPointService(userPointTable, historyStore, wal);
+        pointService.charge(USER_ID, 1_000);
+        userPointTable.concurrentPoint = 5_000L;
+
+        // when & then
+        assertThatThrownBy(() -> pointService.charge(USER_ID, 500))
+                .isInstanceOf(ConcurrentBalanceUpdateException.class);
+        assertThat(userPointTable.selectById(USER_ID).point()).isEqualTo(5_000L);
+        assertThat(historyStore.selectAllByUserId(USER_ID)).hasSize(1);
+        assertThat(wal.pending()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("조건부 잔고 테이블의 롤백은 그 사이 다른 인스턴스가 바꾼 잔고를 덮어쓰지 않는다")
+    void conditionalTable_settle_doesNotOverwriteOtherWrite() {
+        // given
+        ConditionalUserPointTable userPointTable = new ConditionalUserPointTable();
+        FakeHistoryStore historyStore = new FakeHistoryStore(0);
+        PointWriteAheadLog wal = PointWriteAheadLog.inMemory();
+        PointService pointService = newPointService(userPointTable, historyStore, wal);
+        pointService.charge(USER_ID, 1_000);
+        historyStore.failing = true;
+        historyStore.beforeFailure = () -> userPointTable.insertOrUpdate(USER_ID, 5_000L);
+
+        // when & then
+        assertThatThrownBy(() -> pointService.charge(USER_ID, 500))
+                .hasMessage("history down");
+        assertThat(userPointTable.selectById(USER_ID).point()).isEqualTo(5_000L);
+        assertThat(wal.pending()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("재기동 복구는 히스토리가 남은 짝은 완료하고, 없는 짝은 롤백한다")
+    void recover_completesOrRollsBack() {
+        // given : 크래시 직전 상태 - 사용자 1 은 히스토리만, 사용자 2 는 잔고만 쓰였다.
+        Path path = tempDir.resolve("point.wal");
+        FakeUserPointTable userPointTable = new FakeUserPointTable(0);
+        FakeHistoryStore historyStore = new FakeHistoryStore(0);
+        try (PointWriteAheadLog wal = new PointWriteAheadLog(path.toString(), 1)) {
+            PendingWrite charged = wal.begin(1L, 0, 1_000, 1_000, TransactionType.CHARGE, 10);
+            historyStore.insert(1L, 1_000, TransactionType.CHARGE, 10, HistoryRef.ofTx(charged.txId()));
+            wal.begin(2L, 500, 200, 300, TransactionType.USE, 20);
+            userPointTable.insertOrUpdate(2L, 200);
+        }
+
+        // when
+        try (PointWriteAheadLog wal = new PointWriteAheadLog(path.toString(), 1)) {
+            newPointService(userPointTable, historyStore, wal).recover();
+
+            // then
+            assertThat(userPointTable.selectById(1L).point()).isEqualTo(1_000L);
+            assertThat(userPointTable.selectById(2L).point()).isEqualTo(500L);
+            assertThat(wal.pending()).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("같은 ms 에 금액/유형이 같은 두 쓰기도 txId 로 히스토리 짝을 구분한다")
+    void recover_sameMillisWrites_matchesByTxId() {
+        // given : 같은 시각의 1,000 충전 두 건 중 첫 번째만 히스토리가 쓰였다.
+        Path path = tempDir.resolve("point.wal");
+        FakeUserPointTable userPointTable = new FakeUserPointTable(0);
+        FakeHistoryStore historyStore = new FakeHistoryStore(0);
+        try (PointWriteAheadLog wal = new PointWriteAheadLog(path.toString(), 1)) {
+            PendingWrite first = wal.begin(USER_ID, 0, 1_000, 1_000, TransactionType.CHARGE, 10);
+            historyStore.insert(USER_ID, 1_000, TransactionType.CHARGE, 10, HistoryRef.ofTx(first.txId()));
+            wal.begin(USER_ID, 1_000, 2_000, 1_000, TransactionType.CHARGE, 10);
+            userPointTable.insertOrUpdate(USER_ID, 2_000);
+        }
+
+        // when
+        try (PointWriteAheadLog wal = new PointWriteAheadLog(path.toString(), 1)) {
+            newPointService(userPointTable, historyStore, wal).recover();
+
+            // then
+            assertThat(userPointTable.selectById(USER_ID).point()).isEqualTo(1_000L);
+            assertThat(historyStore.selectAllByUserId(USER_ID)).hasSize(1);
+            assertThat(wal.pending()).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("재기동 후 남지 않는 메모리 저장소면 미완료 엔트리를 복구하지 않고 버린다")
+    void recover_nonDurableStores_discardsPending() {
+        // given : 재기동으로 비어서 올라온 메모리 저장소
+        Path path = tempDir.resolve("point.wal");
+        try (PointWriteAheadLog wal = new PointWriteAheadLog(path.toString(), 1)) {
+            wal.begin(USER_ID, 0, 1_000, 1_000, TransactionType.CHARGE, 10);
+        }
+        InMemoryPointHistoryStore historyStore = new InMemoryPointHistoryStore();
+        historyStore.insert(USER_ID, 1_000, TransactionType.CHARGE, 10);
+        UserPointTable userPointTable = new UserPointTable();
+
+        // when
+        try (PointWriteAheadLog wal = new PointWriteAheadLog(path.toString(), 1)) {
+            newPointService(userPointTable, historyStore, wal).recover();
+
+            // then
+            assertThat(userPointTable.selectById(USER_ID).point()).isZero();
+            assertThat(wal.pending()).isEmpty();
+        }
+    }
+
+    private static PointService newPointService(UserPointTable userPointTable, PointHistoryStore historyStore, PointWriteAheadLog wal) {
+        return new PointService(userPointTable, historyStore, new LocalLockProvider(), List.of(), wal);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 지연을 고정하고 실패를 주입할 수 있는 잔고 테이블 (테스트 안에서 재기동을 넘어 유지되므로 DurableStore 로 둔다)
+    private static class FakeUserPointTable extends UserPointTable implements DurableStore {
+
+        private final Map<Long, UserPoint> points = new ConcurrentHashMap<>();
+        private final long writeMillis;
+        private volatile int failuresLeft;
+
+        FakeUserPointTable(long writeMillis) {
+            this.writeMillis = writeMillis;
+        }
+
+        @Override
+        public UserPoint selectById(Long id) {
+            return points.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            sleep(writeMillis);
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new IllegalStateException("balance down");
+            }
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            points.put(id, userPoint);
+            return userPoint;
+        }
+    }
+
+    // 다음 조건부 갱신 직전에 다른 인스턴스의 쓰기를 끼워 넣을 수 있는 조건부 잔고 테이블
+    private static class ConditionalUserPointTable extends FakeUserPointTable implements ConditionalBalanceTable {
+
+        private volatile Long concurrentPoint;
+
+        ConditionalUserPointTable() {
+            super(0);
+        }
+
+        @Override
+        public synchronized boolean compareAndSet(long userId, long expectedPoint, long newPoint) {
+            if (concurrentPoint != null) {
+                insertOrUpdate(userId, concurrentPoint);
+                concurrentPoint = null;
+            }
+            if (selectById(userId).point() != expectedPoint) {
+                return false;
+            }
+            insertOrUpdate(userId, newPoint);
+            return true;
+        }
+    }
+
+    private static class FakeHistoryStore extends InMemoryPointHistoryStore implements DurableStore {
+
+        private final long writeMillis;
+        private volatile boolean failing;
+        private volatile Runnable beforeFailure = () -> { };
+
+        FakeHistoryStore(long writeMillis) {
+            this.writeMillis = writeMillis;
+        }
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis, HistoryRef ref) {
+            sleep(writeMillis);
+            if (failing) {
+                beforeFailure.run();
+                throw new IllegalStateException("history down");
+            }
+            return super.insert(userId, amount, type, updateMillis, ref);
+        }
+    }
+}
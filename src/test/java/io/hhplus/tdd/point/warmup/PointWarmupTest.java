@@ -0,0 +1,55 @@
+package io.hhplus.tdd.point.warmup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+@DisplayName("기동 워밍업 테스트")
+class PointWarmupTest {
+
+    @Test
+    @DisplayName("서비스 워밍업은 지정한 횟수만큼 충전/사용/거절 경로를 반복한다")
+    void warmUpService_runsAllIterations() {
+        // given
+        PointWarmup pointWarmup = new PointWarmup(new MockEnvironment(), true, 1_000, 0, Duration.ofSeconds(10));
+
+        // when
+        int rounds = pointWarmup.warmUpService(System.nanoTime() + TimeUnit.SECONDS.toNanos(10));
+
+        // then
+        assertThat(rounds).isEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("서비스 워밍업은 최대 시간이 지나면 멈춘다")
+    void warmUpService_stopsAtDeadline() {
+        // given
+        PointWarmup pointWarmup = new PointWarmup(new MockEnvironment(), true, Integer.MAX_VALUE, 0, Duration.ofSeconds(10));
+
+        // when
+        long start = System.nanoTime();
+        pointWarmup.warmUpService(start + TimeUnit.MILLISECONDS.toNanos(200));
+
+        // then
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    @DisplayName("서버에 연결할 수 없어도 워밍업은 기동을 막지 않는다")
+    void run_ignoresUnreachableServer() {
+        // given : 아무도 듣지 않는 포트
+        MockEnvironment environment = new MockEnvironment().withProperty("local.server.port", "1");
+        PointWarmup pointWarmup = new PointWarmup(environment, true, 10, 8, Duration.ofSeconds(3));
+
+        // when & then
+        assertThatCode(() -> pointWarmup.run(new DefaultApplicationArguments()))
+                .doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,110 @@
+package io.hhplus.tdd.point.warmup;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 기동 시간 비교 (./gradlew -PfastStartup fastStartup benchmark)
+ * - build/fast-startup 의 app.jar 를 설정별로 새 JVM 에서 띄워,
+ *   readiness 가 UP 이 될 때까지의 시간과 그 직후 첫 요청 지연의 중앙값을 출력한다.
+ * - 첫 요청은 Table 지연이 없는 거절 경로(최소 금액 미만 충전)로 보내 프레임워크/JIT 비용만 본다.
+ */
+@Tag("benchmark")
+@DisplayName("기동 시간 비교")
+class StartupBenchmark {
+
+    private static final int RUNS = 5;
+    private static final Duration READY_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    @Test
+    void startup() throws Exception {
+        Path dir = Path.of(System.getProperty("fastStartup.dir", "build/fast-startup"));
+        Assumptions.assumeTrue(Files.exists(dir.resolve("app.jar")), "./gradlew -PfastStartup fastStartup 을 먼저 실행해야 합니다.");
+        boolean cds = Files.exists(dir.resolve("app.jsa"));
+
+        measure(dir, "jit", List.of(), false);
+        measure(dir, "aot", List.of("-Dspring.aot.enabled=true"), false);
+        if (cds) {
+            measure(dir, "aot+cds", List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=app.jsa"), false);
+            measure(dir, "aot+cds+warmup", List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=app.jsa"), true);
+        }
+    }
+
+    private void measure(Path dir, String name, List<String> jvmArgs, boolean warmup) throws Exception {
+        long[] readyMillis = new long[RUNS];
+        long[] firstRequestMicros = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            int port = freePort();
+            List<String> command = new ArrayList<>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(jvmArgs);
+            command.addAll(List.of("-jar", "app.jar",
+                    "--spring.profiles.active=fast-startup",
+                    "--server.port=" + port,
+                    "--point.warmup.enabled=" + warmup));
+
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command)
+                    .directory(dir.toFile())
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            try {
+                awaitReady(port, start);
+                readyMillis[run] = (System.nanoTime() - start) / 1_000_000;
+
+                long sent = System.nanoTime();
+                client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/1/charge"))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"amount\":0}"))
+                        .build(), HttpResponse.BodyHandlers.discarding());
+                firstRequestMicros[run] = (System.nanoTime() - sent) / 1_000;
+            } finally {
+                process.destroy();
+                process.waitFor();
+            }
+        }
+        Arrays.sort(readyMillis);
+        Arrays.sort(firstRequestMicros);
+        System.out.printf("[%s] runs=%d ready=%dms firstRequest=%dus%n",
+                name, RUNS, readyMillis[RUNS / 2], firstRequestMicros[RUNS / 2]);
+    }
+
+    private void awaitReady(int port, long start) throws InterruptedException {
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health/readiness")).GET().build();
+        while (System.nanoTime() - start < READY_TIMEOUT.toNanos()) {
+            try {
+                if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException notYet) {
+                // 아직 포트가 열리지 않았다.
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("readiness 대기 시간을 넘었습니다.");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}